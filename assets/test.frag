@@ -1,7 +1,5 @@
-#version 330
+#version 430
 
-const int MAX_POINT_LIGHTS = 5;
-const int MAX_SPOT_LIGHTS = 5;
 const float SPECULAR_POWER = 10;
 const int NUM_CASCADES = 3;
 // const float BIAS = 0.0005;
@@ -37,6 +35,14 @@ struct SpotLight {
     float cutoff;
 };
 
+// Packed by LightSet, cutoff below -1 marks a point light
+struct Light {
+    vec4 positionRange;
+    vec4 colorIntensity;
+    vec4 attenuation;
+    vec4 directionCutoff;
+};
+
 struct DirectionalLight {
     vec3 color;
     vec3 direction;
@@ -62,17 +68,30 @@ uniform sampler2D depthSampler;
 uniform mat4 inverseProjectionMatrix;
 uniform mat4 inverseViewMatrix;
 
+layout(std430, binding = 0) readonly buffer Lights {
+    Light lights[];
+};
+
+layout(std430, binding = 2) readonly buffer ClusterRanges {
+    uvec2 clusterRanges[];
+};
+
+layout(std430, binding = 3) readonly buffer LightIndices {
+    uint lightIndices[];
+};
+
 uniform AmbientLight ambientLight;
-uniform PointLight pointLights[MAX_POINT_LIGHTS];
-uniform SpotLight spotLights[MAX_SPOT_LIGHTS];
 uniform DirectionalLight directionalLight;
 
+uniform ivec3 clusterDimensions;
+uniform vec2 clusterTileSize;
+uniform float clusterSliceScale;
+uniform float clusterSliceBias;
+
 uniform Fog fog;
 
 uniform ShadowCascade shadowCascade[NUM_CASCADES];
-uniform sampler2D shadowMap_0;
-uniform sampler2D shadowMap_1;
-uniform sampler2D shadowMap_2;
+uniform sampler2DArray shadowMap;
 
 uniform bool showCascades;
 uniform bool showDepth;
@@ -152,14 +171,8 @@ float textureProj(vec4 shadowCoord, vec2 offset, int idx) {
     float shadow = 1.0;
 
     if (shadowCoord.z > -1.0 && shadowCoord.z < 1.0) {
-        float dist = 0.0;
-        if (idx == 0) {
-            dist = texture(shadowMap_0, vec2(shadowCoord.xy + offset * (1.0 / textureSize(shadowMap_0, 0)))).r;
-        } else if (idx == 1) {
-            dist = texture(shadowMap_1, vec2(shadowCoord.xy + offset * (1.0 / textureSize(shadowMap_0, 0)))).r;
-        } else {
-            dist = texture(shadowMap_2, vec2(shadowCoord.xy + offset * (1.0 / textureSize(shadowMap_0, 0)))).r;
-        }
+        vec2 texelSize = 1.0 / vec2(textureSize(shadowMap, 0).xy);
+        float dist = texture(shadowMap, vec3(shadowCoord.xy + offset * texelSize, float(idx))).r;
         if (dist < shadowCoord.z - shadowBias) {
             shadow = shadowFactor;
         }
@@ -204,11 +217,10 @@ void main() {
 
     vec4 diffuseSpecularComp = calcDirectionalLight(diffuse, specular, reflectance, directionalLight, view_pos, normal);
 
-    int cascadeIndex;
+    int cascadeIndex = 0;
     for (int i = 0; i < NUM_CASCADES - 1; i++) {
         if (view_pos.z < shadowCascade[i].splitDistance) {
             cascadeIndex = i + 1;
-            break;
         }
     }
     float shadowFactor = calcShadow(world_pos, cascadeIndex);
@@ -217,15 +229,25 @@ void main() {
         return;
     }
 
-    for (int i = 0; i < MAX_POINT_LIGHTS; i++) {
-        if (pointLights[i].intensity > 0) {
-            diffuseSpecularComp += calcPointLight(diffuse, specular, reflectance, pointLights[i], view_pos, normal);
-        }
-    }
-
-    for (int i = 0; i < MAX_SPOT_LIGHTS; i++) {
-        if (spotLights[i].pl.intensity > 0) {
-            diffuseSpecularComp += calcSpotLight(diffuse, specular, reflectance, spotLights[i], view_pos, normal);
+    ivec3 cluster = ivec3(
+        ivec2(gl_FragCoord.xy / clusterTileSize),
+        int(max(log(-view_pos.z) * clusterSliceScale + clusterSliceBias, 0.0))
+    );
+    cluster = min(cluster, clusterDimensions - 1);
+    uvec2 clusterRange = clusterRanges[cluster.x + clusterDimensions.x * (cluster.y + clusterDimensions.y * cluster.z)];
+    for (uint i = 0u; i < clusterRange.y; i++) {
+        Light light = lights[lightIndices[clusterRange.x + i]];
+        PointLight pointLight = PointLight(
+            light.positionRange.xyz,
+            light.colorIntensity.rgb,
+            light.colorIntensity.a,
+            Attenuation(light.attenuation.x, light.attenuation.y, light.attenuation.z)
+        );
+        if (light.directionCutoff.w < -1.0) {
+            diffuseSpecularComp += calcPointLight(diffuse, specular, reflectance, pointLight, view_pos, normal);
+        } else {
+            SpotLight spotLight = SpotLight(pointLight, light.directionCutoff.xyz, light.directionCutoff.w);
+            diffuseSpecularComp += calcSpotLight(diffuse, specular, reflectance, spotLight, view_pos, normal);
         }
     }
     vec4 ambient = calcAmbient(ambientLight, diffuse);
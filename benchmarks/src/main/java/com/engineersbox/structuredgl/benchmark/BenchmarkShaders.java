@@ -0,0 +1,41 @@
+package com.engineersbox.structuredgl.benchmark;
+
+import com.engineersbox.structuredgl.gpu.shader.*;
+
+public class BenchmarkShaders {
+
+    public static final String VERTEX_SHADER = """
+            #version 450 core
+            layout (location = 0) in vec3 position;
+            uniform float scalar;
+            uniform int index;
+            uniform vec3 offset;
+            uniform vec4 tint;
+            uniform mat4 palette[64];
+            out vec4 colour;
+            void main() {
+                colour = tint * scalar;
+                gl_Position = palette[index] * vec4(position + offset, 1.0);
+            }
+            """;
+    public static final String FRAGMENT_SHADER = """
+            #version 450 core
+            in vec4 colour;
+            out vec4 fragColour;
+            void main() {
+                fragColour = colour;
+            }
+            """;
+
+    private BenchmarkShaders() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static ShaderModuleData[] modules() {
+        return new ShaderModuleData[]{
+                new ShaderModuleData(VERTEX_SHADER, DataType.LITERAL_DATA, ShaderType.VERTEX),
+                new ShaderModuleData(FRAGMENT_SHADER, DataType.LITERAL_DATA, ShaderType.FRAGMENT)
+        };
+    }
+
+}
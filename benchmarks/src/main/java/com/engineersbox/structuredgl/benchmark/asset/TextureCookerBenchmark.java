@@ -0,0 +1,95 @@
+package com.engineersbox.structuredgl.benchmark.asset;
+
+import com.engineersbox.structuredgl.asset.CookedTexture;
+import com.engineersbox.structuredgl.asset.TextureCompression;
+import com.engineersbox.structuredgl.asset.TextureCooker;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooking throughput of a noisy gradient through mip generation and block
+ * encoding, serially and across the common pool. The {@code megabytes}
+ * counter reports source RGBA8 megabytes cooked per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TextureCookerBenchmark {
+
+    private static final int RGBA_CHANNELS = 4;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    @Param({"1024"})
+    public int size;
+
+    @Param({"BC1", "BC5", "BC7"})
+    public TextureCompression compression;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private ByteBuffer pixels;
+    private TextureCooker cooker;
+    private ForkJoinPool serialPool;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Throughput {
+
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.megabytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(0x5EED);
+        this.pixels = MemoryUtil.memAlloc(this.size * this.size * RGBA_CHANNELS);
+        for (int y = 0; y < this.size; y++) {
+            for (int x = 0; x < this.size; x++) {
+                final int offset = ((y * this.size) + x) * RGBA_CHANNELS;
+                this.pixels.put(offset, (byte) (x + random.nextInt(16)));
+                this.pixels.put(offset + 1, (byte) (y + random.nextInt(16)));
+                this.pixels.put(offset + 2, (byte) ((x ^ y) + random.nextInt(16)));
+                this.pixels.put(offset + 3, (byte) (255 - (x >> 2)));
+            }
+        }
+        this.serialPool = new ForkJoinPool(1);
+        this.cooker = new TextureCooker(
+                Path.of("."),
+                this.compression,
+                this.compression.supportsSrgb(),
+                true,
+                this.parallel ? ForkJoinPool.commonPool() : this.serialPool
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.serialPool.shutdown();
+        MemoryUtil.memFree(this.pixels);
+    }
+
+    @Benchmark
+    public int cook(final Throughput throughput) {
+        final List<CookedTexture.Level> levels = this.cooker.encode(this.pixels, this.size, this.size);
+        final int blocks = levels.get(0).data().remaining();
+        levels.forEach((final CookedTexture.Level level) -> MemoryUtil.memFree(level.data()));
+        throughput.megabytes += this.pixels.remaining() / BYTES_PER_MEGABYTE;
+        return blocks;
+    }
+
+}
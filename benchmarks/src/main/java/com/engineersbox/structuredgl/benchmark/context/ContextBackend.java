@@ -0,0 +1,19 @@
+package com.engineersbox.structuredgl.benchmark.context;
+
+import static org.lwjgl.glfw.GLFW.GLFW_EGL_CONTEXT_API;
+import static org.lwjgl.glfw.GLFW.GLFW_OSMESA_CONTEXT_API;
+
+public enum ContextBackend {
+    EGL(GLFW_EGL_CONTEXT_API),
+    OSMESA(GLFW_OSMESA_CONTEXT_API);
+
+    private final int glfwContextApi;
+
+    ContextBackend(final int glfwContextApi) {
+        this.glfwContextApi = glfwContextApi;
+    }
+
+    public int glfwContextApi() {
+        return this.glfwContextApi;
+    }
+}
@@ -0,0 +1,68 @@
+package com.engineersbox.structuredgl.benchmark.context;
+
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.opengl.GL;
+import org.openjdk.jmh.annotations.*;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Owns a hidden GLFW window whose context is current on the benchmark thread
+ * for the lifetime of a trial. Run with {@code LIBGL_ALWAYS_SOFTWARE=1} and
+ * {@code GALLIUM_DRIVER=llvmpipe} to pin Mesa to the software rasteriser.
+ */
+@State(Scope.Thread)
+public class HeadlessContextState {
+
+    private static final int GL_VERSION_MAJOR = 4;
+    private static final int GL_VERSION_MINOR = 5;
+
+    @Param({"EGL", "OSMESA"})
+    public ContextBackend backend;
+
+    private long window = NULL;
+    private GLFWErrorCallback errorCallback;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.errorCallback = GLFWErrorCallback.createPrint(System.err).set();
+        if (!glfwInit()) {
+            throw new IllegalStateException("Unable to initialise GLFW");
+        }
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_CONTEXT_CREATION_API, this.backend.glfwContextApi());
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, GL_VERSION_MAJOR);
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, GL_VERSION_MINOR);
+        glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+        this.window = glfwCreateWindow(1, 1, "StructuredGL Benchmark", NULL, NULL);
+        if (this.window == NULL) {
+            glfwTerminate();
+            throw new IllegalStateException(String.format(
+                    "Unable to create headless %s context",
+                    this.backend.name()
+            ));
+        }
+        glfwMakeContextCurrent(this.window);
+        GL.createCapabilities();
+    }
+
+    /**
+     * @return GLFW handle of the hidden window, for sharing its context
+     */
+    public long getWindow() {
+        return this.window;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        GL.setCapabilities(null);
+        glfwMakeContextCurrent(NULL);
+        glfwDestroyWindow(this.window);
+        this.window = NULL;
+        glfwTerminate();
+        this.errorCallback.free();
+    }
+
+}
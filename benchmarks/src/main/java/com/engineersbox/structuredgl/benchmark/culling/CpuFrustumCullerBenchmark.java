@@ -0,0 +1,105 @@
+package com.engineersbox.structuredgl.benchmark.culling;
+
+import com.engineersbox.structuredgl.culling.BoxBounds;
+import com.engineersbox.structuredgl.culling.CpuFrustumCuller;
+import com.engineersbox.structuredgl.culling.SphereBounds;
+import com.engineersbox.structuredgl.culling.VisibleSet;
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU culling of randomly scattered bounds against a fixed frustum, compared
+ * with testing each object through JOML's {@link FrustumIntersection}. The
+ * fork adds {@code jdk.incubator.vector} so {@code vectorised=true} runs the
+ * vector kernel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CpuFrustumCullerBenchmark {
+
+    private static final float WORLD_EXTENT = 500.0f;
+
+    @Param({"1048576"})
+    public int objects;
+
+    @Param({"true", "false"})
+    public boolean vectorised;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Matrix4f viewProjection;
+    private SphereBounds spheres;
+    private BoxBounds boxes;
+    private VisibleSet visible;
+    private CpuFrustumCuller culler;
+    private FrustumIntersection intersection;
+    private Vector4f[] sphereObjects;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(0x5EED);
+        this.spheres = new SphereBounds(this.objects);
+        this.boxes = new BoxBounds(this.objects);
+        this.sphereObjects = new Vector4f[this.objects];
+        for (int i = 0; i < this.objects; i++) {
+            final float x = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            final float y = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            final float z = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            final float extent = (float) random.nextDouble(0.5, 4.0);
+            this.spheres.add(x, y, z, extent);
+            this.sphereObjects[i] = new Vector4f(x, y, z, extent);
+            this.boxes.add(x - extent, y - extent, z - extent, x + extent, y + extent, z + extent);
+        }
+        this.viewProjection = new Matrix4f()
+                .perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, 1000.0f)
+                .lookAt(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f);
+        this.visible = new VisibleSet(this.objects);
+        this.culler = new CpuFrustumCuller(
+                CpuFrustumCuller.DEFAULT_CHUNK_SIZE,
+                this.parallel ? CpuFrustumCuller.DEFAULT_PARALLEL_THRESHOLD : Integer.MAX_VALUE,
+                this.vectorised,
+                ForkJoinPool.commonPool()
+        );
+        if (this.vectorised && !this.culler.isVectorised()) {
+            throw new IllegalStateException("Vector kernel requested but jdk.incubator.vector is unavailable");
+        }
+        this.intersection = new FrustumIntersection();
+    }
+
+    @Benchmark
+    public int cullSpheres() {
+        this.culler.cull(this.viewProjection, this.spheres, this.visible);
+        return this.visible.count();
+    }
+
+    @Benchmark
+    public int cullBoxes() {
+        this.culler.cull(this.viewProjection, this.boxes, this.visible);
+        return this.visible.count();
+    }
+
+    @Benchmark
+    public void jomlSpheres(final Blackhole blackhole) {
+        this.intersection.set(this.viewProjection);
+        int visibleCount = 0;
+        for (final Vector4f sphere : this.sphereObjects) {
+            if (this.intersection.testSphere(sphere.x, sphere.y, sphere.z, sphere.w)) {
+                visibleCount++;
+            }
+        }
+        blackhole.consume(visibleCount);
+    }
+
+}
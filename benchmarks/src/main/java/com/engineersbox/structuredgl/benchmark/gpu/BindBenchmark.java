@@ -0,0 +1,91 @@
+package com.engineersbox.structuredgl.benchmark.gpu;
+
+import com.engineersbox.structuredgl.benchmark.BenchmarkShaders;
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.GL_RGBA8;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BindBenchmark {
+
+    private VAO vao;
+    private VBO vbo;
+    private EBO ebo;
+    private MemoryTexture2D texture;
+    private ShaderProgram program;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.vao = new VAO();
+        this.vbo = new VBO();
+        this.ebo = new EBO();
+        this.texture = new MemoryTexture2D();
+        this.texture.bind();
+        this.texture.createTexImage(0, GL_RGBA8, new int[]{1, 1}, 0, GL_RGBA, GL_UNSIGNED_BYTE, null);
+        this.texture.unbind();
+        this.program = new ShaderProgram("BindBenchmark", BenchmarkShaders.modules());
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.program.destroy();
+        this.texture.destroy();
+        this.ebo.destroy();
+        this.vbo.destroy();
+        this.vao.destroy();
+    }
+
+    @Benchmark
+    public void bindUnbindVAO() {
+        this.vao.bind();
+        this.vao.unbind();
+    }
+
+    @Benchmark
+    public void bindUnbindVBO() {
+        this.vbo.bind();
+        this.vbo.unbind();
+    }
+
+    @Benchmark
+    public void bindUnbindTexture() {
+        this.texture.bind();
+        this.texture.unbind();
+    }
+
+    @Benchmark
+    public void bindUnbindShaderProgram() {
+        this.program.bind();
+        this.program.unbind();
+    }
+
+    @Benchmark
+    public void bindUnbindDrawSequence() {
+        this.program.bind();
+        this.vao.bind();
+        this.vbo.bind();
+        this.ebo.bind();
+        this.texture.bind();
+        this.texture.unbind();
+        this.ebo.unbind();
+        this.vbo.unbind();
+        this.vao.unbind();
+        this.program.unbind();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.engineersbox.structuredgl.benchmark.gpu.buffer;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataBufferBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int elements;
+
+    private VBO vbo;
+    private float[] floatArray;
+    private int[] intArray;
+    private FloatBuffer floatBuffer;
+    private IntBuffer intBuffer;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.floatArray = new float[this.elements];
+        this.intArray = new int[this.elements];
+        this.floatBuffer = MemoryUtil.memAllocFloat(this.elements);
+        this.intBuffer = MemoryUtil.memAllocInt(this.elements);
+        for (int i = 0; i < this.elements; i++) {
+            this.floatArray[i] = i;
+            this.intArray[i] = i;
+            this.floatBuffer.put(i, i);
+            this.intBuffer.put(i, i);
+        }
+        this.vbo = new VBO();
+        this.vbo.bind();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.vbo.unbind();
+        this.vbo.destroy();
+        MemoryUtil.memFree(this.floatBuffer);
+        MemoryUtil.memFree(this.intBuffer);
+    }
+
+    @Benchmark
+    public void setDataFloatArray() {
+        this.vbo.setData(this.floatArray, GL_STREAM_DRAW);
+    }
+
+    @Benchmark
+    public void setDataFloatBuffer() {
+        this.vbo.setData(this.floatBuffer, GL_STREAM_DRAW);
+    }
+
+    @Benchmark
+    public void setDataFloatAddress() {
+        this.vbo.setData(MemoryUtil.memAddress(this.floatBuffer), (long) this.elements * Float.BYTES, GL_STREAM_DRAW);
+    }
+
+    @Benchmark
+    public void setDataIntArray() {
+        this.vbo.setData(this.intArray, GL_STREAM_DRAW);
+    }
+
+    @Benchmark
+    public void setDataIntBuffer() {
+        this.vbo.setData(this.intBuffer, GL_STREAM_DRAW);
+    }
+
+}
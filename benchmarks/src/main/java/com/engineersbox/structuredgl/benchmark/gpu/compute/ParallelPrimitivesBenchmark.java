@@ -0,0 +1,241 @@
+package com.engineersbox.structuredgl.benchmark.gpu.compute;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.compute.*;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.glFinish;
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+import static org.lwjgl.opengl.GL45.glGetNamedBufferSubData;
+
+/**
+ * Device-wide scan, radix sort, reduction and histogram over randomly
+ * generated data. Setup checks every primitive against a CPU reference so a
+ * broken kernel fails the trial rather than timing garbage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParallelPrimitivesBenchmark {
+
+    private static final long SEED = 0x5CA9L;
+    private static final int BIN_COUNT = 64;
+
+    @Param({"65536", "1048576"})
+    public int count;
+
+    private GpuScan scan;
+    private GpuRadixSort radixSort;
+    private GpuReduction reduction;
+    private GpuHistogram histogram;
+    private SSBO sourceKeys;
+    private SSBO keys;
+    private SSBO values;
+    private SSBO scanned;
+    private SSBO floats;
+    private SSBO bins;
+    private int[] cpuKeys;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        final Random random = new Random(SEED);
+        this.cpuKeys = new int[this.count];
+        final int[] indices = new int[this.count];
+        final int[] small = new int[this.count];
+        final float[] samples = new float[this.count];
+        for (int i = 0; i < this.count; i++) {
+            this.cpuKeys[i] = random.nextInt();
+            indices[i] = i;
+            small[i] = random.nextInt(16);
+            samples[i] = (float) random.nextGaussian();
+        }
+        this.scan = new GpuScan();
+        this.radixSort = new GpuRadixSort(this.scan);
+        this.reduction = new GpuReduction();
+        this.histogram = new GpuHistogram();
+        this.sourceKeys = buffer(this.cpuKeys);
+        this.keys = buffer(this.cpuKeys);
+        this.values = buffer(indices);
+        this.scanned = buffer(small);
+        this.floats = new SSBO();
+        this.floats.bind();
+        this.floats.setData(samples, GL_DYNAMIC_COPY);
+        this.floats.unbind();
+        this.bins = buffer(new int[BIN_COUNT]);
+        verifyScan(buffer(small), small);
+        verifySort();
+        verifyReduction(samples);
+        verifyHistogram(samples);
+    }
+
+    private static SSBO buffer(final int[] data) {
+        final SSBO buffer = new SSBO();
+        buffer.bind();
+        buffer.setData(data, GL_DYNAMIC_COPY);
+        buffer.unbind();
+        return buffer;
+    }
+
+    private static int[] read(final SSBO buffer,
+                              final int length) {
+        MemoryBarrierTracker.current().prepare(buffer, BarrierUsage.BUFFER_UPDATE);
+        final int[] data = new int[length];
+        glGetNamedBufferSubData(buffer.getId(), 0, data);
+        return data;
+    }
+
+    private void verifyScan(final SSBO input,
+                            final int[] small) {
+        this.scan.exclusiveScan(input, this.scanned, this.count);
+        final int[] result = read(this.scanned, this.count);
+        int sum = 0;
+        for (int i = 0; i < this.count; i++) {
+            if (result[i] != sum) {
+                throw new IllegalStateException(String.format(
+                        "GPU scan produced %d at index %d, CPU reference produced %d",
+                        result[i],
+                        i,
+                        sum
+                ));
+            }
+            sum += small[i];
+        }
+        input.destroy();
+    }
+
+    private void verifySort() {
+        this.radixSort.sort(this.keys, this.values, this.count);
+        final int[] sortedKeys = read(this.keys, this.count);
+        final int[] sortedValues = read(this.values, this.count);
+        // Unsigned key in the high word and original index in the low word gives the stable order
+        final long[] expected = new long[this.count];
+        for (int i = 0; i < this.count; i++) {
+            expected[i] = (Integer.toUnsignedLong(this.cpuKeys[i]) << 32) | i;
+        }
+        Arrays.sort(expected);
+        for (int i = 0; i < this.count; i++) {
+            if (sortedKeys[i] != (int) (expected[i] >>> 32) || sortedValues[i] != (int) expected[i]) {
+                throw new IllegalStateException(String.format(
+                        "GPU sort produced (%d, %d) at index %d, CPU reference produced (%d, %d)",
+                        Integer.toUnsignedLong(sortedKeys[i]),
+                        sortedValues[i],
+                        i,
+                        expected[i] >>> 32,
+                        (int) expected[i]
+                ));
+            }
+        }
+    }
+
+    private void verifyReduction(final float[] samples) {
+        double sum = 0;
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < this.count; i++) {
+            sum += samples[i];
+            max = Math.max(max, samples[i]);
+        }
+        final float gpuMax = this.reduction.reduceFloat(this.floats, this.count, ReductionOperator.MAX);
+        final float gpuSum = this.reduction.reduceFloat(this.floats, this.count, ReductionOperator.SUM);
+        final int gpuMin = this.reduction.reduceUnsigned(this.sourceKeys, this.count, ReductionOperator.MIN);
+        int expectedMin = -1;
+        for (final int key : this.cpuKeys) {
+            expectedMin = Integer.compareUnsigned(key, expectedMin) < 0 ? key : expectedMin;
+        }
+        // Summation order differs from the CPU, so allow for accumulated rounding
+        if (gpuMax != max || Math.abs(gpuSum - sum) > 1e-3 * this.count || gpuMin != expectedMin) {
+            throw new IllegalStateException(String.format(
+                    "GPU reduction produced max %f, sum %f, min %d, CPU reference produced max %f, sum %f, min %d",
+                    gpuMax,
+                    gpuSum,
+                    Integer.toUnsignedLong(gpuMin),
+                    max,
+                    sum,
+                    Integer.toUnsignedLong(expectedMin)
+            ));
+        }
+    }
+
+    private void verifyHistogram(final float[] samples) {
+        this.histogram.histogram(this.floats, this.count, -4.0f, 4.0f, this.bins, BIN_COUNT);
+        final int[] result = read(this.bins, BIN_COUNT);
+        final int[] expected = new int[BIN_COUNT];
+        for (final float sample : samples) {
+            final float normalised = Math.min(Math.max((sample + 4.0f) / 8.0f, 0.0f), 1.0f);
+            expected[Math.min((int) (normalised * BIN_COUNT), BIN_COUNT - 1)]++;
+        }
+        int total = 0;
+        for (int i = 0; i < BIN_COUNT; i++) {
+            total += result[i];
+            // Samples on a bin edge may round either way on the GPU
+            if (Math.abs(result[i] - expected[i]) > Math.max(1, this.count / 10000)) {
+                throw new IllegalStateException(String.format(
+                        "GPU histogram counted %d in bin %d, CPU reference counted %d",
+                        result[i],
+                        i,
+                        expected[i]
+                ));
+            }
+        }
+        if (total != this.count) {
+            throw new IllegalStateException(String.format(
+                    "GPU histogram counted %d samples, expected %d",
+                    total,
+                    this.count
+            ));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void resetKeys() {
+        glCopyNamedBufferSubData(this.sourceKeys.getId(), this.keys.getId(), 0, 0, (long) this.count * Integer.BYTES);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.scan.destroy();
+        this.radixSort.destroy();
+        this.reduction.destroy();
+        this.histogram.destroy();
+        this.sourceKeys.destroy();
+        this.keys.destroy();
+        this.values.destroy();
+        this.scanned.destroy();
+        this.floats.destroy();
+        this.bins.destroy();
+    }
+
+    @Benchmark
+    public void exclusiveScan() {
+        this.scan.exclusiveScan(this.values, this.scanned, this.count);
+        glFinish();
+    }
+
+    @Benchmark
+    public void radixSort() {
+        this.radixSort.sort(this.keys, this.values, this.count);
+        glFinish();
+    }
+
+    @Benchmark
+    public float reduceSum() {
+        return this.reduction.reduceFloat(this.floats, this.count, ReductionOperator.SUM);
+    }
+
+    @Benchmark
+    public void histogram() {
+        this.histogram.histogram(this.floats, this.count, -4.0f, 4.0f, this.bins, BIN_COUNT);
+        glFinish();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.engineersbox.structuredgl.benchmark.gpu.culling;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.culling.FrustumCuller;
+import com.engineersbox.structuredgl.gpu.draw.DrawElementsIndirectCommand;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.glFinish;
+import static org.lwjgl.opengl.GL15.glGetBufferSubData;
+
+/**
+ * Culls randomly scattered instances on the GPU each invocation. Setup checks
+ * the GPU visible count against a CPU sphere-plane test before measuring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FrustumCullerBenchmark {
+
+    private static final int DRAW_COUNT = 8;
+    private static final float WORLD_EXTENT = 500.0f;
+
+    @Param({"16384", "262144", "1048576"})
+    public int instances;
+
+    private FrustumCuller culler;
+    private Matrix4f viewProjection;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        final SplittableRandom random = new SplittableRandom(0x5EED);
+        final float[] spheres = new float[this.instances * 4];
+        final int[] drawIndices = new int[this.instances];
+        for (int i = 0; i < this.instances; i++) {
+            spheres[i * 4] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 1] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 2] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 3] = (float) random.nextDouble(0.5, 4.0);
+            drawIndices[i] = random.nextInt(DRAW_COUNT);
+        }
+        final DrawElementsIndirectCommand[] draws = new DrawElementsIndirectCommand[DRAW_COUNT];
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            draws[i] = new DrawElementsIndirectCommand(36, 0, i * 36, 0, 0);
+        }
+        this.viewProjection = new Matrix4f()
+                .perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, 1000.0f)
+                .lookAt(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f);
+        this.culler = new FrustumCuller();
+        this.culler.setInstances(spheres, drawIndices, this.instances, List.of(draws));
+        this.culler.cull(this.viewProjection);
+        final int[] visible = new int[1];
+        MemoryBarrierTracker.current().prepare(this.culler.getVisibleCount(), BarrierUsage.BUFFER_UPDATE);
+        this.culler.getVisibleCount().bind();
+        glGetBufferSubData(this.culler.getVisibleCount().getType().getGlType(), 0, visible);
+        this.culler.getVisibleCount().unbind();
+        final int expected = countVisible(spheres);
+        // Spheres touching a plane may round either way on the GPU
+        if (Math.abs(visible[0] - expected) > Math.max(1, expected / 1000)) {
+            throw new IllegalStateException(String.format(
+                    "GPU culling found %d visible instances, CPU reference found %d",
+                    visible[0],
+                    expected
+            ));
+        }
+    }
+
+    private int countVisible(final float[] spheres) {
+        final Vector4f[] planes = new Vector4f[6];
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = this.viewProjection.frustumPlane(i, new Vector4f());
+        }
+        int visible = 0;
+        for (int i = 0; i < this.instances; i++) {
+            boolean inside = true;
+            for (final Vector4f plane : planes) {
+                final float distance = (plane.x * spheres[i * 4])
+                        + (plane.y * spheres[(i * 4) + 1])
+                        + (plane.z * spheres[(i * 4) + 2])
+                        + plane.w;
+                if (distance < -spheres[(i * 4) + 3]) {
+                    inside = false;
+                    break;
+                }
+            }
+            visible += inside ? 1 : 0;
+        }
+        return visible;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.culler.destroy();
+    }
+
+    @Benchmark
+    public void cull() {
+        this.culler.cull(this.viewProjection);
+        glFinish();
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.engineersbox.structuredgl.benchmark.gpu.lighting;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.lighting.ClusterAssignment;
+import com.engineersbox.structuredgl.gpu.lighting.ClusterGrid;
+import com.engineersbox.structuredgl.gpu.lighting.ClusteredLightCuller;
+import com.engineersbox.structuredgl.gpu.lighting.LightSet;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.glFinish;
+import static org.lwjgl.opengl.GL45.glGetNamedBufferSubData;
+
+/**
+ * Light-to-cluster assignment for randomly placed point lights through the
+ * compute pass and the parallel CPU fallback. Setup checks both produce the
+ * same per-cluster light sets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ClusteredLightCullerBenchmark {
+
+    private static final long SEED = 0x11647L;
+    private static final int VIEWPORT_WIDTH = 1920;
+    private static final int VIEWPORT_HEIGHT = 1080;
+    private static final float NEAR = 0.1f;
+    private static final float FAR = 500.0f;
+
+    @Param({"1024", "4096"})
+    public int lightCount;
+
+    private LightSet lights;
+    private Matrix4f view;
+    private ClusteredLightCuller computeCuller;
+    private ClusteredLightCuller cpuCuller;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        final Random random = new Random(SEED);
+        this.lights = new LightSet();
+        final Vector3f position = new Vector3f();
+        final Vector3f color = new Vector3f();
+        for (int i = 0; i < this.lightCount; i++) {
+            position.set(
+                    (random.nextFloat() * 200.0f) - 100.0f,
+                    (random.nextFloat() * 40.0f) - 20.0f,
+                    -1.0f - (random.nextFloat() * 300.0f)
+            );
+            color.set(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            this.lights.addPointLight(position, color, 1.0f, 1.0f, 0.7f, 1.8f);
+        }
+        this.view = new Matrix4f().lookAt(0.0f, 5.0f, 10.0f, 0.0f, 0.0f, -50.0f, 0.0f, 1.0f, 0.0f);
+        final Matrix4f projection = new Matrix4f().perspective(
+                (float) Math.toRadians(60.0),
+                (float) VIEWPORT_WIDTH / VIEWPORT_HEIGHT,
+                NEAR,
+                FAR
+        );
+        this.computeCuller = new ClusteredLightCuller(new ClusterGrid(), ClusterAssignment.COMPUTE);
+        this.cpuCuller = new ClusteredLightCuller(new ClusterGrid(), ClusterAssignment.CPU);
+        this.computeCuller.setProjection(projection, NEAR, FAR, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        this.cpuCuller.setProjection(projection, NEAR, FAR, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        this.computeCuller.assign(this.lights, this.view);
+        this.cpuCuller.assign(this.lights, this.view);
+        verify();
+    }
+
+    private void verify() {
+        final int clusters = this.cpuCuller.getGrid().getClusterCount();
+        final int[] computeRanges = read(this.computeCuller.getClusterRanges(), clusters * 2);
+        final int[] cpuRanges = read(this.cpuCuller.getClusterRanges(), clusters * 2);
+        final int[] computeIndices = read(this.computeCuller.getLightIndices(), total(computeRanges));
+        final int[] cpuIndices = read(this.cpuCuller.getLightIndices(), total(cpuRanges));
+        int assigned = 0;
+        int mismatched = 0;
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            final int[] compute = Arrays.copyOfRange(
+                    computeIndices,
+                    computeRanges[cluster * 2],
+                    computeRanges[cluster * 2] + computeRanges[(cluster * 2) + 1]
+            );
+            final int[] cpu = Arrays.copyOfRange(
+                    cpuIndices,
+                    cpuRanges[cluster * 2],
+                    cpuRanges[cluster * 2] + cpuRanges[(cluster * 2) + 1]
+            );
+            assigned += cpu.length;
+            if (!Arrays.equals(compute, cpu)) {
+                mismatched += Math.abs(compute.length - cpu.length) + 1;
+            }
+        }
+        // Spheres grazing a cluster boundary may round either way on the GPU
+        if (mismatched > Math.max(1, assigned / 1000)) {
+            throw new IllegalStateException(String.format(
+                    "Compute assignment differs from the CPU reference in %d of %d cluster entries",
+                    mismatched,
+                    assigned
+            ));
+        }
+    }
+
+    private static int total(final int[] ranges) {
+        int total = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            total = Math.max(total, ranges[i] + ranges[i + 1]);
+        }
+        return total;
+    }
+
+    private static int[] read(final SSBO buffer,
+                              final int length) {
+        MemoryBarrierTracker.current().prepare(buffer, BarrierUsage.BUFFER_UPDATE);
+        final int[] data = new int[length];
+        if (length > 0) {
+            glGetNamedBufferSubData(buffer.getId(), 0, data);
+        }
+        return data;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.computeCuller.destroy();
+        this.cpuCuller.destroy();
+    }
+
+    @Benchmark
+    public void computeAssignment() {
+        this.computeCuller.assign(this.lights, this.view);
+        glFinish();
+    }
+
+    @Benchmark
+    public void cpuAssignment() {
+        this.cpuCuller.assign(this.lights, this.view);
+        glFinish();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.engineersbox.structuredgl.benchmark.gpu.loader;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.loader.ResourceLoader;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * Render thread time spent per streamed buffer, uploading inline against
+ * submitting to the shared context loader and handing over completed
+ * buffers each call. Loads in flight are capped so the loader path measures
+ * steady state streaming rather than an unbounded backlog.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResourceLoaderBenchmark {
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    @Param({"1048576", "16777216"})
+    public int bytes;
+
+    private ResourceLoader loader;
+    private ByteBuffer data;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.loader = new ResourceLoader(context.getWindow());
+        this.data = MemoryUtil.memCalloc(this.bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.loader.destroy();
+        MemoryUtil.memFree(this.data);
+    }
+
+    private VBO upload() {
+        final VBO buffer = new VBO();
+        buffer.bind();
+        buffer.setData(this.data, GL_STATIC_DRAW);
+        buffer.unbind();
+        return buffer;
+    }
+
+    @Benchmark
+    public void inlineUpload() {
+        upload().destroy();
+    }
+
+    @Benchmark
+    public int loaderUpload() {
+        while (this.loader.getOutstanding() >= MAX_IN_FLIGHT) {
+            if (this.loader.processCompleted() == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        this.loader.submit(this::upload, VBO::destroy);
+        return this.loader.processCompleted();
+    }
+
+}
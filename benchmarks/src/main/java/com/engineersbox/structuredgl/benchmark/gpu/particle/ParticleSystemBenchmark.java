@@ -0,0 +1,82 @@
+package com.engineersbox.structuredgl.benchmark.gpu.particle;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.particle.ParticleSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.glFinish;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+
+/**
+ * One simulation step on the GPU through transform feedback, against the
+ * equivalent CPU integration followed by a full re-upload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParticleSystemBenchmark {
+
+    private static final float DELTA_TIME = 1.0f / 60.0f;
+    private static final float GRAVITY = -9.81f;
+
+    @Param({"65536", "1048576"})
+    public int particles;
+
+    private ParticleSystem particleSystem;
+    private VBO cpuBuffer;
+    private float[] cpuState;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.particleSystem = new ParticleSystem(this.particles);
+        this.cpuBuffer = new VBO();
+        this.cpuState = new float[this.particles * 8];
+        for (int i = 0; i < this.particles; i++) {
+            this.cpuState[(i * 8) + 5] = 5.0f;
+            this.cpuState[(i * 8) + 7] = 2.0f;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.particleSystem.destroy();
+        this.cpuBuffer.destroy();
+    }
+
+    @Benchmark
+    public void gpuTransformFeedback() {
+        this.particleSystem.update(DELTA_TIME);
+        glFinish();
+    }
+
+    @Benchmark
+    public void cpuSimulateAndUpload() {
+        final float[] state = this.cpuState;
+        for (int i = 0; i < state.length; i += 8) {
+            state[i + 3] += DELTA_TIME;
+            if (state[i + 3] >= state[i + 7]) {
+                state[i] = 0.0f;
+                state[i + 1] = 0.0f;
+                state[i + 2] = 0.0f;
+                state[i + 3] = 0.0f;
+                state[i + 5] = 5.0f;
+                continue;
+            }
+            state[i + 5] += GRAVITY * DELTA_TIME;
+            state[i] += state[i + 4] * DELTA_TIME;
+            state[i + 1] += state[i + 5] * DELTA_TIME;
+            state[i + 2] += state[i + 6] * DELTA_TIME;
+        }
+        this.cpuBuffer.bind();
+        this.cpuBuffer.setData(state, GL_STREAM_DRAW);
+        this.cpuBuffer.unbind();
+        glFinish();
+    }
+
+}
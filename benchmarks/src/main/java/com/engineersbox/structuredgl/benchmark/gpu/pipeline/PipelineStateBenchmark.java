@@ -0,0 +1,110 @@
+package com.engineersbox.structuredgl.benchmark.gpu.pipeline;
+
+import com.engineersbox.structuredgl.benchmark.BenchmarkShaders;
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.pipeline.*;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL14.glBlendEquation;
+import static org.lwjgl.opengl.GL14.glBlendFuncSeparate;
+
+/**
+ * Switching between an opaque and a blended pass sharing a program, setting
+ * every piece of fixed-function state defensively against applying
+ * interned {@link PipelineState}s through a {@link PipelineStateTracker},
+ * plus re-applying an unchanged state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PipelineStateBenchmark {
+
+    private ShaderProgram program;
+    private PipelineState opaque;
+    private PipelineState blended;
+    private PipelineStateTracker tracker;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.program = new ShaderProgram("PipelineStateBenchmark", BenchmarkShaders.modules());
+        this.opaque = PipelineState.of(this.program, null, new Viewport(1, 1));
+        this.blended = this.opaque.withBlend(BlendState.ALPHA)
+                .withDepth(DepthState.LEQUAL_READ_ONLY)
+                .withRaster(RasterState.NO_CULLING);
+        if (this.blended.withBlend(BlendState.DISABLED)
+                .withDepth(DepthState.LESS)
+                .withRaster(RasterState.BACK_FACE_CULLING) != this.opaque) {
+            throw new IllegalStateException("Equal pipeline states were not interned to the same instance");
+        }
+        this.tracker = new PipelineStateTracker();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.tracker.reset();
+        PipelineState.release(this.program);
+        this.program.destroy();
+    }
+
+    private static void applyDefensively(final PipelineState state) {
+        final BlendState blend = state.getBlend();
+        if (blend.enabled()) {
+            glEnable(GL_BLEND);
+        } else {
+            glDisable(GL_BLEND);
+        }
+        glBlendFuncSeparate(blend.sourceColor(), blend.destinationColor(), blend.sourceAlpha(), blend.destinationAlpha());
+        glBlendEquation(blend.equation());
+        glColorMask(blend.colorWrite(), blend.colorWrite(), blend.colorWrite(), blend.colorWrite());
+        final DepthState depth = state.getDepth();
+        if (depth.testEnabled()) {
+            glEnable(GL_DEPTH_TEST);
+        } else {
+            glDisable(GL_DEPTH_TEST);
+        }
+        glDepthMask(depth.writeEnabled());
+        glDepthFunc(depth.function());
+        final StencilState stencil = state.getStencil();
+        glDisable(GL_STENCIL_TEST);
+        glStencilFunc(stencil.function(), stencil.reference(), stencil.readMask());
+        glStencilOp(stencil.stencilFail(), stencil.depthFail(), stencil.depthPass());
+        glStencilMask(stencil.writeMask());
+        final RasterState raster = state.getRaster();
+        if (raster.cullEnabled()) {
+            glEnable(GL_CULL_FACE);
+        } else {
+            glDisable(GL_CULL_FACE);
+        }
+        glCullFace(raster.cullFace());
+        glFrontFace(raster.frontFace());
+        glPolygonMode(GL_FRONT_AND_BACK, raster.polygonMode());
+        final Viewport viewport = state.getViewport();
+        glViewport(viewport.x(), viewport.y(), viewport.width(), viewport.height());
+    }
+
+    @Benchmark
+    public void defensiveSwitch() {
+        applyDefensively(this.opaque);
+        applyDefensively(this.blended);
+    }
+
+    @Benchmark
+    public void trackedSwitch() {
+        this.tracker.apply(this.opaque);
+        this.tracker.apply(this.blended);
+    }
+
+    @Benchmark
+    public void trackedRedundant() {
+        this.tracker.apply(this.opaque);
+        this.tracker.apply(this.opaque);
+    }
+
+}
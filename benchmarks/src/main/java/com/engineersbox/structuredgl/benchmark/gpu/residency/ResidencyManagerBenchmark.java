@@ -0,0 +1,82 @@
+package com.engineersbox.structuredgl.benchmark.gpu.residency;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.residency.EvictableBuffer;
+import com.engineersbox.structuredgl.gpu.residency.ResidencyManager;
+import com.engineersbox.structuredgl.gpu.sync.FrameContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * Per frame cost of residency management while a window over a quarter of
+ * the tracked buffers is used each frame. With a budget below the total,
+ * buffers falling out of the window are evicted and restored as it comes
+ * round again; above it, only the bookkeeping remains.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResidencyManagerBenchmark {
+
+    private static final int BUFFER_BYTES = 16384;
+
+    @Param({"256", "2048"})
+    public int buffers;
+
+    @Param({"0.5", "2.0"})
+    public double budgetScale;
+
+    private FrameContext frames;
+    private ResidencyManager residency;
+    private VBO[] vbos;
+    private int window;
+    private int windowStart;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.frames = new FrameContext();
+        this.residency = new ResidencyManager(this.frames, (long) (this.budgetScale * this.buffers * BUFFER_BYTES));
+        this.vbos = new VBO[this.buffers];
+        for (int i = 0; i < this.buffers; i++) {
+            this.vbos[i] = new VBO();
+            this.vbos[i].bind();
+            this.vbos[i].setData(BUFFER_BYTES, GL_STATIC_DRAW);
+            this.vbos[i].unbind();
+            this.residency.track(new EvictableBuffer(this.vbos[i]));
+        }
+        if (this.residency.getUsedBytes() != (long) this.buffers * BUFFER_BYTES) {
+            throw new IllegalStateException("Buffer footprints were not recorded");
+        }
+        this.window = this.buffers / 4;
+        this.windowStart = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.frames.destroy();
+        this.residency.clear();
+        for (final VBO vbo : this.vbos) {
+            vbo.destroy();
+        }
+    }
+
+    @Benchmark
+    public long frame() {
+        this.frames.beginFrame();
+        final long released = this.residency.enforce();
+        for (int i = 0; i < this.window; i++) {
+            this.residency.use(this.vbos[(this.windowStart + i) % this.buffers]);
+        }
+        this.windowStart = (this.windowStart + this.window / 2) % this.buffers;
+        this.frames.endFrame();
+        return released;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.engineersbox.structuredgl.benchmark.gpu.shader;
+
+import com.engineersbox.structuredgl.benchmark.BenchmarkShaders;
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ShaderProgramBenchmark {
+
+    private ShaderModuleData[] modules;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.modules = BenchmarkShaders.modules();
+    }
+
+    @Benchmark
+    public int createAndDestroy() {
+        final ShaderProgram program = new ShaderProgram(
+                "ShaderProgramBenchmark",
+                this.modules
+        );
+        final int id = program.getId();
+        program.destroy();
+        return id;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.engineersbox.structuredgl.benchmark.gpu.shader;
+
+import com.engineersbox.structuredgl.benchmark.BenchmarkShaders;
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import com.engineersbox.structuredgl.gpu.shader.Uniforms;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class UniformsBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int paletteSize;
+
+    private ShaderProgram program;
+    private Uniforms uniforms;
+    private Matrix4f[] palette;
+    private Vector3f offset;
+    private Vector4f tint;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.program = new ShaderProgram("UniformsBenchmark", BenchmarkShaders.modules());
+        this.uniforms = this.program.getUniforms();
+        this.uniforms.createUniform("scalar");
+        this.uniforms.createUniform("index");
+        this.uniforms.createUniform("offset");
+        this.uniforms.createUniform("tint");
+        this.uniforms.createUniform("palette");
+        this.program.bind();
+        this.palette = new Matrix4f[this.paletteSize];
+        for (int i = 0; i < this.paletteSize; i++) {
+            this.palette[i] = new Matrix4f().translation(i, i, i);
+        }
+        this.offset = new Vector3f(1.0f, 2.0f, 3.0f);
+        this.tint = new Vector4f(0.25f, 0.5f, 0.75f, 1.0f);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.program.unbind();
+        this.program.destroy();
+    }
+
+    @Benchmark
+    public void setUniformFloat() {
+        this.uniforms.setUniform("scalar", 0.5f);
+    }
+
+    @Benchmark
+    public void setUniformInt() {
+        this.uniforms.setUniform("index", 0);
+    }
+
+    @Benchmark
+    public void setUniformVector3f() {
+        this.uniforms.setUniform("offset", this.offset);
+    }
+
+    @Benchmark
+    public void setUniformVector4f() {
+        this.uniforms.setUniform("tint", this.tint);
+    }
+
+    @Benchmark
+    public void setUniformMatrix4fArray() {
+        this.uniforms.setUniform("palette", false, this.palette);
+    }
+
+}
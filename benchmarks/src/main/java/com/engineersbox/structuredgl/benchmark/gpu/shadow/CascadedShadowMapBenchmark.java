@@ -0,0 +1,193 @@
+package com.engineersbox.structuredgl.benchmark.gpu.shadow;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.draw.Draw;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import com.engineersbox.structuredgl.gpu.shadow.CascadedShadowMap;
+import com.engineersbox.structuredgl.gpu.shadow.ShadowCaster;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * Shadow updates for a slowly moving camera over a field of mostly static
+ * cubes, with cached static layers and staggered cascades against redrawing
+ * every caster into every cascade each frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CascadedShadowMapBenchmark {
+
+    private static final String VERTEX_SHADER = """
+            #version 450 core
+            layout (location = 0) in vec3 position;
+            uniform mat4 lightProjectionView;
+            uniform vec4 instance;
+            void main() {
+                gl_Position = lightProjectionView * vec4(position * instance.w + instance.xyz, 1.0);
+            }
+            """;
+    private static final String FRAGMENT_SHADER = """
+            #version 450 core
+            void main() {
+            }
+            """;
+    private static final float[] CUBE_VERTICES = new float[]{
+            -1, -1, -1, 1, -1, -1, 1, 1, -1, -1, 1, -1,
+            -1, -1, 1, 1, -1, 1, 1, 1, 1, -1, 1, 1
+    };
+    private static final int[] CUBE_INDICES = new int[]{
+            0, 2, 1, 0, 3, 2, 4, 5, 6, 4, 6, 7,
+            0, 1, 5, 0, 5, 4, 3, 6, 2, 3, 7, 6,
+            0, 4, 7, 0, 7, 3, 1, 2, 6, 1, 6, 5
+    };
+    private static final float WORLD_EXTENT = 200.0f;
+    private static final float DYNAMIC_FRACTION = 0.1f;
+
+    @Param({"2048", "16384"})
+    public int casters;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private ShaderProgram program;
+    private VAO vao;
+    private VBO vertices;
+    private EBO indices;
+    private CascadedShadowMap shadowMap;
+    private List<Cube> cubes;
+    private Matrix4f projection;
+    private Matrix4f view;
+    private Vector3f lightDirection;
+    private int frame;
+
+    private final class Cube implements ShadowCaster {
+
+        private final Vector4f bounds;
+        private final Vector4f instance;
+        private final boolean isStatic;
+
+        private Cube(final float x,
+                     final float y,
+                     final float z,
+                     final float size,
+                     final boolean isStatic) {
+            this.instance = new Vector4f(x, y, z, size);
+            this.bounds = new Vector4f(x, y, z, size * 1.7320508f);
+            this.isStatic = isStatic;
+        }
+
+        @Override
+        public Vector4fc getBounds() {
+            return this.bounds;
+        }
+
+        @Override
+        public boolean isStatic() {
+            return this.isStatic;
+        }
+
+        @Override
+        public void draw(final int cascade,
+                         final Matrix4fc lightProjectionView) {
+            program.getUniforms().setUniform("lightProjectionView", lightProjectionView);
+            program.getUniforms().setUniform("instance", this.instance);
+            Draw.elementsInstanced(GL_TRIANGLES, CUBE_INDICES.length, GL_UNSIGNED_INT, 0, 1, 0, 0);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.program = new ShaderProgram(
+                "ShadowDepth",
+                new ShaderModuleData(VERTEX_SHADER, DataType.LITERAL_DATA, ShaderType.VERTEX),
+                new ShaderModuleData(FRAGMENT_SHADER, DataType.LITERAL_DATA, ShaderType.FRAGMENT)
+        );
+        this.program.getUniforms().createUniform("lightProjectionView");
+        this.program.getUniforms().createUniform("instance");
+        this.vao = new VAO();
+        this.vao.bind();
+        this.vertices = new VBO();
+        this.vertices.bind();
+        this.vertices.setData(CUBE_VERTICES, GL_STATIC_DRAW);
+        this.vertices.enableAttributeAndPointer(0, 3, GL_FLOAT, false, 0, 0, false);
+        this.indices = new EBO();
+        this.indices.bind();
+        this.indices.setData(CUBE_INDICES, GL_STATIC_DRAW);
+        this.vao.unbind();
+        this.vertices.unbind();
+        this.indices.unbind();
+        final SplittableRandom random = new SplittableRandom(0x5AD0);
+        this.cubes = new ArrayList<>(this.casters);
+        for (int i = 0; i < this.casters; i++) {
+            this.cubes.add(new Cube(
+                    (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT),
+                    (float) random.nextDouble(0.0, 10.0),
+                    (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT),
+                    (float) random.nextDouble(0.5, 3.0),
+                    random.nextDouble() >= DYNAMIC_FRACTION
+            ));
+        }
+        this.shadowMap = this.cached
+                ? new CascadedShadowMap()
+                : new CascadedShadowMap(
+                        CascadedShadowMap.DEFAULT_CASCADES,
+                        CascadedShadowMap.DEFAULT_RESOLUTION,
+                        CascadedShadowMap.DEFAULT_SPLIT_LAMBDA,
+                        CascadedShadowMap.DEFAULT_MARGIN,
+                        CascadedShadowMap.DEFAULT_DEPTH_EXTENSION,
+                        new int[]{1, 1, 1},
+                        CascadedShadowMap.UNLIMITED_BUDGET
+                );
+        this.projection = new Matrix4f().perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, 1000.0f);
+        this.view = new Matrix4f();
+        this.lightDirection = new Vector3f(-0.3f, -1.0f, -0.2f);
+        this.frame = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.shadowMap.destroy();
+        this.program.destroy();
+        this.vao.destroy();
+        this.vertices.destroy();
+        this.indices.destroy();
+    }
+
+    @Benchmark
+    public void update() {
+        final float travel = (this.frame++ % 2000) * 0.05f;
+        this.view.identity().lookAt(travel, 5.0f, travel, travel + 1.0f, 4.0f, travel + 1.0f, 0.0f, 1.0f, 0.0f);
+        if (!this.cached) {
+            this.shadowMap.invalidateAll();
+        }
+        this.program.bind();
+        this.vao.bind();
+        this.shadowMap.update(this.view, this.projection, 0.1f, 150.0f, this.lightDirection, this.cubes);
+        this.vao.unbind();
+        this.program.unbind();
+        glFinish();
+    }
+
+}
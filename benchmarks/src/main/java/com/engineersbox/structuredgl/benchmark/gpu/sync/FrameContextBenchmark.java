@@ -0,0 +1,89 @@
+package com.engineersbox.structuredgl.benchmark.gpu.sync;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.sync.FrameContext;
+import com.engineersbox.structuredgl.gpu.sync.FrameRingBuffer;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+
+/**
+ * Per frame cost of streaming data the GPU consumes in the same frame,
+ * overwriting a single buffer with {@code glBufferSubData} while earlier
+ * frames may still read it against writing into the frame's region of a
+ * persistently mapped {@link FrameRingBuffer}. A GPU side copy stands in
+ * for the consuming draw.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FrameContextBenchmark {
+
+    private static final int ALIGNMENT = 256;
+
+    @Param({"65536", "4194304"})
+    public int bytes;
+
+    @Param({"2", "3"})
+    public int framesInFlight;
+
+    private FrameContext frames;
+    private FrameRingBuffer<VBO> ring;
+    private VBO streamed;
+    private SSBO consumer;
+    private ByteBuffer data;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.frames = new FrameContext(this.framesInFlight);
+        this.ring = new FrameRingBuffer<>(this.frames, new VBO(), this.bytes);
+        this.data = MemoryUtil.memCalloc(this.bytes);
+        this.streamed = new VBO();
+        this.streamed.bind();
+        this.streamed.setData(this.data, GL_DYNAMIC_DRAW);
+        this.streamed.unbind();
+        this.consumer = new SSBO();
+        this.consumer.bind();
+        this.consumer.setData(this.data, GL_DYNAMIC_DRAW);
+        this.consumer.unbind();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.frames.destroy();
+        this.ring.destroy();
+        this.streamed.destroy();
+        this.consumer.destroy();
+        MemoryUtil.memFree(this.data);
+    }
+
+    @Benchmark
+    public void bufferSubData() {
+        this.frames.beginFrame();
+        this.streamed.bind();
+        this.streamed.setSubData(0, this.data);
+        this.streamed.unbind();
+        glCopyNamedBufferSubData(this.streamed.getId(), this.consumer.getId(), 0, 0, this.bytes);
+        this.frames.endFrame();
+    }
+
+    @Benchmark
+    public void frameRingBuffer() {
+        this.frames.beginFrame();
+        final long offset = this.ring.allocate(this.bytes, ALIGNMENT);
+        this.ring.slice(offset, this.bytes).put(0, this.data, 0, this.bytes);
+        glCopyNamedBufferSubData(this.ring.getBuffer().getId(), this.consumer.getId(), offset, 0, this.bytes);
+        this.frames.endFrame();
+    }
+
+}
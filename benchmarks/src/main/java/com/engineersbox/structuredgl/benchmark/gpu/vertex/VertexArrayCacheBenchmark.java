@@ -0,0 +1,99 @@
+package com.engineersbox.structuredgl.benchmark.gpu.vertex;
+
+import com.engineersbox.structuredgl.benchmark.context.HeadlessContextState;
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.vertex.AttributeEncoding;
+import com.engineersbox.structuredgl.gpu.vertex.VertexArrayCache;
+import com.engineersbox.structuredgl.gpu.vertex.VertexAttribute;
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * Vertex input switching for a run of meshes sharing a format and index
+ * buffer, binding one fully specified VAO per mesh against a single cached
+ * VAO with only the vertex buffer swapped per mesh.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VertexArrayCacheBenchmark {
+
+    private static final int VERTEX_BYTES = 1024;
+
+    @Param({"1000"})
+    public int meshCount;
+
+    private VertexFormat format;
+    private EBO indices;
+    private VBO[] vertices;
+    private VAO[] meshVAOs;
+    private VertexArrayCache cache;
+
+    @Setup(Level.Trial)
+    public void setup(final HeadlessContextState context) {
+        this.format = new VertexFormat(
+                new VertexAttribute(0, 3),
+                new VertexAttribute(1, 3, AttributeEncoding.OCTAHEDRAL_INT_2_10_10_10_REV),
+                new VertexAttribute(2, 2, AttributeEncoding.HALF_FLOAT)
+        );
+        this.indices = new EBO();
+        this.indices.bind();
+        this.indices.setData(new int[]{0, 1, 2}, GL_STATIC_DRAW);
+        this.indices.unbind();
+        this.vertices = new VBO[this.meshCount];
+        this.meshVAOs = new VAO[this.meshCount];
+        for (int i = 0; i < this.meshCount; i++) {
+            this.vertices[i] = new VBO();
+            this.vertices[i].bind();
+            this.vertices[i].setData(new float[VERTEX_BYTES / Float.BYTES], GL_STATIC_DRAW);
+            this.vertices[i].unbind();
+            this.meshVAOs[i] = new VAO();
+            this.meshVAOs[i].bind();
+            this.format.apply(this.vertices[i]);
+            this.meshVAOs[i].unbind();
+            this.meshVAOs[i].setElementBuffer(this.indices);
+        }
+        this.cache = new VertexArrayCache();
+        this.cache.get(this.format, this.indices);
+        if (this.cache.get(this.format, this.indices) != this.cache.get(new VertexFormat(this.format.getAttributes()), this.indices)
+                || this.cache.size() != 1) {
+            throw new IllegalStateException("Equal vertex formats did not share a cached VAO");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.cache.destroy();
+        for (int i = 0; i < this.meshCount; i++) {
+            this.meshVAOs[i].destroy();
+            this.vertices[i].destroy();
+        }
+        this.indices.destroy();
+    }
+
+    @Benchmark
+    public void vaoPerMesh() {
+        for (final VAO vao : this.meshVAOs) {
+            vao.bind();
+            vao.unbind();
+        }
+    }
+
+    @Benchmark
+    public void cachedVAO() {
+        for (final VBO buffer : this.vertices) {
+            this.cache.bind(this.format, this.indices, buffer);
+        }
+        this.cache.unbind();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.engineersbox.structuredgl.benchmark.memory;
+
+import com.engineersbox.structuredgl.memory.FrameArena;
+import org.lwjgl.system.MemoryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of staging a heap array off-heap for an upload, allocating from the
+ * thread's {@link FrameArena} against a {@code malloc} and {@code free} per
+ * call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FrameArenaBenchmark {
+
+    @Param({"256", "4096", "262144"})
+    public int elements;
+
+    private float[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.data = new float[this.elements];
+        for (int i = 0; i < this.elements; i++) {
+            this.data[i] = i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        FrameArena.releaseCurrent();
+    }
+
+    @Benchmark
+    public long arena() {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            return MemoryUtil.memAddress(arena.mallocFloat(this.elements).put(this.data).flip());
+        } finally {
+            arena.rewind(mark);
+        }
+    }
+
+    @Benchmark
+    public long malloc() {
+        final FloatBuffer staged = MemoryUtil.memAllocFloat(this.elements).put(this.data).flip();
+        try {
+            return MemoryUtil.memAddress(staged);
+        } finally {
+            MemoryUtil.memFree(staged);
+        }
+    }
+
+}
@@ -0,0 +1,311 @@
+package com.engineersbox.structuredgl.asset;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.Arrays;
+
+/**
+ * BC7 encoder restricted to mode 6, a single subset with 7 bit RGBA
+ * endpoints, a parity bit each and 4 bit indices. Endpoints start from the
+ * block's principal axis and are refined by least squares against the
+ * chosen indices, which handles smooth colour and alpha gradients well while
+ * staying fast enough to cook at runtime. Scratch state is held per thread
+ * so blocks encode without allocating. Blocks with several distinct
+ * colour clusters would gain from the partitioned modes this does not search.
+ */
+final class BC7Encoder {
+
+    private static final int MODE = 6;
+    private static final int CHANNELS = 4;
+    private static final int TEXELS = TextureCompression.BLOCK_TEXELS;
+    private static final int[] WEIGHTS = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+    private static final int INDEX_COUNT = WEIGHTS.length;
+    private static final int POWER_ITERATIONS = 8;
+    private static final int REFINE_ITERATIONS = 2;
+
+    private static final ThreadLocal<BC7Encoder> ENCODERS = ThreadLocal.withInitial(BC7Encoder::new);
+
+    private final int[] texels = new int[TEXELS * CHANNELS];
+    private final float[] endpoints = new float[2 * CHANNELS];
+    private final int[] best = new int[(2 * CHANNELS) + 2];
+    private final int[] candidate = new int[(2 * CHANNELS) + 2];
+    private final int[] bestIndices = new int[TEXELS];
+    private final int[] indices = new int[TEXELS];
+    private final int[] palette = new int[INDEX_COUNT * CHANNELS];
+    private final int[] values = new int[CHANNELS];
+    private final float[] mean = new float[CHANNELS];
+    private final float[] covariance = new float[CHANNELS * CHANNELS];
+    private final float[] axis = new float[CHANNELS];
+    private final float[] next = new float[CHANNELS];
+    private final float[] weightedA = new float[CHANNELS];
+    private final float[] weightedB = new float[CHANNELS];
+    private final long[] bits = new long[2];
+
+    private BC7Encoder() {
+    }
+
+    static void encodeBlock(final long source,
+                            final long destination) {
+        ENCODERS.get().encode(source, destination);
+    }
+
+    private void encode(final long source,
+                        final long destination) {
+        for (int i = 0; i < this.texels.length; i++) {
+            this.texels[i] = MemoryUtil.memGetByte(source + i) & 0xFF;
+        }
+        fitPrincipalAxis();
+        quantize(this.best);
+        long bestError = assignIndices(this.best, this.bestIndices);
+        for (int iteration = 0; iteration < REFINE_ITERATIONS && bestError > 0; iteration++) {
+            if (!leastSquares()) {
+                break;
+            }
+            quantize(this.candidate);
+            final long error = assignIndices(this.candidate, this.indices);
+            if (error >= bestError) {
+                break;
+            }
+            bestError = error;
+            System.arraycopy(this.candidate, 0, this.best, 0, this.best.length);
+            System.arraycopy(this.indices, 0, this.bestIndices, 0, TEXELS);
+        }
+        write(destination);
+    }
+
+    private void fitPrincipalAxis() {
+        final int[] texels = this.texels;
+        final float[] endpoints = this.endpoints;
+        final float[] mean = this.mean;
+        final float[] covariance = this.covariance;
+        float[] axis = this.axis;
+        float[] next = this.next;
+        Arrays.fill(mean, 0);
+        Arrays.fill(covariance, 0);
+        Arrays.fill(axis, 0);
+        for (int i = 0; i < TEXELS; i++) {
+            for (int c = 0; c < CHANNELS; c++) {
+                mean[c] += texels[(i * CHANNELS) + c];
+            }
+        }
+        for (int c = 0; c < CHANNELS; c++) {
+            mean[c] /= TEXELS;
+        }
+        for (int i = 0; i < TEXELS; i++) {
+            for (int a = 0; a < CHANNELS; a++) {
+                final float da = texels[(i * CHANNELS) + a] - mean[a];
+                for (int b = a; b < CHANNELS; b++) {
+                    covariance[(a * CHANNELS) + b] += da * (texels[(i * CHANNELS) + b] - mean[b]);
+                }
+            }
+        }
+        for (int a = 0; a < CHANNELS; a++) {
+            for (int b = 0; b < a; b++) {
+                covariance[(a * CHANNELS) + b] = covariance[(b * CHANNELS) + a];
+            }
+        }
+        // Start from the channel of greatest variance, which power iteration
+        // converges from unless it is orthogonal to the principal axis
+        int dominant = 0;
+        for (int c = 1; c < CHANNELS; c++) {
+            if (covariance[(c * CHANNELS) + c] > covariance[(dominant * CHANNELS) + dominant]) {
+                dominant = c;
+            }
+        }
+        axis[dominant] = 1;
+        for (int iteration = 0; iteration < POWER_ITERATIONS; iteration++) {
+            float length = 0;
+            for (int a = 0; a < CHANNELS; a++) {
+                float sum = 0;
+                for (int b = 0; b < CHANNELS; b++) {
+                    sum += covariance[(a * CHANNELS) + b] * axis[b];
+                }
+                next[a] = sum;
+                length = Math.max(length, Math.abs(sum));
+            }
+            if (length == 0) {
+                break;
+            }
+            for (int c = 0; c < CHANNELS; c++) {
+                next[c] /= length;
+            }
+            final float[] swap = axis;
+            axis = next;
+            next = swap;
+        }
+        float axisLengthSquared = 0;
+        for (int c = 0; c < CHANNELS; c++) {
+            axisLengthSquared += axis[c] * axis[c];
+        }
+        if (axisLengthSquared == 0) {
+            for (int c = 0; c < CHANNELS; c++) {
+                endpoints[c] = mean[c];
+                endpoints[CHANNELS + c] = mean[c];
+            }
+            return;
+        }
+        float minProjection = Float.POSITIVE_INFINITY;
+        float maxProjection = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < TEXELS; i++) {
+            float projection = 0;
+            for (int c = 0; c < CHANNELS; c++) {
+                projection += (texels[(i * CHANNELS) + c] - mean[c]) * axis[c];
+            }
+            minProjection = Math.min(minProjection, projection);
+            maxProjection = Math.max(maxProjection, projection);
+        }
+        for (int c = 0; c < CHANNELS; c++) {
+            endpoints[c] = mean[c] + ((axis[c] * minProjection) / axisLengthSquared);
+            endpoints[CHANNELS + c] = mean[c] + ((axis[c] * maxProjection) / axisLengthSquared);
+        }
+    }
+
+    /**
+     * Solves for the endpoints minimising squared error given fixed indices.
+     *
+     * @return Whether the system was solvable, it is not when every texel shares an index
+     */
+    private boolean leastSquares() {
+        final int[] texels = this.texels;
+        final float[] endpoints = this.endpoints;
+        final float[] ax = this.weightedA;
+        final float[] bx = this.weightedB;
+        Arrays.fill(ax, 0);
+        Arrays.fill(bx, 0);
+        float aa = 0;
+        float ab = 0;
+        float bb = 0;
+        for (int i = 0; i < TEXELS; i++) {
+            final float b = WEIGHTS[this.bestIndices[i]] / 64.0f;
+            final float a = 1.0f - b;
+            aa += a * a;
+            ab += a * b;
+            bb += b * b;
+            for (int c = 0; c < CHANNELS; c++) {
+                final int value = texels[(i * CHANNELS) + c];
+                ax[c] += a * value;
+                bx[c] += b * value;
+            }
+        }
+        final float determinant = (aa * bb) - (ab * ab);
+        if (Math.abs(determinant) < 1e-6f) {
+            return false;
+        }
+        for (int c = 0; c < CHANNELS; c++) {
+            endpoints[c] = ((bb * ax[c]) - (ab * bx[c])) / determinant;
+            endpoints[CHANNELS + c] = ((aa * bx[c]) - (ab * ax[c])) / determinant;
+        }
+        return true;
+    }
+
+    /**
+     * Stores both endpoints as 7 bit channel values followed by their parity
+     * bits, {@code [r0 g0 b0 a0 r1 g1 b1 a1 p0 p1]}.
+     */
+    private void quantize(final int[] quantized) {
+        final int[] values = this.values;
+        for (int endpoint = 0; endpoint < 2; endpoint++) {
+            float bestError = Float.POSITIVE_INFINITY;
+            for (int parity = 0; parity < 2; parity++) {
+                float error = 0;
+                for (int c = 0; c < CHANNELS; c++) {
+                    final float target = Math.max(0, Math.min(255, this.endpoints[(endpoint * CHANNELS) + c]));
+                    values[c] = Math.max(0, Math.min(127, Math.round((target - parity) / 2.0f)));
+                    final float difference = ((values[c] << 1) | parity) - target;
+                    error += difference * difference;
+                }
+                if (error < bestError) {
+                    bestError = error;
+                    System.arraycopy(values, 0, quantized, endpoint * CHANNELS, CHANNELS);
+                    quantized[(2 * CHANNELS) + endpoint] = parity;
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks the nearest palette entry for every texel.
+     *
+     * @return Total squared error of the block
+     */
+    private long assignIndices(final int[] quantized,
+                               final int[] indices) {
+        final int[] texels = this.texels;
+        final int[] palette = this.palette;
+        for (int c = 0; c < CHANNELS; c++) {
+            final int e0 = (quantized[c] << 1) | quantized[2 * CHANNELS];
+            final int e1 = (quantized[CHANNELS + c] << 1) | quantized[(2 * CHANNELS) + 1];
+            for (int i = 0; i < INDEX_COUNT; i++) {
+                palette[(i * CHANNELS) + c] = (((64 - WEIGHTS[i]) * e0) + (WEIGHTS[i] * e1) + 32) >> 6;
+            }
+        }
+        long total = 0;
+        for (int t = 0; t < TEXELS; t++) {
+            int bestIndex = 0;
+            int bestError = Integer.MAX_VALUE;
+            for (int i = 0; i < INDEX_COUNT; i++) {
+                int error = 0;
+                for (int c = 0; c < CHANNELS; c++) {
+                    final int difference = palette[(i * CHANNELS) + c] - texels[(t * CHANNELS) + c];
+                    error += difference * difference;
+                }
+                if (error < bestError) {
+                    bestError = error;
+                    bestIndex = i;
+                }
+            }
+            indices[t] = bestIndex;
+            total += bestError;
+        }
+        return total;
+    }
+
+    private void write(final long destination) {
+        final int[] quantized = this.best;
+        final int[] indices = this.bestIndices;
+        // The first index is stored without its high bit, which must be zero
+        if (indices[0] >= INDEX_COUNT / 2) {
+            for (int c = 0; c < CHANNELS; c++) {
+                final int swap = quantized[c];
+                quantized[c] = quantized[CHANNELS + c];
+                quantized[CHANNELS + c] = swap;
+            }
+            final int swap = quantized[2 * CHANNELS];
+            quantized[2 * CHANNELS] = quantized[(2 * CHANNELS) + 1];
+            quantized[(2 * CHANNELS) + 1] = swap;
+            for (int i = 0; i < TEXELS; i++) {
+                indices[i] = INDEX_COUNT - 1 - indices[i];
+            }
+        }
+        final long[] bits = this.bits;
+        bits[0] = 0;
+        bits[1] = 0;
+        int position = put(bits, 0, MODE + 1, 1 << MODE);
+        for (int c = 0; c < CHANNELS; c++) {
+            position = put(bits, position, 7, quantized[c]);
+            position = put(bits, position, 7, quantized[CHANNELS + c]);
+        }
+        position = put(bits, position, 1, quantized[2 * CHANNELS]);
+        position = put(bits, position, 1, quantized[(2 * CHANNELS) + 1]);
+        position = put(bits, position, 3, indices[0]);
+        for (int i = 1; i < TEXELS; i++) {
+            position = put(bits, position, 4, indices[i]);
+        }
+        MemoryUtil.memPutLong(destination, bits[0]);
+        MemoryUtil.memPutLong(destination + Long.BYTES, bits[1]);
+    }
+
+    private static int put(final long[] bits,
+                           final int position,
+                           final int count,
+                           final int value) {
+        for (int i = 0; i < count; i++) {
+            if (((value >>> i) & 1) != 0) {
+                final int bit = position + i;
+                bits[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+        return position + count;
+    }
+
+}
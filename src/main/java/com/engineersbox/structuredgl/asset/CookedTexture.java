@@ -0,0 +1,75 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture2D;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_TEXTURE_MAX_LEVEL;
+
+/**
+ * Upload-ready block compressed texture whose levels are slices of a
+ * memory-mapped cache file.
+ *
+ * @param levels Mip chain from full resolution down, each level's blocks in row major order
+ */
+public record CookedTexture(Path source,
+                            Path cacheFile,
+                            TextureCompression compression,
+                            boolean srgb,
+                            List<Level> levels) {
+
+    public record Level(int width,
+                        int height,
+                        ByteBuffer data) {
+    }
+
+    public int width() {
+        return this.levels.get(0).width();
+    }
+
+    public int height() {
+        return this.levels.get(0).height();
+    }
+
+    /**
+     * Uploads every level straight from the mapped file and limits sampling
+     * to the cooked chain, the texture must be bound.
+     */
+    public void upload(final MemoryTexture2D texture) {
+        upload(texture, 0);
+    }
+
+    /**
+     * Uploads the chain from {@code firstLevel} down as levels 0 onwards,
+     * holding a lower resolution copy of the texture in less memory. Levels
+     * left over from a longer chain stay allocated but are never sampled.
+     */
+    public void upload(final MemoryTexture2D texture,
+                       final int firstLevel) {
+        if (firstLevel < 0 || firstLevel >= this.levels.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "First level %d is outside the %d cooked levels",
+                    firstLevel,
+                    this.levels.size()
+            ));
+        }
+        final int internalFormat = this.compression.glInternalFormat(this.srgb);
+        for (int i = firstLevel; i < this.levels.size(); i++) {
+            final Level level = this.levels.get(i);
+            texture.createCompressedTexImage(
+                    i - firstLevel,
+                    internalFormat,
+                    new int[]{level.width(), level.height()},
+                    level.data().duplicate()
+            );
+        }
+        final int levelCount = this.levels.size() - firstLevel;
+        texture.setTexParameteri(GL_TEXTURE_MAX_LEVEL, levelCount - 1);
+        texture.setTexParameteri(GL_TEXTURE_MIN_FILTER, levelCount > 1 ? GL_LINEAR_MIPMAP_LINEAR : GL_LINEAR);
+        texture.setTexParameteri(GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Upload-ready mesh whose buffers are slices of a memory-mapped cache file.
+ *
+ * @param vertices Interleaved vertices encoded with the model's vertex format
+ * @param indices Indices of width given by {@code indexType}
+ * @param indexType {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}
+ */
+public record ImportedMesh(ByteBuffer vertices,
+                           ByteBuffer indices,
+                           int vertexCount,
+                           int indexCount,
+                           int indexType,
+                           int materialIndex) {
+
+    /**
+     * Uploads straight from the mapped file, the VBO and EBO must be bound.
+     */
+    public void upload(final VBO vbo,
+                       final EBO ebo,
+                       final int usage) {
+        vbo.setData(this.vertices.duplicate(), usage);
+        ebo.setData(this.indices.duplicate(), usage);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public record ImportedModel(Path source,
+                            Path cacheFile,
+                            VertexFormat format,
+                            List<ImportedMesh> meshes) {
+}
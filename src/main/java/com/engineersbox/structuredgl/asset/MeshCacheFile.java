@@ -0,0 +1,193 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+import com.engineersbox.structuredgl.mesh.IndexData;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
+
+/**
+ * Binary mesh cache, little endian:
+ * <pre>
+ * header  magic:int version:int sourceSize:long sourceModified:long formatSignature:long importFlags:int optimised:int meshCount:int
+ * table   meshCount * (vertexCount:int indexCount:int indexType:int materialIndex:int vertexOffset:long indexOffset:long)
+ * data    vertex and index blocks, each aligned to {@value #DATA_ALIGNMENT} bytes
+ * </pre>
+ * Bump {@link #VERSION} whenever the layout or the import pipeline output changes.
+ * {@link #map} validates every table entry against the file size, so a
+ * truncated or corrupt cache is treated as stale rather than failing the import.
+ */
+class MeshCacheFile {
+
+    static final int VERSION = 2;
+
+    private static final int MAGIC = 0x4D4C4753; // "SGLM"
+    private static final int HEADER_BYTES = (5 * Integer.BYTES) + (3 * Long.BYTES);
+    private static final int TABLE_ENTRY_BYTES = (4 * Integer.BYTES) + (2 * Long.BYTES);
+    private static final int DATA_ALIGNMENT = 16;
+
+    private MeshCacheFile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    record Entry(ByteBuffer vertices,
+                 int vertexCount,
+                 IndexData indices,
+                 int materialIndex) {
+    }
+
+    static void write(final Path cacheFile,
+                      final long sourceSize,
+                      final long sourceModified,
+                      final VertexFormat format,
+                      final int importFlags,
+                      final boolean optimised,
+                      final List<Entry> entries) throws IOException {
+        long offset = align(HEADER_BYTES + ((long) entries.size() * TABLE_ENTRY_BYTES));
+        final ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + (entries.size() * TABLE_ENTRY_BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(sourceSize)
+                .putLong(sourceModified)
+                .putLong(format.signature())
+                .putInt(importFlags)
+                .putInt(optimised ? 1 : 0)
+                .putInt(entries.size());
+        final long[] vertexOffsets = new long[entries.size()];
+        final long[] indexOffsets = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            vertexOffsets[i] = offset;
+            offset = align(offset + entry.vertices().remaining());
+            indexOffsets[i] = offset;
+            offset = align(offset + entry.indices().byteSize());
+            table.putInt(entry.vertexCount())
+                    .putInt(entry.indices().count())
+                    .putInt(entry.indices().glType())
+                    .putInt(entry.materialIndex())
+                    .putLong(vertexOffsets[i])
+                    .putLong(indexOffsets[i]);
+        }
+        table.flip();
+        final Path temporary = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, table, 0);
+            for (int i = 0; i < entries.size(); i++) {
+                final Entry entry = entries.get(i);
+                writeFully(channel, entry.vertices().duplicate(), vertexOffsets[i]);
+                final ByteBuffer indices = MemoryUtil.memAlloc(entry.indices().byteSize()).order(ByteOrder.LITTLE_ENDIAN);
+                try {
+                    entry.indices().put(indices);
+                    writeFully(channel, indices.flip(), indexOffsets[i]);
+                } finally {
+                    MemoryUtil.memFree(indices);
+                }
+            }
+        } catch (final IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The mapped meshes, or empty if the cache is missing, stale, truncated,
+     * corrupt or was written by a different version, vertex format or import pipeline
+     */
+    static Optional<List<ImportedMesh>> map(final Path cacheFile,
+                                            final long sourceSize,
+                                            final long sourceModified,
+                                            final VertexFormat format,
+                                            final int importFlags,
+                                            final boolean optimised) throws IOException {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+        final long size;
+        final MappedByteBuffer mapped;
+        try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.getInt() != MAGIC
+                || mapped.getInt() != VERSION
+                || mapped.getLong() != sourceSize
+                || mapped.getLong() != sourceModified
+                || mapped.getLong() != format.signature()
+                || mapped.getInt() != importFlags
+                || mapped.getInt() != (optimised ? 1 : 0)) {
+            return Optional.empty();
+        }
+        final int meshCount = mapped.getInt();
+        if (meshCount < 0 || meshCount > (size - HEADER_BYTES) / TABLE_ENTRY_BYTES) {
+            return Optional.empty();
+        }
+        final List<ImportedMesh> meshes = new ArrayList<>(meshCount);
+        for (int i = 0; i < meshCount; i++) {
+            final int vertexCount = mapped.getInt();
+            final int indexCount = mapped.getInt();
+            final int indexType = mapped.getInt();
+            final int materialIndex = mapped.getInt();
+            final long vertexOffset = mapped.getLong();
+            final long indexOffset = mapped.getLong();
+            if (vertexCount < 0
+                    || indexCount < 0
+                    || (indexType != GL_UNSIGNED_SHORT && indexType != GL_UNSIGNED_INT)) {
+                return Optional.empty();
+            }
+            final long vertexBytes = (long) vertexCount * format.getStride();
+            final long indexBytes = (long) indexCount * (indexType == GL_UNSIGNED_SHORT ? Short.BYTES : Integer.BYTES);
+            if (!within(vertexOffset, vertexBytes, size) || !within(indexOffset, indexBytes, size)) {
+                return Optional.empty();
+            }
+            meshes.add(new ImportedMesh(
+                    mapped.slice((int) vertexOffset, (int) vertexBytes).order(ByteOrder.LITTLE_ENDIAN),
+                    mapped.slice((int) indexOffset, (int) indexBytes).order(ByteOrder.LITTLE_ENDIAN),
+                    vertexCount,
+                    indexCount,
+                    indexType,
+                    materialIndex
+            ));
+        }
+        return Optional.of(meshes);
+    }
+
+    private static boolean within(final long offset,
+                                  final long length,
+                                  final long size) {
+        return offset >= 0 && offset <= size - length;
+    }
+
+    private static long align(final long offset) {
+        return (offset + DATA_ALIGNMENT - 1) & -DATA_ALIGNMENT;
+    }
+
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position) throws IOException {
+        long target = position;
+        while (buffer.hasRemaining()) {
+            target += channel.write(buffer, target);
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.vertex.AttributeEncoding;
+import com.engineersbox.structuredgl.gpu.vertex.VertexAttribute;
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+import com.engineersbox.structuredgl.mesh.IndexData;
+import com.engineersbox.structuredgl.mesh.MeshData;
+import com.engineersbox.structuredgl.mesh.MeshOptimiser;
+import com.engineersbox.structuredgl.mesh.OptimisedMesh;
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.assimp.AIFace;
+import org.lwjgl.assimp.AIMesh;
+import org.lwjgl.assimp.AIScene;
+import org.lwjgl.assimp.AIVector3D;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.lwjgl.assimp.Assimp.*;
+
+/**
+ * Imports models through Assimp on a worker pool and caches the upload-ready
+ * result as a binary file next to the other cached models. Later imports of
+ * an unchanged source memory-map the cache and skip Assimp entirely.
+ * <p>
+ * Meshes are imported as position (3), normal (3) and texture coordinate (2)
+ * streams, optionally optimised with a {@link MeshOptimiser}, then encoded
+ * with the importer's {@link VertexFormat}, whose attributes must be declared
+ * in that order with those component counts.
+ */
+public class ModelImporter {
+
+    public static final VertexFormat DEFAULT_FORMAT = new VertexFormat(
+            new VertexAttribute(0, 3, AttributeEncoding.FLOAT),
+            new VertexAttribute(1, 3, AttributeEncoding.FLOAT),
+            new VertexAttribute(2, 2, AttributeEncoding.FLOAT)
+    );
+
+    private static final String CACHE_EXTENSION = ".sgmesh";
+    private static final int POSITION_COMPONENTS = 3;
+    private static final int NORMAL_COMPONENTS = 3;
+    private static final int TEXTURE_COMPONENTS = 2;
+    private static final int IMPORT_VERTEX_STRIDE = POSITION_COMPONENTS + NORMAL_COMPONENTS + TEXTURE_COMPONENTS;
+    private static final int IMPORT_FLAGS = aiProcess_Triangulate
+            | aiProcess_JoinIdenticalVertices
+            | aiProcess_GenSmoothNormals
+            | aiProcess_SortByPType;
+
+    private final Path cacheDirectory;
+    private final VertexFormat format;
+    private final MeshOptimiser optimiser;
+    private final Executor workers;
+
+    /**
+     * @param optimiser Optimiser applied before caching, or null to cache meshes as authored
+     */
+    public ModelImporter(final Path cacheDirectory,
+                         final VertexFormat format,
+                         final MeshOptimiser optimiser,
+                         final Executor workers) {
+        validateFormat(format);
+        this.cacheDirectory = cacheDirectory;
+        this.format = format;
+        this.optimiser = optimiser;
+        this.workers = workers;
+    }
+
+    public ModelImporter(final Path cacheDirectory) {
+        this(cacheDirectory, DEFAULT_FORMAT, new MeshOptimiser(), ForkJoinPool.commonPool());
+    }
+
+    private static void validateFormat(final VertexFormat format) {
+        final List<VertexAttribute> attributes = format.getAttributes();
+        if (attributes.size() != 3
+                || attributes.get(0).components() != POSITION_COMPONENTS
+                || attributes.get(1).components() != NORMAL_COMPONENTS
+                || attributes.get(2).components() != TEXTURE_COMPONENTS) {
+            throw new IllegalArgumentException("Import format must declare position (3), normal (3) and texture coordinate (2) attributes in order");
+        }
+    }
+
+    public CompletableFuture<ImportedModel> importModel(final Path source) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(source);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(String.format(
+                        "Unable to import model from path %s",
+                        source
+                ), e);
+            }
+        }, this.workers);
+    }
+
+    public List<CompletableFuture<ImportedModel>> importModels(final List<Path> sources) {
+        return sources.stream()
+                .map(this::importModel)
+                .toList();
+    }
+
+    private ImportedModel load(final Path source) throws IOException {
+        final Path absoluteSource = source.toAbsolutePath();
+        final long sourceSize = Files.size(absoluteSource);
+        final long sourceModified = Files.getLastModifiedTime(absoluteSource).toMillis();
+        final boolean optimised = this.optimiser != null;
+        final Path cacheFile = this.cacheDirectory.resolve(String.format(
+                "%s.%08x.%08x%s%s",
+                absoluteSource.getFileName(),
+                absoluteSource.toString().hashCode(),
+                IMPORT_FLAGS,
+                optimised ? ".opt" : "",
+                CACHE_EXTENSION
+        ));
+        final Optional<List<ImportedMesh>> cached = MeshCacheFile.map(cacheFile, sourceSize, sourceModified, this.format, IMPORT_FLAGS, optimised);
+        if (cached.isPresent()) {
+            return new ImportedModel(absoluteSource, cacheFile, this.format, cached.get());
+        }
+        final List<MeshCacheFile.Entry> entries = importEntries(absoluteSource);
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            MeshCacheFile.write(cacheFile, sourceSize, sourceModified, this.format, IMPORT_FLAGS, optimised, entries);
+        } finally {
+            entries.forEach((final MeshCacheFile.Entry entry) -> MemoryUtil.memFree(entry.vertices()));
+        }
+        return new ImportedModel(
+                absoluteSource,
+                cacheFile,
+                this.format,
+                MeshCacheFile.map(cacheFile, sourceSize, sourceModified, this.format, IMPORT_FLAGS, optimised).orElseThrow(() -> new IOException(String.format(
+                        "Mesh cache %s was not readable after writing",
+                        cacheFile
+                )))
+        );
+    }
+
+    private List<MeshCacheFile.Entry> importEntries(final Path source) {
+        final AIScene scene = aiImportFile(source.toString(), IMPORT_FLAGS);
+        if (scene == null) {
+            throw new IllegalStateException(String.format(
+                    "Unable to import model from path %s: %s",
+                    source,
+                    aiGetErrorString()
+            ));
+        }
+        try {
+            final int meshCount = scene.mNumMeshes();
+            final PointerBuffer meshPointers = scene.mMeshes();
+            final List<MeshCacheFile.Entry> entries = new ArrayList<>(meshCount);
+            for (int i = 0; i < meshCount; i++) {
+                final AIMesh mesh = AIMesh.create(meshPointers.get(i));
+                entries.add(convert(mesh));
+            }
+            return entries;
+        } finally {
+            aiReleaseImport(scene);
+        }
+    }
+
+    private MeshCacheFile.Entry convert(final AIMesh mesh) {
+        final int vertexCount = mesh.mNumVertices();
+        final float[] vertices = new float[vertexCount * IMPORT_VERTEX_STRIDE];
+        final AIVector3D.Buffer positions = mesh.mVertices();
+        final AIVector3D.Buffer normals = mesh.mNormals();
+        final AIVector3D.Buffer textureCoordinates = mesh.mTextureCoords(0);
+        for (int i = 0; i < vertexCount; i++) {
+            final int offset = i * IMPORT_VERTEX_STRIDE;
+            final AIVector3D position = positions.get(i);
+            vertices[offset] = position.x();
+            vertices[offset + 1] = position.y();
+            vertices[offset + 2] = position.z();
+            if (normals != null) {
+                final AIVector3D normal = normals.get(i);
+                vertices[offset + 3] = normal.x();
+                vertices[offset + 4] = normal.y();
+                vertices[offset + 5] = normal.z();
+            } else {
+                vertices[offset + 5] = 1.0f;
+            }
+            if (textureCoordinates != null) {
+                final AIVector3D textureCoordinate = textureCoordinates.get(i);
+                vertices[offset + 6] = textureCoordinate.x();
+                vertices[offset + 7] = textureCoordinate.y();
+            }
+        }
+        final AIFace.Buffer faces = mesh.mFaces();
+        final int faceCount = mesh.mNumFaces();
+        final int[] indices = new int[faceCount * 3];
+        int indexCount = 0;
+        for (int i = 0; i < faceCount; i++) {
+            final AIFace face = faces.get(i);
+            // SortByPType leaves points and lines in the same mesh, triangles only are kept
+            if (face.mNumIndices() != 3) {
+                continue;
+            }
+            face.mIndices().get(indices, indexCount, 3);
+            indexCount += 3;
+        }
+        final MeshData meshData = new MeshData(
+                vertices,
+                IMPORT_VERTEX_STRIDE,
+                indexCount == indices.length ? indices : Arrays.copyOf(indices, indexCount)
+        );
+        final float[] optimisedVertices;
+        final IndexData indexData;
+        if (this.optimiser != null) {
+            final OptimisedMesh optimised = this.optimiser.optimise(meshData);
+            optimisedVertices = optimised.vertices();
+            indexData = optimised.indices();
+        } else {
+            optimisedVertices = meshData.vertices();
+            indexData = IndexData.narrow(meshData.indices(), meshData.vertexCount());
+        }
+        final int optimisedVertexCount = optimisedVertices.length / IMPORT_VERTEX_STRIDE;
+        final float[] positionStream = new float[optimisedVertexCount * POSITION_COMPONENTS];
+        final float[] normalStream = new float[optimisedVertexCount * NORMAL_COMPONENTS];
+        final float[] textureStream = new float[optimisedVertexCount * TEXTURE_COMPONENTS];
+        for (int i = 0; i < optimisedVertexCount; i++) {
+            final int offset = i * IMPORT_VERTEX_STRIDE;
+            System.arraycopy(optimisedVertices, offset, positionStream, i * POSITION_COMPONENTS, POSITION_COMPONENTS);
+            System.arraycopy(optimisedVertices, offset + 3, normalStream, i * NORMAL_COMPONENTS, NORMAL_COMPONENTS);
+            System.arraycopy(optimisedVertices, offset + 6, textureStream, i * TEXTURE_COMPONENTS, TEXTURE_COMPONENTS);
+        }
+        final ByteBuffer encoded = this.format.interleave(
+                optimisedVertexCount,
+                positionStream,
+                normalStream,
+                textureStream
+        );
+        return new MeshCacheFile.Entry(
+                encoded,
+                optimisedVertexCount,
+                indexData,
+                mesh.mMaterialIndex()
+        );
+    }
+
+}
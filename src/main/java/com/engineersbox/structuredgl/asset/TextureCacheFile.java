@@ -0,0 +1,155 @@
+package com.engineersbox.structuredgl.asset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Binary cooked texture cache, little endian:
+ * <pre>
+ * header  magic:int version:int sourceSize:long sourceModified:long compression:int srgb:int mips:int levelCount:int
+ * table   levelCount * (width:int height:int offset:long)
+ * data    encoded levels, each aligned to {@value #DATA_ALIGNMENT} bytes
+ * </pre>
+ * Bump {@link #VERSION} whenever the layout or the cooking pipeline output changes.
+ * {@link #map} validates every table entry against the file size, so a
+ * truncated or corrupt cache is treated as stale rather than failing the load.
+ */
+class TextureCacheFile {
+
+    static final int VERSION = 2;
+
+    private static final int MAGIC = 0x544C4753; // "SGLT"
+    private static final int HEADER_BYTES = (6 * Integer.BYTES) + (2 * Long.BYTES);
+    private static final int TABLE_ENTRY_BYTES = (2 * Integer.BYTES) + Long.BYTES;
+    private static final int DATA_ALIGNMENT = 16;
+
+    private TextureCacheFile() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static void write(final Path cacheFile,
+                      final long sourceSize,
+                      final long sourceModified,
+                      final TextureCompression compression,
+                      final boolean srgb,
+                      final boolean mips,
+                      final List<CookedTexture.Level> levels) throws IOException {
+        long offset = align(HEADER_BYTES + ((long) levels.size() * TABLE_ENTRY_BYTES));
+        final ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + (levels.size() * TABLE_ENTRY_BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(sourceSize)
+                .putLong(sourceModified)
+                .putInt(compression.ordinal())
+                .putInt(srgb ? 1 : 0)
+                .putInt(mips ? 1 : 0)
+                .putInt(levels.size());
+        final long[] offsets = new long[levels.size()];
+        for (int i = 0; i < levels.size(); i++) {
+            final CookedTexture.Level level = levels.get(i);
+            offsets[i] = offset;
+            offset = align(offset + level.data().remaining());
+            table.putInt(level.width())
+                    .putInt(level.height())
+                    .putLong(offsets[i]);
+        }
+        table.flip();
+        final Path temporary = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, table, 0);
+            for (int i = 0; i < levels.size(); i++) {
+                writeFully(channel, levels.get(i).data().duplicate(), offsets[i]);
+            }
+        } catch (final IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The mapped levels, or empty if the cache is missing, stale, truncated,
+     * corrupt or was written by a different version or with different cooking options
+     */
+    static Optional<List<CookedTexture.Level>> map(final Path cacheFile,
+                                                   final long sourceSize,
+                                                   final long sourceModified,
+                                                   final TextureCompression compression,
+                                                   final boolean srgb,
+                                                   final boolean mips) throws IOException {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+        final long size;
+        final MappedByteBuffer mapped;
+        try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.getInt() != MAGIC
+                || mapped.getInt() != VERSION
+                || mapped.getLong() != sourceSize
+                || mapped.getLong() != sourceModified
+                || mapped.getInt() != compression.ordinal()
+                || mapped.getInt() != (srgb ? 1 : 0)
+                || mapped.getInt() != (mips ? 1 : 0)) {
+            return Optional.empty();
+        }
+        final int levelCount = mapped.getInt();
+        if (levelCount < 0 || levelCount > (size - HEADER_BYTES) / TABLE_ENTRY_BYTES) {
+            return Optional.empty();
+        }
+        final List<CookedTexture.Level> levels = new ArrayList<>(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            final int width = mapped.getInt();
+            final int height = mapped.getInt();
+            final long offset = mapped.getLong();
+            if (width <= 0 || height <= 0) {
+                return Optional.empty();
+            }
+            final long levelBytes = blocks(width) * blocks(height) * compression.blockBytes();
+            if (offset < 0 || offset > size - levelBytes) {
+                return Optional.empty();
+            }
+            levels.add(new CookedTexture.Level(
+                    width,
+                    height,
+                    mapped.slice((int) offset, (int) levelBytes)
+            ));
+        }
+        return Optional.of(levels);
+    }
+
+    private static long blocks(final int texels) {
+        return ((long) texels + TextureCompression.BLOCK_DIMENSION - 1) / TextureCompression.BLOCK_DIMENSION;
+    }
+
+    private static long align(final long offset) {
+        return (offset + DATA_ALIGNMENT - 1) & -DATA_ALIGNMENT;
+    }
+
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position) throws IOException {
+        long target = position;
+        while (buffer.hasRemaining()) {
+            target += channel.write(buffer, target);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.engineersbox.structuredgl.asset;
+
+import org.lwjgl.system.MemoryUtil;
+
+import static org.lwjgl.opengl.EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT;
+import static org.lwjgl.opengl.EXTTextureCompressionS3TC.GL_COMPRESSED_RGB_S3TC_DXT1_EXT;
+import static org.lwjgl.opengl.EXTTextureSRGB.GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT5_EXT;
+import static org.lwjgl.opengl.EXTTextureSRGB.GL_COMPRESSED_SRGB_S3TC_DXT1_EXT;
+import static org.lwjgl.opengl.GL30.GL_COMPRESSED_RG_RGTC2;
+import static org.lwjgl.opengl.GL42.GL_COMPRESSED_RGBA_BPTC_UNORM;
+import static org.lwjgl.opengl.GL42.GL_COMPRESSED_SRGB_ALPHA_BPTC_UNORM;
+import static org.lwjgl.stb.STBDXT.*;
+
+/**
+ * Block compressed formats, each encoding a 4x4 block of RGBA8 texels
+ * into a fixed number of bytes.
+ */
+public enum TextureCompression {
+    /**
+     * Opaque colour at 4 bits per texel, alpha is discarded.
+     */
+    BC1(GL_COMPRESSED_RGB_S3TC_DXT1_EXT, GL_COMPRESSED_SRGB_S3TC_DXT1_EXT, 8) {
+        @Override
+        void encodeBlock(final long source,
+                         final long destination) {
+            nstb_compress_dxt_block(destination, source, 0, STB_DXT_HIGHQUAL);
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return false;
+        }
+    },
+    /**
+     * Colour with interpolated alpha at 8 bits per texel.
+     */
+    BC3(GL_COMPRESSED_RGBA_S3TC_DXT5_EXT, GL_COMPRESSED_SRGB_ALPHA_S3TC_DXT5_EXT, 16) {
+        @Override
+        void encodeBlock(final long source,
+                         final long destination) {
+            nstb_compress_dxt_block(destination, source, 1, STB_DXT_HIGHQUAL);
+        }
+    },
+    /**
+     * Two independent linear channels from red and green at 8 bits per
+     * texel, for tangent space normal maps with z reconstructed in shaders.
+     */
+    BC5(GL_COMPRESSED_RG_RGTC2, GL_COMPRESSED_RG_RGTC2, 16) {
+        @Override
+        void encodeBlock(final long source,
+                         final long destination) {
+            // Pack the red and green pairs down in place, each write lands at or before its read
+            for (int i = 0; i < BLOCK_TEXELS; i++) {
+                MemoryUtil.memPutShort(source + (i * 2L), MemoryUtil.memGetShort(source + (i * 4L)));
+            }
+            nstb_compress_bc5_block(destination, source);
+        }
+
+        @Override
+        public boolean supportsSrgb() {
+            return false;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return false;
+        }
+    },
+    /**
+     * Colour and alpha at 8 bits per texel, higher quality than
+     * {@link #BC3}, encoded by {@link BC7Encoder}.
+     */
+    BC7(GL_COMPRESSED_RGBA_BPTC_UNORM, GL_COMPRESSED_SRGB_ALPHA_BPTC_UNORM, 16) {
+        @Override
+        void encodeBlock(final long source,
+                         final long destination) {
+            BC7Encoder.encodeBlock(source, destination);
+        }
+    };
+
+    public static final int BLOCK_DIMENSION = 4;
+    public static final int BLOCK_TEXELS = BLOCK_DIMENSION * BLOCK_DIMENSION;
+
+    private final int glInternalFormat;
+    private final int glSrgbInternalFormat;
+    private final int blockBytes;
+
+    TextureCompression(final int glInternalFormat,
+                       final int glSrgbInternalFormat,
+                       final int blockBytes) {
+        this.glInternalFormat = glInternalFormat;
+        this.glSrgbInternalFormat = glSrgbInternalFormat;
+        this.blockBytes = blockBytes;
+    }
+
+    /**
+     * Encodes the RGBA8 texels at {@code source} in row major order, which
+     * may be overwritten, into a single block at {@code destination}.
+     */
+    abstract void encodeBlock(final long source,
+                              final long destination);
+
+    public int glInternalFormat(final boolean srgb) {
+        return srgb ? this.glSrgbInternalFormat : this.glInternalFormat;
+    }
+
+    public int blockBytes() {
+        return this.blockBytes;
+    }
+
+    public boolean supportsSrgb() {
+        return true;
+    }
+
+    public boolean hasAlpha() {
+        return true;
+    }
+
+    /**
+     * @return Bytes needed to encode a level of the given dimensions, partial
+     * blocks at the edges are padded to full blocks
+     */
+    public int levelBytes(final int width,
+                          final int height) {
+        return blocks(width) * blocks(height) * this.blockBytes;
+    }
+
+    static int blocks(final int texels) {
+        return (texels + BLOCK_DIMENSION - 1) / BLOCK_DIMENSION;
+    }
+}
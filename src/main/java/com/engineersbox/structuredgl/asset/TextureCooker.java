@@ -0,0 +1,396 @@
+package com.engineersbox.structuredgl.asset;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.lwjgl.stb.STBImage.*;
+import static org.lwjgl.stb.STBImageResize.*;
+
+/**
+ * Cooks source images into block compressed mip chains and caches the
+ * result as a binary file, so later loads of an unchanged source
+ * memory-map the cache and upload it directly with
+ * {@link CookedTexture#upload}.
+ * <p>
+ * Sources are decoded to RGBA8 with stb_image. Each mip level is filtered
+ * from the level above by stb_image_resize, in linear light for sRGB
+ * textures and weighted by alpha where the format keeps it. Filtering every
+ * level from full resolution instead avoids compounding filter error but
+ * widens the kernel with every level, costing an order of magnitude more.
+ * Each level is encoded in tiles of block rows across the fork-join pool
+ * while later levels are still being filtered.
+ * <p>
+ * Run {@link #main(String[])} to cook at build time into the directory the
+ * application later cooks into.
+ */
+public class TextureCooker {
+
+    private static final Logger LOGGER = LogManager.getLogger(TextureCooker.class);
+
+    private static final String CACHE_EXTENSION = ".sgtex";
+    private static final int RGBA_CHANNELS = 4;
+    private static final int ALPHA_CHANNEL = 3;
+    private static final int BLOCKS_PER_TILE = 512;
+
+    private final Path cacheDirectory;
+    private final TextureCompression compression;
+    private final boolean srgb;
+    private final boolean generateMips;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param srgb Whether texels are sRGB encoded colour, filtered in linear
+     *             light and sampled through an sRGB format
+     */
+    public TextureCooker(final Path cacheDirectory,
+                         final TextureCompression compression,
+                         final boolean srgb,
+                         final boolean generateMips,
+                         final ForkJoinPool pool) {
+        if (srgb && !compression.supportsSrgb()) {
+            throw new IllegalArgumentException(String.format(
+                    "Compression %s has no sRGB format",
+                    compression.name()
+            ));
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.compression = compression;
+        this.srgb = srgb;
+        this.generateMips = generateMips;
+        this.pool = pool;
+    }
+
+    public TextureCooker(final Path cacheDirectory,
+                         final TextureCompression compression,
+                         final boolean srgb) {
+        this(cacheDirectory, compression, srgb, true, ForkJoinPool.commonPool());
+    }
+
+    public CompletableFuture<CookedTexture> cook(final Path source) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(source);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(String.format(
+                        "Unable to cook texture from path %s",
+                        source
+                ), e);
+            }
+        }, this.pool);
+    }
+
+    public List<CompletableFuture<CookedTexture>> cookAll(final List<Path> sources) {
+        return sources.stream()
+                .map(this::cook)
+                .toList();
+    }
+
+    private CookedTexture load(final Path source) throws IOException {
+        final Path absoluteSource = source.toAbsolutePath();
+        final long sourceSize = Files.size(absoluteSource);
+        final long sourceModified = Files.getLastModifiedTime(absoluteSource).toMillis();
+        final Path cacheFile = this.cacheDirectory.resolve(String.format(
+                "%s.%08x.%s%s%s%s",
+                absoluteSource.getFileName(),
+                absoluteSource.toString().hashCode(),
+                this.compression.name().toLowerCase(),
+                this.srgb ? ".srgb" : "",
+                this.generateMips ? ".mips" : "",
+                CACHE_EXTENSION
+        ));
+        final Optional<List<CookedTexture.Level>> cached = TextureCacheFile.map(cacheFile, sourceSize, sourceModified, this.compression, this.srgb, this.generateMips);
+        if (cached.isPresent()) {
+            return new CookedTexture(absoluteSource, cacheFile, this.compression, this.srgb, cached.get());
+        }
+        final List<CookedTexture.Level> levels = decodeAndEncode(absoluteSource);
+        try {
+            Files.createDirectories(this.cacheDirectory);
+            TextureCacheFile.write(cacheFile, sourceSize, sourceModified, this.compression, this.srgb, this.generateMips, levels);
+        } finally {
+            levels.forEach((final CookedTexture.Level level) -> MemoryUtil.memFree(level.data()));
+        }
+        return new CookedTexture(
+                absoluteSource,
+                cacheFile,
+                this.compression,
+                this.srgb,
+                TextureCacheFile.map(cacheFile, sourceSize, sourceModified, this.compression, this.srgb, this.generateMips).orElseThrow(() -> new IOException(String.format(
+                        "Texture cache %s was not readable after writing",
+                        cacheFile
+                )))
+        );
+    }
+
+    private List<CookedTexture.Level> decodeAndEncode(final Path source) throws IOException {
+        final ByteBuffer pixels;
+        final int width;
+        final int height;
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final IntBuffer widthBuffer = stack.mallocInt(1);
+            final IntBuffer heightBuffer = stack.mallocInt(1);
+            final IntBuffer channelsBuffer = stack.mallocInt(1);
+            pixels = stbi_load(source.toString(), widthBuffer, heightBuffer, channelsBuffer, RGBA_CHANNELS);
+            if (pixels == null) {
+                throw new IOException(String.format(
+                        "Unable to decode image %s: %s",
+                        source,
+                        stbi_failure_reason()
+                ));
+            }
+            width = widthBuffer.get(0);
+            height = heightBuffer.get(0);
+        }
+        try {
+            return encode(pixels, width, height);
+        } finally {
+            stbi_image_free(pixels);
+        }
+    }
+
+    /**
+     * Generates the mip chain of RGBA8 {@code pixels} and encodes every level.
+     * The caller owns the data of the returned levels and must free each with
+     * {@link MemoryUtil#memFree(java.nio.Buffer)}.
+     */
+    public List<CookedTexture.Level> encode(final ByteBuffer pixels,
+                                            final int width,
+                                            final int height) {
+        if (pixels.remaining() < width * height * RGBA_CHANNELS) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d bytes of RGBA8 texels for %dx%d, got %d",
+                    width * height * RGBA_CHANNELS,
+                    width,
+                    height,
+                    pixels.remaining()
+            ));
+        }
+        final int levelCount = this.generateMips ? levelCount(width, height) : 1;
+        final List<CookedTexture.Level> levels = new ArrayList<>(levelCount);
+        try {
+            this.pool.invoke(new ChainTask(pixels, width, height, levelCount, levels));
+        } catch (final RuntimeException e) {
+            levels.forEach((final CookedTexture.Level level) -> MemoryUtil.memFree(level.data()));
+            throw e;
+        }
+        return levels;
+    }
+
+    /**
+     * @return Levels in a full chain down to 1x1
+     */
+    public static int levelCount(final int width,
+                                 final int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+    }
+
+    /**
+     * Filters each level from the one above it, forking the encoding of every
+     * level as soon as its texels exist so encoding overlaps the remaining
+     * filtering.
+     */
+    private class ChainTask extends RecursiveAction {
+
+        private final ByteBuffer pixels;
+        private final int width;
+        private final int height;
+        private final int levelCount;
+        private final List<CookedTexture.Level> levels;
+
+        private ChainTask(final ByteBuffer pixels,
+                          final int width,
+                          final int height,
+                          final int levelCount,
+                          final List<CookedTexture.Level> levels) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.levelCount = levelCount;
+            this.levels = levels;
+        }
+
+        @Override
+        protected void compute() {
+            final List<EncodeTask> encodes = new ArrayList<>(this.levelCount);
+            final List<ByteBuffer> filtered = new ArrayList<>(this.levelCount);
+            try {
+                ByteBuffer previous = this.pixels;
+                int previousWidth = this.width;
+                int previousHeight = this.height;
+                for (int i = 0; i < this.levelCount; i++) {
+                    final int levelWidth = Math.max(1, this.width >> i);
+                    final int levelHeight = Math.max(1, this.height >> i);
+                    final ByteBuffer current;
+                    if (i == 0) {
+                        current = this.pixels;
+                    } else {
+                        current = resize(previous, previousWidth, previousHeight, levelWidth, levelHeight);
+                        filtered.add(current);
+                    }
+                    final ByteBuffer encoded = MemoryUtil.memAlloc(TextureCooker.this.compression.levelBytes(levelWidth, levelHeight));
+                    this.levels.add(new CookedTexture.Level(levelWidth, levelHeight, encoded));
+                    final EncodeTask encode = new EncodeTask(
+                            MemoryUtil.memAddress(current),
+                            levelWidth,
+                            levelHeight,
+                            MemoryUtil.memAddress(encoded),
+                            0,
+                            TextureCompression.blocks(levelHeight)
+                    );
+                    encode.fork();
+                    encodes.add(encode);
+                    previous = current;
+                    previousWidth = levelWidth;
+                    previousHeight = levelHeight;
+                }
+            } finally {
+                // Filtered levels are only freed once every encode reading them has finished
+                encodes.forEach(EncodeTask::quietlyJoin);
+                filtered.forEach(MemoryUtil::memFree);
+            }
+            encodes.forEach(EncodeTask::join);
+        }
+
+        private ByteBuffer resize(final ByteBuffer source,
+                                  final int sourceWidth,
+                                  final int sourceHeight,
+                                  final int width,
+                                  final int height) {
+            final ByteBuffer resized = MemoryUtil.memAlloc(width * height * RGBA_CHANNELS);
+            final boolean succeeded = stbir_resize_uint8_generic(
+                    source,
+                    sourceWidth,
+                    sourceHeight,
+                    0,
+                    resized,
+                    width,
+                    height,
+                    0,
+                    RGBA_CHANNELS,
+                    TextureCooker.this.compression.hasAlpha() ? ALPHA_CHANNEL : STBIR_ALPHA_CHANNEL_NONE,
+                    0,
+                    STBIR_EDGE_CLAMP,
+                    STBIR_FILTER_DEFAULT,
+                    TextureCooker.this.srgb ? STBIR_COLORSPACE_SRGB : STBIR_COLORSPACE_LINEAR
+            );
+            if (!succeeded) {
+                MemoryUtil.memFree(resized);
+                throw new IllegalStateException(String.format(
+                        "Unable to resize %dx%d texels to %dx%d",
+                        sourceWidth,
+                        sourceHeight,
+                        width,
+                        height
+                ));
+            }
+            return resized;
+        }
+    }
+
+    private class EncodeTask extends RecursiveAction {
+
+        private final long pixels;
+        private final int width;
+        private final int height;
+        private final long encoded;
+        private final int startRow;
+        private final int endRow;
+
+        private EncodeTask(final long pixels,
+                           final int width,
+                           final int height,
+                           final long encoded,
+                           final int startRow,
+                           final int endRow) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.encoded = encoded;
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            final int blocksX = TextureCompression.blocks(this.width);
+            final int rows = this.endRow - this.startRow;
+            if (rows > 1 && rows * blocksX > BLOCKS_PER_TILE) {
+                final int middle = this.startRow + (rows / 2);
+                invokeAll(
+                        new EncodeTask(this.pixels, this.width, this.height, this.encoded, this.startRow, middle),
+                        new EncodeTask(this.pixels, this.width, this.height, this.encoded, middle, this.endRow)
+                );
+                return;
+            }
+            final TextureCompression compression = TextureCooker.this.compression;
+            final int dimension = TextureCompression.BLOCK_DIMENSION;
+            try (final MemoryStack stack = MemoryStack.stackPush()) {
+                final long block = stack.nmalloc(TextureCompression.BLOCK_TEXELS * RGBA_CHANNELS);
+                for (int blockY = this.startRow; blockY < this.endRow; blockY++) {
+                    for (int blockX = 0; blockX < blocksX; blockX++) {
+                        // Edge blocks repeat the last row and column of texels
+                        for (int y = 0; y < dimension; y++) {
+                            final int sourceY = Math.min((blockY * dimension) + y, this.height - 1);
+                            for (int x = 0; x < dimension; x++) {
+                                final int sourceX = Math.min((blockX * dimension) + x, this.width - 1);
+                                MemoryUtil.memPutInt(
+                                        block + ((long) ((y * dimension) + x) * RGBA_CHANNELS),
+                                        MemoryUtil.memGetInt(this.pixels + (((long) sourceY * this.width) + sourceX) * RGBA_CHANNELS)
+                                );
+                            }
+                        }
+                        compression.encodeBlock(
+                                block,
+                                this.encoded + ((((long) blockY * blocksX) + blockX) * compression.blockBytes())
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cooks textures ahead of time: {@code <cache directory> <BC1|BC3|BC5|BC7> <srgb|linear> <source>...}
+     */
+    public static void main(final String[] args) {
+        if (args.length < 4) {
+            throw new IllegalArgumentException("Usage: TextureCooker <cache directory> <BC1|BC3|BC5|BC7> <srgb|linear> <source>...");
+        }
+        final TextureCooker cooker = new TextureCooker(
+                Path.of(args[0]),
+                TextureCompression.valueOf(args[1]),
+                "srgb".equalsIgnoreCase(args[2])
+        );
+        final List<Path> sources = Arrays.stream(args, 3, args.length)
+                .map(Path::of)
+                .toList();
+        final List<CompletableFuture<CookedTexture>> cooked = cooker.cookAll(sources);
+        for (final CompletableFuture<CookedTexture> future : cooked) {
+            final CookedTexture texture = future.join();
+            LOGGER.info(String.format(
+                    "Cooked %s (%dx%d, %d levels) to %s",
+                    texture.source(),
+                    texture.width(),
+                    texture.height(),
+                    texture.levels().size(),
+                    texture.cacheFile()
+            ));
+        }
+    }
+
+}
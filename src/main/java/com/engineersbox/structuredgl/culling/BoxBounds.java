@@ -0,0 +1,114 @@
+package com.engineersbox.structuredgl.culling;
+
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * Axis aligned bounding boxes stored as structure-of-arrays, one array per
+ * min and max component.
+ */
+public class BoxBounds {
+
+    private float[] minX;
+    private float[] minY;
+    private float[] minZ;
+    private float[] maxX;
+    private float[] maxY;
+    private float[] maxZ;
+    private int count;
+
+    public BoxBounds(final int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        this.minX = new float[capacity];
+        this.minY = new float[capacity];
+        this.minZ = new float[capacity];
+        this.maxX = new float[capacity];
+        this.maxY = new float[capacity];
+        this.maxZ = new float[capacity];
+        this.count = 0;
+    }
+
+    /**
+     * @return Index of the added box
+     */
+    public int add(final float minX,
+                   final float minY,
+                   final float minZ,
+                   final float maxX,
+                   final float maxY,
+                   final float maxZ) {
+        if (this.count == this.minX.length) {
+            grow(this.count * 2);
+        }
+        set(this.count, minX, minY, minZ, maxX, maxY, maxZ);
+        return this.count++;
+    }
+
+    public void set(final int index,
+                    final float minX,
+                    final float minY,
+                    final float minZ,
+                    final float maxX,
+                    final float maxY,
+                    final float maxZ) {
+        this.minX[index] = minX;
+        this.minY[index] = minY;
+        this.minZ[index] = minZ;
+        this.maxX[index] = maxX;
+        this.maxY[index] = maxY;
+        this.maxZ[index] = maxZ;
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+    private void grow(final int capacity) {
+        this.minX = Arrays.copyOf(this.minX, capacity);
+        this.minY = Arrays.copyOf(this.minY, capacity);
+        this.minZ = Arrays.copyOf(this.minZ, capacity);
+        this.maxX = Arrays.copyOf(this.maxX, capacity);
+        this.maxY = Arrays.copyOf(this.maxY, capacity);
+        this.maxZ = Arrays.copyOf(this.maxZ, capacity);
+    }
+
+    public Vector3f getMin(final int index,
+                           final Vector3f dest) {
+        return dest.set(this.minX[index], this.minY[index], this.minZ[index]);
+    }
+
+    public Vector3f getMax(final int index,
+                           final Vector3f dest) {
+        return dest.set(this.maxX[index], this.maxY[index], this.maxZ[index]);
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    float[] minX() {
+        return this.minX;
+    }
+
+    float[] minY() {
+        return this.minY;
+    }
+
+    float[] minZ() {
+        return this.minZ;
+    }
+
+    float[] maxX() {
+        return this.maxX;
+    }
+
+    float[] maxY() {
+        return this.maxY;
+    }
+
+    float[] maxZ() {
+        return this.maxZ;
+    }
+
+}
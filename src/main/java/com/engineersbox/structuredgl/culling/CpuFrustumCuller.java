@@ -0,0 +1,148 @@
+package com.engineersbox.structuredgl.culling;
+
+import org.joml.Matrix4fc;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * CPU visibility for when compute culling is unavailable. Bounds are tested
+ * in structure-of-arrays batches with the vector API where the runtime
+ * provides it, and sets larger than the parallel threshold are split into
+ * fixed size chunks across a fork-join pool. Each chunk writes its visible
+ * indices at its own offset, and the chunks are then compacted in order so
+ * the result is ascending regardless of parallelism.
+ */
+public class CpuFrustumCuller {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16384;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 65536;
+
+    private final CullingKernel kernel;
+    private final int chunkSize;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    private final FrustumPlanes planes;
+    private int[] chunkCounts;
+
+    /**
+     * @param chunkSize Objects tested per fork-join task
+     * @param parallelThreshold Object count at or below which culling runs on the calling thread
+     * @param vectorised Whether to use the vector kernel when available
+     */
+    public CpuFrustumCuller(final int chunkSize,
+                            final int parallelThreshold,
+                            final boolean vectorised,
+                            final ForkJoinPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive, got " + chunkSize);
+        }
+        this.kernel = vectorised ? CullingKernels.preferred() : CullingKernels.scalar();
+        this.chunkSize = chunkSize;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+        this.planes = new FrustumPlanes();
+        this.chunkCounts = new int[1];
+    }
+
+    public CpuFrustumCuller() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_PARALLEL_THRESHOLD, true, ForkJoinPool.commonPool());
+    }
+
+    public void cull(final Matrix4fc viewProjection,
+                     final SphereBounds bounds,
+                     final VisibleSet visible) {
+        this.planes.set(viewProjection);
+        final int count = bounds.count();
+        final int[] out = visible.reserve(count);
+        if (count <= this.parallelThreshold) {
+            visible.setCount(this.kernel.cullSpheres(this.planes, bounds, 0, count, out, 0));
+            return;
+        }
+        final int chunks = prepareChunks(count);
+        this.pool.invoke(new CullTask(bounds, null, out, count, 0, chunks));
+        visible.setCount(compact(out, chunks));
+    }
+
+    public void cull(final Matrix4fc viewProjection,
+                     final BoxBounds bounds,
+                     final VisibleSet visible) {
+        this.planes.set(viewProjection);
+        final int count = bounds.count();
+        final int[] out = visible.reserve(count);
+        if (count <= this.parallelThreshold) {
+            visible.setCount(this.kernel.cullBoxes(this.planes, bounds, 0, count, out, 0));
+            return;
+        }
+        final int chunks = prepareChunks(count);
+        this.pool.invoke(new CullTask(null, bounds, out, count, 0, chunks));
+        visible.setCount(compact(out, chunks));
+    }
+
+    /**
+     * @return Whether the vector kernel is in use
+     */
+    public boolean isVectorised() {
+        return this.kernel != CullingKernels.scalar();
+    }
+
+    private int prepareChunks(final int count) {
+        final int chunks = (count + this.chunkSize - 1) / this.chunkSize;
+        if (this.chunkCounts.length < chunks) {
+            this.chunkCounts = new int[chunks];
+        }
+        return chunks;
+    }
+
+    private int compact(final int[] out,
+                        final int chunks) {
+        int written = this.chunkCounts[0];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            System.arraycopy(out, chunk * this.chunkSize, out, written, this.chunkCounts[chunk]);
+            written += this.chunkCounts[chunk];
+        }
+        return written;
+    }
+
+    private final class CullTask extends RecursiveAction {
+
+        private final SphereBounds spheres;
+        private final BoxBounds boxes;
+        private final int[] out;
+        private final int count;
+        private final int firstChunk;
+        private final int endChunk;
+
+        private CullTask(final SphereBounds spheres,
+                         final BoxBounds boxes,
+                         final int[] out,
+                         final int count,
+                         final int firstChunk,
+                         final int endChunk) {
+            this.spheres = spheres;
+            this.boxes = boxes;
+            this.out = out;
+            this.count = count;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.endChunk - this.firstChunk <= 1) {
+                final int from = this.firstChunk * chunkSize;
+                final int to = Math.min(this.count, from + chunkSize);
+                chunkCounts[this.firstChunk] = this.spheres != null
+                        ? kernel.cullSpheres(planes, this.spheres, from, to, this.out, from)
+                        : kernel.cullBoxes(planes, this.boxes, from, to, this.out, from);
+                return;
+            }
+            final int middle = (this.firstChunk + this.endChunk) >>> 1;
+            invokeAll(
+                    new CullTask(this.spheres, this.boxes, this.out, this.count, this.firstChunk, middle),
+                    new CullTask(this.spheres, this.boxes, this.out, this.count, middle, this.endChunk)
+            );
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.engineersbox.structuredgl.culling;
+
+/**
+ * Tests a contiguous range of bounds against a frustum, writing the indices
+ * of visible objects in ascending order.
+ */
+interface CullingKernel {
+
+    /**
+     * @return Number of visible indices written from {@code out[outOffset]}
+     */
+    int cullSpheres(final FrustumPlanes planes,
+                    final SphereBounds bounds,
+                    final int from,
+                    final int to,
+                    final int[] out,
+                    final int outOffset);
+
+    /**
+     * @return Number of visible indices written from {@code out[outOffset]}
+     */
+    int cullBoxes(final FrustumPlanes planes,
+                  final BoxBounds bounds,
+                  final int from,
+                  final int to,
+                  final int[] out,
+                  final int outOffset);
+
+}
@@ -0,0 +1,44 @@
+package com.engineersbox.structuredgl.culling;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Selects the vector kernel when {@code jdk.incubator.vector} is resolved at
+ * runtime (launch with {@code --add-modules jdk.incubator.vector}) and the
+ * {@code structuredgl.culling.simd} system property is not {@code false},
+ * falling back to the scalar kernel otherwise.
+ */
+final class CullingKernels {
+
+    private static final Logger LOGGER = LogManager.getLogger(CullingKernels.class);
+    private static final String SIMD_PROPERTY = "structuredgl.culling.simd";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final CullingKernel PREFERRED = selectPreferred();
+
+    private CullingKernels() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static CullingKernel preferred() {
+        return PREFERRED;
+    }
+
+    static CullingKernel scalar() {
+        return ScalarCullingKernel.INSTANCE;
+    }
+
+    private static CullingKernel selectPreferred() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return ScalarCullingKernel.INSTANCE;
+        }
+        try {
+            return VectorCullingKernel.INSTANCE;
+        } catch (final LinkageError e) {
+            LOGGER.warn("Unable to load vector culling kernel, falling back to scalar", e);
+            return ScalarCullingKernel.INSTANCE;
+        }
+    }
+
+}
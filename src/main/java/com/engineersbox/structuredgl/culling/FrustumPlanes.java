@@ -0,0 +1,32 @@
+package com.engineersbox.structuredgl.culling;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector4f;
+
+/**
+ * The six normalised frustum planes of a view projection matrix, with
+ * normals pointing inwards, stored per component for broadcasting into
+ * vector lanes.
+ */
+public class FrustumPlanes {
+
+    public static final int PLANE_COUNT = 6;
+
+    final float[] x = new float[PLANE_COUNT];
+    final float[] y = new float[PLANE_COUNT];
+    final float[] z = new float[PLANE_COUNT];
+    final float[] w = new float[PLANE_COUNT];
+    private final Vector4f scratch = new Vector4f();
+
+    public FrustumPlanes set(final Matrix4fc viewProjection) {
+        for (int i = 0; i < PLANE_COUNT; i++) {
+            viewProjection.frustumPlane(i, this.scratch);
+            this.x[i] = this.scratch.x;
+            this.y[i] = this.scratch.y;
+            this.z[i] = this.scratch.z;
+            this.w[i] = this.scratch.w;
+        }
+        return this;
+    }
+
+}
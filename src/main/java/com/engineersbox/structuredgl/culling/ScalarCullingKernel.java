@@ -0,0 +1,66 @@
+package com.engineersbox.structuredgl.culling;
+
+/**
+ * Portable kernel used where the vector API is unavailable, and for the
+ * tail of each range the vector kernel cannot fill a full vector with.
+ */
+final class ScalarCullingKernel implements CullingKernel {
+
+    static final ScalarCullingKernel INSTANCE = new ScalarCullingKernel();
+
+    private ScalarCullingKernel() {
+    }
+
+    @Override
+    public int cullSpheres(final FrustumPlanes planes,
+                           final SphereBounds bounds,
+                           final int from,
+                           final int to,
+                           final int[] out,
+                           final int outOffset) {
+        final float[] cx = bounds.centreX();
+        final float[] cy = bounds.centreY();
+        final float[] cz = bounds.centreZ();
+        final float[] r = bounds.radius();
+        int written = outOffset;
+        for (int i = from; i < to; i++) {
+            boolean visible = true;
+            for (int p = 0; p < FrustumPlanes.PLANE_COUNT && visible; p++) {
+                final float distance = (planes.x[p] * cx[i])
+                        + (planes.y[p] * cy[i])
+                        + (planes.z[p] * cz[i])
+                        + planes.w[p];
+                visible = distance >= -r[i];
+            }
+            if (visible) {
+                out[written++] = i;
+            }
+        }
+        return written - outOffset;
+    }
+
+    @Override
+    public int cullBoxes(final FrustumPlanes planes,
+                         final BoxBounds bounds,
+                         final int from,
+                         final int to,
+                         final int[] out,
+                         final int outOffset) {
+        int written = outOffset;
+        for (int i = from; i < to; i++) {
+            boolean visible = true;
+            for (int p = 0; p < FrustumPlanes.PLANE_COUNT && visible; p++) {
+                // Test the corner furthest along the plane normal
+                final float px = planes.x[p] >= 0.0f ? bounds.maxX()[i] : bounds.minX()[i];
+                final float py = planes.y[p] >= 0.0f ? bounds.maxY()[i] : bounds.minY()[i];
+                final float pz = planes.z[p] >= 0.0f ? bounds.maxZ()[i] : bounds.minZ()[i];
+                visible = (planes.x[p] * px) + (planes.y[p] * py) + (planes.z[p] * pz) + planes.w[p] >= 0.0f;
+            }
+            if (visible) {
+                out[written++] = i;
+            }
+        }
+        return written - outOffset;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.engineersbox.structuredgl.culling;
+
+import java.util.Arrays;
+
+/**
+ * Bounding spheres stored as structure-of-arrays so culling kernels can load
+ * a vector of centres or radii with a single contiguous read.
+ */
+public class SphereBounds {
+
+    private float[] centreX;
+    private float[] centreY;
+    private float[] centreZ;
+    private float[] radius;
+    private int count;
+
+    public SphereBounds(final int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        this.centreX = new float[capacity];
+        this.centreY = new float[capacity];
+        this.centreZ = new float[capacity];
+        this.radius = new float[capacity];
+        this.count = 0;
+    }
+
+    /**
+     * @return Index of the added sphere
+     */
+    public int add(final float x,
+                   final float y,
+                   final float z,
+                   final float r) {
+        if (this.count == this.radius.length) {
+            grow(this.count * 2);
+        }
+        set(this.count, x, y, z, r);
+        return this.count++;
+    }
+
+    public void set(final int index,
+                    final float x,
+                    final float y,
+                    final float z,
+                    final float r) {
+        this.centreX[index] = x;
+        this.centreY[index] = y;
+        this.centreZ[index] = z;
+        this.radius[index] = r;
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+    private void grow(final int capacity) {
+        this.centreX = Arrays.copyOf(this.centreX, capacity);
+        this.centreY = Arrays.copyOf(this.centreY, capacity);
+        this.centreZ = Arrays.copyOf(this.centreZ, capacity);
+        this.radius = Arrays.copyOf(this.radius, capacity);
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    float[] centreX() {
+        return this.centreX;
+    }
+
+    float[] centreY() {
+        return this.centreY;
+    }
+
+    float[] centreZ() {
+        return this.centreZ;
+    }
+
+    float[] radius() {
+        return this.radius;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.engineersbox.structuredgl.culling;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel testing one object per lane of the platform's preferred float
+ * vector. Only loaded once {@link CullingKernels} has confirmed the
+ * {@code jdk.incubator.vector} module is present.
+ */
+final class VectorCullingKernel implements CullingKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    static final VectorCullingKernel INSTANCE = new VectorCullingKernel();
+
+    private VectorCullingKernel() {
+    }
+
+    @Override
+    public int cullSpheres(final FrustumPlanes planes,
+                           final SphereBounds bounds,
+                           final int from,
+                           final int to,
+                           final int[] out,
+                           final int outOffset) {
+        final float[] cx = bounds.centreX();
+        final float[] cy = bounds.centreY();
+        final float[] cz = bounds.centreZ();
+        final float[] r = bounds.radius();
+        final FloatVector[] nx = broadcast(planes.x);
+        final FloatVector[] ny = broadcast(planes.y);
+        final FloatVector[] nz = broadcast(planes.z);
+        final int lanes = SPECIES.length();
+        final int bound = from + SPECIES.loopBound(to - from);
+        int written = outOffset;
+        int i = from;
+        for (; i < bound; i += lanes) {
+            final FloatVector x = FloatVector.fromArray(SPECIES, cx, i);
+            final FloatVector y = FloatVector.fromArray(SPECIES, cy, i);
+            final FloatVector z = FloatVector.fromArray(SPECIES, cz, i);
+            final FloatVector negativeRadius = FloatVector.fromArray(SPECIES, r, i).neg();
+            VectorMask<Float> visible = SPECIES.maskAll(true);
+            for (int p = 0; p < FrustumPlanes.PLANE_COUNT; p++) {
+                final FloatVector distance = x.fma(nx[p], z.fma(nz[p], y.fma(planes.y[p], planes.w[p])));
+                visible = visible.and(distance.compare(VectorOperators.GE, negativeRadius));
+                if (!visible.anyTrue()) {
+                    break;
+                }
+            }
+            written = compact(visible.toLong(), i, out, written);
+        }
+        return (written - outOffset) + ScalarCullingKernel.INSTANCE.cullSpheres(planes, bounds, i, to, out, written);
+    }
+
+    @Override
+    public int cullBoxes(final FrustumPlanes planes,
+                         final BoxBounds bounds,
+                         final int from,
+                         final int to,
+                         final int[] out,
+                         final int outOffset) {
+        final FloatVector[] nx = broadcast(planes.x);
+        final FloatVector[] nz = broadcast(planes.z);
+        final int lanes = SPECIES.length();
+        final int bound = from + SPECIES.loopBound(to - from);
+        int written = outOffset;
+        int i = from;
+        for (; i < bound; i += lanes) {
+            VectorMask<Float> visible = SPECIES.maskAll(true);
+            for (int p = 0; p < FrustumPlanes.PLANE_COUNT; p++) {
+                // Plane signs are uniform across lanes, so the furthest
+                // corner is chosen per plane rather than blended per lane
+                final FloatVector x = FloatVector.fromArray(SPECIES, planes.x[p] >= 0.0f ? bounds.maxX() : bounds.minX(), i);
+                final FloatVector y = FloatVector.fromArray(SPECIES, planes.y[p] >= 0.0f ? bounds.maxY() : bounds.minY(), i);
+                final FloatVector z = FloatVector.fromArray(SPECIES, planes.z[p] >= 0.0f ? bounds.maxZ() : bounds.minZ(), i);
+                final FloatVector distance = x.fma(nx[p], z.fma(nz[p], y.fma(planes.y[p], planes.w[p])));
+                visible = visible.and(distance.compare(VectorOperators.GE, 0.0f));
+                if (!visible.anyTrue()) {
+                    break;
+                }
+            }
+            written = compact(visible.toLong(), i, out, written);
+        }
+        return (written - outOffset) + ScalarCullingKernel.INSTANCE.cullBoxes(planes, bounds, i, to, out, written);
+    }
+
+    private static FloatVector[] broadcast(final float[] components) {
+        final FloatVector[] vectors = new FloatVector[components.length];
+        for (int p = 0; p < components.length; p++) {
+            vectors[p] = FloatVector.broadcast(SPECIES, components[p]);
+        }
+        return vectors;
+    }
+
+    private static int compact(long laneBits,
+                               final int base,
+                               final int[] out,
+                               int written) {
+        while (laneBits != 0) {
+            out[written++] = base + Long.numberOfTrailingZeros(laneBits);
+            laneBits &= laneBits - 1;
+        }
+        return written;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.engineersbox.structuredgl.culling;
+
+import java.util.Arrays;
+
+/**
+ * Compact, ascending list of visible object indices produced by culling.
+ * The backing array is reused across frames and only grows.
+ */
+public class VisibleSet {
+
+    private int[] indices;
+    private int count;
+
+    public VisibleSet(final int initialCapacity) {
+        this.indices = new int[Math.max(1, initialCapacity)];
+        this.count = 0;
+    }
+
+    public VisibleSet() {
+        this(1);
+    }
+
+    int[] reserve(final int capacity) {
+        if (this.indices.length < capacity) {
+            this.indices = new int[Math.max(capacity, this.indices.length * 2)];
+        }
+        return this.indices;
+    }
+
+    void setCount(final int count) {
+        this.count = count;
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    public int get(final int index) {
+        return this.indices[index];
+    }
+
+    /**
+     * @return The backing array, only the first {@link #count()} entries are valid
+     */
+    public int[] indices() {
+        return this.indices;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(this.indices, this.count);
+    }
+
+}
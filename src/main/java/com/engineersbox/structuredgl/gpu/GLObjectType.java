@@ -0,0 +1,123 @@
+package com.engineersbox.structuredgl.gpu;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL40;
+import org.lwjgl.opengl.GL43;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.opengl.GL45;
+import org.lwjgl.opengl.GLCapabilities;
+
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+public enum GLObjectType {
+    BUFFER(GL15::glGenBuffers, GL15::glGenBuffers, GL15::glDeleteBuffers, GLObjectType::resetBuffer, GL43.GL_BUFFER),
+    TEXTURE(GL11::glGenTextures, GL11::glGenTextures, GL11::glDeleteTextures, null, GL11.GL_TEXTURE),
+    VERTEX_ARRAY(GL30::glGenVertexArrays, GL30::glGenVertexArrays, GL30::glDeleteVertexArrays, null, GL11.GL_VERTEX_ARRAY),
+    FRAMEBUFFER(GL30::glGenFramebuffers, GL30::glGenFramebuffers, GL30::glDeleteFramebuffers, null, GL30.GL_FRAMEBUFFER),
+    QUERY(GL15::glGenQueries, GL15::glGenQueries, GL15::glDeleteQueries, null, GL43.GL_QUERY),
+    TRANSFORM_FEEDBACK(GL40::glGenTransformFeedbacks, GL40::glGenTransformFeedbacks, GL40::glDeleteTransformFeedbacks, null, GL40.GL_TRANSFORM_FEEDBACK),
+    PROGRAM(GL20::glCreateProgram, null, (final int[] ids) -> {
+        for (final int id : ids) {
+            GL20.glDeleteProgram(id);
+        }
+    }, null, GL43.GL_PROGRAM);
+
+    private final IntSupplier creator;
+    private final Consumer<int[]> generator;
+    private final Consumer<int[]> deleter;
+    private final IntPredicate resetter;
+    private final int labelIdentifier;
+
+    GLObjectType(final IntSupplier creator,
+                 final Consumer<int[]> generator,
+                 final Consumer<int[]> deleter,
+                 final IntPredicate resetter,
+                 final int labelIdentifier) {
+        this.creator = creator;
+        this.generator = generator;
+        this.deleter = deleter;
+        this.resetter = resetter;
+        this.labelIdentifier = labelIdentifier;
+    }
+
+    public int create() {
+        return this.creator.getAsInt();
+    }
+
+    /**
+     * Fills the given array with newly generated names in a single call.
+     * Only supported by {@link #isPoolable() poolable} types.
+     */
+    public void generate(final int[] ids) {
+        if (this.generator == null) {
+            throw new UnsupportedOperationException(String.format(
+                    "Object type %s does not support batched generation",
+                    name()
+            ));
+        }
+        this.generator.accept(ids);
+    }
+
+    public void delete(final int[] ids) {
+        this.deleter.accept(ids);
+    }
+
+    public boolean isPoolable() {
+        return this.generator != null;
+    }
+
+    /**
+     * Whether a released object of this type can be handed to a new owner
+     * without deleting it. Only buffers qualify, since a buffer with mutable
+     * storage can be returned to the state of a fresh name; textures are
+     * locked to their first target and container objects retain attachment
+     * state.
+     */
+    public boolean isRecyclable() {
+        return this.resetter != null;
+    }
+
+    /**
+     * Returns a released name to the state of a freshly generated one.
+     *
+     * @return Whether the name can be reused, otherwise it must be deleted
+     */
+    public boolean reset(final int id) {
+        return this.resetter != null && this.resetter.test(id);
+    }
+
+    /**
+     * Names never bound have no object yet and are reusable as they are.
+     * Immutable storage cannot be re-specified by a new owner, and mutable
+     * storage is orphaned so pooled names hold no memory. Inspecting and
+     * orphaning an unbound buffer needs direct state access, so without it
+     * bound names are deleted rather than pooled.
+     */
+    private static boolean resetBuffer(final int id) {
+        if (!GL15.glIsBuffer(id)) {
+            return true;
+        }
+        final GLCapabilities capabilities = GL.getCapabilities();
+        if (!capabilities.OpenGL45 && !capabilities.GL_ARB_direct_state_access) {
+            return false;
+        } else if ((capabilities.OpenGL44 || capabilities.GL_ARB_buffer_storage)
+                && GL45.glGetNamedBufferParameteri(id, GL44.GL_BUFFER_IMMUTABLE_STORAGE) != GL11.GL_FALSE) {
+            return false;
+        }
+        GL45.glNamedBufferData(id, 0L, GL15.GL_STATIC_DRAW);
+        return true;
+    }
+
+    /**
+     * @return Identifier naming this type to {@code glObjectLabel}
+     */
+    public int getLabelIdentifier() {
+        return this.labelIdentifier;
+    }
+}
@@ -1,18 +1,75 @@
 package com.engineersbox.structuredgl.gpu;
 
 import com.engineersbox.structuredgl.Bindable;
+import com.engineersbox.structuredgl.gpu.debug.GLDebug;
+import com.engineersbox.structuredgl.gpu.lifecycle.NamePools;
+import com.engineersbox.structuredgl.gpu.lifecycle.ResourceLeakDetector;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
 
 public abstract class GPUResource implements Bindable {
 
     protected static final int UNINITIALIZED_ID = -1;
 
+    protected final GLObjectType objectType;
     protected int id = UNINITIALIZED_ID;
     protected boolean bound = false;
+    private final ResourceLeakDetector.Tracker leakTracker;
+    private String debugLabel = null;
+    private boolean labelled = false;
+
+    protected GPUResource(final GLObjectType objectType) {
+        this.objectType = objectType;
+        this.id = NamePools.acquire(objectType);
+        this.leakTracker = ResourceLeakDetector.track(this);
+    }
 
     public int getId() {
         return this.id;
     }
 
+    public GLObjectType getObjectType() {
+        return this.objectType;
+    }
+
+    /**
+     * @return Bytes of GPU memory backing this resource as last specified,
+     *         0 for objects without storage of their own
+     */
+    public long getFootprint() {
+        return 0;
+    }
+
+    /**
+     * Names this resource in debug output and captures, replacing the
+     * default of the class name and object name.
+     */
+    public void setDebugLabel(final String debugLabel) {
+        this.debugLabel = debugLabel;
+        if (this.labelled) {
+            this.labelled = false;
+            applyDebugLabel();
+        }
+    }
+
+    public String getDebugLabel() {
+        return this.debugLabel != null
+                ? this.debugLabel
+                : String.format("%s %d", getClass().getSimpleName(), this.id);
+    }
+
+    /**
+     * Labels the underlying object once it exists. Generated names are only
+     * backed by an object after their first bind, so this is applied on the
+     * first unbind unless a subclass knows the object exists earlier.
+     */
+    protected void applyDebugLabel() {
+        if (!GLDebug.ENABLED || this.labelled || this.id == GPUResource.UNINITIALIZED_ID) {
+            return;
+        }
+        GLDebug.label(this.objectType, this.id, getDebugLabel());
+        this.labelled = true;
+    }
+
     @Override
     public void unbind() {
         if (!this.bound) {
@@ -26,6 +83,8 @@ public abstract class GPUResource implements Bindable {
                     getClass().getSimpleName()
             ));
         }
+        applyDebugLabel();
+        this.bound = false;
     }
 
     @Override
@@ -41,8 +100,14 @@ public abstract class GPUResource implements Bindable {
                     getClass().getSimpleName()
             ));
         }
+        this.bound = true;
     }
 
+    /**
+     * Deletes the underlying GL object immediately and leaves this resource
+     * uninitialised, so destroying it again fails instead of deleting a name
+     * that may since belong to another object.
+     */
     @Override
     public void destroy() {
         if (this.id == GPUResource.UNINITIALIZED_ID) {
@@ -51,6 +116,34 @@ public abstract class GPUResource implements Bindable {
                     getClass().getSimpleName()
             ));
         }
+        this.objectType.delete(new int[]{release()});
+    }
+
+    /**
+     * Relinquishes ownership of the underlying GL object without deleting it,
+     * leaving this resource uninitialised. The caller becomes responsible for
+     * deleting the returned name, typically through a
+     * {@link com.engineersbox.structuredgl.gpu.lifecycle.DeletionQueue}.
+     * Outstanding writes recorded by the calling thread's
+     * {@link MemoryBarrierTracker} are forgotten, so a recycled name starts
+     * without any.
+     *
+     * @return The name of the released GL object
+     */
+    public int release() {
+        if (this.id == GPUResource.UNINITIALIZED_ID) {
+            throw new IllegalStateException(String.format(
+                    "Cannot release uninitialised resource %s",
+                    getClass().getSimpleName()
+            ));
+        }
+        this.leakTracker.release();
+        MemoryBarrierTracker.current().forget(this);
+        final int releasedId = this.id;
+        this.id = GPUResource.UNINITIALIZED_ID;
+        this.bound = false;
+        this.labelled = false;
+        return releasedId;
     }
 
 }
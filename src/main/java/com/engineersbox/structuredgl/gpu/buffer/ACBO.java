@@ -0,0 +1,9 @@
+package com.engineersbox.structuredgl.gpu.buffer;
+
+public final class ACBO extends DataBuffer {
+
+    public ACBO() {
+        super(DataBufferType.ACB);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.engineersbox.structuredgl.gpu.buffer;
+
+public final class DIBO extends DataBuffer {
+
+    public DIBO() {
+        super(DataBufferType.DRIB);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.engineersbox.structuredgl.gpu.buffer;
+
+public final class DIIBO extends DataBuffer {
+
+    public DIIBO() {
+        super(DataBufferType.DIIB);
+    }
+
+}
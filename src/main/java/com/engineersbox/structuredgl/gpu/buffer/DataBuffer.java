@@ -1,136 +1,381 @@
 package com.engineersbox.structuredgl.gpu.buffer;
 
+import com.engineersbox.structuredgl.gpu.GLObjectType;
 import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.memory.FrameArena;
 import org.apache.logging.log4j.util.TriConsumer;
+import org.lwjgl.system.MemoryUtil;
 
 import java.nio.*;
 
 import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL30.glMapBufferRange;
+import static org.lwjgl.opengl.GL44.glBufferStorage;
+import static org.lwjgl.opengl.GL44.nglBufferStorage;
+import static org.lwjgl.opengl.GL45.glGetNamedBufferSubData;
+import static org.lwjgl.opengl.GL45.glNamedBufferData;
 
-public abstract sealed class DataBuffer extends GPUResource permits EBO, VBO, UBO {
+public abstract sealed class DataBuffer extends GPUResource permits EBO, VBO, UBO, SSBO, ACBO, DIBO, DIIBO {
 
     protected final DataBufferType type;
+    private long footprint;
+    private int usage;
+    private boolean immutable;
 
     protected DataBuffer(final DataBufferType type) {
-        super.id = glGenBuffers();
+        super(GLObjectType.BUFFER);
         this.type = type;
+        clearStorage();
     }
 
     public DataBufferType getType() {
         return this.type;
     }
 
+    private void specified(final long size,
+                           final int usage) {
+        this.footprint = size;
+        this.usage = usage;
+    }
+
+    private void clearStorage() {
+        this.footprint = 0;
+        this.usage = 0;
+        this.immutable = false;
+    }
+
+    @Override
+    public long getFootprint() {
+        return this.footprint;
+    }
+
+    /**
+     * @return Usage hint of the last mutable storage specification, 0 if none
+     */
+    public int getUsage() {
+        return this.usage;
+    }
+
+    /**
+     * @return Whether storage was allocated with {@link #setStorage(long, int)} and can no longer be re-specified
+     */
+    public boolean isImmutable() {
+        return this.immutable;
+    }
+
     public void setData(final long data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified(data, usage);
     }
 
-    public void setData(final int[] data,
+    /**
+     * Specifies storage from {@code size} bytes at an off-heap
+     * {@code address}, such as a memory-mapped file or arena allocation,
+     * without copying through an intermediate buffer.
+     */
+    public void setData(final long address,
+                        final long size,
                         final int usage) {
-        glBufferData(
-                super.id,
-                data,
+        nglBufferData(
+                this.type.getGlType(),
+                size,
+                address,
                 usage
         );
+        specified(size, usage);
+    }
+
+    /**
+     * Heap arrays are staged through the calling thread's {@link FrameArena}
+     * rather than pinned for the duration of the upload, which would stall
+     * garbage collection on the driver's copy.
+     */
+    public void setData(final int[] data,
+                        final int usage) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            setData(arena.mallocInt(data.length).put(data).flip(), usage);
+        } finally {
+            arena.rewind(mark);
+        }
     }
 
     public void setData(final short[] data,
                         final int usage) {
-        glBufferData(
-                super.id,
-                data,
-                usage
-        );
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            setData(arena.mallocShort(data.length).put(data).flip(), usage);
+        } finally {
+            arena.rewind(mark);
+        }
     }
 
     public void setData(final long[] data,
                         final int usage) {
-        glBufferData(
-                super.id,
-                data,
-                usage
-        );
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            setData(arena.mallocLong(data.length).put(data).flip(), usage);
+        } finally {
+            arena.rewind(mark);
+        }
     }
 
     public void setData(final float[] data,
                         final int usage) {
-        glBufferData(
-                super.id,
-                data,
-                usage
-        );
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            setData(arena.mallocFloat(data.length).put(data).flip(), usage);
+        } finally {
+            arena.rewind(mark);
+        }
     }
 
     public void setData(final double[] data,
                         final int usage) {
-        glBufferData(
-                super.id,
-                data,
-                usage
-        );
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            setData(arena.mallocDouble(data.length).put(data).flip(), usage);
+        } finally {
+            arena.rewind(mark);
+        }
     }
 
     public void setData(final IntBuffer data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified((long) data.remaining() * Integer.BYTES, usage);
     }
 
     public void setData(final ShortBuffer data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified((long) data.remaining() * Short.BYTES, usage);
     }
 
     public void setData(final LongBuffer data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified((long) data.remaining() * Long.BYTES, usage);
     }
 
     public void setData(final FloatBuffer data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified((long) data.remaining() * Float.BYTES, usage);
     }
 
     public void setData(final DoubleBuffer data,
                         final int usage) {
         glBufferData(
-                super.id,
+                this.type.getGlType(),
                 data,
                 usage
         );
+        specified((long) data.remaining() * Double.BYTES, usage);
     }
 
     public void setData(final ByteBuffer data,
                         final int usage) {
         glBufferData(
+                this.type.getGlType(),
+                data,
+                usage
+        );
+        specified((long) data.remaining(), usage);
+    }
+
+    /**
+     * Allocates immutable storage, which cannot be re-specified afterwards.
+     * Names of immutable buffers are deleted rather than recycled when
+     * released through a {@link com.engineersbox.structuredgl.gpu.lifecycle.DeletionQueue}.
+     *
+     * @param flags {@code GL_MAP_*_BIT}, {@code GL_DYNAMIC_STORAGE_BIT} and {@code GL_CLIENT_STORAGE_BIT} flags
+     */
+    public void setStorage(final long size,
+                           final int flags) {
+        glBufferStorage(
+                this.type.getGlType(),
+                size,
+                flags
+        );
+        this.footprint = size;
+        this.immutable = true;
+    }
+
+    /**
+     * Allocates immutable storage initialised from {@code size} bytes at an
+     * off-heap {@code address}.
+     *
+     * @see #setStorage(long, int)
+     */
+    public void setStorage(final long address,
+                           final long size,
+                           final int flags) {
+        nglBufferStorage(
+                this.type.getGlType(),
+                size,
+                address,
+                flags
+        );
+        this.footprint = size;
+        this.immutable = true;
+    }
+
+    /**
+     * Maps a range of the bound buffer, persistently if the storage and
+     * {@code access} include {@code GL_MAP_PERSISTENT_BIT}.
+     */
+    public ByteBuffer mapRange(final long offset,
+                               final long length,
+                               final int access) {
+        final ByteBuffer mapped = glMapBufferRange(
+                this.type.getGlType(),
+                offset,
+                length,
+                access
+        );
+        if (mapped == null) {
+            throw new IllegalStateException(String.format(
+                    "Failed to map %d bytes at offset %d of buffer %d",
+                    length,
+                    offset,
+                    super.id
+            ));
+        }
+        return mapped;
+    }
+
+    /**
+     * Re-specifies mutable storage without binding, so element buffer
+     * bindings of the current vertex array are left untouched. A size of 0
+     * releases the storage while keeping the name.
+     */
+    public void setNamedData(final long size,
+                             final int usage) {
+        glNamedBufferData(
+                super.id,
+                size,
+                usage
+        );
+        specified(size, usage);
+    }
+
+    public void setNamedData(final ByteBuffer data,
+                             final int usage) {
+        glNamedBufferData(
                 super.id,
                 data,
                 usage
         );
+        specified(data.remaining(), usage);
+    }
+
+    /**
+     * Reads back {@code data.remaining()} bytes at {@code offset} without
+     * binding, waiting for any pending GPU writes to the buffer.
+     */
+    public void getSubData(final long offset,
+                           final ByteBuffer data) {
+        glGetNamedBufferSubData(
+                super.id,
+                offset,
+                data
+        );
+    }
+
+    public void unmap() {
+        glUnmapBuffer(this.type.getGlType());
+    }
+
+    public void setSubData(final long offset,
+                           final int[] data) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            final IntBuffer staged = arena.mallocInt(data.length).put(data);
+            setSubData(offset, MemoryUtil.memAddress0(staged), (long) data.length * Integer.BYTES);
+        } finally {
+            arena.rewind(mark);
+        }
+    }
+
+    public void setSubData(final long offset,
+                           final ByteBuffer data) {
+        glBufferSubData(
+                this.type.getGlType(),
+                offset,
+                data
+        );
+    }
+
+    /**
+     * Updates {@code size} bytes at {@code offset} from an off-heap
+     * {@code address} without copying through an intermediate buffer.
+     */
+    public void setSubData(final long offset,
+                           final long address,
+                           final long size) {
+        nglBufferSubData(
+                this.type.getGlType(),
+                offset,
+                size,
+                address
+        );
+    }
+
+    /**
+     * Binds to the indexed binding point of this buffer's own target, which
+     * must be one of the indexed targets (atomic counter, shader storage,
+     * transform feedback or uniform).
+     */
+    public void bindBase(final int index) {
+        bindBase(this.type, index);
+    }
+
+    /**
+     * Binds to an indexed binding point of another target, for example an
+     * indirect command or vertex buffer written by a compute shader as
+     * shader storage.
+     */
+    public void bindBase(final DataBufferType target,
+                         final int index) {
+        glBindBufferBase(
+                target.getGlType(),
+                index,
+                super.id
+        );
     }
 
     @Override
     public void bind() {
-        super.unbind();
+        super.bind();
         glBindBuffer(
                 this.type.getGlType(),
                 super.id
@@ -147,9 +392,9 @@ public abstract sealed class DataBuffer extends GPUResource permits EBO, VBO, UB
     }
 
     @Override
-    public void destroy() {
-        super.destroy();
-        glDeleteBuffers(super.id);
+    public int release() {
+        clearStorage();
+        return super.release();
     }
 
 }
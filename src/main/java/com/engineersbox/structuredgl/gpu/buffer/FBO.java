@@ -1,18 +1,20 @@
 package com.engineersbox.structuredgl.gpu.buffer;
 
+import com.engineersbox.structuredgl.gpu.GLObjectType;
 import com.engineersbox.structuredgl.gpu.GPUResource;
 import com.engineersbox.structuredgl.gpu.ValidationState;
 import com.engineersbox.structuredgl.gpu.texture.MemoryTexture;
 
 import static org.lwjgl.opengl.GL30.*;
 import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_COMPLETE;
+import static org.lwjgl.opengl.GL32.glFramebufferTexture;
 
 public class FBO extends GPUResource {
 
     private final FBOType type;
 
     public FBO(final FBOType type) {
-        super.id = glGenFramebuffers();
+        super(GLObjectType.FRAMEBUFFER);
         this.type = type;
     }
 
@@ -34,6 +36,7 @@ public class FBO extends GPUResource {
 
     @Override
     public void unbind() {
+        applyDebugLabel();
         glBindFramebuffer(this.type.glType(), 0);
     }
 
@@ -64,12 +67,30 @@ public class FBO extends GPUResource {
                     texture.getId(),
                     level
             );
+            case T2D_ARRAY -> glFramebufferTexture(
+                    this.type.glType(),
+                    attachment,
+                    texture.getId(),
+                    level
+            );
         }
     }
 
-    @Override
-    public void destroy() {
-        glDeleteFramebuffers(super.id);
+    /**
+     * Attaches a single layer of an array or 3D texture, leaving the
+     * framebuffer non-layered.
+     */
+    public void attachLayer(final MemoryTexture texture,
+                            final int attachment,
+                            final int level,
+                            final int layer) {
+        glFramebufferTextureLayer(
+                this.type.glType(),
+                attachment,
+                texture.getId(),
+                level,
+                layer
+        );
     }
 
 }
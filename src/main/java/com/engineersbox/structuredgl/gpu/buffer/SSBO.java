@@ -0,0 +1,9 @@
+package com.engineersbox.structuredgl.gpu.buffer;
+
+public final class SSBO extends DataBuffer {
+
+    public SSBO() {
+        super(DataBufferType.SSB);
+    }
+
+}
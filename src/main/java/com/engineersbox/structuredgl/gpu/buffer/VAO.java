@@ -1,13 +1,17 @@
 package com.engineersbox.structuredgl.gpu.buffer;
 
+import com.engineersbox.structuredgl.gpu.GLObjectType;
 import com.engineersbox.structuredgl.gpu.GPUResource;
 
 import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL43.glBindVertexBuffer;
+import static org.lwjgl.opengl.GL43.glVertexBindingDivisor;
+import static org.lwjgl.opengl.GL45.glVertexArrayElementBuffer;
 
 public class VAO extends GPUResource {
 
     public VAO() {
-        super.id = glGenVertexArrays();
+        super(GLObjectType.VERTEX_ARRAY);
     }
 
     @Override
@@ -22,10 +26,50 @@ public class VAO extends GPUResource {
         glBindVertexArray(0);
     }
 
-    @Override
-    public void destroy() {
-        super.destroy();
-        glDeleteVertexArrays(super.id);
+    /**
+     * Sources the attributes associated with {@code bindingIndex} from
+     * {@code buffer}, leaving their formats untouched. Must be bound.
+     */
+    public void bindVertexBuffer(final int bindingIndex,
+                                 final DataBuffer buffer,
+                                 final long offset,
+                                 final int stride) {
+        requireBound();
+        glBindVertexBuffer(
+                bindingIndex,
+                buffer.getId(),
+                offset,
+                stride
+        );
+    }
+
+    /**
+     * Sets the rate at which attributes associated with {@code bindingIndex}
+     * advance, 0 for per-vertex data and N for once every N instances. Must
+     * be bound.
+     */
+    public void setBindingDivisor(final int bindingIndex,
+                                  final int divisor) {
+        requireBound();
+        glVertexBindingDivisor(bindingIndex, divisor);
+    }
+
+    /**
+     * Attaches {@code indices} as the element buffer, or detaches it when
+     * {@code null}. Does not require binding, but the VAO must have been
+     * bound at least once for the object to exist.
+     */
+    public void setElementBuffer(final EBO indices) {
+        glVertexArrayElementBuffer(super.id, indices == null ? 0 : indices.getId());
+    }
+
+    private void requireBound() {
+        if (!super.bound) {
+            throw new IllegalStateException(String.format(
+                    "Cannot bind vertex buffer on unbound resource %s",
+                    getClass().getSimpleName()
+            ));
+        }
     }
 
 }
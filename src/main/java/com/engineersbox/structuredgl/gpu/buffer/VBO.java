@@ -2,10 +2,13 @@ package com.engineersbox.structuredgl.gpu.buffer;
 
 import com.engineersbox.structuredgl.gpu.GPUResource;
 
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
 import static org.lwjgl.opengl.GL15.glBindBuffer;
 import static org.lwjgl.opengl.GL15.glGenBuffers;
 import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
 import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL30.glVertexAttribIPointer;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
 
 public final class VBO extends DataBuffer {
 
@@ -20,12 +23,7 @@ public final class VBO extends DataBuffer {
                                           final int stride,
                                           final int pointer,
                                           final boolean autoBindAndUnbind) {
-        if (!autoBindAndUnbind && !super.bound) {
-            throw new IllegalStateException(String.format(
-                    "Cannot enable vertex attribute on unbound resource %s",
-                    getClass().getSimpleName()
-            ));
-        }
+        requireBoundOrAuto(autoBindAndUnbind);
         if (autoBindAndUnbind) {
             super.bind();
         }
@@ -60,4 +58,115 @@ public final class VBO extends DataBuffer {
         );
     }
 
+    public void enableIntegerAttributeAndPointer(final int index,
+                                                 final int size,
+                                                 final int type,
+                                                 final int stride,
+                                                 final int pointer,
+                                                 final boolean autoBindAndUnbind) {
+        requireBoundOrAuto(autoBindAndUnbind);
+        if (autoBindAndUnbind) {
+            super.bind();
+        }
+        glEnableVertexAttribArray(index);
+        glVertexAttribIPointer(
+                index,
+                size,
+                type,
+                stride,
+                pointer
+        );
+        if (autoBindAndUnbind) {
+            super.unbind();
+        }
+    }
+
+    public void enableIntegerAttributeAndPointer(final int index,
+                                                 final int size,
+                                                 final int type,
+                                                 final int stride,
+                                                 final int pointer) {
+        enableIntegerAttributeAndPointer(
+                index,
+                size,
+                type,
+                stride,
+                pointer,
+                false
+        );
+    }
+
+    /**
+     * Enables a float matrix attribute, which GL exposes as one vec attribute
+     * per column at consecutive locations starting from {@code index}.
+     *
+     * @param columns Number of matrix columns, one attribute location each
+     * @param rows Number of floats per column
+     * @param divisor Attribute divisor applied to every column, 0 for per-vertex
+     */
+    public void enableMatrixAttributeAndPointer(final int index,
+                                                final int columns,
+                                                final int rows,
+                                                final int stride,
+                                                final int pointer,
+                                                final int divisor,
+                                                final boolean autoBindAndUnbind) {
+        requireBoundOrAuto(autoBindAndUnbind);
+        if (autoBindAndUnbind) {
+            super.bind();
+        }
+        final int columnBytes = rows * Float.BYTES;
+        for (int column = 0; column < columns; column++) {
+            glEnableVertexAttribArray(index + column);
+            glVertexAttribPointer(
+                    index + column,
+                    rows,
+                    GL_FLOAT,
+                    false,
+                    stride,
+                    pointer + ((long) column * columnBytes)
+            );
+            glVertexAttribDivisor(index + column, divisor);
+        }
+        if (autoBindAndUnbind) {
+            super.unbind();
+        }
+    }
+
+    public void enableMatrixAttributeAndPointer(final int index,
+                                                final int columns,
+                                                final int rows,
+                                                final int stride,
+                                                final int pointer,
+                                                final int divisor) {
+        enableMatrixAttributeAndPointer(
+                index,
+                columns,
+                rows,
+                stride,
+                pointer,
+                divisor,
+                false
+        );
+    }
+
+    /**
+     * Sets the rate at which the attribute at {@code index} advances, 0 for
+     * per-vertex data and N to advance once every N instances. Affects the
+     * currently bound VAO.
+     */
+    public void setAttributeDivisor(final int index,
+                                    final int divisor) {
+        glVertexAttribDivisor(index, divisor);
+    }
+
+    private void requireBoundOrAuto(final boolean autoBindAndUnbind) {
+        if (!autoBindAndUnbind && !super.bound) {
+            throw new IllegalStateException(String.format(
+                    "Cannot enable vertex attribute on unbound resource %s",
+                    getClass().getSimpleName()
+            ));
+        }
+    }
+
 }
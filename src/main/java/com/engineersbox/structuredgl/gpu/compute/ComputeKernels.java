@@ -0,0 +1,56 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import com.engineersbox.structuredgl.utils.FileUtils;
+
+import java.util.Map;
+
+class ComputeKernels {
+
+    static final String SHADER_DIRECTORY = "shaders/compute/";
+
+    private ComputeKernels() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static ComputeProgram load(final String name,
+                               final String resource) {
+        return new ComputeProgram(
+                name,
+                new ShaderModuleData(SHADER_DIRECTORY + resource, DataType.CLASSPATH_RESOURCE, ShaderType.COMPUTE)
+        );
+    }
+
+    /**
+     * Loads a kernel with {@code #define}s inserted after its
+     * {@code #version} directive, for compiling type and operator variants
+     * of one source.
+     */
+    static ComputeProgram load(final String name,
+                               final String resource,
+                               final Map<String, String> defines) {
+        final String source = FileUtils.readResource(SHADER_DIRECTORY + resource);
+        final int versionEnd = source.indexOf('\n') + 1;
+        final StringBuilder builder = new StringBuilder(source.length() + 256)
+                .append(source, 0, versionEnd);
+        defines.forEach((final String key, final String value) -> builder.append("#define ")
+                .append(key)
+                .append(' ')
+                .append(value)
+                .append('\n'));
+        builder.append(source, versionEnd, source.length());
+        return new ComputeProgram(
+                name,
+                new ShaderModuleData(builder.toString(), DataType.LITERAL_DATA, ShaderType.COMPUTE)
+        );
+    }
+
+    static int groupCount(final int count,
+                          final int elementsPerGroup) {
+        return (count + elementsPerGroup - 1) / elementsPerGroup;
+    }
+
+}
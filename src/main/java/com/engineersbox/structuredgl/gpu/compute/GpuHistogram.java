@@ -0,0 +1,88 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL30.GL_R32UI;
+import static org.lwjgl.opengl.GL30.GL_RED_INTEGER;
+import static org.lwjgl.opengl.GL45.glClearNamedBufferSubData;
+
+/**
+ * Fixed-width histogram of float values. Work groups count into shared
+ * memory and merge into the global bins with one atomic per non-empty bin,
+ * keeping contention on global memory low.
+ */
+public class GpuHistogram {
+
+    public static final int MAX_BINS = 256;
+
+    private static final int THREADS = 256;
+
+    private final ComputeProgram program;
+
+    public GpuHistogram() {
+        this.program = ComputeKernels.load("Histogram", "histogram.comp");
+        this.program.getUniforms().createUniform("count");
+        this.program.getUniforms().createUniform("binCount");
+        this.program.getUniforms().createUniform("minValue");
+        this.program.getUniforms().createUniform("maxValue");
+    }
+
+    /**
+     * Counts {@code values} into {@code binCount} equal-width bins over
+     * {@code [minValue, maxValue]}, overwriting {@code bins}. Values outside
+     * the range land in the first or last bin and NaNs are skipped.
+     */
+    public void histogram(final SSBO values,
+                          final int count,
+                          final float minValue,
+                          final float maxValue,
+                          final SSBO bins,
+                          final int binCount) {
+        if (binCount < 1 || binCount > MAX_BINS) {
+            throw new IllegalArgumentException(String.format(
+                    "Bin count must be within [1, %d], got %d",
+                    MAX_BINS,
+                    binCount
+            ));
+        }
+        if (!(maxValue > minValue)) {
+            throw new IllegalArgumentException(String.format(
+                    "Histogram range [%f, %f] is empty",
+                    minValue,
+                    maxValue
+            ));
+        }
+        this.program.getBarrierTracker().prepare(bins, BarrierUsage.BUFFER_UPDATE);
+        glClearNamedBufferSubData(
+                bins.getId(),
+                GL_R32UI,
+                0,
+                (long) binCount * Integer.BYTES,
+                GL_RED_INTEGER,
+                GL_UNSIGNED_INT,
+                new int[]{0}
+        );
+        if (count <= 0) {
+            return;
+        }
+        this.program.clearBindings();
+        this.program.bindStorageBuffer(0, values, BindingAccess.READ);
+        this.program.bindStorageBuffer(1, bins, BindingAccess.READ_WRITE);
+        this.program.bind();
+        this.program.getUniforms().setUniform("count", count);
+        this.program.getUniforms().setUniform("binCount", binCount);
+        this.program.getUniforms().setUniform("minValue", minValue);
+        this.program.getUniforms().setUniform("maxValue", maxValue);
+        this.program.dispatch(ComputeKernels.groupCount(count, THREADS), 1, 1);
+        this.program.unbind();
+    }
+
+    public void destroy() {
+        this.program.destroy();
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+
+/**
+ * Stable least-significant-digit radix sort of unsigned 32-bit keys with a
+ * 32-bit value payload, 4 bits per pass. Each pass counts digits per block,
+ * scans the digit-major counts with {@link GpuScan} into output offsets, and
+ * scatters each element to its offset plus its rank among equal digits
+ * earlier in the block.
+ */
+public class GpuRadixSort {
+
+    public static final int BITS_PER_PASS = 4;
+    public static final int BLOCK_SIZE = 256;
+
+    private static final int RADIX = 1 << BITS_PER_PASS;
+
+    private final GpuScan scan;
+    private final ComputeProgram histogram;
+    private final ComputeProgram scatter;
+    private final ScratchBuffer digitCounts;
+    private final ScratchBuffer digitOffsets;
+    private final ScratchBuffer alternateKeys;
+    private final ScratchBuffer alternateValues;
+
+    public GpuRadixSort(final GpuScan scan) {
+        this.scan = scan;
+        this.histogram = ComputeKernels.load("RadixHistogram", "radix_histogram.comp");
+        this.scatter = ComputeKernels.load("RadixScatter", "radix_scatter.comp");
+        for (final ComputeProgram program : new ComputeProgram[]{this.histogram, this.scatter}) {
+            program.getUniforms().createUniform("count");
+            program.getUniforms().createUniform("shift");
+            program.getUniforms().createUniform("blockCount");
+        }
+        this.digitCounts = new ScratchBuffer();
+        this.digitOffsets = new ScratchBuffer();
+        this.alternateKeys = new ScratchBuffer();
+        this.alternateValues = new ScratchBuffer();
+    }
+
+    public GpuRadixSort() {
+        this(new GpuScan());
+    }
+
+    public void sort(final SSBO keys,
+                     final SSBO values,
+                     final int count) {
+        sort(keys, values, count, Integer.SIZE);
+    }
+
+    /**
+     * Sorts {@code keys} ascending in place, permuting {@code values} with
+     * them. Elements with equal keys keep their relative order.
+     *
+     * @param keyBits Number of low key bits that can be non-zero, fewer bits need fewer passes
+     */
+    public void sort(final SSBO keys,
+                     final SSBO values,
+                     final int count,
+                     final int keyBits) {
+        if (keyBits < 1 || keyBits > Integer.SIZE) {
+            throw new IllegalArgumentException("Key bits must be within [1, 32], got " + keyBits);
+        }
+        if (count <= 1) {
+            return;
+        }
+        final int blocks = ComputeKernels.groupCount(count, BLOCK_SIZE);
+        final long countBytes = (long) RADIX * blocks * Integer.BYTES;
+        final SSBO counts = this.digitCounts.ensure(countBytes);
+        final SSBO offsets = this.digitOffsets.ensure(countBytes);
+        final long elementBytes = (long) count * Integer.BYTES;
+        SSBO sourceKeys = keys;
+        SSBO sourceValues = values;
+        SSBO targetKeys = this.alternateKeys.ensure(elementBytes);
+        SSBO targetValues = this.alternateValues.ensure(elementBytes);
+        final int passes = (keyBits + BITS_PER_PASS - 1) / BITS_PER_PASS;
+        for (int pass = 0; pass < passes; pass++) {
+            final int shift = pass * BITS_PER_PASS;
+            this.histogram.clearBindings();
+            this.histogram.bindStorageBuffer(0, sourceKeys, BindingAccess.READ);
+            this.histogram.bindStorageBuffer(1, counts, BindingAccess.WRITE);
+            dispatch(this.histogram, count, shift, blocks);
+            this.scan.exclusiveScan(counts, offsets, RADIX * blocks);
+            this.scatter.clearBindings();
+            this.scatter.bindStorageBuffer(0, sourceKeys, BindingAccess.READ);
+            this.scatter.bindStorageBuffer(1, sourceValues, BindingAccess.READ);
+            this.scatter.bindStorageBuffer(2, targetKeys, BindingAccess.WRITE);
+            this.scatter.bindStorageBuffer(3, targetValues, BindingAccess.WRITE);
+            this.scatter.bindStorageBuffer(4, offsets, BindingAccess.READ);
+            dispatch(this.scatter, count, shift, blocks);
+            final SSBO swapKeys = sourceKeys;
+            final SSBO swapValues = sourceValues;
+            sourceKeys = targetKeys;
+            sourceValues = targetValues;
+            targetKeys = swapKeys;
+            targetValues = swapValues;
+        }
+        if (sourceKeys != keys) {
+            // Odd pass counts finish in scratch storage
+            final MemoryBarrierTracker tracker = this.scatter.getBarrierTracker();
+            tracker.require(sourceKeys, BarrierUsage.BUFFER_UPDATE);
+            tracker.require(sourceValues, BarrierUsage.BUFFER_UPDATE);
+            tracker.require(keys, BarrierUsage.BUFFER_UPDATE);
+            tracker.require(values, BarrierUsage.BUFFER_UPDATE);
+            tracker.flush();
+            glCopyNamedBufferSubData(sourceKeys.getId(), keys.getId(), 0, 0, elementBytes);
+            glCopyNamedBufferSubData(sourceValues.getId(), values.getId(), 0, 0, elementBytes);
+        }
+    }
+
+    private static void dispatch(final ComputeProgram program,
+                                 final int count,
+                                 final int shift,
+                                 final int blocks) {
+        program.bind();
+        program.getUniforms().setUniform("count", count);
+        program.getUniforms().setUniform("shift", shift);
+        program.getUniforms().setUniform("blockCount", blocks);
+        program.dispatch(blocks, 1, 1);
+        program.unbind();
+    }
+
+    public void destroy() {
+        this.histogram.destroy();
+        this.scatter.destroy();
+        this.digitCounts.destroy();
+        this.digitOffsets.destroy();
+        this.alternateKeys.destroy();
+        this.alternateValues.destroy();
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL45.glGetNamedBufferSubData;
+
+/**
+ * Tree reduction of float or unsigned integer buffers. Each work group
+ * folds {@link #BLOCK_SIZE} elements to one value in shared memory, passes
+ * repeat over the partial results until a single value remains. Programs are
+ * compiled on first use of each type and operator pair.
+ */
+public class GpuReduction {
+
+    public static final int BLOCK_SIZE = 1024;
+
+    private final Map<ReductionType, Map<ReductionOperator, ComputeProgram>> programs;
+    private final ScratchBuffer[] partials;
+    private final ScratchBuffer result;
+
+    public GpuReduction() {
+        this.programs = new EnumMap<>(ReductionType.class);
+        this.partials = new ScratchBuffer[]{new ScratchBuffer(), new ScratchBuffer()};
+        this.result = new ScratchBuffer();
+    }
+
+    private ComputeProgram program(final ReductionType type,
+                                   final ReductionOperator operator) {
+        return this.programs.computeIfAbsent(type, (final ReductionType ignored) -> new EnumMap<>(ReductionOperator.class))
+                .computeIfAbsent(operator, (final ReductionOperator ignored) -> {
+                    final ComputeProgram program = ComputeKernels.load(
+                            String.format("Reduce%s%s", type, operator),
+                            "reduce.comp",
+                            Map.of(
+                                    "VALUE_TYPE", type.getGlslType(),
+                                    "IDENTITY", operator.getIdentity(type),
+                                    "COMBINE(a, b)", operator.getCombine()
+                            )
+                    );
+                    program.getUniforms().createUniform("count");
+                    return program;
+                });
+    }
+
+    /**
+     * Reduces {@code count} elements of {@code input} into element 0 of
+     * {@code output} without reading back to the host.
+     *
+     * @param input Source values, left unmodified
+     * @param output Destination of the result, must not alias {@code input}
+     */
+    public void reduce(final SSBO input,
+                       final SSBO output,
+                       final int count,
+                       final ReductionType type,
+                       final ReductionOperator operator) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Cannot reduce an empty buffer");
+        }
+        final ComputeProgram program = program(type, operator);
+        SSBO source = input;
+        int remaining = count;
+        int pass = 0;
+        while (true) {
+            final int groups = ComputeKernels.groupCount(remaining, BLOCK_SIZE);
+            final SSBO target = groups == 1
+                    ? output
+                    : this.partials[pass & 1].ensure((long) groups * Integer.BYTES);
+            program.clearBindings();
+            program.bindStorageBuffer(0, source, BindingAccess.READ);
+            program.bindStorageBuffer(1, target, BindingAccess.WRITE);
+            program.bind();
+            program.getUniforms().setUniform("count", remaining);
+            program.dispatch(groups, 1, 1);
+            program.unbind();
+            if (groups == 1) {
+                return;
+            }
+            source = target;
+            remaining = groups;
+            pass++;
+        }
+    }
+
+    public float reduceFloat(final SSBO input,
+                             final int count,
+                             final ReductionOperator operator) {
+        return Float.intBitsToFloat(reduceToHost(input, count, ReductionType.FLOAT, operator));
+    }
+
+    /**
+     * @return The reduced value as raw 32 bits, interpret with
+     *         {@link Integer#toUnsignedLong(int)}
+     */
+    public int reduceUnsigned(final SSBO input,
+                              final int count,
+                              final ReductionOperator operator) {
+        return reduceToHost(input, count, ReductionType.UNSIGNED_INT, operator);
+    }
+
+    private int reduceToHost(final SSBO input,
+                             final int count,
+                             final ReductionType type,
+                             final ReductionOperator operator) {
+        final SSBO output = this.result.ensure(Integer.BYTES);
+        reduce(input, output, count, type, operator);
+        program(type, operator).getBarrierTracker().prepare(output, BarrierUsage.BUFFER_UPDATE);
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final ByteBuffer value = stack.malloc(Integer.BYTES);
+            glGetNamedBufferSubData(output.getId(), 0, value);
+            return value.getInt(0);
+        }
+    }
+
+    public void destroy() {
+        this.programs.values().forEach((final Map<ReductionOperator, ComputeProgram> variants) -> variants.values().forEach(ComputeProgram::destroy));
+        this.programs.clear();
+        for (final ScratchBuffer partial : this.partials) {
+            partial.destroy();
+        }
+        this.result.destroy();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exclusive prefix sum over unsigned 32-bit integers. Each work group scans
+ * a block of {@link #BLOCK_SIZE} elements in shared memory and emits the
+ * block total; device-wide scans recursively scan the block totals and add
+ * them back to every block.
+ */
+public class GpuScan {
+
+    public static final int BLOCK_SIZE = 1024;
+
+    private final ComputeProgram blockScan;
+    private final ComputeProgram addOffsets;
+    private final List<ScratchBuffer> blockSums;
+    private final List<ScratchBuffer> blockOffsets;
+
+    public GpuScan() {
+        this.blockScan = ComputeKernels.load("ScanBlocks", "scan_blocks.comp");
+        this.blockScan.getUniforms().createUniform("count");
+        this.addOffsets = ComputeKernels.load("ScanAdd", "scan_add.comp");
+        this.addOffsets.getUniforms().createUniform("count");
+        this.blockSums = new ArrayList<>();
+        this.blockOffsets = new ArrayList<>();
+    }
+
+    /**
+     * Work group level scan: each block of {@link #BLOCK_SIZE} elements is
+     * scanned independently, with the total of block {@code i} written to
+     * {@code blockSums[i]}.
+     *
+     * @param input Source values, must not alias {@code output}
+     */
+    public void scanBlocks(final SSBO input,
+                           final SSBO output,
+                           final SSBO blockSums,
+                           final int count) {
+        this.blockScan.clearBindings();
+        this.blockScan.bindStorageBuffer(0, input, BindingAccess.READ);
+        this.blockScan.bindStorageBuffer(1, output, BindingAccess.WRITE);
+        this.blockScan.bindStorageBuffer(2, blockSums, BindingAccess.WRITE);
+        this.blockScan.bind();
+        this.blockScan.getUniforms().setUniform("count", count);
+        this.blockScan.dispatch(ComputeKernels.groupCount(count, BLOCK_SIZE), 1, 1);
+        this.blockScan.unbind();
+    }
+
+    /**
+     * Device-wide exclusive scan, {@code output[i]} receives the sum of
+     * {@code input[0..i)}. Sums wrap modulo 2^32.
+     *
+     * @param input Source values, must not alias {@code output}
+     */
+    public void exclusiveScan(final SSBO input,
+                              final SSBO output,
+                              final int count) {
+        if (count <= 0) {
+            return;
+        }
+        scanLevel(input, output, count, 0);
+    }
+
+    private void scanLevel(final SSBO input,
+                           final SSBO output,
+                           final int count,
+                           final int level) {
+        final int blocks = ComputeKernels.groupCount(count, BLOCK_SIZE);
+        final SSBO sums = scratch(this.blockSums, level).ensure((long) blocks * Integer.BYTES);
+        scanBlocks(input, output, sums, count);
+        if (blocks == 1) {
+            return;
+        }
+        final SSBO offsets = scratch(this.blockOffsets, level).ensure((long) blocks * Integer.BYTES);
+        scanLevel(sums, offsets, blocks, level + 1);
+        this.addOffsets.clearBindings();
+        this.addOffsets.bindStorageBuffer(0, output, BindingAccess.READ_WRITE);
+        this.addOffsets.bindStorageBuffer(1, offsets, BindingAccess.READ);
+        this.addOffsets.bind();
+        this.addOffsets.getUniforms().setUniform("count", count);
+        this.addOffsets.dispatch(blocks, 1, 1);
+        this.addOffsets.unbind();
+    }
+
+    private static ScratchBuffer scratch(final List<ScratchBuffer> buffers,
+                                         final int level) {
+        while (buffers.size() <= level) {
+            buffers.add(new ScratchBuffer());
+        }
+        return buffers.get(level);
+    }
+
+    public void destroy() {
+        this.blockScan.destroy();
+        this.addOffsets.destroy();
+        this.blockSums.forEach(ScratchBuffer::destroy);
+        this.blockOffsets.forEach(ScratchBuffer::destroy);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+/**
+ * Associative operators available to {@link GpuReduction}, with the GLSL
+ * identity value and combining expression for each element type.
+ */
+public enum ReductionOperator {
+    SUM("0.0", "0u", "((a) + (b))"),
+    MIN("uintBitsToFloat(0x7F800000u)", "0xFFFFFFFFu", "min((a), (b))"),
+    MAX("uintBitsToFloat(0xFF800000u)", "0u", "max((a), (b))");
+
+    private final String floatIdentity;
+    private final String unsignedIdentity;
+    private final String combine;
+
+    ReductionOperator(final String floatIdentity,
+                      final String unsignedIdentity,
+                      final String combine) {
+        this.floatIdentity = floatIdentity;
+        this.unsignedIdentity = unsignedIdentity;
+        this.combine = combine;
+    }
+
+    public String getIdentity(final ReductionType type) {
+        return switch (type) {
+            case FLOAT -> this.floatIdentity;
+            case UNSIGNED_INT -> this.unsignedIdentity;
+        };
+    }
+
+    public String getCombine() {
+        return this.combine;
+    }
+}
@@ -0,0 +1,16 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+public enum ReductionType {
+    FLOAT("float"),
+    UNSIGNED_INT("uint");
+
+    private final String glslType;
+
+    ReductionType(final String glslType) {
+        this.glslType = glslType;
+    }
+
+    public String getGlslType() {
+        return this.glslType;
+    }
+}
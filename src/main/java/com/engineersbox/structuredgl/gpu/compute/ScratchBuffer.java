@@ -0,0 +1,44 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+
+/**
+ * Kernel-owned storage buffer that grows to the largest size requested and
+ * is reused across calls.
+ */
+class ScratchBuffer {
+
+    private SSBO buffer;
+    private long capacity;
+
+    ScratchBuffer() {
+        this.buffer = null;
+        this.capacity = 0;
+    }
+
+    SSBO ensure(final long bytes) {
+        if (this.buffer != null && this.capacity >= bytes) {
+            return this.buffer;
+        }
+        if (this.buffer != null) {
+            this.buffer.destroy();
+        }
+        this.capacity = Math.max(Integer.BYTES, Math.max(bytes, this.capacity * 2));
+        this.buffer = new SSBO();
+        this.buffer.bind();
+        this.buffer.setData(this.capacity, GL_DYNAMIC_COPY);
+        this.buffer.unbind();
+        return this.buffer;
+    }
+
+    void destroy() {
+        if (this.buffer != null) {
+            this.buffer.destroy();
+            this.buffer = null;
+            this.capacity = 0;
+        }
+    }
+
+}
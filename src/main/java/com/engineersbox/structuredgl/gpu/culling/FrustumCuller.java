@@ -0,0 +1,268 @@
+package com.engineersbox.structuredgl.gpu.culling;
+
+import com.engineersbox.structuredgl.gpu.buffer.*;
+import com.engineersbox.structuredgl.gpu.debug.GLDebug;
+import com.engineersbox.structuredgl.gpu.draw.Draw;
+import com.engineersbox.structuredgl.gpu.draw.DrawElementsIndirectCommand;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.joml.Matrix4fc;
+import org.joml.Vector4f;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+
+/**
+ * GPU-driven frustum culling. Per-instance bounding spheres are uploaded once,
+ * then each frame a compute pass tests them against the frustum planes and
+ * compacts visible instance indices into per-draw ranges, incrementing the
+ * instance count of each {@link DrawElementsIndirectCommand} in place. The
+ * CPU only resets the command templates and issues a single indirect multi
+ * draw.
+ * <p>
+ * Visible instance indices are exposed as an integer vertex attribute with a
+ * divisor of 1, so with {@code baseInstance} offsetting it per draw the vertex
+ * shader receives the index of the original instance to fetch its data.
+ */
+public class FrustumCuller {
+
+    public static final String SHADER_RESOURCE = "shaders/culling/frustum_cull.comp";
+
+    private static final int BOUNDS_BINDING = 0;
+    private static final int COMMANDS_BINDING = 1;
+    private static final int VISIBLE_INSTANCES_BINDING = 2;
+    private static final int VISIBLE_COUNT_BINDING = 0;
+    private static final int INSTANCE_BOUNDS_BYTES = 8 * Integer.BYTES;
+    private static final int FRUSTUM_PLANE_COUNT = 6;
+    private static final int[] ZERO_COUNT = new int[]{0};
+
+    private final ComputeProgram program;
+    private final SSBO bounds;
+    private final DIBO commandTemplates;
+    private final DIBO commands;
+    private final VBO visibleInstances;
+    private final ACBO visibleCount;
+    private final Vector4f[] frustumPlanes;
+    private int instanceCount;
+    private int drawCount;
+
+    public FrustumCuller() {
+        this.program = new ComputeProgram(
+                "FrustumCull",
+                new ShaderModuleData(SHADER_RESOURCE, DataType.CLASSPATH_RESOURCE, ShaderType.COMPUTE)
+        );
+        this.program.getUniforms().createUniform("frustumPlanes");
+        this.program.getUniforms().createUniform("instanceCount");
+        this.bounds = new SSBO();
+        this.commandTemplates = new DIBO();
+        this.commands = new DIBO();
+        this.visibleInstances = new VBO();
+        this.visibleCount = new ACBO();
+        this.visibleCount.bind();
+        this.visibleCount.setData(ZERO_COUNT, GL_DYNAMIC_COPY);
+        this.visibleCount.unbind();
+        this.program.bindStorageBuffer(BOUNDS_BINDING, this.bounds, BindingAccess.READ);
+        this.program.bindStorageBuffer(COMMANDS_BINDING, this.commands, BindingAccess.READ_WRITE);
+        this.program.bindStorageBuffer(VISIBLE_INSTANCES_BINDING, this.visibleInstances, BindingAccess.WRITE);
+        this.program.bindAtomicCounterBuffer(VISIBLE_COUNT_BINDING, this.visibleCount, BindingAccess.READ_WRITE);
+        this.frustumPlanes = new Vector4f[FRUSTUM_PLANE_COUNT];
+        for (int i = 0; i < FRUSTUM_PLANE_COUNT; i++) {
+            this.frustumPlanes[i] = new Vector4f();
+        }
+        this.instanceCount = 0;
+        this.drawCount = 0;
+    }
+
+    /**
+     * Uploads the instance set. Instances are grouped by draw, so each draw's
+     * {@code baseInstance} is assigned here and the instance counts and base
+     * instances of {@code draws} are ignored.
+     *
+     * @param spheres World space bounding spheres as xyz centre and radius, 4 floats per instance
+     * @param drawIndices Index into {@code draws} of the mesh each instance is drawn with
+     * @param count Number of instances
+     * @param draws Index ranges of the meshes instances refer to
+     */
+    public void setInstances(final float[] spheres,
+                             final int[] drawIndices,
+                             final int count,
+                             final List<DrawElementsIndirectCommand> draws) {
+        if (spheres.length < count * 4 || drawIndices.length < count) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected bounds for %d instances, got %d spheres and %d draw indices",
+                    count,
+                    spheres.length / 4,
+                    drawIndices.length
+            ));
+        }
+        final int[] baseInstances = new int[draws.size() + 1];
+        for (int i = 0; i < count; i++) {
+            if (drawIndices[i] < 0 || drawIndices[i] >= draws.size()) {
+                throw new IllegalArgumentException(String.format(
+                        "Instance %d refers to draw %d, only %d draws were given",
+                        i,
+                        drawIndices[i],
+                        draws.size()
+                ));
+            }
+            baseInstances[drawIndices[i] + 1]++;
+        }
+        for (int i = 0; i < draws.size(); i++) {
+            baseInstances[i + 1] += baseInstances[i];
+        }
+        final ByteBuffer boundsData = MemoryUtil.memAlloc(Math.max(1, count) * INSTANCE_BOUNDS_BYTES);
+        final ByteBuffer templateData = MemoryUtil.memAlloc(Math.max(1, draws.size()) * DrawElementsIndirectCommand.BYTES);
+        try {
+            for (int i = 0; i < count; i++) {
+                boundsData.putFloat(spheres[i * 4])
+                        .putFloat(spheres[(i * 4) + 1])
+                        .putFloat(spheres[(i * 4) + 2])
+                        .putFloat(spheres[(i * 4) + 3])
+                        .putInt(drawIndices[i])
+                        .putInt(0)
+                        .putInt(0)
+                        .putInt(0);
+            }
+            for (int i = 0; i < draws.size(); i++) {
+                draws.get(i).withInstances(0, baseInstances[i]).put(templateData);
+            }
+            boundsData.flip();
+            templateData.flip();
+            this.bounds.bind();
+            this.bounds.setData(boundsData, GL_STATIC_DRAW);
+            this.bounds.unbind();
+            this.commandTemplates.bind();
+            this.commandTemplates.setData(templateData, GL_STATIC_DRAW);
+            this.commandTemplates.unbind();
+        } finally {
+            MemoryUtil.memFree(boundsData);
+            MemoryUtil.memFree(templateData);
+        }
+        this.commands.bind();
+        this.commands.setData((long) Math.max(1, draws.size()) * DrawElementsIndirectCommand.BYTES, GL_DYNAMIC_COPY);
+        this.commands.unbind();
+        this.visibleInstances.bind();
+        this.visibleInstances.setData((long) Math.max(1, count) * Integer.BYTES, GL_DYNAMIC_COPY);
+        this.visibleInstances.unbind();
+        this.instanceCount = count;
+        this.drawCount = draws.size();
+    }
+
+    /**
+     * Resets the draw commands and culls every instance against the frustum
+     * of {@code viewProjection}. Barriers for consumers of the results are
+     * left to the program's {@link MemoryBarrierTracker}.
+     */
+    public void cull(final Matrix4fc viewProjection) {
+        if (this.drawCount == 0) {
+            return;
+        }
+        GLDebug.pushGroup("FrustumCuller");
+        for (int i = 0; i < FRUSTUM_PLANE_COUNT; i++) {
+            viewProjection.frustumPlane(i, this.frustumPlanes[i]);
+        }
+        final MemoryBarrierTracker tracker = this.program.getBarrierTracker();
+        tracker.require(this.commands, BarrierUsage.BUFFER_UPDATE);
+        tracker.require(this.visibleCount, BarrierUsage.BUFFER_UPDATE);
+        tracker.flush();
+        glCopyNamedBufferSubData(
+                this.commandTemplates.getId(),
+                this.commands.getId(),
+                0,
+                0,
+                (long) this.drawCount * DrawElementsIndirectCommand.BYTES
+        );
+        this.visibleCount.bind();
+        this.visibleCount.setSubData(0, ZERO_COUNT);
+        this.visibleCount.unbind();
+        this.program.bind();
+        this.program.getUniforms().setUniform("frustumPlanes", this.frustumPlanes);
+        this.program.getUniforms().setUniform("instanceCount", this.instanceCount);
+        this.program.dispatchInvocations(this.instanceCount);
+        this.program.unbind();
+        GLDebug.popGroup();
+    }
+
+    /**
+     * Wires the visible instance indices to an unsigned integer attribute at
+     * {@code location} advancing once per instance. The target VAO must be
+     * bound.
+     */
+    public void enableVisibleInstanceAttribute(final int location) {
+        this.visibleInstances.bind();
+        this.visibleInstances.enableIntegerAttributeAndPointer(
+                location,
+                1,
+                GL_UNSIGNED_INT,
+                0,
+                0
+        );
+        this.visibleInstances.setAttributeDivisor(location, 1);
+        this.visibleInstances.unbind();
+    }
+
+    /**
+     * Draws every visible instance of every draw with one indirect multi draw
+     * from the bound VAO and element buffer.
+     */
+    public void draw(final int mode,
+                     final int indexType) {
+        final MemoryBarrierTracker tracker = this.program.getBarrierTracker();
+        tracker.require(this.commands, BarrierUsage.COMMAND);
+        tracker.require(this.visibleInstances, BarrierUsage.VERTEX_ATTRIB_ARRAY);
+        tracker.flush();
+        this.commands.bind();
+        Draw.multiElementsIndirect(
+                mode,
+                indexType,
+                0,
+                this.drawCount,
+                0
+        );
+        this.commands.unbind();
+    }
+
+    public DIBO getCommands() {
+        return this.commands;
+    }
+
+    public VBO getVisibleInstances() {
+        return this.visibleInstances;
+    }
+
+    /**
+     * @return Atomic counter holding the total number of visible instances after {@link #cull(Matrix4fc)}
+     */
+    public ACBO getVisibleCount() {
+        return this.visibleCount;
+    }
+
+    public int getInstanceCount() {
+        return this.instanceCount;
+    }
+
+    public int getDrawCount() {
+        return this.drawCount;
+    }
+
+    public void destroy() {
+        this.program.destroy();
+        this.bounds.destroy();
+        this.commandTemplates.destroy();
+        this.commands.destroy();
+        this.visibleInstances.destroy();
+        this.visibleCount.destroy();
+    }
+
+}
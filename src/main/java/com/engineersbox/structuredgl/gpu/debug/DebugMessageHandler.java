@@ -0,0 +1,172 @@
+package com.engineersbox.structuredgl.gpu.debug;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GLDebugMessageCallback;
+
+import java.util.*;
+
+import static org.lwjgl.opengl.GL11.glDisable;
+import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL43.*;
+
+/**
+ * Receives driver debug messages for the current context, so recompiles,
+ * buffer stalls and implicit synchronisation surface in logs instead of
+ * only as lost frame time. Repeated messages are deduplicated by source,
+ * type and id: each is logged for its first {@code logLimit} occurrences and
+ * then only on every {@code suppressedInterval}-th with a running count.
+ * Performance messages are counted per {@link GLDebug} group path, so hot
+ * spots are attributed to passes when labels and groups are enabled.
+ * <p>
+ * Output is synchronous, so messages arrive on the thread issuing the
+ * offending call. Some drivers only report through debug contexts created
+ * with {@code GLFW_OPENGL_DEBUG_CONTEXT}.
+ */
+public class DebugMessageHandler {
+
+    private static final Logger LOGGER = LogManager.getLogger(DebugMessageHandler.class);
+
+    public static final int DEFAULT_LOG_LIMIT = 5;
+    public static final int DEFAULT_SUPPRESSED_INTERVAL = 1000;
+
+    private final int logLimit;
+    private final int suppressedInterval;
+    private final Map<DebugMessageType, Long> messageCounts;
+    private final Map<Long, Long> occurrences;
+    private final Map<String, Long> performanceHits;
+    private long suppressed;
+    private GLDebugMessageCallback callback;
+
+    public DebugMessageHandler(final int logLimit,
+                               final int suppressedInterval) {
+        if (logLimit < 0 || suppressedInterval < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid rate limit of %d messages then every %d",
+                    logLimit,
+                    suppressedInterval
+            ));
+        }
+        this.logLimit = logLimit;
+        this.suppressedInterval = suppressedInterval;
+        this.messageCounts = new EnumMap<>(DebugMessageType.class);
+        this.occurrences = new HashMap<>();
+        this.performanceHits = new HashMap<>();
+        this.suppressed = 0;
+        this.callback = null;
+    }
+
+    public DebugMessageHandler() {
+        this(DEFAULT_LOG_LIMIT, DEFAULT_SUPPRESSED_INTERVAL);
+    }
+
+    /**
+     * Enables debug output on the current context and routes it here.
+     * Notifications are filtered out in the driver, they include the push
+     * and pop messages of every {@link GLDebug} group.
+     */
+    public void install() {
+        if (this.callback != null) {
+            throw new IllegalStateException("Debug message handler is already installed");
+        }
+        this.callback = GLDebugMessageCallback.create((
+                final int source,
+                final int type,
+                final int id,
+                final int severity,
+                final int length,
+                final long message,
+                final long userParam
+        ) -> handle(source, type, id, severity, GLDebugMessageCallback.getMessage(length, message)));
+        glEnable(GL_DEBUG_OUTPUT);
+        glEnable(GL_DEBUG_OUTPUT_SYNCHRONOUS);
+        glDebugMessageControl(GL_DONT_CARE, GL_DONT_CARE, GL_DEBUG_SEVERITY_NOTIFICATION, (int[]) null, false);
+        glDebugMessageCallback(this.callback, 0);
+    }
+
+    private void handle(final int source,
+                        final int glType,
+                        final int id,
+                        final int severity,
+                        final String message) {
+        final DebugMessageType type = DebugMessageType.fromGlType(glType);
+        this.messageCounts.merge(type, 1L, Long::sum);
+        if (type == DebugMessageType.PERFORMANCE) {
+            this.performanceHits.merge(
+                    String.format("%s#%d", GLDebug.currentGroup(), id),
+                    1L,
+                    Long::sum
+            );
+        }
+        final long key = ((long) source << 48) ^ ((long) glType << 32) ^ (id & 0xFFFFFFFFL);
+        final long count = this.occurrences.merge(key, 1L, Long::sum);
+        if (count > this.logLimit && (count - this.logLimit) % this.suppressedInterval != 0) {
+            this.suppressed++;
+            return;
+        }
+        LOGGER.log(type.getLevel(), String.format(
+                "[GL %s %s %s #%d]%s %s%s",
+                sourceName(source),
+                type.name(),
+                severityName(severity),
+                id,
+                GLDebug.currentGroup().isEmpty() ? "" : " [" + GLDebug.currentGroup() + "]",
+                message.strip(),
+                count > this.logLimit ? String.format(" (%d occurrences)", count) : ""
+        ));
+    }
+
+    private static String sourceName(final int source) {
+        return switch (source) {
+            case GL_DEBUG_SOURCE_API -> "API";
+            case GL_DEBUG_SOURCE_WINDOW_SYSTEM -> "WINDOW_SYSTEM";
+            case GL_DEBUG_SOURCE_SHADER_COMPILER -> "SHADER_COMPILER";
+            case GL_DEBUG_SOURCE_THIRD_PARTY -> "THIRD_PARTY";
+            case GL_DEBUG_SOURCE_APPLICATION -> "APPLICATION";
+            default -> "OTHER";
+        };
+    }
+
+    private static String severityName(final int severity) {
+        return switch (severity) {
+            case GL_DEBUG_SEVERITY_HIGH -> "HIGH";
+            case GL_DEBUG_SEVERITY_MEDIUM -> "MEDIUM";
+            case GL_DEBUG_SEVERITY_LOW -> "LOW";
+            default -> "NOTIFICATION";
+        };
+    }
+
+    public DebugStatistics getStatistics() {
+        final Map<String, Long> hits = new LinkedHashMap<>();
+        this.performanceHits.entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach((final Map.Entry<String, Long> entry) -> hits.put(entry.getKey(), entry.getValue()));
+        return new DebugStatistics(
+                new EnumMap<>(this.messageCounts),
+                hits,
+                this.suppressed
+        );
+    }
+
+    public void resetStatistics() {
+        this.messageCounts.clear();
+        this.occurrences.clear();
+        this.performanceHits.clear();
+        this.suppressed = 0;
+    }
+
+    /**
+     * Detaches from the current context, which must be the one installed on.
+     */
+    public void destroy() {
+        if (this.callback == null) {
+            return;
+        }
+        glDebugMessageCallback(null, 0);
+        glDisable(GL_DEBUG_OUTPUT);
+        this.callback.free();
+        this.callback = null;
+    }
+
+}
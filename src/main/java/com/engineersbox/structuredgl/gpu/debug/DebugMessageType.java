@@ -0,0 +1,46 @@
+package com.engineersbox.structuredgl.gpu.debug;
+
+import org.apache.logging.log4j.Level;
+
+import static org.lwjgl.opengl.GL43.*;
+
+public enum DebugMessageType {
+    ERROR(GL_DEBUG_TYPE_ERROR, Level.ERROR),
+    DEPRECATED_BEHAVIOR(GL_DEBUG_TYPE_DEPRECATED_BEHAVIOR, Level.WARN),
+    UNDEFINED_BEHAVIOR(GL_DEBUG_TYPE_UNDEFINED_BEHAVIOR, Level.WARN),
+    PORTABILITY(GL_DEBUG_TYPE_PORTABILITY, Level.INFO),
+    PERFORMANCE(GL_DEBUG_TYPE_PERFORMANCE, Level.WARN),
+    MARKER(GL_DEBUG_TYPE_MARKER, Level.DEBUG),
+    PUSH_GROUP(GL_DEBUG_TYPE_PUSH_GROUP, Level.TRACE),
+    POP_GROUP(GL_DEBUG_TYPE_POP_GROUP, Level.TRACE),
+    OTHER(GL_DEBUG_TYPE_OTHER, Level.DEBUG);
+
+    private final int glType;
+    private final Level level;
+
+    DebugMessageType(final int glType,
+                     final Level level) {
+        this.glType = glType;
+        this.level = level;
+    }
+
+    public int getGlType() {
+        return this.glType;
+    }
+
+    /**
+     * @return Level messages of this type are logged at
+     */
+    public Level getLevel() {
+        return this.level;
+    }
+
+    public static DebugMessageType fromGlType(final int glType) {
+        for (final DebugMessageType type : values()) {
+            if (type.glType == glType) {
+                return type;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,19 @@
+package com.engineersbox.structuredgl.gpu.debug;
+
+import java.util.Map;
+
+/**
+ * @param messageCounts   Messages received per type, including suppressed ones
+ * @param performanceHits {@link DebugMessageType#PERFORMANCE} messages per
+ *                        debug group path and message id, most frequent first
+ * @param suppressed      Messages dropped by rate limiting
+ */
+public record DebugStatistics(Map<DebugMessageType, Long> messageCounts,
+                              Map<String, Long> performanceHits,
+                              long suppressed) {
+
+    public long count(final DebugMessageType type) {
+        return this.messageCounts.getOrDefault(type, 0L);
+    }
+
+}
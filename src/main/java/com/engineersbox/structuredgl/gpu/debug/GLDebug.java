@@ -0,0 +1,75 @@
+package com.engineersbox.structuredgl.gpu.debug;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.lwjgl.opengl.GL43.*;
+
+/**
+ * Object labels and debug groups through {@code KHR_debug}, so captures and
+ * driver messages name resources and passes. Only active when running with
+ * {@code -Dstructuredgl.debug=true}, otherwise every call is a no-op.
+ * <p>
+ * Groups are tracked per thread to attribute messages received by a
+ * {@link DebugMessageHandler} to the pass that raised them.
+ */
+public class GLDebug {
+
+    public static final boolean ENABLED = Boolean.getBoolean("structuredgl.debug");
+
+    private static final String GROUP_SEPARATOR = "/";
+    private static final ThreadLocal<Deque<String>> GROUPS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private GLDebug() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Labels an existing object. Generated names only become objects once
+     * first bound, labelling them before then is an error.
+     */
+    public static void label(final GLObjectType type,
+                             final int id,
+                             final String label) {
+        if (!ENABLED) {
+            return;
+        }
+        glObjectLabel(type.getLabelIdentifier(), id, label);
+    }
+
+    /**
+     * Opens a debug group that must be closed with {@link #popGroup()} on
+     * the same thread.
+     */
+    public static void pushGroup(final String name) {
+        if (!ENABLED) {
+            return;
+        }
+        final Deque<String> groups = GROUPS.get();
+        groups.push(groups.isEmpty() ? name : groups.peek() + GROUP_SEPARATOR + name);
+        glPushDebugGroup(GL_DEBUG_SOURCE_APPLICATION, 0, name);
+    }
+
+    public static void popGroup() {
+        if (!ENABLED) {
+            return;
+        }
+        final Deque<String> groups = GROUPS.get();
+        if (groups.isEmpty()) {
+            throw new IllegalStateException("No debug group to pop");
+        }
+        groups.pop();
+        glPopDebugGroup();
+    }
+
+    /**
+     * @return Path of the innermost open group on this thread, empty if none
+     */
+    public static String currentGroup() {
+        final String group = GROUPS.get().peek();
+        return group == null ? "" : group;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.engineersbox.structuredgl.gpu.draw;
+
+import static org.lwjgl.opengl.GL42.glDrawElementsInstancedBaseVertexBaseInstance;
+import static org.lwjgl.opengl.GL43.glMultiDrawElementsIndirect;
+
+public class Draw {
+
+    private Draw() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Draws {@code instanceCount} instances of an indexed range from the bound
+     * VAO and element buffer.
+     *
+     * @param mode Primitive mode, e.g. {@code GL_TRIANGLES}
+     * @param count Number of indices per instance
+     * @param indexType {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}
+     * @param indexOffset Byte offset of the first index in the element buffer
+     * @param baseVertex Constant added to every index before fetching vertices
+     * @param baseInstance First instance, offsets every attribute with a non-zero divisor
+     */
+    public static void elementsInstanced(final int mode,
+                                         final int count,
+                                         final int indexType,
+                                         final long indexOffset,
+                                         final int instanceCount,
+                                         final int baseVertex,
+                                         final int baseInstance) {
+        glDrawElementsInstancedBaseVertexBaseInstance(
+                mode,
+                count,
+                indexType,
+                indexOffset,
+                instanceCount,
+                baseVertex,
+                baseInstance
+        );
+    }
+
+    /**
+     * Issues {@code drawCount} indexed draws whose parameters are read from
+     * the bound draw indirect buffer as {@link DrawElementsIndirectCommand}s.
+     *
+     * @param indirectOffset Byte offset of the first command in the draw indirect buffer
+     * @param stride Byte distance between commands, 0 for tightly packed
+     */
+    public static void multiElementsIndirect(final int mode,
+                                             final int indexType,
+                                             final long indirectOffset,
+                                             final int drawCount,
+                                             final int stride) {
+        glMultiDrawElementsIndirect(
+                mode,
+                indexType,
+                indirectOffset,
+                drawCount,
+                stride
+        );
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.engineersbox.structuredgl.gpu.draw;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mirrors the layout GL reads from the draw indirect buffer for
+ * {@code glDrawElementsIndirect} and {@code glMultiDrawElementsIndirect}.
+ */
+public record DrawElementsIndirectCommand(int count,
+                                          int instanceCount,
+                                          int firstIndex,
+                                          int baseVertex,
+                                          int baseInstance) {
+
+    public static final int BYTES = 5 * Integer.BYTES;
+
+    public DrawElementsIndirectCommand withInstances(final int instanceCount,
+                                                     final int baseInstance) {
+        return new DrawElementsIndirectCommand(
+                this.count,
+                instanceCount,
+                this.firstIndex,
+                this.baseVertex,
+                baseInstance
+        );
+    }
+
+    /**
+     * Writes the command at the buffer's current position in native order,
+     * advancing it by {@link #BYTES}.
+     */
+    public void put(final ByteBuffer buffer) {
+        buffer.putInt(this.count)
+                .putInt(this.instanceCount)
+                .putInt(this.firstIndex)
+                .putInt(this.baseVertex)
+                .putInt(this.baseInstance);
+    }
+
+}
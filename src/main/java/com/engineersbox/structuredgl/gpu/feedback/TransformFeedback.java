@@ -0,0 +1,81 @@
+package com.engineersbox.structuredgl.gpu.feedback;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+import com.engineersbox.structuredgl.gpu.buffer.DataBufferType;
+
+import static org.lwjgl.opengl.GL30.glBeginTransformFeedback;
+import static org.lwjgl.opengl.GL30.glEndTransformFeedback;
+import static org.lwjgl.opengl.GL40.*;
+
+/**
+ * Transform feedback object holding the capture buffer bindings and the
+ * vertex count of its last capture, which {@link #draw(int)} replays
+ * without a CPU round trip.
+ */
+public class TransformFeedback extends GPUResource {
+
+    private boolean active = false;
+
+    public TransformFeedback() {
+        super(GLObjectType.TRANSFORM_FEEDBACK);
+    }
+
+    /**
+     * Attaches a capture buffer to this object's binding {@code index}, which
+     * must be bound.
+     */
+    public void attachBuffer(final int index,
+                             final DataBuffer buffer) {
+        requireBound("attach a buffer to");
+        buffer.bindBase(DataBufferType.TFB, index);
+    }
+
+    /**
+     * @param primitiveMode {@code GL_POINTS}, {@code GL_LINES} or {@code GL_TRIANGLES}
+     */
+    public void begin(final int primitiveMode) {
+        requireBound("begin");
+        glBeginTransformFeedback(primitiveMode);
+        this.active = true;
+    }
+
+    public void end() {
+        if (!this.active) {
+            throw new IllegalStateException("Transform feedback is not active");
+        }
+        glEndTransformFeedback();
+        this.active = false;
+    }
+
+    /**
+     * Draws the vertices captured by the last completed capture into this
+     * object's first buffer, with the vertex count resolved on the GPU.
+     */
+    public void draw(final int mode) {
+        glDrawTransformFeedback(mode, super.id);
+    }
+
+    private void requireBound(final String action) {
+        if (!super.bound) {
+            throw new IllegalStateException(String.format(
+                    "Transform feedback must be bound to %s",
+                    action
+            ));
+        }
+    }
+
+    @Override
+    public void bind() {
+        super.bind();
+        glBindTransformFeedback(GL_TRANSFORM_FEEDBACK, super.id);
+    }
+
+    @Override
+    public void unbind() {
+        super.unbind();
+        glBindTransformFeedback(GL_TRANSFORM_FEEDBACK, 0);
+    }
+
+}
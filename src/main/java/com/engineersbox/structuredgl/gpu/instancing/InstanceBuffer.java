@@ -0,0 +1,136 @@
+package com.engineersbox.structuredgl.gpu.instancing;
+
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+
+/**
+ * Per-instance attribute stream holding a {@link Matrix4f} transform followed
+ * by a fixed number of {@link Vector4f} attributes for each instance. Instance
+ * data is packed into an off-heap staging buffer in a single pass and uploaded
+ * to a dedicated {@link VBO}.
+ */
+public class InstanceBuffer {
+
+    private static final int MATRIX4F_COLUMNS = 4;
+    private static final int VECTOR4F_BYTES = 4 * Float.BYTES;
+    private static final int MATRIX4F_BYTES = MATRIX4F_COLUMNS * VECTOR4F_BYTES;
+
+    private final VBO vbo;
+    private final int vectorAttributes;
+    private final int stride;
+    private ByteBuffer staging;
+    private int instanceCount;
+
+    public InstanceBuffer(final int vectorAttributes,
+                          final int initialCapacity) {
+        if (vectorAttributes < 0) {
+            throw new IllegalArgumentException("Vector attribute count cannot be negative");
+        }
+        this.vbo = new VBO();
+        this.vectorAttributes = vectorAttributes;
+        this.stride = MATRIX4F_BYTES + (vectorAttributes * VECTOR4F_BYTES);
+        this.staging = MemoryUtil.memAlloc(Math.max(1, initialCapacity) * this.stride);
+        this.instanceCount = 0;
+    }
+
+    public InstanceBuffer(final int vectorAttributes) {
+        this(vectorAttributes, 1);
+    }
+
+    /**
+     * Packs {@code count} instances, interleaving each transform with the
+     * matching element of every vector attribute array.
+     */
+    public void pack(final int count,
+                     final Matrix4f[] transforms,
+                     final Vector4f[]... vectors) {
+        if (vectors.length != this.vectorAttributes) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d vector attribute arrays, got %d",
+                    this.vectorAttributes,
+                    vectors.length
+            ));
+        }
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            final int offset = i * this.stride;
+            transforms[i].get(offset, this.staging);
+            for (int j = 0; j < vectors.length; j++) {
+                vectors[j][i].get(offset + MATRIX4F_BYTES + (j * VECTOR4F_BYTES), this.staging);
+            }
+        }
+        this.instanceCount = count;
+        this.staging.position(0).limit(count * this.stride);
+    }
+
+    public void upload(final int usage) {
+        this.vbo.bind();
+        this.vbo.setData(this.staging, usage);
+        this.vbo.unbind();
+    }
+
+    /**
+     * Wires the transform to {@code baseLocation} through {@code baseLocation + 3}
+     * and each vector attribute to the following locations, all advancing once
+     * per instance. The target VAO must be bound.
+     */
+    public void enableAttributes(final int baseLocation) {
+        this.vbo.bind();
+        this.vbo.enableMatrixAttributeAndPointer(
+                baseLocation,
+                MATRIX4F_COLUMNS,
+                MATRIX4F_COLUMNS,
+                this.stride,
+                0,
+                1
+        );
+        for (int j = 0; j < this.vectorAttributes; j++) {
+            final int location = baseLocation + MATRIX4F_COLUMNS + j;
+            this.vbo.enableAttributeAndPointer(
+                    location,
+                    4,
+                    GL_FLOAT,
+                    false,
+                    this.stride,
+                    MATRIX4F_BYTES + (j * VECTOR4F_BYTES)
+            );
+            this.vbo.setAttributeDivisor(location, 1);
+        }
+        this.vbo.unbind();
+    }
+
+    private void ensureCapacity(final int count) {
+        final int required = count * this.stride;
+        if (this.staging.capacity() >= required) {
+            this.staging.clear();
+            return;
+        }
+        this.staging = MemoryUtil.memRealloc(this.staging, Math.max(required, this.staging.capacity() * 2));
+        this.staging.clear();
+    }
+
+    public VBO getVBO() {
+        return this.vbo;
+    }
+
+    public int getStride() {
+        return this.stride;
+    }
+
+    public int getInstanceCount() {
+        return this.instanceCount;
+    }
+
+    public void destroy() {
+        this.vbo.destroy();
+        MemoryUtil.memFree(this.staging);
+        this.staging = null;
+    }
+
+}
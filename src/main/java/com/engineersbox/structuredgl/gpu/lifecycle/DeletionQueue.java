@@ -0,0 +1,132 @@
+package com.engineersbox.structuredgl.gpu.lifecycle;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.gpu.sync.FrameContext;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL32.*;
+
+/**
+ * Collects GL object names released during a frame and deletes them per
+ * {@link GLObjectType} with a single array call once the GPU has retired
+ * every command submitted up to the end of that frame. Names of recyclable
+ * types are returned to the current thread's {@link NamePool} first.
+ * <p>
+ * With a {@link FrameContext}, batches submitted while a frame is recording
+ * retire with that frame instead of a fence of their own.
+ * <p>
+ * Must only be used from the thread owning the GL context.
+ */
+public class DeletionQueue {
+
+    private static final long FENCE_WAIT_TIMEOUT_NS = 1_000_000L;
+
+    private final FrameContext frames;
+    private final Deque<PendingBatch> pending;
+    private Map<GLObjectType, IntArrayList> current;
+
+    public DeletionQueue(final FrameContext frames) {
+        this.frames = frames;
+        this.pending = new ArrayDeque<>();
+        this.current = new EnumMap<>(GLObjectType.class);
+    }
+
+    public DeletionQueue() {
+        this(null);
+    }
+
+    public void enqueue(final GPUResource resource) {
+        enqueue(
+                resource.getObjectType(),
+                resource.release()
+        );
+    }
+
+    public void enqueue(final GLObjectType type,
+                        final int id) {
+        this.current.computeIfAbsent(
+                type,
+                (final GLObjectType ignored) -> new IntArrayList()
+        ).add(id);
+    }
+
+    /**
+     * Fences the names released this frame and deletes any earlier batches
+     * whose fences have signalled. Never blocks on the GPU.
+     */
+    public void endFrame() {
+        ResourceLeakDetector.drainLeaked(this::enqueue);
+        submitCurrent();
+        while (!this.pending.isEmpty() && isSignalled(this.pending.peekFirst().fence(), 0)) {
+            retire(this.pending.pollFirst());
+        }
+    }
+
+    /**
+     * Waits for all outstanding batches and deletes them, for use at teardown
+     * or level unload.
+     */
+    public void flush() {
+        ResourceLeakDetector.drainLeaked(this::enqueue);
+        submitCurrent();
+        while (!this.pending.isEmpty()) {
+            final PendingBatch batch = this.pending.pollFirst();
+            while (!isSignalled(batch.fence(), FENCE_WAIT_TIMEOUT_NS)) {
+                Thread.onSpinWait();
+            }
+            retire(batch);
+        }
+        if (this.frames != null) {
+            this.frames.waitIdle();
+        }
+    }
+
+    public int pendingBatches() {
+        return this.pending.size();
+    }
+
+    private void submitCurrent() {
+        if (this.current.isEmpty()) {
+            return;
+        }
+        final Map<GLObjectType, IntArrayList> batch = this.current;
+        this.current = new EnumMap<>(GLObjectType.class);
+        if (this.frames != null && this.frames.isRecording()) {
+            this.frames.current().onRetire(() -> delete(batch));
+            return;
+        }
+        this.pending.addLast(new PendingBatch(
+                glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0),
+                batch
+        ));
+    }
+
+    private boolean isSignalled(final long fence,
+                                final long timeout) {
+        final int status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, timeout);
+        if (status == GL_WAIT_FAILED) {
+            throw new IllegalStateException("Failed to wait on deletion queue fence");
+        }
+        return status == GL_ALREADY_SIGNALED || status == GL_CONDITION_SATISFIED;
+    }
+
+    private void retire(final PendingBatch batch) {
+        glDeleteSync(batch.fence());
+        delete(batch.ids());
+    }
+
+    private static void delete(final Map<GLObjectType, IntArrayList> batch) {
+        batch.forEach((final GLObjectType type, final IntArrayList ids) -> NamePools.recycleOrDelete(type, ids.toArray()));
+    }
+
+    private record PendingBatch(long fence,
+                                Map<GLObjectType, IntArrayList> ids) {
+    }
+
+}
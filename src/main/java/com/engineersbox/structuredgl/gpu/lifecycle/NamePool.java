@@ -0,0 +1,129 @@
+package com.engineersbox.structuredgl.gpu.lifecycle;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+
+import java.util.Arrays;
+
+/**
+ * Reserve of pre-generated names for a single {@link GLObjectType}. When the
+ * reserve drops to the low watermark it is topped up to the high watermark
+ * with one batched {@code glGen*} call, so acquiring a name is O(1) and makes
+ * no driver call in the common case.
+ * <p>
+ * Not thread safe, use {@link NamePools} to obtain the pool belonging to the
+ * current thread's context.
+ */
+public class NamePool {
+
+    private final GLObjectType type;
+    private int lowWatermark;
+    private int highWatermark;
+    private int[] names;
+    private int size;
+
+    public NamePool(final GLObjectType type,
+                    final int lowWatermark,
+                    final int highWatermark) {
+        if (!type.isPoolable()) {
+            throw new IllegalArgumentException(String.format(
+                    "Object type %s cannot be pooled",
+                    type.name()
+            ));
+        }
+        this.type = type;
+        this.names = new int[0];
+        this.size = 0;
+        setWatermarks(lowWatermark, highWatermark);
+    }
+
+    public void setWatermarks(final int lowWatermark,
+                              final int highWatermark) {
+        if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid watermarks [low: %d, high: %d], expected 0 <= low < high",
+                    lowWatermark,
+                    highWatermark
+            ));
+        }
+        if (this.size > highWatermark) {
+            this.type.delete(Arrays.copyOfRange(this.names, highWatermark, this.size));
+            this.size = highWatermark;
+        }
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.names = Arrays.copyOf(this.names, highWatermark);
+    }
+
+    public int acquire() {
+        if (this.size <= this.lowWatermark) {
+            prefetch();
+        }
+        return this.names[--this.size];
+    }
+
+    /**
+     * Tops the reserve up to the high watermark, for use ahead of a known
+     * allocation burst such as streaming in a scene.
+     */
+    public void prefetch() {
+        final int missing = this.highWatermark - this.size;
+        if (missing <= 0) {
+            return;
+        }
+        final int[] generated = new int[missing];
+        this.type.generate(generated);
+        System.arraycopy(generated, 0, this.names, this.size, missing);
+        this.size = this.highWatermark;
+    }
+
+    /**
+     * Takes back as many of the given released names as the reserve has room
+     * for, provided objects of this type are recyclable and each name can be
+     * {@link GLObjectType#reset(int) reset}.
+     *
+     * @return The names that were not recycled and still need deleting
+     */
+    public int[] recycle(final int[] ids) {
+        if (!this.type.isRecyclable()) {
+            return ids;
+        }
+        final int[] remaining = new int[ids.length];
+        int remainingCount = 0;
+        for (final int id : ids) {
+            if (this.size < this.highWatermark && this.type.reset(id)) {
+                this.names[this.size++] = id;
+            } else {
+                remaining[remainingCount++] = id;
+            }
+        }
+        return Arrays.copyOf(remaining, remainingCount);
+    }
+
+    /**
+     * Deletes every reserved name, typically before the owning context is destroyed.
+     */
+    public void clear() {
+        if (this.size == 0) {
+            return;
+        }
+        this.type.delete(Arrays.copyOf(this.names, this.size));
+        this.size = 0;
+    }
+
+    public GLObjectType getType() {
+        return this.type;
+    }
+
+    public int reserved() {
+        return this.size;
+    }
+
+    public int getLowWatermark() {
+        return this.lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return this.highWatermark;
+    }
+
+}
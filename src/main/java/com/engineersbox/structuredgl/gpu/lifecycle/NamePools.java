@@ -0,0 +1,74 @@
+package com.engineersbox.structuredgl.gpu.lifecycle;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-thread {@link NamePool}s. A GL context is current on at most one thread,
+ * so keeping pools thread local keeps names with the context that generated
+ * them, which matters for container objects (VAOs, FBOs) that are not shared
+ * between contexts.
+ */
+public class NamePools {
+
+    public static final int DEFAULT_LOW_WATERMARK = Integer.getInteger("structuredgl.namePool.lowWatermark", 16);
+    public static final int DEFAULT_HIGH_WATERMARK = Integer.getInteger("structuredgl.namePool.highWatermark", 128);
+
+    private static final ThreadLocal<Map<GLObjectType, NamePool>> POOLS = ThreadLocal.withInitial(
+            () -> new EnumMap<>(GLObjectType.class)
+    );
+
+    private NamePools() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static NamePool get(final GLObjectType type) {
+        return NamePools.POOLS.get().computeIfAbsent(
+                type,
+                (final GLObjectType poolType) -> new NamePool(
+                        poolType,
+                        DEFAULT_LOW_WATERMARK,
+                        DEFAULT_HIGH_WATERMARK
+                )
+        );
+    }
+
+    /**
+     * Acquires a name for the given type from the current thread's pool, or
+     * creates one directly if the type cannot be pooled.
+     */
+    public static int acquire(final GLObjectType type) {
+        if (!type.isPoolable()) {
+            return type.create();
+        }
+        return get(type).acquire();
+    }
+
+    /**
+     * Recycles what the current thread's pool will accept and deletes the rest
+     * with a single array call.
+     */
+    public static void recycleOrDelete(final GLObjectType type,
+                                       final int[] ids) {
+        final int[] remaining = type.isPoolable() ? get(type).recycle(ids) : ids;
+        if (remaining.length > 0) {
+            type.delete(remaining);
+        }
+    }
+
+    public static void configure(final GLObjectType type,
+                                 final int lowWatermark,
+                                 final int highWatermark) {
+        get(type).setWatermarks(lowWatermark, highWatermark);
+    }
+
+    /**
+     * Deletes all names reserved by the current thread's pools.
+     */
+    public static void clear() {
+        NamePools.POOLS.get().values().forEach(NamePool::clear);
+    }
+
+}
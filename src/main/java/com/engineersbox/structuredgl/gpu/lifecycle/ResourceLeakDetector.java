@@ -0,0 +1,148 @@
+package com.engineersbox.structuredgl.gpu.lifecycle;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjIntConsumer;
+
+import static org.lwjgl.glfw.GLFW.glfwGetCurrentContext;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Reports {@link GPUResource}s that become unreachable without being destroyed
+ * or released. Allocation stacks are only captured when running with
+ * {@code -Dstructuredgl.debug=true}, since filling in a stack trace per
+ * resource is too expensive to leave on.
+ * <p>
+ * The cleaner thread has no GL context, so leaked names are parked here until
+ * a {@link DeletionQueue} drains and deletes them. Container objects (vertex
+ * arrays, framebuffers, queries, transform feedbacks) are not shared between
+ * contexts, so their names are only drained by a queue running on the
+ * context that created them, never deleting an unrelated object of the same
+ * number in another context. Buffers, textures and programs live in the
+ * share group and are drained by the first queue to run.
+ */
+public class ResourceLeakDetector {
+
+    private static final Logger LOGGER = LogManager.getLogger(ResourceLeakDetector.class);
+    private static final boolean CAPTURE_ALLOCATION_STACKS = Boolean.getBoolean("structuredgl.debug");
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final Queue<LeakedResource> LEAKED = new ConcurrentLinkedQueue<>();
+
+    private ResourceLeakDetector() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static Tracker track(final GPUResource resource) {
+        final LeakState state = new LeakState(
+                resource.getObjectType(),
+                resource.getId(),
+                owningContext(resource.getObjectType()),
+                resource.getClass().getSimpleName(),
+                CAPTURE_ALLOCATION_STACKS ? new Throwable("Allocation site") : null
+        );
+        return new Tracker(state, CLEANER.register(resource, state));
+    }
+
+    /**
+     * @return The context a name of {@code type} belongs to, or {@code NULL}
+     *         for types shared by every context in a share group
+     */
+    private static long owningContext(final GLObjectType type) {
+        return switch (type) {
+            case BUFFER, TEXTURE, PROGRAM -> NULL;
+            default -> glfwGetCurrentContext();
+        };
+    }
+
+    /**
+     * Passes every leaked name deletable on the calling thread's context to
+     * {@code consumer}, leaving names owned by other contexts queued.
+     */
+    static void drainLeaked(final ObjIntConsumer<GLObjectType> consumer) {
+        final long context = glfwGetCurrentContext();
+        final Iterator<LeakedResource> iterator = LEAKED.iterator();
+        while (iterator.hasNext()) {
+            final LeakedResource leaked = iterator.next();
+            if (leaked.context() != NULL && leaked.context() != context) {
+                continue;
+            }
+            iterator.remove();
+            consumer.accept(leaked.type(), leaked.id());
+        }
+    }
+
+    private record LeakedResource(GLObjectType type,
+                                  int id,
+                                  long context) {
+    }
+
+    private static final class LeakState implements Runnable {
+
+        private final GLObjectType type;
+        private final int id;
+        private final long context;
+        private final String resourceName;
+        private final Throwable allocationSite;
+        private volatile boolean released = false;
+
+        private LeakState(final GLObjectType type,
+                          final int id,
+                          final long context,
+                          final String resourceName,
+                          final Throwable allocationSite) {
+            this.type = type;
+            this.id = id;
+            this.context = context;
+            this.resourceName = resourceName;
+            this.allocationSite = allocationSite;
+        }
+
+        @Override
+        public void run() {
+            if (this.released) {
+                return;
+            }
+            ResourceLeakDetector.LEAKED.offer(new LeakedResource(this.type, this.id, this.context));
+            if (this.allocationSite != null) {
+                ResourceLeakDetector.LOGGER.error(String.format(
+                        "Resource %s (%s %d) was garbage collected without being destroyed",
+                        this.resourceName,
+                        this.type.name(),
+                        this.id
+                ), this.allocationSite);
+                return;
+            }
+            ResourceLeakDetector.LOGGER.warn(String.format(
+                    "Resource %s (%s %d) was garbage collected without being destroyed, run with -Dstructuredgl.debug=true to capture allocation stacks",
+                    this.resourceName,
+                    this.type.name(),
+                    this.id
+            ));
+        }
+    }
+
+    public static final class Tracker {
+
+        private final LeakState state;
+        private final Cleaner.Cleanable cleanable;
+
+        private Tracker(final LeakState state,
+                        final Cleaner.Cleanable cleanable) {
+            this.state = state;
+            this.cleanable = cleanable;
+        }
+
+        public void release() {
+            this.state.released = true;
+            this.cleanable.clean();
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.engineersbox.structuredgl.gpu.lighting;
+
+/**
+ * Where lights are assigned to clusters. Both produce the same per-cluster
+ * ranges and index lists in shader storage buffers, so the lighting pass is
+ * unaware of the choice and both require GL 4.3 or
+ * {@code ARB_shader_storage_buffer_object}.
+ */
+public enum ClusterAssignment {
+    /**
+     * A compute pass, one invocation per cluster
+     */
+    COMPUTE,
+    /**
+     * Depth slices in parallel on a fork-join pool, then uploaded, moving
+     * the work off the GPU when it is the bottleneck or compute dispatch is
+     * unreliable on the driver
+     */
+    CPU
+}
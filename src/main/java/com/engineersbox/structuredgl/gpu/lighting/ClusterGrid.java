@@ -0,0 +1,214 @@
+package com.engineersbox.structuredgl.gpu.lighting;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+
+/**
+ * Froxel grid over a perspective view frustum: screen tiles in x and y, and
+ * depth slices spaced exponentially between the near and far planes so
+ * clusters stay roughly cubic. Each cluster's view space bounding box is
+ * recomputed whenever the projection or viewport changes.
+ * <p>
+ * Fragments locate their cluster from window coordinates and view depth as
+ * {@code floor(fragCoord.xy / tileSize)} and
+ * {@code floor(log(-z) * sliceScale + sliceBias)}, with clusters indexed
+ * {@code x + dimX * (y + dimY * z)}.
+ */
+public class ClusterGrid {
+
+    public static final int DEFAULT_TILES_X = 16;
+    public static final int DEFAULT_TILES_Y = 9;
+    public static final int DEFAULT_SLICES = 24;
+
+    private final int tilesX;
+    private final int tilesY;
+    private final int slices;
+    private final float[] bounds;
+    private final float[] sliceDepths;
+    private final Matrix4f inverseProjection;
+    private float tileWidth;
+    private float tileHeight;
+    private float sliceScale;
+    private float sliceBias;
+
+    public ClusterGrid(final int tilesX,
+                       final int tilesY,
+                       final int slices) {
+        if (tilesX <= 0 || tilesY <= 0 || slices <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Cluster grid dimensions must be positive, got %dx%dx%d",
+                    tilesX,
+                    tilesY,
+                    slices
+            ));
+        }
+        this.tilesX = tilesX;
+        this.tilesY = tilesY;
+        this.slices = slices;
+        this.bounds = new float[tilesX * tilesY * slices * 6];
+        this.sliceDepths = new float[slices + 1];
+        this.inverseProjection = new Matrix4f();
+    }
+
+    public ClusterGrid() {
+        this(DEFAULT_TILES_X, DEFAULT_TILES_Y, DEFAULT_SLICES);
+    }
+
+    /**
+     * @param near Positive distance to the near plane of {@code projection}
+     * @param far Positive distance to the far plane of {@code projection}
+     */
+    public void setProjection(final Matrix4fc projection,
+                              final float near,
+                              final float far,
+                              final int viewportWidth,
+                              final int viewportHeight) {
+        if (!(near > 0) || !(far > near)) {
+            throw new IllegalArgumentException(String.format(
+                    "Cluster depth range requires 0 < near < far, got near %f and far %f",
+                    near,
+                    far
+            ));
+        }
+        projection.invert(this.inverseProjection);
+        this.tileWidth = (float) viewportWidth / this.tilesX;
+        this.tileHeight = (float) viewportHeight / this.tilesY;
+        final double logDepthRange = Math.log(far / near);
+        this.sliceScale = (float) (this.slices / logDepthRange);
+        this.sliceBias = (float) (-this.slices * Math.log(near) / logDepthRange);
+        for (int k = 0; k <= this.slices; k++) {
+            this.sliceDepths[k] = (float) (near * Math.pow(far / near, (double) k / this.slices));
+        }
+        // Corner rays through the near plane, one per tile grid vertex
+        final Vector3f[] rays = new Vector3f[(this.tilesX + 1) * (this.tilesY + 1)];
+        for (int y = 0; y <= this.tilesY; y++) {
+            for (int x = 0; x <= this.tilesX; x++) {
+                final Vector3f ray = this.inverseProjection.transformProject(
+                        -1.0f + (2.0f * x / this.tilesX),
+                        -1.0f + (2.0f * y / this.tilesY),
+                        -1.0f,
+                        new Vector3f()
+                );
+                rays[x + (y * (this.tilesX + 1))] = ray.div(-ray.z);
+            }
+        }
+        for (int z = 0; z < this.slices; z++) {
+            for (int y = 0; y < this.tilesY; y++) {
+                for (int x = 0; x < this.tilesX; x++) {
+                    writeBounds(index(x, y, z), rays, x, y, this.sliceDepths[z], this.sliceDepths[z + 1]);
+                }
+            }
+        }
+    }
+
+    private void writeBounds(final int cluster,
+                             final Vector3f[] rays,
+                             final int x,
+                             final int y,
+                             final float nearDepth,
+                             final float farDepth) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int corner = 0; corner < 4; corner++) {
+            final Vector3f ray = rays[(x + (corner & 1)) + ((y + (corner >> 1)) * (this.tilesX + 1))];
+            for (final float depth : new float[]{nearDepth, farDepth}) {
+                minX = Math.min(minX, ray.x * depth);
+                minY = Math.min(minY, ray.y * depth);
+                maxX = Math.max(maxX, ray.x * depth);
+                maxY = Math.max(maxY, ray.y * depth);
+            }
+        }
+        final int base = cluster * 6;
+        this.bounds[base] = minX;
+        this.bounds[base + 1] = minY;
+        this.bounds[base + 2] = -farDepth;
+        this.bounds[base + 3] = maxX;
+        this.bounds[base + 4] = maxY;
+        this.bounds[base + 5] = -nearDepth;
+    }
+
+    public int index(final int x,
+                     final int y,
+                     final int z) {
+        return x + (this.tilesX * (y + (this.tilesY * z)));
+    }
+
+    /**
+     * Tests a view space sphere against a cluster's bounding box.
+     */
+    boolean intersects(final int cluster,
+                       final float x,
+                       final float y,
+                       final float z,
+                       final float radius) {
+        final int base = cluster * 6;
+        final float dx = Math.max(Math.max(this.bounds[base] - x, 0.0f), x - this.bounds[base + 3]);
+        final float dy = Math.max(Math.max(this.bounds[base + 1] - y, 0.0f), y - this.bounds[base + 4]);
+        final float dz = Math.max(Math.max(this.bounds[base + 2] - z, 0.0f), z - this.bounds[base + 5]);
+        return (dx * dx) + (dy * dy) + (dz * dz) <= radius * radius;
+    }
+
+    /**
+     * Cluster bounds as consecutive {@code vec4} minimum and maximum corners,
+     * the layout of the compute assignment pass.
+     */
+    float[] packBounds() {
+        final int clusters = getClusterCount();
+        final float[] packed = new float[clusters * 8];
+        for (int i = 0; i < clusters; i++) {
+            System.arraycopy(this.bounds, i * 6, packed, i * 8, 3);
+            System.arraycopy(this.bounds, (i * 6) + 3, packed, (i * 8) + 4, 3);
+        }
+        return packed;
+    }
+
+    public int getTilesX() {
+        return this.tilesX;
+    }
+
+    public int getTilesY() {
+        return this.tilesY;
+    }
+
+    public int getSlices() {
+        return this.slices;
+    }
+
+    public int getClusterCount() {
+        return this.tilesX * this.tilesY * this.slices;
+    }
+
+    /**
+     * @return Positive view distance to the near boundary of {@code slice}
+     */
+    public float getSliceNear(final int slice) {
+        return this.sliceDepths[slice];
+    }
+
+    /**
+     * @return Positive view distance to the far boundary of {@code slice}
+     */
+    public float getSliceFar(final int slice) {
+        return this.sliceDepths[slice + 1];
+    }
+
+    public float getTileWidth() {
+        return this.tileWidth;
+    }
+
+    public float getTileHeight() {
+        return this.tileHeight;
+    }
+
+    public float getSliceScale() {
+        return this.sliceScale;
+    }
+
+    public float getSliceBias() {
+        return this.sliceBias;
+    }
+
+}
@@ -0,0 +1,367 @@
+package com.engineersbox.structuredgl.gpu.lighting;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.debug.GLDebug;
+import com.engineersbox.structuredgl.gpu.shader.BindingAccess;
+import com.engineersbox.structuredgl.gpu.shader.ComputeProgram;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import com.engineersbox.structuredgl.gpu.shader.Uniforms;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.joml.Matrix4fc;
+import org.joml.Vector2f;
+import org.joml.Vector3i;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+
+/**
+ * Clustered light culling. Lights are packed into a storage buffer in view
+ * space each frame and every cluster of a {@link ClusterGrid} receives the
+ * compact list of lights whose influence sphere overlaps it, so the lighting
+ * pass only shades the lights affecting each fragment's cluster.
+ * <p>
+ * The lighting pass reads, with std430 layout:
+ * <ul>
+ *     <li>{@link #LIGHTS_BINDING}: the {@link LightSet} layout, one entry per light</li>
+ *     <li>{@link #CLUSTER_RANGES_BINDING}: {@code uvec2} offset and count per cluster</li>
+ *     <li>{@link #LIGHT_INDICES_BINDING}: {@code uint} light indices the ranges refer to</li>
+ * </ul>
+ * along with the uniforms set by {@link #setUniforms(Uniforms)}. Every
+ * {@link ClusterAssignment} publishes its results through these storage
+ * buffers, so the context must support GL 4.3 or
+ * {@code ARB_shader_storage_buffer_object} even when assigning on the CPU.
+ */
+public class ClusteredLightCuller {
+
+    public static final String SHADER_RESOURCE = "shaders/lighting/cluster_assign.comp";
+    public static final int LIGHTS_BINDING = 0;
+    public static final int CLUSTER_BOUNDS_BINDING = 1;
+    public static final int CLUSTER_RANGES_BINDING = 2;
+    public static final int LIGHT_INDICES_BINDING = 3;
+    public static final int INDEX_COUNT_BINDING = 4;
+    public static final int DEFAULT_AVERAGE_LIGHTS_PER_CLUSTER = 64;
+
+    private static final int[] ZERO_COUNT = new int[]{0};
+
+    private final ClusterGrid grid;
+    private final ClusterAssignment assignment;
+    private final ForkJoinPool pool;
+    private final ComputeProgram program;
+    private final SSBO lights;
+    private final SSBO clusterBounds;
+    private final SSBO clusterRanges;
+    private final SSBO lightIndices;
+    private final SSBO indexCount;
+    private final Vector3i dimensions;
+    private final Vector2f tileSize;
+    private ByteBuffer lightStaging;
+    private float[] viewSpheres;
+    private int[] ranges;
+    private ByteBuffer indexStaging;
+    private int indexCapacity;
+    private int lightCount;
+
+    /**
+     * @param averageLightsPerCluster Sizes the compute pass's index list as this many entries per cluster,
+     *                                clusters allocated past the end shade a truncated set
+     */
+    public ClusteredLightCuller(final ClusterGrid grid,
+                                final ClusterAssignment assignment,
+                                final int averageLightsPerCluster,
+                                final ForkJoinPool pool) {
+        this.grid = grid;
+        this.assignment = assignment;
+        this.pool = pool;
+        this.program = assignment == ClusterAssignment.COMPUTE
+                ? new ComputeProgram(
+                        "ClusterAssign",
+                        new ShaderModuleData(SHADER_RESOURCE, DataType.CLASSPATH_RESOURCE, ShaderType.COMPUTE)
+                )
+                : null;
+        this.lights = new SSBO();
+        this.clusterBounds = new SSBO();
+        this.clusterRanges = new SSBO();
+        this.lightIndices = new SSBO();
+        this.indexCount = new SSBO();
+        this.dimensions = new Vector3i(grid.getTilesX(), grid.getTilesY(), grid.getSlices());
+        this.tileSize = new Vector2f();
+        final int clusters = grid.getClusterCount();
+        this.clusterRanges.bind();
+        this.clusterRanges.setData((long) clusters * 2 * Integer.BYTES, GL_DYNAMIC_COPY);
+        this.clusterRanges.unbind();
+        this.indexCapacity = Math.max(1, clusters * averageLightsPerCluster);
+        this.lightIndices.bind();
+        this.lightIndices.setData((long) this.indexCapacity * Integer.BYTES, GL_DYNAMIC_COPY);
+        this.lightIndices.unbind();
+        this.indexCount.bind();
+        this.indexCount.setData(ZERO_COUNT, GL_DYNAMIC_COPY);
+        this.indexCount.unbind();
+        this.lightStaging = MemoryUtil.memAlloc(LightSet.BYTES_PER_LIGHT);
+        this.viewSpheres = new float[4];
+        this.ranges = new int[clusters * 2];
+        this.indexStaging = MemoryUtil.memAlloc(Integer.BYTES);
+        this.lightCount = 0;
+        if (this.program != null) {
+            this.program.getUniforms().createUniform("clusterCount");
+            this.program.getUniforms().createUniform("lightCount");
+            this.program.getUniforms().createUniform("indexCapacity");
+            this.program.bindStorageBuffer(LIGHTS_BINDING, this.lights, BindingAccess.READ);
+            this.program.bindStorageBuffer(CLUSTER_BOUNDS_BINDING, this.clusterBounds, BindingAccess.READ);
+            this.program.bindStorageBuffer(CLUSTER_RANGES_BINDING, this.clusterRanges, BindingAccess.WRITE);
+            this.program.bindStorageBuffer(LIGHT_INDICES_BINDING, this.lightIndices, BindingAccess.WRITE);
+            this.program.bindStorageBuffer(INDEX_COUNT_BINDING, this.indexCount, BindingAccess.READ_WRITE);
+        }
+    }
+
+    public ClusteredLightCuller(final ClusterGrid grid,
+                                final ClusterAssignment assignment) {
+        this(grid, assignment, DEFAULT_AVERAGE_LIGHTS_PER_CLUSTER, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Rebuilds the cluster bounds, call whenever the projection or viewport
+     * changes.
+     */
+    public void setProjection(final Matrix4fc projection,
+                              final float near,
+                              final float far,
+                              final int viewportWidth,
+                              final int viewportHeight) {
+        this.grid.setProjection(projection, near, far, viewportWidth, viewportHeight);
+        this.tileSize.set(this.grid.getTileWidth(), this.grid.getTileHeight());
+        if (this.program != null) {
+            this.clusterBounds.bind();
+            this.clusterBounds.setData(this.grid.packBounds(), GL_STATIC_DRAW);
+            this.clusterBounds.unbind();
+        }
+    }
+
+    /**
+     * Uploads {@code lightSet} in the space of {@code view} and assigns every
+     * light to the clusters it reaches.
+     */
+    public void assign(final LightSet lightSet,
+                       final Matrix4fc view) {
+        GLDebug.pushGroup("ClusteredLightCuller");
+        this.lightCount = lightSet.count();
+        final int requiredBytes = Math.max(1, this.lightCount) * LightSet.BYTES_PER_LIGHT;
+        if (this.lightStaging.capacity() < requiredBytes) {
+            this.lightStaging = MemoryUtil.memRealloc(this.lightStaging, requiredBytes);
+        }
+        if (this.viewSpheres.length < this.lightCount * 4) {
+            this.viewSpheres = new float[this.lightCount * 4];
+        }
+        this.lightStaging.clear();
+        lightSet.pack(view, this.lightStaging, this.viewSpheres);
+        this.lightStaging.flip();
+        this.lights.bind();
+        this.lights.setData(this.lightStaging, GL_STREAM_DRAW);
+        this.lights.unbind();
+        if (this.assignment == ClusterAssignment.COMPUTE) {
+            assignCompute();
+        } else {
+            assignCpu();
+        }
+        GLDebug.popGroup();
+    }
+
+    private void assignCompute() {
+        final MemoryBarrierTracker tracker = this.program.getBarrierTracker();
+        tracker.prepare(this.indexCount, BarrierUsage.BUFFER_UPDATE);
+        this.indexCount.bind();
+        this.indexCount.setSubData(0, ZERO_COUNT);
+        this.indexCount.unbind();
+        this.program.bind();
+        this.program.getUniforms().setUniform("clusterCount", this.grid.getClusterCount());
+        this.program.getUniforms().setUniform("lightCount", this.lightCount);
+        this.program.getUniforms().setUniform("indexCapacity", this.indexCapacity);
+        this.program.dispatchInvocations(this.grid.getClusterCount());
+        this.program.unbind();
+    }
+
+    private void assignCpu() {
+        final int slices = this.grid.getSlices();
+        final IntArrayList[] sliceIndices = new IntArrayList[slices];
+        this.pool.invoke(new SliceTask(sliceIndices, 0, slices));
+        int total = 0;
+        for (final IntArrayList slice : sliceIndices) {
+            total += slice.size();
+        }
+        if (this.indexStaging.capacity() < total * Integer.BYTES) {
+            this.indexStaging = MemoryUtil.memRealloc(this.indexStaging, total * Integer.BYTES);
+        }
+        this.indexStaging.clear();
+        for (final IntArrayList slice : sliceIndices) {
+            for (int i = 0; i < slice.size(); i++) {
+                this.indexStaging.putInt(slice.get(i));
+            }
+        }
+        this.indexStaging.flip();
+        // Slices hold consecutive clusters, so per-cluster counts become offsets in order
+        int running = 0;
+        for (int cluster = 0; cluster < this.grid.getClusterCount(); cluster++) {
+            this.ranges[cluster * 2] = running;
+            running += this.ranges[(cluster * 2) + 1];
+        }
+        if (total > this.indexCapacity) {
+            this.indexCapacity = total;
+            this.lightIndices.bind();
+            this.lightIndices.setData((long) this.indexCapacity * Integer.BYTES, GL_DYNAMIC_COPY);
+            this.lightIndices.unbind();
+        }
+        this.clusterRanges.bind();
+        this.clusterRanges.setSubData(0, this.ranges);
+        this.clusterRanges.unbind();
+        if (total > 0) {
+            this.lightIndices.bind();
+            this.lightIndices.setSubData(0, this.indexStaging);
+            this.lightIndices.unbind();
+        }
+    }
+
+    private void assignSlice(final int slice,
+                             final IntArrayList out) {
+        final IntArrayList candidates = new IntArrayList();
+        final int first = this.grid.index(0, 0, slice);
+        final int last = this.grid.index(this.grid.getTilesX() - 1, this.grid.getTilesY() - 1, slice);
+        final float sliceNear = this.grid.getSliceNear(slice);
+        final float sliceFar = this.grid.getSliceFar(slice);
+        for (int light = 0; light < this.lightCount; light++) {
+            final float z = this.viewSpheres[(light * 4) + 2];
+            final float radius = this.viewSpheres[(light * 4) + 3];
+            if (radius > 0 && z - radius <= -sliceNear && z + radius >= -sliceFar) {
+                candidates.add(light);
+            }
+        }
+        for (int cluster = first; cluster <= last; cluster++) {
+            int found = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                final int light = candidates.get(i);
+                final int base = light * 4;
+                if (this.grid.intersects(
+                        cluster,
+                        this.viewSpheres[base],
+                        this.viewSpheres[base + 1],
+                        this.viewSpheres[base + 2],
+                        this.viewSpheres[base + 3]
+                )) {
+                    out.add(light);
+                    found++;
+                }
+            }
+            this.ranges[(cluster * 2) + 1] = found;
+        }
+    }
+
+    private final class SliceTask extends RecursiveAction {
+
+        private final IntArrayList[] sliceIndices;
+        private final int firstSlice;
+        private final int endSlice;
+
+        private SliceTask(final IntArrayList[] sliceIndices,
+                          final int firstSlice,
+                          final int endSlice) {
+            this.sliceIndices = sliceIndices;
+            this.firstSlice = firstSlice;
+            this.endSlice = endSlice;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.endSlice - this.firstSlice <= 1) {
+                final IntArrayList out = new IntArrayList();
+                assignSlice(this.firstSlice, out);
+                this.sliceIndices[this.firstSlice] = out;
+                return;
+            }
+            final int middle = (this.firstSlice + this.endSlice) >>> 1;
+            invokeAll(
+                    new SliceTask(this.sliceIndices, this.firstSlice, middle),
+                    new SliceTask(this.sliceIndices, middle, this.endSlice)
+            );
+        }
+    }
+
+    /**
+     * Binds the light, range and index buffers at their documented bindings
+     * for the lighting pass, with any barrier a compute assignment requires.
+     */
+    public void bindForShading() {
+        if (this.program != null) {
+            final MemoryBarrierTracker tracker = this.program.getBarrierTracker();
+            tracker.require(this.clusterRanges, BarrierUsage.SHADER_STORAGE);
+            tracker.require(this.lightIndices, BarrierUsage.SHADER_STORAGE);
+            tracker.flush();
+        }
+        this.lights.bindBase(LIGHTS_BINDING);
+        this.clusterRanges.bindBase(CLUSTER_RANGES_BINDING);
+        this.lightIndices.bindBase(LIGHT_INDICES_BINDING);
+    }
+
+    public static void createUniforms(final Uniforms uniforms) {
+        uniforms.createUniform("clusterDimensions");
+        uniforms.createUniform("clusterTileSize");
+        uniforms.createUniform("clusterSliceScale");
+        uniforms.createUniform("clusterSliceBias");
+    }
+
+    /**
+     * Sets the grid uniforms the lighting pass locates clusters with, the
+     * program must be bound.
+     */
+    public void setUniforms(final Uniforms uniforms) {
+        uniforms.setUniform("clusterDimensions", this.dimensions);
+        uniforms.setUniform("clusterTileSize", this.tileSize);
+        uniforms.setUniform("clusterSliceScale", this.grid.getSliceScale());
+        uniforms.setUniform("clusterSliceBias", this.grid.getSliceBias());
+    }
+
+    public ClusterGrid getGrid() {
+        return this.grid;
+    }
+
+    public ClusterAssignment getAssignment() {
+        return this.assignment;
+    }
+
+    public SSBO getLights() {
+        return this.lights;
+    }
+
+    public SSBO getClusterRanges() {
+        return this.clusterRanges;
+    }
+
+    public SSBO getLightIndices() {
+        return this.lightIndices;
+    }
+
+    public int getLightCount() {
+        return this.lightCount;
+    }
+
+    public void destroy() {
+        if (this.program != null) {
+            this.program.destroy();
+        }
+        this.lights.destroy();
+        this.clusterBounds.destroy();
+        this.clusterRanges.destroy();
+        this.lightIndices.destroy();
+        this.indexCount.destroy();
+        MemoryUtil.memFree(this.lightStaging);
+        MemoryUtil.memFree(this.indexStaging);
+    }
+
+}
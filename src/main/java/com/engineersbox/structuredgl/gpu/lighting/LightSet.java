@@ -0,0 +1,231 @@
+package com.engineersbox.structuredgl.gpu.lighting;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector3fc;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * World space point and spot lights packed in the layout the clustered
+ * lighting shaders read, 16 floats per light:
+ * <pre>
+ * vec4 positionRange;   // xyz position, w influence radius
+ * vec4 colorIntensity;  // rgb color, a intensity
+ * vec4 attenuation;     // constant, linear, exponent, unused
+ * vec4 directionCutoff; // xyz cone direction, w cosine of the cutoff, or POINT_CUTOFF
+ * </pre>
+ * The influence radius is where attenuation brings the brightest channel
+ * below the cutoff threshold, lights are treated as zero beyond it.
+ */
+public class LightSet {
+
+    public static final int FLOATS_PER_LIGHT = 16;
+    public static final int BYTES_PER_LIGHT = FLOATS_PER_LIGHT * Float.BYTES;
+    public static final float DEFAULT_CUTOFF_THRESHOLD = 1.0f / 256.0f;
+    /**
+     * Cone cutoff stored for point lights, below any cosine so no fragment is
+     * outside the cone
+     */
+    public static final float POINT_CUTOFF = -2.0f;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final float cutoffThreshold;
+    private float[] data;
+    private int count;
+
+    public LightSet(final float cutoffThreshold) {
+        if (!(cutoffThreshold > 0)) {
+            throw new IllegalArgumentException("Cutoff threshold must be positive, got " + cutoffThreshold);
+        }
+        this.cutoffThreshold = cutoffThreshold;
+        this.data = new float[INITIAL_CAPACITY * FLOATS_PER_LIGHT];
+        this.count = 0;
+    }
+
+    public LightSet() {
+        this(DEFAULT_CUTOFF_THRESHOLD);
+    }
+
+    public int addPointLight(final Vector3fc position,
+                             final Vector3fc color,
+                             final float intensity,
+                             final float constant,
+                             final float linear,
+                             final float exponent) {
+        final int index = this.count++;
+        ensureCapacity(this.count);
+        final int base = index * FLOATS_PER_LIGHT;
+        this.data[base] = position.x();
+        this.data[base + 1] = position.y();
+        this.data[base + 2] = position.z();
+        this.data[base + 4] = color.x();
+        this.data[base + 5] = color.y();
+        this.data[base + 6] = color.z();
+        this.data[base + 7] = intensity;
+        this.data[base + 8] = constant;
+        this.data[base + 9] = linear;
+        this.data[base + 10] = exponent;
+        this.data[base + 11] = 0.0f;
+        this.data[base + 12] = 0.0f;
+        this.data[base + 13] = 0.0f;
+        this.data[base + 14] = -1.0f;
+        this.data[base + 15] = POINT_CUTOFF;
+        updateRange(index);
+        return index;
+    }
+
+    /**
+     * @param direction Cone axis, need not be normalised
+     * @param cutoff Cosine of the cone half angle
+     */
+    public int addSpotLight(final Vector3fc position,
+                            final Vector3fc color,
+                            final float intensity,
+                            final float constant,
+                            final float linear,
+                            final float exponent,
+                            final Vector3fc direction,
+                            final float cutoff) {
+        final int index = addPointLight(position, color, intensity, constant, linear, exponent);
+        final int base = index * FLOATS_PER_LIGHT;
+        this.data[base + 12] = direction.x();
+        this.data[base + 13] = direction.y();
+        this.data[base + 14] = direction.z();
+        this.data[base + 15] = cutoff;
+        return index;
+    }
+
+    public void setPosition(final int index,
+                            final float x,
+                            final float y,
+                            final float z) {
+        final int base = checkIndex(index) * FLOATS_PER_LIGHT;
+        this.data[base] = x;
+        this.data[base + 1] = y;
+        this.data[base + 2] = z;
+    }
+
+    public void setDirection(final int index,
+                             final float x,
+                             final float y,
+                             final float z) {
+        final int base = checkIndex(index) * FLOATS_PER_LIGHT;
+        this.data[base + 12] = x;
+        this.data[base + 13] = y;
+        this.data[base + 14] = z;
+    }
+
+    public void setIntensity(final int index,
+                             final float intensity) {
+        this.data[(checkIndex(index) * FLOATS_PER_LIGHT) + 7] = intensity;
+        updateRange(index);
+    }
+
+    public float getRange(final int index) {
+        return this.data[(checkIndex(index) * FLOATS_PER_LIGHT) + 3];
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * Distance at which a light's brightest channel attenuates below
+     * {@code threshold}, infinite if it never does.
+     */
+    public static float range(final float intensity,
+                              final float maxChannel,
+                              final float constant,
+                              final float linear,
+                              final float exponent,
+                              final float threshold) {
+        final float brightness = intensity * maxChannel;
+        if (brightness <= 0) {
+            return 0.0f;
+        }
+        // Solve exponent * d^2 + linear * d + constant = brightness / threshold
+        final float c = constant - (brightness / threshold);
+        if (c >= 0) {
+            return 0.0f;
+        }
+        if (exponent > 0) {
+            return (float) ((-linear + Math.sqrt((linear * linear) - (4.0 * exponent * c))) / (2.0 * exponent));
+        }
+        return linear > 0 ? -c / linear : Float.POSITIVE_INFINITY;
+    }
+
+    private void updateRange(final int index) {
+        final int base = index * FLOATS_PER_LIGHT;
+        this.data[base + 3] = range(
+                this.data[base + 7],
+                Math.max(this.data[base + 4], Math.max(this.data[base + 5], this.data[base + 6])),
+                this.data[base + 8],
+                this.data[base + 9],
+                this.data[base + 10],
+                this.cutoffThreshold
+        );
+    }
+
+    /**
+     * Writes every light into {@code target} with positions and cone
+     * directions transformed into the space of {@code view}, which is where
+     * the lighting pass shades.
+     *
+     * @param viewSpace Receives the packed view space positions and ranges, 4 floats per light
+     */
+    void pack(final Matrix4fc view,
+              final ByteBuffer target,
+              final float[] viewSpace) {
+        for (int i = 0; i < this.count; i++) {
+            final int base = i * FLOATS_PER_LIGHT;
+            final float x = this.data[base];
+            final float y = this.data[base + 1];
+            final float z = this.data[base + 2];
+            final float dx = this.data[base + 12];
+            final float dy = this.data[base + 13];
+            final float dz = this.data[base + 14];
+            final float vx = view.m00() * x + view.m10() * y + view.m20() * z + view.m30();
+            final float vy = view.m01() * x + view.m11() * y + view.m21() * z + view.m31();
+            final float vz = view.m02() * x + view.m12() * y + view.m22() * z + view.m32();
+            viewSpace[i * 4] = vx;
+            viewSpace[(i * 4) + 1] = vy;
+            viewSpace[(i * 4) + 2] = vz;
+            viewSpace[(i * 4) + 3] = this.data[base + 3];
+            target.putFloat(vx)
+                    .putFloat(vy)
+                    .putFloat(vz)
+                    .putFloat(this.data[base + 3]);
+            for (int j = 4; j < 12; j++) {
+                target.putFloat(this.data[base + j]);
+            }
+            target.putFloat(view.m00() * dx + view.m10() * dy + view.m20() * dz)
+                    .putFloat(view.m01() * dx + view.m11() * dy + view.m21() * dz)
+                    .putFloat(view.m02() * dx + view.m12() * dy + view.m22() * dz)
+                    .putFloat(this.data[base + 15]);
+        }
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Light %d is out of bounds for %d lights",
+                    index,
+                    this.count
+            ));
+        }
+        return index;
+    }
+
+    private void ensureCapacity(final int lights) {
+        if (lights * FLOATS_PER_LIGHT > this.data.length) {
+            this.data = Arrays.copyOf(this.data, Math.max(lights, this.count * 2) * FLOATS_PER_LIGHT);
+        }
+    }
+
+}
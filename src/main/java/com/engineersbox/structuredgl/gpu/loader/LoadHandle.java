@@ -0,0 +1,61 @@
+package com.engineersbox.structuredgl.gpu.loader;
+
+import java.util.function.Consumer;
+
+/**
+ * Render thread view of a submitted {@link LoadTask}. State only changes
+ * during {@link ResourceLoader#processCompleted()}, so it is consistent for
+ * the rest of the frame.
+ */
+public class LoadHandle<T> {
+
+    private final Consumer<? super T> onReady;
+    private final Consumer<? super Throwable> onFailed;
+    private T result;
+    private Throwable failure;
+    private boolean done;
+
+    LoadHandle(final Consumer<? super T> onReady,
+               final Consumer<? super Throwable> onFailed) {
+        this.onReady = onReady;
+        this.onFailed = onFailed;
+        this.done = false;
+    }
+
+    void complete(final T result) {
+        this.result = result;
+        this.done = true;
+        this.onReady.accept(result);
+    }
+
+    void fail(final Throwable failure) {
+        this.failure = failure;
+        this.done = true;
+        this.onFailed.accept(failure);
+    }
+
+    /**
+     * @return Whether the result has been handed over, successfully or not
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    public boolean isFailed() {
+        return this.failure != null;
+    }
+
+    public T get() {
+        if (!this.done) {
+            throw new IllegalStateException("Resource has not been handed over yet");
+        } else if (this.failure != null) {
+            throw new IllegalStateException("Resource failed to load", this.failure);
+        }
+        return this.result;
+    }
+
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.engineersbox.structuredgl.gpu.loader;
+
+/**
+ * Work run on the {@link ResourceLoader} thread with its shared context
+ * current. Only objects shared between contexts, such as buffers, textures
+ * and programs, may be created; container objects like VAOs and FBOs belong
+ * to the context that made them and must be created on the render thread
+ * once the result is handed over.
+ */
+@FunctionalInterface
+public interface LoadTask<T> {
+
+    T load() throws Exception;
+
+}
@@ -0,0 +1,240 @@
+package com.engineersbox.structuredgl.gpu.loader;
+
+import com.engineersbox.structuredgl.gpu.lifecycle.NamePools;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GL;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.glFlush;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Creates GPU resources off the render thread. The loader owns a hidden
+ * GLFW window whose context shares objects with the render context and runs
+ * submitted {@link LoadTask}s on its own thread. Each result is fenced and
+ * placed on a lock-free queue; the render thread hands results over in
+ * {@link #processCompleted()} once their fence has signalled, so the data is
+ * guaranteed complete when first used and the render thread never blocks.
+ * <p>
+ * Construction and {@link #destroy()} must happen on the thread GLFW
+ * windows are created on. Per-thread state is not carried over: resources
+ * created by a task hold names from the loader thread's
+ * {@link NamePools}, and compute programs should be given the render
+ * thread's barrier tracker after handover.
+ */
+public class ResourceLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(ResourceLoader.class);
+
+    private final long window;
+    private final Thread thread;
+    private final BlockingQueue<Request<?>> requests;
+    private final Queue<Completion<?>> completions;
+    private final Deque<Completion<?>> awaitingFence;
+    private final CountDownLatch started;
+    private volatile boolean running;
+    private volatile Throwable startFailure;
+    private int outstanding;
+
+    /**
+     * @param sharedWindow Window whose context the loader shares objects with, the
+     *                     loader context matches its creation API, version and profile
+     */
+    public ResourceLoader(final long sharedWindow) {
+        glfwDefaultWindowHints();
+        glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+        glfwWindowHint(GLFW_CONTEXT_CREATION_API, glfwGetWindowAttrib(sharedWindow, GLFW_CONTEXT_CREATION_API));
+        glfwWindowHint(GLFW_CLIENT_API, glfwGetWindowAttrib(sharedWindow, GLFW_CLIENT_API));
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, glfwGetWindowAttrib(sharedWindow, GLFW_CONTEXT_VERSION_MAJOR));
+        glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, glfwGetWindowAttrib(sharedWindow, GLFW_CONTEXT_VERSION_MINOR));
+        glfwWindowHint(GLFW_OPENGL_PROFILE, glfwGetWindowAttrib(sharedWindow, GLFW_OPENGL_PROFILE));
+        glfwWindowHint(GLFW_OPENGL_FORWARD_COMPAT, glfwGetWindowAttrib(sharedWindow, GLFW_OPENGL_FORWARD_COMPAT));
+        this.window = glfwCreateWindow(1, 1, "StructuredGL Loader", NULL, sharedWindow);
+        if (this.window == NULL) {
+            throw new IllegalStateException("Unable to create shared loader context");
+        }
+        this.requests = new LinkedBlockingQueue<>();
+        this.completions = new ConcurrentLinkedQueue<>();
+        this.awaitingFence = new ArrayDeque<>();
+        this.started = new CountDownLatch(1);
+        this.running = true;
+        this.outstanding = 0;
+        this.thread = new Thread(this::run, "StructuredGL Loader");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        try {
+            this.started.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting loader thread", e);
+        }
+        if (this.startFailure != null) {
+            glfwDestroyWindow(this.window);
+            throw new IllegalStateException("Loader thread failed to start", this.startFailure);
+        }
+    }
+
+    private void run() {
+        try {
+            glfwMakeContextCurrent(this.window);
+            GL.createCapabilities();
+        } catch (final Throwable e) {
+            this.startFailure = e;
+            this.started.countDown();
+            return;
+        }
+        this.started.countDown();
+        try {
+            while (this.running || !this.requests.isEmpty()) {
+                final Request<?> request = this.requests.take();
+                if (request.task() == null) {
+                    continue;
+                }
+                execute(request);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            NamePools.clear();
+            GL.setCapabilities(null);
+            glfwMakeContextCurrent(NULL);
+        }
+    }
+
+    private <T> void execute(final Request<T> request) {
+        T result = null;
+        Throwable failure = null;
+        try {
+            result = request.task().load();
+        } catch (final Throwable e) {
+            failure = e;
+        }
+        // Flushing submits the fence so the render context can observe it
+        final long fence = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        glFlush();
+        this.completions.add(new Completion<>(request.handle(), result, failure, fence));
+    }
+
+    public <T> LoadHandle<T> submit(final LoadTask<T> task,
+                                    final Consumer<? super T> onReady,
+                                    final Consumer<? super Throwable> onFailed) {
+        if (!this.running) {
+            throw new IllegalStateException("Resource loader has been destroyed");
+        }
+        final LoadHandle<T> handle = new LoadHandle<>(onReady, onFailed);
+        this.outstanding++;
+        this.requests.add(new Request<>(task, handle));
+        return handle;
+    }
+
+    public <T> LoadHandle<T> submit(final LoadTask<T> task,
+                                    final Consumer<? super T> onReady) {
+        return submit(
+                task,
+                onReady,
+                (final Throwable failure) -> LOGGER.error("Background resource load failed", failure)
+        );
+    }
+
+    public <T> LoadHandle<T> submit(final LoadTask<T> task) {
+        return submit(task, (final T ignored) -> {});
+    }
+
+    /**
+     * Hands over every result whose fence has signalled, in submission
+     * order, invoking its callbacks on the calling render thread. Never
+     * blocks on the GPU.
+     *
+     * @return Number of results handed over
+     */
+    public int processCompleted() {
+        return processCompleted(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxHandovers Upper bound on callbacks run, to cap per-frame work
+     */
+    public int processCompleted(final int maxHandovers) {
+        Completion<?> completion;
+        while ((completion = this.completions.poll()) != null) {
+            this.awaitingFence.addLast(completion);
+        }
+        int handed = 0;
+        while (handed < maxHandovers && !this.awaitingFence.isEmpty()) {
+            final Completion<?> next = this.awaitingFence.peekFirst();
+            final int status = glClientWaitSync(next.fence(), 0, 0);
+            if (status == GL_WAIT_FAILED) {
+                throw new IllegalStateException("Failed to wait on loader fence");
+            } else if (status == GL_TIMEOUT_EXPIRED) {
+                break;
+            }
+            this.awaitingFence.pollFirst();
+            glDeleteSync(next.fence());
+            this.outstanding--;
+            next.handOver();
+            handed++;
+        }
+        return handed;
+    }
+
+    /**
+     * @return Submitted loads not yet handed over
+     */
+    public int getOutstanding() {
+        return this.outstanding;
+    }
+
+    /**
+     * Finishes queued loads, stops the loader thread and destroys its window.
+     * Results not yet handed over are handed over first.
+     */
+    public void destroy() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        this.requests.add(new Request<>(null, null));
+        try {
+            this.thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The thread has exited, so every executed load is already queued
+        while (!this.completions.isEmpty() || !this.awaitingFence.isEmpty()) {
+            if (processCompleted() == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        glfwDestroyWindow(this.window);
+    }
+
+    private record Request<T>(LoadTask<T> task,
+                              LoadHandle<T> handle) {
+    }
+
+    private record Completion<T>(LoadHandle<T> handle,
+                                 T result,
+                                 Throwable failure,
+                                 long fence) {
+
+        void handOver() {
+            if (this.failure != null) {
+                this.handle.fail(this.failure);
+            } else {
+                this.handle.complete(this.result);
+            }
+        }
+    }
+
+}
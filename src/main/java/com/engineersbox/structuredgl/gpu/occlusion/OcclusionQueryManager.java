@@ -0,0 +1,303 @@
+package com.engineersbox.structuredgl.gpu.occlusion;
+
+import com.engineersbox.structuredgl.culling.BoxBounds;
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.pipeline.PipelineStateTracker;
+import com.engineersbox.structuredgl.gpu.query.Query;
+import com.engineersbox.structuredgl.gpu.query.QueryType;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL30.glBeginConditionalRender;
+import static org.lwjgl.opengl.GL30.glEndConditionalRender;
+import static org.lwjgl.opengl.GL30.GL_QUERY_NO_WAIT;
+
+/**
+ * Temporal hardware occlusion culling. After the frame's occluders are in the
+ * depth buffer, {@link #issueQueries} draws a bounding box proxy per object
+ * inside a query. The next frame polls those results without stalling and
+ * uses them to decide what to draw.
+ * <p>
+ * An object only becomes hidden after its proxy has been occluded for
+ * {@code hysteresisFrames} consecutive results, and becomes visible again on
+ * the first visible result, so objects on the edge of occluders don't
+ * flicker. When an object is hidden but its latest query result is late, the
+ * draw is submitted with {@code GL_QUERY_NO_WAIT} conditional rendering, so
+ * the GPU skips it if the result arrives in time and draws it otherwise.
+ */
+public class OcclusionQueryManager {
+
+    public static final int DEFAULT_HYSTERESIS_FRAMES = 3;
+    public static final String VERTEX_SHADER_RESOURCE = "shaders/occlusion/proxy.vert";
+    public static final String FRAGMENT_SHADER_RESOURCE = "shaders/occlusion/proxy.frag";
+
+    private static final float[] UNIT_CUBE_VERTICES = new float[]{
+            0, 0, 0,
+            1, 0, 0,
+            1, 1, 0,
+            0, 1, 0,
+            0, 0, 1,
+            1, 0, 1,
+            1, 1, 1,
+            0, 1, 1
+    };
+    private static final short[] UNIT_CUBE_INDICES = new short[]{
+            0, 2, 1, 0, 3, 2,
+            4, 5, 6, 4, 6, 7,
+            0, 1, 5, 0, 5, 4,
+            3, 6, 2, 3, 7, 6,
+            0, 4, 7, 0, 7, 3,
+            1, 2, 6, 1, 6, 5
+    };
+
+    private final int hysteresisFrames;
+    private final QueryType queryType;
+    private final ShaderProgram proxyProgram;
+    private final VAO proxyVAO;
+    private final VBO proxyVBO;
+    private final EBO proxyEBO;
+    private final Deque<Query> freeQueries;
+    private final Matrix4f[] viewProjection;
+    private final Vector3f boxMin;
+    private final Vector3f boxMax;
+    private Query[] inFlight;
+    private boolean[] late;
+    private boolean[] visible;
+    private int[] occludedStreak;
+    private int tracked;
+    private int queriesIssued;
+    private int lateResults;
+    private int drawsSkipped;
+    private int conditionalDraws;
+
+    /**
+     * @param hysteresisFrames Consecutive occluded results required before an object is hidden
+     * @param queryType {@link QueryType#ANY_SAMPLES_PASSED} or {@link QueryType#ANY_SAMPLES_PASSED_CONSERVATIVE}
+     */
+    public OcclusionQueryManager(final int hysteresisFrames,
+                                 final QueryType queryType) {
+        if (hysteresisFrames < 1) {
+            throw new IllegalArgumentException("Hysteresis must be at least 1 frame, got " + hysteresisFrames);
+        }
+        this.hysteresisFrames = hysteresisFrames;
+        this.queryType = queryType;
+        this.proxyProgram = new ShaderProgram(
+                "OcclusionProxy",
+                new ShaderModuleData(VERTEX_SHADER_RESOURCE, DataType.CLASSPATH_RESOURCE, ShaderType.VERTEX),
+                new ShaderModuleData(FRAGMENT_SHADER_RESOURCE, DataType.CLASSPATH_RESOURCE, ShaderType.FRAGMENT)
+        );
+        this.proxyProgram.getUniforms().createUniform("viewProjection");
+        this.proxyProgram.getUniforms().createUniform("boxMin");
+        this.proxyProgram.getUniforms().createUniform("boxMax");
+        this.proxyVAO = new VAO();
+        this.proxyVBO = new VBO();
+        this.proxyEBO = new EBO();
+        this.proxyVAO.bind();
+        this.proxyVBO.bind();
+        this.proxyVBO.setData(UNIT_CUBE_VERTICES, GL_STATIC_DRAW);
+        this.proxyVBO.enableAttributeAndPointer(0, 3, GL_FLOAT, false, 0, 0);
+        this.proxyVBO.unbind();
+        this.proxyEBO.bind();
+        this.proxyEBO.setData(UNIT_CUBE_INDICES, GL_STATIC_DRAW);
+        this.proxyVAO.unbind();
+        this.proxyEBO.unbind();
+        this.freeQueries = new ArrayDeque<>();
+        this.viewProjection = new Matrix4f[]{new Matrix4f()};
+        this.boxMin = new Vector3f();
+        this.boxMax = new Vector3f();
+        this.inFlight = new Query[0];
+        this.late = new boolean[0];
+        this.visible = new boolean[0];
+        this.occludedStreak = new int[0];
+        this.tracked = 0;
+    }
+
+    public OcclusionQueryManager() {
+        this(DEFAULT_HYSTERESIS_FRAMES, QueryType.ANY_SAMPLES_PASSED_CONSERVATIVE);
+    }
+
+    /**
+     * Resets the frame statistics and collects every query result that is
+     * already available, never waiting on the GPU.
+     */
+    public void beginFrame() {
+        this.queriesIssued = 0;
+        this.lateResults = 0;
+        this.drawsSkipped = 0;
+        this.conditionalDraws = 0;
+        for (int object = 0; object < this.tracked; object++) {
+            final Query query = this.inFlight[object];
+            if (query == null) {
+                continue;
+            }
+            if (!query.isResultAvailable()) {
+                this.late[object] = true;
+                this.lateResults++;
+                continue;
+            }
+            if (query.getResult() != 0) {
+                this.visible[object] = true;
+                this.occludedStreak[object] = 0;
+            } else if (++this.occludedStreak[object] >= this.hysteresisFrames) {
+                this.visible[object] = false;
+            }
+            this.freeQueries.push(query);
+            this.inFlight[object] = null;
+            this.late[object] = false;
+        }
+    }
+
+    /**
+     * Draws the bounding box proxy of every object without a query already in
+     * flight, with colour and depth writes disabled, restoring the previous
+     * write masks and face culling afterwards. The proxy program replaces the
+     * bound one, so the calling thread's {@link PipelineStateTracker} is
+     * reset. Call once the frame's
+     * occluders have been rendered with depth testing enabled. Objects whose
+     * box contains the camera are marked visible without a query, since their
+     * proxy would be clipped by the near plane.
+     */
+    public void issueQueries(final Matrix4fc viewProjection,
+                             final Vector3fc cameraPosition,
+                             final BoxBounds bounds) {
+        ensureTracked(bounds.count());
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final ByteBuffer colorMask = stack.malloc(4);
+            glGetBooleanv(GL_COLOR_WRITEMASK, colorMask);
+            final boolean depthMask = glGetBoolean(GL_DEPTH_WRITEMASK);
+            final boolean cullFace = glIsEnabled(GL_CULL_FACE);
+            drawProxies(viewProjection, cameraPosition, bounds);
+            glColorMask(colorMask.get(0) != 0, colorMask.get(1) != 0, colorMask.get(2) != 0, colorMask.get(3) != 0);
+            glDepthMask(depthMask);
+            if (cullFace) {
+                glEnable(GL_CULL_FACE);
+            }
+        }
+        PipelineStateTracker.current().reset();
+    }
+
+    private void drawProxies(final Matrix4fc viewProjection,
+                             final Vector3fc cameraPosition,
+                             final BoxBounds bounds) {
+        glColorMask(false, false, false, false);
+        glDepthMask(false);
+        glDisable(GL_CULL_FACE);
+        this.viewProjection[0].set(viewProjection);
+        this.proxyProgram.bind();
+        this.proxyProgram.getUniforms().setUniform("viewProjection", false, this.viewProjection);
+        this.proxyVAO.bind();
+        for (int object = 0; object < bounds.count(); object++) {
+            if (this.inFlight[object] != null) {
+                continue;
+            }
+            bounds.getMin(object, this.boxMin);
+            bounds.getMax(object, this.boxMax);
+            if (containsPoint(cameraPosition)) {
+                this.visible[object] = true;
+                this.occludedStreak[object] = 0;
+                continue;
+            }
+            final Query query = this.freeQueries.isEmpty() ? new Query(this.queryType) : this.freeQueries.pop();
+            this.proxyProgram.getUniforms().setUniform("boxMin", this.boxMin);
+            this.proxyProgram.getUniforms().setUniform("boxMax", this.boxMax);
+            query.bind();
+            glDrawElements(GL_TRIANGLES, UNIT_CUBE_INDICES.length, GL_UNSIGNED_SHORT, 0);
+            query.unbind();
+            this.inFlight[object] = query;
+            this.queriesIssued++;
+        }
+        this.proxyVAO.unbind();
+        this.proxyProgram.unbind();
+    }
+
+    private boolean containsPoint(final Vector3fc point) {
+        return point.x() >= this.boxMin.x && point.x() <= this.boxMax.x
+                && point.y() >= this.boxMin.y && point.y() <= this.boxMax.y
+                && point.z() >= this.boxMin.z && point.z() <= this.boxMax.z;
+    }
+
+    /**
+     * Issues {@code draw} for an object according to its occlusion state:
+     * directly when visible, under conditional rendering when hidden with a
+     * late result, and not at all when hidden.
+     *
+     * @return Whether any draw was submitted
+     */
+    public boolean draw(final int object,
+                        final Runnable draw) {
+        if (object >= this.tracked || this.visible[object]) {
+            draw.run();
+            return true;
+        }
+        final Query query = this.inFlight[object];
+        if (query != null && this.late[object]) {
+            glBeginConditionalRender(query.getId(), GL_QUERY_NO_WAIT);
+            draw.run();
+            glEndConditionalRender();
+            this.conditionalDraws++;
+            return true;
+        }
+        this.drawsSkipped++;
+        return false;
+    }
+
+    public boolean isVisible(final int object) {
+        return object >= this.tracked || this.visible[object];
+    }
+
+    public OcclusionStatistics getStatistics() {
+        return new OcclusionStatistics(
+                this.queriesIssued,
+                this.lateResults,
+                this.drawsSkipped,
+                this.conditionalDraws
+        );
+    }
+
+    private void ensureTracked(final int count) {
+        if (count <= this.tracked) {
+            return;
+        }
+        if (count > this.visible.length) {
+            final int capacity = Math.max(count, this.visible.length * 2);
+            this.inFlight = Arrays.copyOf(this.inFlight, capacity);
+            this.late = Arrays.copyOf(this.late, capacity);
+            this.visible = Arrays.copyOf(this.visible, capacity);
+            this.occludedStreak = Arrays.copyOf(this.occludedStreak, capacity);
+        }
+        Arrays.fill(this.visible, this.tracked, count, true);
+        this.tracked = count;
+    }
+
+    public void destroy() {
+        for (int object = 0; object < this.tracked; object++) {
+            if (this.inFlight[object] != null) {
+                this.inFlight[object].destroy();
+                this.inFlight[object] = null;
+            }
+        }
+        this.freeQueries.forEach(Query::destroy);
+        this.freeQueries.clear();
+        this.proxyProgram.destroy();
+        this.proxyVAO.destroy();
+        this.proxyVBO.destroy();
+        this.proxyEBO.destroy();
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.engineersbox.structuredgl.gpu.occlusion;
+
+/**
+ * Per-frame occlusion counters, reset by
+ * {@link OcclusionQueryManager#beginFrame()}.
+ *
+ * @param queriesIssued Proxy queries issued this frame
+ * @param lateResults Queries whose result was not yet available when polled
+ * @param drawsSkipped Draws dropped because the object was known to be occluded
+ * @param conditionalDraws Draws left to the GPU through conditional rendering on a late result
+ */
+public record OcclusionStatistics(int queriesIssued,
+                                  int lateResults,
+                                  int drawsSkipped,
+                                  int conditionalDraws) {
+}
@@ -0,0 +1,212 @@
+package com.engineersbox.structuredgl.gpu.particle;
+
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import com.engineersbox.structuredgl.gpu.debug.GLDebug;
+import com.engineersbox.structuredgl.gpu.feedback.TransformFeedback;
+import com.engineersbox.structuredgl.gpu.pipeline.PipelineStateTracker;
+import com.engineersbox.structuredgl.gpu.shader.DataType;
+import com.engineersbox.structuredgl.gpu.shader.ShaderModuleData;
+import com.engineersbox.structuredgl.gpu.shader.ShaderType;
+import com.engineersbox.structuredgl.gpu.shader.TransformFeedbackProgram;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+import static org.lwjgl.opengl.GL30.GL_RASTERIZER_DISCARD;
+
+/**
+ * GPU particle simulation with transform feedback. Particle state lives in
+ * two buffers captured alternately: each update reads one through a vertex
+ * shader with rasterisation discarded and captures the advanced state into
+ * the other, then the two swap. Both the update and {@link #draw()} replay
+ * the last capture with {@code glDrawTransformFeedback}, so particle data
+ * never returns to the CPU.
+ * <p>
+ * Each particle is a {@code vec4} position with its age in w followed by a
+ * {@code vec4} velocity with its lifetime in w, bound to attribute locations
+ * 0 and 1 of {@link #getRenderVAO()} for rendering.
+ */
+public class ParticleSystem {
+
+    public static final String UPDATE_SHADER_RESOURCE = "shaders/particle/particle_update.vert";
+    public static final int POSITION_LOCATION = 0;
+    public static final int VELOCITY_LOCATION = 1;
+
+    private static final int PARTICLE_BYTES = 8 * Float.BYTES;
+    private static final int VELOCITY_OFFSET = 4 * Float.BYTES;
+    private static final int STATE_COUNT = 2;
+
+    private final int particleCount;
+    private final TransformFeedbackProgram updateProgram;
+    private final VBO[] stateBuffers;
+    private final VAO[] stateVAOs;
+    private final TransformFeedback[] feedbacks;
+    private final Vector3f emitterPosition;
+    private final Vector3f emitterVelocity;
+    private final Vector3f gravity;
+    private final Vector2f lifetimeRange;
+    private float spread;
+    private int current;
+    private boolean captured;
+    private int frame;
+
+    public ParticleSystem(final int particleCount) {
+        if (particleCount <= 0) {
+            throw new IllegalArgumentException("Particle count must be positive, got " + particleCount);
+        }
+        this.particleCount = particleCount;
+        this.updateProgram = new TransformFeedbackProgram(
+                "ParticleUpdate",
+                List.of("outPosition", "outVelocity"),
+                new ShaderModuleData(UPDATE_SHADER_RESOURCE, DataType.CLASSPATH_RESOURCE, ShaderType.VERTEX)
+        );
+        for (final String uniform : new String[]{
+                "deltaTime", "seed", "emitterPosition", "emitterVelocity", "gravity", "spread", "lifetimeRange"
+        }) {
+            this.updateProgram.getUniforms().createUniform(uniform);
+        }
+        this.stateBuffers = new VBO[STATE_COUNT];
+        this.stateVAOs = new VAO[STATE_COUNT];
+        this.feedbacks = new TransformFeedback[STATE_COUNT];
+        // Zeroed state has no lifetime, so every particle spawns on the first update
+        final ByteBuffer initial = MemoryUtil.memCalloc(particleCount * PARTICLE_BYTES);
+        try {
+            for (int i = 0; i < STATE_COUNT; i++) {
+                this.stateBuffers[i] = new VBO();
+                this.stateVAOs[i] = new VAO();
+                this.feedbacks[i] = new TransformFeedback();
+                this.stateVAOs[i].bind();
+                this.stateBuffers[i].bind();
+                this.stateBuffers[i].setData(initial, GL_DYNAMIC_COPY);
+                this.stateBuffers[i].enableAttributeAndPointer(POSITION_LOCATION, 4, GL_FLOAT, false, PARTICLE_BYTES, 0);
+                this.stateBuffers[i].enableAttributeAndPointer(VELOCITY_LOCATION, 4, GL_FLOAT, false, PARTICLE_BYTES, VELOCITY_OFFSET);
+                this.stateBuffers[i].unbind();
+                this.stateVAOs[i].unbind();
+                this.feedbacks[i].bind();
+                this.feedbacks[i].attachBuffer(0, this.stateBuffers[i]);
+                this.feedbacks[i].unbind();
+            }
+        } finally {
+            MemoryUtil.memFree(initial);
+        }
+        this.emitterPosition = new Vector3f();
+        this.emitterVelocity = new Vector3f(0.0f, 5.0f, 0.0f);
+        this.gravity = new Vector3f(0.0f, -9.81f, 0.0f);
+        this.lifetimeRange = new Vector2f(1.0f, 3.0f);
+        this.spread = 1.0f;
+        this.current = 0;
+        this.captured = false;
+        this.frame = 0;
+    }
+
+    /**
+     * Advances every particle by {@code deltaTime} seconds, respawning those
+     * past their lifetime at the emitter. Binds the update program, so the
+     * calling thread's {@link PipelineStateTracker} is reset afterwards.
+     */
+    public void update(final float deltaTime) {
+        GLDebug.pushGroup("ParticleSystem");
+        final int target = 1 - this.current;
+        glEnable(GL_RASTERIZER_DISCARD);
+        this.updateProgram.bind();
+        this.updateProgram.getUniforms().setUniform("deltaTime", deltaTime);
+        this.updateProgram.getUniforms().setUniform("seed", this.frame++);
+        this.updateProgram.getUniforms().setUniform("emitterPosition", this.emitterPosition);
+        this.updateProgram.getUniforms().setUniform("emitterVelocity", this.emitterVelocity);
+        this.updateProgram.getUniforms().setUniform("gravity", this.gravity);
+        this.updateProgram.getUniforms().setUniform("spread", this.spread);
+        this.updateProgram.getUniforms().setUniform("lifetimeRange", this.lifetimeRange);
+        this.stateVAOs[this.current].bind();
+        this.feedbacks[target].bind();
+        this.feedbacks[target].begin(GL_POINTS);
+        drawCurrent();
+        this.feedbacks[target].end();
+        this.feedbacks[target].unbind();
+        this.stateVAOs[this.current].unbind();
+        this.updateProgram.unbind();
+        glDisable(GL_RASTERIZER_DISCARD);
+        PipelineStateTracker.current().reset();
+        this.current = target;
+        this.captured = true;
+        GLDebug.popGroup();
+    }
+
+    /**
+     * Draws the current particle state as points with the bound program,
+     * binding {@link #getRenderVAO()} for the duration of the draw.
+     */
+    public void draw() {
+        this.stateVAOs[this.current].bind();
+        drawCurrent();
+        this.stateVAOs[this.current].unbind();
+    }
+
+    private void drawCurrent() {
+        if (this.captured) {
+            this.feedbacks[this.current].draw(GL_POINTS);
+        } else {
+            glDrawArrays(GL_POINTS, 0, this.particleCount);
+        }
+    }
+
+    public ParticleSystem setEmitterPosition(final Vector3fc position) {
+        this.emitterPosition.set(position);
+        return this;
+    }
+
+    public ParticleSystem setEmitterVelocity(final Vector3fc velocity) {
+        this.emitterVelocity.set(velocity);
+        return this;
+    }
+
+    public ParticleSystem setGravity(final Vector3fc gravity) {
+        this.gravity.set(gravity);
+        return this;
+    }
+
+    /**
+     * @param spread Maximum per-axis random velocity added at spawn
+     */
+    public ParticleSystem setSpread(final float spread) {
+        this.spread = spread;
+        return this;
+    }
+
+    public ParticleSystem setLifetimeRange(final float minimum,
+                                           final float maximum) {
+        this.lifetimeRange.set(minimum, maximum);
+        return this;
+    }
+
+    /**
+     * @return VAO over the current particle state, valid until the next {@link #update(float)}
+     */
+    public VAO getRenderVAO() {
+        return this.stateVAOs[this.current];
+    }
+
+    public VBO getStateBuffer() {
+        return this.stateBuffers[this.current];
+    }
+
+    public int getParticleCount() {
+        return this.particleCount;
+    }
+
+    public void destroy() {
+        this.updateProgram.destroy();
+        for (int i = 0; i < STATE_COUNT; i++) {
+            this.feedbacks[i].destroy();
+            this.stateVAOs[i].destroy();
+            this.stateBuffers[i].destroy();
+        }
+    }
+
+}
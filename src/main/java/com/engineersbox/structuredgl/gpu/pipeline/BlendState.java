@@ -0,0 +1,29 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import static org.lwjgl.opengl.GL14.GL_FUNC_ADD;
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * @param colorWrite Whether colour channels are written at all, depth only passes disable it
+ */
+public record BlendState(boolean enabled,
+                         int sourceColor,
+                         int destinationColor,
+                         int sourceAlpha,
+                         int destinationAlpha,
+                         int equation,
+                         boolean colorWrite) {
+
+    public static final BlendState DISABLED = new BlendState(false, GL_ONE, GL_ZERO, GL_ONE, GL_ZERO, GL_FUNC_ADD, true);
+    public static final BlendState ALPHA = new BlendState(true, GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, GL_ONE, GL_ONE_MINUS_SRC_ALPHA, GL_FUNC_ADD, true);
+    public static final BlendState ADDITIVE = new BlendState(true, GL_ONE, GL_ONE, GL_ONE, GL_ONE, GL_FUNC_ADD, true);
+    public static final BlendState NO_COLOR = new BlendState(false, GL_ONE, GL_ZERO, GL_ONE, GL_ZERO, GL_FUNC_ADD, false);
+
+    boolean sameFunction(final BlendState other) {
+        return this.sourceColor == other.sourceColor
+                && this.destinationColor == other.destinationColor
+                && this.sourceAlpha == other.sourceAlpha
+                && this.destinationAlpha == other.destinationAlpha;
+    }
+
+}
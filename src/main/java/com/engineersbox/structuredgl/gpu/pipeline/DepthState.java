@@ -0,0 +1,13 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import static org.lwjgl.opengl.GL11.*;
+
+public record DepthState(boolean testEnabled,
+                         boolean writeEnabled,
+                         int function) {
+
+    public static final DepthState DISABLED = new DepthState(false, false, GL_ALWAYS);
+    public static final DepthState LESS = new DepthState(true, true, GL_LESS);
+    public static final DepthState LEQUAL_READ_ONLY = new DepthState(true, false, GL_LEQUAL);
+
+}
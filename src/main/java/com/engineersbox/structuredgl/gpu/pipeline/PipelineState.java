@@ -0,0 +1,207 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import com.engineersbox.structuredgl.gpu.shader.ShaderProgram;
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable bundle of the program, vertex format and fixed-function state a
+ * draw requires. States and their components are interned, so equal states
+ * are the same instance and {@link #diff(PipelineState)} reduces to
+ * reference comparisons. Apply states through a
+ * {@link PipelineStateTracker}, which only issues the calls that differ.
+ * <p>
+ * The vertex format identifies which vertex arrays are compatible with the
+ * state, binding them is left to the draw.
+ */
+public final class PipelineState {
+
+    public static final int PROGRAM_BIT = 1;
+    public static final int VERTEX_FORMAT_BIT = 1 << 1;
+    public static final int BLEND_BIT = 1 << 2;
+    public static final int DEPTH_BIT = 1 << 3;
+    public static final int STENCIL_BIT = 1 << 4;
+    public static final int RASTER_BIT = 1 << 5;
+    public static final int VIEWPORT_BIT = 1 << 6;
+    public static final int ALL_BITS = (1 << 7) - 1;
+
+    private static final ConcurrentMap<Object, Object> INTERNED = new ConcurrentHashMap<>();
+
+    private final ShaderProgram program;
+    private final VertexFormat vertexFormat;
+    private final BlendState blend;
+    private final DepthState depth;
+    private final StencilState stencil;
+    private final RasterState raster;
+    private final Viewport viewport;
+    private final int hash;
+
+    private PipelineState(final ShaderProgram program,
+                          final VertexFormat vertexFormat,
+                          final BlendState blend,
+                          final DepthState depth,
+                          final StencilState stencil,
+                          final RasterState raster,
+                          final Viewport viewport) {
+        this.program = Objects.requireNonNull(program, "Pipeline state requires a program");
+        this.vertexFormat = vertexFormat == null ? null : intern(vertexFormat);
+        this.blend = intern(Objects.requireNonNull(blend));
+        this.depth = intern(Objects.requireNonNull(depth));
+        this.stencil = intern(Objects.requireNonNull(stencil));
+        this.raster = intern(Objects.requireNonNull(raster));
+        this.viewport = intern(Objects.requireNonNull(viewport));
+        this.hash = Objects.hash(
+                System.identityHashCode(this.program),
+                this.vertexFormat,
+                this.blend,
+                this.depth,
+                this.stencil,
+                this.raster,
+                this.viewport
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T intern(final T value) {
+        return (T) INTERNED.computeIfAbsent(value, (final Object key) -> key);
+    }
+
+    /**
+     * @param vertexFormat Layout of the vertex arrays drawn with this state, or
+     *                     {@code null} for attribute-less draws
+     * @return The interned state with the given components
+     */
+    public static PipelineState of(final ShaderProgram program,
+                                   final VertexFormat vertexFormat,
+                                   final BlendState blend,
+                                   final DepthState depth,
+                                   final StencilState stencil,
+                                   final RasterState raster,
+                                   final Viewport viewport) {
+        return intern(new PipelineState(program, vertexFormat, blend, depth, stencil, raster, viewport));
+    }
+
+    /**
+     * @return Opaque, depth tested, back face culled state for {@code program}
+     */
+    public static PipelineState of(final ShaderProgram program,
+                                   final VertexFormat vertexFormat,
+                                   final Viewport viewport) {
+        return of(
+                program,
+                vertexFormat,
+                BlendState.DISABLED,
+                DepthState.LESS,
+                StencilState.DISABLED,
+                RasterState.BACK_FACE_CULLING,
+                viewport
+        );
+    }
+
+    /**
+     * Drops every interned state using {@code program}, call when destroying it.
+     */
+    public static void release(final ShaderProgram program) {
+        INTERNED.keySet().removeIf((final Object key) -> key instanceof PipelineState state && state.program == program);
+    }
+
+    public PipelineState withProgram(final ShaderProgram program) {
+        return of(program, this.vertexFormat, this.blend, this.depth, this.stencil, this.raster, this.viewport);
+    }
+
+    public PipelineState withVertexFormat(final VertexFormat vertexFormat) {
+        return of(this.program, vertexFormat, this.blend, this.depth, this.stencil, this.raster, this.viewport);
+    }
+
+    public PipelineState withBlend(final BlendState blend) {
+        return of(this.program, this.vertexFormat, blend, this.depth, this.stencil, this.raster, this.viewport);
+    }
+
+    public PipelineState withDepth(final DepthState depth) {
+        return of(this.program, this.vertexFormat, this.blend, depth, this.stencil, this.raster, this.viewport);
+    }
+
+    public PipelineState withStencil(final StencilState stencil) {
+        return of(this.program, this.vertexFormat, this.blend, this.depth, stencil, this.raster, this.viewport);
+    }
+
+    public PipelineState withRaster(final RasterState raster) {
+        return of(this.program, this.vertexFormat, this.blend, this.depth, this.stencil, raster, this.viewport);
+    }
+
+    public PipelineState withViewport(final Viewport viewport) {
+        return of(this.program, this.vertexFormat, this.blend, this.depth, this.stencil, this.raster, viewport);
+    }
+
+    /**
+     * @param other State to compare against, {@code null} when unknown
+     * @return Mask of the {@code *_BIT} components that differ from {@code other}
+     */
+    public int diff(final PipelineState other) {
+        if (other == this) {
+            return 0;
+        } else if (other == null) {
+            return ALL_BITS;
+        }
+        return (this.program != other.program ? PROGRAM_BIT : 0)
+                | (this.vertexFormat != other.vertexFormat ? VERTEX_FORMAT_BIT : 0)
+                | (this.blend != other.blend ? BLEND_BIT : 0)
+                | (this.depth != other.depth ? DEPTH_BIT : 0)
+                | (this.stencil != other.stencil ? STENCIL_BIT : 0)
+                | (this.raster != other.raster ? RASTER_BIT : 0)
+                | (this.viewport != other.viewport ? VIEWPORT_BIT : 0);
+    }
+
+    public ShaderProgram getProgram() {
+        return this.program;
+    }
+
+    public VertexFormat getVertexFormat() {
+        return this.vertexFormat;
+    }
+
+    public BlendState getBlend() {
+        return this.blend;
+    }
+
+    public DepthState getDepth() {
+        return this.depth;
+    }
+
+    public StencilState getStencil() {
+        return this.stencil;
+    }
+
+    public RasterState getRaster() {
+        return this.raster;
+    }
+
+    public Viewport getViewport() {
+        return this.viewport;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof PipelineState state
+                && this.hash == state.hash
+                && this.program == state.program
+                && this.vertexFormat == state.vertexFormat
+                && this.blend == state.blend
+                && this.depth == state.depth
+                && this.stencil == state.stencil
+                && this.raster == state.raster
+                && this.viewport == state.viewport;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL14.glBlendEquation;
+import static org.lwjgl.opengl.GL14.glBlendFuncSeparate;
+
+/**
+ * Applies {@link PipelineState}s, issuing only the GL calls that differ from
+ * the state applied last. Components are compared by reference first, then
+ * field by field within those that changed, so re-applying the current
+ * state costs a single comparison.
+ * <p>
+ * The program of the applied state stays bound until a state with another
+ * program is applied or the tracker is {@link #reset()}. Code that changes
+ * fixed-function state with raw GL calls must {@link #invalidate()} the
+ * tracker afterwards. GL contexts are bound to threads, so trackers are held
+ * per thread.
+ */
+public class PipelineStateTracker {
+
+    private static final ThreadLocal<PipelineStateTracker> TRACKERS = ThreadLocal.withInitial(PipelineStateTracker::new);
+
+    private PipelineState applied;
+    private boolean fixedFunctionKnown;
+    private long statesApplied;
+    private long statesRedundant;
+    private long glCalls;
+
+    public PipelineStateTracker() {
+        this.applied = null;
+        this.fixedFunctionKnown = false;
+        resetStatistics();
+    }
+
+    /**
+     * @return The tracker for the context current on the calling thread
+     */
+    public static PipelineStateTracker current() {
+        return TRACKERS.get();
+    }
+
+    public void apply(final PipelineState state) {
+        final PipelineState previous = this.fixedFunctionKnown ? this.applied : null;
+        final int diff = state.diff(previous);
+        if (diff == 0) {
+            this.statesRedundant++;
+            return;
+        }
+        this.statesApplied++;
+        if (state.getProgram() != (this.applied == null ? null : this.applied.getProgram())) {
+            if (this.applied != null) {
+                this.applied.getProgram().unbind();
+            }
+            state.getProgram().bind();
+            this.glCalls++;
+        }
+        if ((diff & PipelineState.BLEND_BIT) != 0) {
+            applyBlend(state.getBlend(), previous == null ? null : previous.getBlend());
+        }
+        if ((diff & PipelineState.DEPTH_BIT) != 0) {
+            applyDepth(state.getDepth(), previous == null ? null : previous.getDepth());
+        }
+        if ((diff & PipelineState.STENCIL_BIT) != 0) {
+            applyStencil(state.getStencil(), previous == null ? null : previous.getStencil());
+        }
+        if ((diff & PipelineState.RASTER_BIT) != 0) {
+            applyRaster(state.getRaster(), previous == null ? null : previous.getRaster());
+        }
+        if ((diff & PipelineState.VIEWPORT_BIT) != 0) {
+            final Viewport viewport = state.getViewport();
+            glViewport(viewport.x(), viewport.y(), viewport.width(), viewport.height());
+            this.glCalls++;
+        }
+        this.applied = state;
+        this.fixedFunctionKnown = true;
+    }
+
+    private void setEnabled(final int capability,
+                            final boolean enabled) {
+        if (enabled) {
+            glEnable(capability);
+        } else {
+            glDisable(capability);
+        }
+        this.glCalls++;
+    }
+
+    private void applyBlend(final BlendState blend,
+                            final BlendState previous) {
+        if (previous == null || blend.enabled() != previous.enabled()) {
+            setEnabled(GL_BLEND, blend.enabled());
+        }
+        if (previous == null || !blend.sameFunction(previous)) {
+            glBlendFuncSeparate(blend.sourceColor(), blend.destinationColor(), blend.sourceAlpha(), blend.destinationAlpha());
+            this.glCalls++;
+        }
+        if (previous == null || blend.equation() != previous.equation()) {
+            glBlendEquation(blend.equation());
+            this.glCalls++;
+        }
+        if (previous == null || blend.colorWrite() != previous.colorWrite()) {
+            glColorMask(blend.colorWrite(), blend.colorWrite(), blend.colorWrite(), blend.colorWrite());
+            this.glCalls++;
+        }
+    }
+
+    private void applyDepth(final DepthState depth,
+                            final DepthState previous) {
+        if (previous == null || depth.testEnabled() != previous.testEnabled()) {
+            setEnabled(GL_DEPTH_TEST, depth.testEnabled());
+        }
+        if (previous == null || depth.writeEnabled() != previous.writeEnabled()) {
+            glDepthMask(depth.writeEnabled());
+            this.glCalls++;
+        }
+        if (previous == null || depth.function() != previous.function()) {
+            glDepthFunc(depth.function());
+            this.glCalls++;
+        }
+    }
+
+    private void applyStencil(final StencilState stencil,
+                              final StencilState previous) {
+        if (previous == null || stencil.enabled() != previous.enabled()) {
+            setEnabled(GL_STENCIL_TEST, stencil.enabled());
+        }
+        if (previous == null || !stencil.sameFunction(previous)) {
+            glStencilFunc(stencil.function(), stencil.reference(), stencil.readMask());
+            this.glCalls++;
+        }
+        if (previous == null || !stencil.sameOperations(previous)) {
+            glStencilOp(stencil.stencilFail(), stencil.depthFail(), stencil.depthPass());
+            this.glCalls++;
+        }
+        if (previous == null || stencil.writeMask() != previous.writeMask()) {
+            glStencilMask(stencil.writeMask());
+            this.glCalls++;
+        }
+    }
+
+    private void applyRaster(final RasterState raster,
+                             final RasterState previous) {
+        if (previous == null || raster.cullEnabled() != previous.cullEnabled()) {
+            setEnabled(GL_CULL_FACE, raster.cullEnabled());
+        }
+        if (previous == null || raster.cullFace() != previous.cullFace()) {
+            glCullFace(raster.cullFace());
+            this.glCalls++;
+        }
+        if (previous == null || raster.frontFace() != previous.frontFace()) {
+            glFrontFace(raster.frontFace());
+            this.glCalls++;
+        }
+        if (previous == null || raster.polygonMode() != previous.polygonMode()) {
+            glPolygonMode(GL_FRONT_AND_BACK, raster.polygonMode());
+            this.glCalls++;
+        }
+    }
+
+    /**
+     * Forgets the applied fixed-function state so the next state is applied
+     * in full, the bound program is kept.
+     */
+    public void invalidate() {
+        this.fixedFunctionKnown = false;
+    }
+
+    /**
+     * Unbinds the program of the applied state and forgets all state.
+     */
+    public void reset() {
+        if (this.applied != null) {
+            this.applied.getProgram().unbind();
+        }
+        this.applied = null;
+        this.fixedFunctionKnown = false;
+    }
+
+    /**
+     * @return The state applied last, or {@code null} if none
+     */
+    public PipelineState getApplied() {
+        return this.applied;
+    }
+
+    public PipelineStatistics getStatistics() {
+        return new PipelineStatistics(
+                this.statesApplied,
+                this.statesRedundant,
+                this.glCalls
+        );
+    }
+
+    public void resetStatistics() {
+        this.statesApplied = 0;
+        this.statesRedundant = 0;
+        this.glCalls = 0;
+    }
+
+}
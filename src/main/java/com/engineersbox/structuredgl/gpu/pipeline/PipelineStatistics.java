@@ -0,0 +1,11 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+/**
+ * @param statesApplied   Applications that differed from the current state
+ * @param statesRedundant Applications of the state already applied, costing a reference comparison
+ * @param glCalls         State setting GL calls issued, including program binds
+ */
+public record PipelineStatistics(long statesApplied,
+                                 long statesRedundant,
+                                 long glCalls) {
+}
@@ -0,0 +1,17 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * @param polygonMode Applied to both faces, one of {@code GL_FILL}, {@code GL_LINE} or {@code GL_POINT}
+ */
+public record RasterState(boolean cullEnabled,
+                          int cullFace,
+                          int frontFace,
+                          int polygonMode) {
+
+    public static final RasterState BACK_FACE_CULLING = new RasterState(true, GL_BACK, GL_CCW, GL_FILL);
+    public static final RasterState NO_CULLING = new RasterState(false, GL_BACK, GL_CCW, GL_FILL);
+    public static final RasterState WIREFRAME = new RasterState(false, GL_BACK, GL_CCW, GL_LINE);
+
+}
@@ -0,0 +1,31 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+import static org.lwjgl.opengl.GL11.*;
+
+/**
+ * Stencil test and operations, applied identically to front and back faces.
+ */
+public record StencilState(boolean enabled,
+                           int function,
+                           int reference,
+                           int readMask,
+                           int stencilFail,
+                           int depthFail,
+                           int depthPass,
+                           int writeMask) {
+
+    public static final StencilState DISABLED = new StencilState(false, GL_ALWAYS, 0, 0xFF, GL_KEEP, GL_KEEP, GL_KEEP, 0xFF);
+
+    boolean sameFunction(final StencilState other) {
+        return this.function == other.function
+                && this.reference == other.reference
+                && this.readMask == other.readMask;
+    }
+
+    boolean sameOperations(final StencilState other) {
+        return this.stencilFail == other.stencilFail
+                && this.depthFail == other.depthFail
+                && this.depthPass == other.depthPass;
+    }
+
+}
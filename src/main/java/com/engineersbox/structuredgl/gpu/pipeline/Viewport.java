@@ -0,0 +1,13 @@
+package com.engineersbox.structuredgl.gpu.pipeline;
+
+public record Viewport(int x,
+                       int y,
+                       int width,
+                       int height) {
+
+    public Viewport(final int width,
+                    final int height) {
+        this(0, 0, width, height);
+    }
+
+}
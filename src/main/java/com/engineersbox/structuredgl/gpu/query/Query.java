@@ -0,0 +1,54 @@
+package com.engineersbox.structuredgl.gpu.query;
+
+import com.engineersbox.structuredgl.gpu.GLObjectType;
+import com.engineersbox.structuredgl.gpu.GPUResource;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL33.glGetQueryObjecti64;
+
+/**
+ * Asynchronous query object, binding begins the query and unbinding ends it.
+ * A query is locked to the type it was first begun with.
+ */
+public class Query extends GPUResource {
+
+    private final QueryType type;
+
+    public Query(final QueryType type) {
+        super(GLObjectType.QUERY);
+        this.type = type;
+    }
+
+    public QueryType getType() {
+        return this.type;
+    }
+
+    @Override
+    public void bind() {
+        super.bind();
+        glBeginQuery(this.type.getGlType(), super.id);
+    }
+
+    @Override
+    public void unbind() {
+        super.unbind();
+        glEndQuery(this.type.getGlType());
+    }
+
+    /**
+     * Polls without stalling whether the result of the last ended query has
+     * been written.
+     */
+    public boolean isResultAvailable() {
+        return glGetQueryObjecti(super.id, GL_QUERY_RESULT_AVAILABLE) != 0;
+    }
+
+    /**
+     * Reads the result of the last ended query, blocking until the GPU has
+     * produced it. Check {@link #isResultAvailable()} first to avoid the stall.
+     */
+    public long getResult() {
+        return glGetQueryObjecti64(super.id, GL_QUERY_RESULT);
+    }
+
+}
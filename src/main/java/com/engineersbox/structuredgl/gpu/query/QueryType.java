@@ -0,0 +1,27 @@
+package com.engineersbox.structuredgl.gpu.query;
+
+import static org.lwjgl.opengl.GL15.GL_SAMPLES_PASSED;
+import static org.lwjgl.opengl.GL30.GL_PRIMITIVES_GENERATED;
+import static org.lwjgl.opengl.GL30.GL_TRANSFORM_FEEDBACK_PRIMITIVES_WRITTEN;
+import static org.lwjgl.opengl.GL33.GL_ANY_SAMPLES_PASSED;
+import static org.lwjgl.opengl.GL33.GL_TIME_ELAPSED;
+import static org.lwjgl.opengl.GL43.GL_ANY_SAMPLES_PASSED_CONSERVATIVE;
+
+public enum QueryType {
+    SAMPLES_PASSED(GL_SAMPLES_PASSED),
+    ANY_SAMPLES_PASSED(GL_ANY_SAMPLES_PASSED),
+    ANY_SAMPLES_PASSED_CONSERVATIVE(GL_ANY_SAMPLES_PASSED_CONSERVATIVE),
+    PRIMITIVES_GENERATED(GL_PRIMITIVES_GENERATED),
+    TRANSFORM_FEEDBACK_PRIMITIVES_WRITTEN(GL_TRANSFORM_FEEDBACK_PRIMITIVES_WRITTEN),
+    TIME_ELAPSED(GL_TIME_ELAPSED);
+
+    private final int glType;
+
+    QueryType(final int glType) {
+        this.glType = glType;
+    }
+
+    public int getGlType() {
+        return this.glType;
+    }
+}
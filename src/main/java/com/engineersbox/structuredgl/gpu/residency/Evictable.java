@@ -0,0 +1,34 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import com.engineersbox.structuredgl.gpu.GPUResource;
+
+/**
+ * A resource whose GPU memory can be reduced under pressure and restored
+ * when it is next used. Evicting and restoring may bind the resource, so
+ * neither happens while it is bound elsewhere.
+ */
+public interface Evictable {
+
+    GPUResource getResource();
+
+    /**
+     * Reduces the resource by one step, which may be called repeatedly
+     * while further steps remain.
+     *
+     * @return Bytes of GPU memory released, 0 if nothing further can be evicted
+     */
+    long evict();
+
+    /**
+     * Returns the resource to its full footprint.
+     */
+    void restore();
+
+    boolean isEvicted();
+
+    /**
+     * Frees anything held to restore the resource, without restoring it.
+     */
+    void discard();
+
+}
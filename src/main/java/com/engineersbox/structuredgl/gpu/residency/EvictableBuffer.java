@@ -0,0 +1,67 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Evicts a buffer with mutable storage to an off-heap copy and releases its
+ * storage, keeping the name so vertex arrays and other references stay
+ * valid. Reading the copy back waits for pending GPU writes, so buffers
+ * written by the GPU every frame are better left untracked. Buffers with
+ * immutable storage are never evicted.
+ */
+public class EvictableBuffer implements Evictable {
+
+    private final DataBuffer buffer;
+    private ByteBuffer copy;
+    private int usage;
+
+    public EvictableBuffer(final DataBuffer buffer) {
+        this.buffer = buffer;
+        this.copy = null;
+        this.usage = 0;
+    }
+
+    @Override
+    public DataBuffer getResource() {
+        return this.buffer;
+    }
+
+    @Override
+    public long evict() {
+        final long size = this.buffer.getFootprint();
+        if (this.copy != null || this.buffer.isImmutable() || size == 0) {
+            return 0;
+        }
+        this.copy = MemoryUtil.memAlloc(Math.toIntExact(size));
+        this.usage = this.buffer.getUsage();
+        this.buffer.getSubData(0, this.copy);
+        this.buffer.setNamedData(0, this.usage);
+        return size;
+    }
+
+    @Override
+    public void restore() {
+        if (this.copy == null) {
+            return;
+        }
+        this.buffer.setNamedData(this.copy, this.usage);
+        discard();
+    }
+
+    @Override
+    public boolean isEvicted() {
+        return this.copy != null;
+    }
+
+    @Override
+    public void discard() {
+        if (this.copy != null) {
+            MemoryUtil.memFree(this.copy);
+            this.copy = null;
+        }
+    }
+
+}
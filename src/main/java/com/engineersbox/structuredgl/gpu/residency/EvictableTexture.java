@@ -0,0 +1,89 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import com.engineersbox.structuredgl.asset.CookedTexture;
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture2D;
+
+/**
+ * Evicts a cooked texture one mip level at a time by re-uploading its chain
+ * from the next level down, each step releasing about three quarters of
+ * the memory. The cooked levels are mapped from the cache file, so no
+ * copy is held to restore the full chain.
+ */
+public class EvictableTexture implements Evictable {
+
+    public static final int DEFAULT_MINIMUM_DIMENSION = 64;
+
+    private final MemoryTexture2D texture;
+    private final CookedTexture cooked;
+    private final int minimumDimension;
+    private int droppedLevels;
+
+    /**
+     * @param minimumDimension Size below which the largest dimension is not reduced
+     */
+    public EvictableTexture(final MemoryTexture2D texture,
+                            final CookedTexture cooked,
+                            final int minimumDimension) {
+        this.texture = texture;
+        this.cooked = cooked;
+        this.minimumDimension = minimumDimension;
+        this.droppedLevels = 0;
+    }
+
+    public EvictableTexture(final MemoryTexture2D texture,
+                            final CookedTexture cooked) {
+        this(texture, cooked, DEFAULT_MINIMUM_DIMENSION);
+    }
+
+    @Override
+    public MemoryTexture2D getResource() {
+        return this.texture;
+    }
+
+    @Override
+    public long evict() {
+        final int next = this.droppedLevels + 1;
+        if (next >= this.cooked.levels().size()) {
+            return 0;
+        }
+        final CookedTexture.Level level = this.cooked.levels().get(next);
+        if (Math.max(level.width(), level.height()) < this.minimumDimension) {
+            return 0;
+        }
+        final long before = this.texture.getFootprint();
+        upload(next);
+        return Math.max(0, before - this.texture.getFootprint());
+    }
+
+    @Override
+    public void restore() {
+        if (this.droppedLevels > 0) {
+            upload(0);
+        }
+    }
+
+    private void upload(final int firstLevel) {
+        this.texture.bind();
+        try {
+            this.cooked.upload(this.texture, firstLevel);
+        } finally {
+            this.texture.unbind();
+        }
+        this.droppedLevels = firstLevel;
+    }
+
+    @Override
+    public boolean isEvicted() {
+        return this.droppedLevels > 0;
+    }
+
+    public int getDroppedLevels() {
+        return this.droppedLevels;
+    }
+
+    @Override
+    public void discard() {
+        // Levels are owned by the cooked texture's mapping
+    }
+
+}
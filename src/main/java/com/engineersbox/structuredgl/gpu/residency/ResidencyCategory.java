@@ -0,0 +1,32 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture;
+
+public enum ResidencyCategory {
+    TEXTURE,
+    VERTEX,
+    INDEX,
+    UNIFORM,
+    STORAGE,
+    INDIRECT,
+    OTHER;
+
+    public static ResidencyCategory of(final GPUResource resource) {
+        if (resource instanceof MemoryTexture) {
+            return TEXTURE;
+        }
+        if (!(resource instanceof final DataBuffer buffer)) {
+            return OTHER;
+        }
+        return switch (buffer.getType()) {
+            case VAB, TFB -> VERTEX;
+            case EAB -> INDEX;
+            case UNB -> UNIFORM;
+            case SSB, ACB -> STORAGE;
+            case DRIB, DIIB -> INDIRECT;
+            default -> OTHER;
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.gpu.sync.FrameContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the footprint of tracked resources within a GPU memory budget.
+ * Resources are held in least recently used order; {@link #use(GPUResource)}
+ * marks a resource as used by the current frame, restoring it first if it
+ * was evicted, and {@link #enforce()} evicts the least recently used
+ * {@link Evictable}s not used by any frame the GPU may still be executing
+ * until usage is back within budget.
+ * Resources tracked without an {@link Evictable} count towards the budget
+ * but are never evicted.
+ * <p>
+ * Call {@link #enforce()} once per frame, after
+ * {@link FrameContext#beginFrame()} and before resources are used. Must only
+ * be used from the thread owning the GL context.
+ */
+public class ResidencyManager {
+
+    private static final Logger LOGGER = LogManager.getLogger(ResidencyManager.class);
+
+    private final FrameContext frames;
+    private final Map<GPUResource, Entry> entries;
+    private long budgetBytes;
+    private long evictions;
+    private long evictedBytes;
+    private long restorations;
+
+    public ResidencyManager(final FrameContext frames,
+                            final long budgetBytes) {
+        this.frames = frames;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        setBudget(budgetBytes);
+        resetStatistics();
+    }
+
+    private static final class Entry {
+
+        private final GPUResource resource;
+        @Nullable
+        private final Evictable evictable;
+        private long lastUsedFrame;
+
+        private Entry(final GPUResource resource,
+                      @Nullable final Evictable evictable,
+                      final long lastUsedFrame) {
+            this.resource = resource;
+            this.evictable = evictable;
+            this.lastUsedFrame = lastUsedFrame;
+        }
+    }
+
+    public void setBudget(final long budgetBytes) {
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Budget must not be negative, got %d",
+                    budgetBytes
+            ));
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getBudget() {
+        return this.budgetBytes;
+    }
+
+    /**
+     * Counts a resource towards the budget without ever evicting it.
+     */
+    public void track(final GPUResource resource) {
+        track(resource, null);
+    }
+
+    public void track(final Evictable evictable) {
+        track(evictable.getResource(), evictable);
+    }
+
+    private void track(final GPUResource resource,
+                       @Nullable final Evictable evictable) {
+        if (this.entries.containsKey(resource)) {
+            throw new IllegalStateException(String.format(
+                    "Resource %s is already tracked",
+                    resource.getDebugLabel()
+            ));
+        }
+        this.entries.put(resource, new Entry(resource, evictable, this.frames.getFrameIndex()));
+    }
+
+    /**
+     * Stops tracking a resource, discarding anything held to restore it.
+     * Resources must be untracked before they are destroyed.
+     */
+    public void untrack(final GPUResource resource) {
+        final Entry entry = this.entries.remove(resource);
+        if (entry != null && entry.evictable != null) {
+            entry.evictable.discard();
+        }
+    }
+
+    /**
+     * Marks a resource as used by the current frame, protecting it from
+     * eviction until that frame has completed and restoring it if it was
+     * evicted.
+     */
+    public void use(final GPUResource resource) {
+        final Entry entry = this.entries.get(resource);
+        if (entry == null) {
+            throw new IllegalStateException(String.format(
+                    "Resource %s is not tracked",
+                    resource.getDebugLabel()
+            ));
+        }
+        entry.lastUsedFrame = this.frames.getFrameIndex();
+        if (entry.evictable != null && entry.evictable.isEvicted()) {
+            entry.evictable.restore();
+            this.restorations++;
+        }
+    }
+
+    /**
+     * Evicts least recently used resources until usage is within budget,
+     * skipping those last used by a frame that may still be in flight, since
+     * {@link FrameContext#beginFrame()} only waits for the frame
+     * {@link FrameContext#getFramesInFlight()} frames ago.
+     *
+     * @return Bytes released
+     */
+    public long enforce() {
+        long used = getUsedBytes();
+        if (used <= this.budgetBytes) {
+            return 0;
+        }
+        final long lastCompleted = this.frames.getFrameIndex() - this.frames.getFramesInFlight();
+        long released = 0;
+        for (final Entry entry : this.entries.values()) {
+            if (used <= this.budgetBytes) {
+                break;
+            } else if (entry.evictable == null || entry.lastUsedFrame > lastCompleted) {
+                continue;
+            }
+            long step;
+            while (used > this.budgetBytes && (step = entry.evictable.evict()) > 0) {
+                used -= step;
+                released += step;
+                this.evictions++;
+            }
+        }
+        this.evictedBytes += released;
+        if (used > this.budgetBytes) {
+            LOGGER.warn(
+                    "Resident resources use {} bytes over the {} byte budget after evicting {} bytes",
+                    used - this.budgetBytes,
+                    this.budgetBytes,
+                    released
+            );
+        }
+        return released;
+    }
+
+    public long getUsedBytes() {
+        long used = 0;
+        for (final GPUResource resource : this.entries.keySet()) {
+            used += resource.getFootprint();
+        }
+        return used;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public ResidencyStatistics getStatistics() {
+        final Map<ResidencyCategory, Long> bytesByCategory = new EnumMap<>(ResidencyCategory.class);
+        long used = 0;
+        for (final GPUResource resource : this.entries.keySet()) {
+            final long footprint = resource.getFootprint();
+            bytesByCategory.merge(ResidencyCategory.of(resource), footprint, Long::sum);
+            used += footprint;
+        }
+        return new ResidencyStatistics(
+                this.budgetBytes,
+                used,
+                bytesByCategory,
+                this.evictions,
+                this.evictedBytes,
+                this.restorations
+        );
+    }
+
+    public void resetStatistics() {
+        this.evictions = 0;
+        this.evictedBytes = 0;
+        this.restorations = 0;
+    }
+
+    /**
+     * Stops tracking every resource, discarding anything held to restore
+     * those evicted.
+     */
+    public void clear() {
+        for (final Entry entry : this.entries.values()) {
+            if (entry.evictable != null) {
+                entry.evictable.discard();
+            }
+        }
+        this.entries.clear();
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.engineersbox.structuredgl.gpu.residency;
+
+import java.util.Map;
+
+/**
+ * @param bytesByCategory Footprint of tracked resources per category, including evicted resources at their reduced size
+ * @param evictions       Eviction steps taken, each releasing some memory
+ * @param evictedBytes    Bytes released by evictions
+ * @param restorations    Evicted resources restored on use
+ */
+public record ResidencyStatistics(long budgetBytes,
+                                  long usedBytes,
+                                  Map<ResidencyCategory, Long> bytesByCategory,
+                                  long evictions,
+                                  long evictedBytes,
+                                  long restorations) {
+}
@@ -0,0 +1,28 @@
+package com.engineersbox.structuredgl.gpu.shader;
+
+import static org.lwjgl.opengl.GL15.GL_READ_ONLY;
+import static org.lwjgl.opengl.GL15.GL_READ_WRITE;
+import static org.lwjgl.opengl.GL15.GL_WRITE_ONLY;
+
+public enum BindingAccess {
+    READ(GL_READ_ONLY, false),
+    WRITE(GL_WRITE_ONLY, true),
+    READ_WRITE(GL_READ_WRITE, true);
+
+    private final int glAccess;
+    private final boolean writes;
+
+    BindingAccess(final int glAccess,
+                  final boolean writes) {
+        this.glAccess = glAccess;
+        this.writes = writes;
+    }
+
+    public int getGlAccess() {
+        return this.glAccess;
+    }
+
+    public boolean writes() {
+        return this.writes;
+    }
+}
@@ -0,0 +1,213 @@
+package com.engineersbox.structuredgl.gpu.shader;
+
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import com.engineersbox.structuredgl.gpu.buffer.DIIBO;
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+import com.engineersbox.structuredgl.gpu.buffer.DataBufferType;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL20.glGetProgramiv;
+import static org.lwjgl.opengl.GL42.glBindImageTexture;
+import static org.lwjgl.opengl.GL43.*;
+
+/**
+ * Compute shader program whose buffer and image bindings are declared with
+ * their access, so each dispatch asks the {@link MemoryBarrierTracker} for
+ * only the barriers its reads depend on and marks its writes for later
+ * consumers. The tracker is resolved per dispatch from the dispatching
+ * thread unless one is set explicitly, so programs created on a loader
+ * thread still record into the render thread's tracker.
+ */
+public class ComputeProgram extends ShaderProgram {
+
+    private record Binding(GPUResource resource,
+                           int index,
+                           BindingAccess access,
+                           BarrierUsage usage,
+                           int level,
+                           int format) {
+    }
+
+    private final int workGroupSizeX;
+    private final int workGroupSizeY;
+    private final int workGroupSizeZ;
+    private final List<Binding> bindings;
+    private MemoryBarrierTracker barrierTracker;
+
+    public ComputeProgram(final String name,
+                          final ShaderModuleData computeModule) {
+        super(name, validateComputeModule(computeModule));
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final IntBuffer size = stack.mallocInt(3);
+            glGetProgramiv(super.id, GL_COMPUTE_WORK_GROUP_SIZE, size);
+            this.workGroupSizeX = size.get(0);
+            this.workGroupSizeY = size.get(1);
+            this.workGroupSizeZ = size.get(2);
+        }
+        this.bindings = new ArrayList<>();
+    }
+
+    private static ShaderModuleData validateComputeModule(final ShaderModuleData computeModule) {
+        if (computeModule.shaderType() != ShaderType.COMPUTE) {
+            throw new IllegalArgumentException(String.format(
+                    "Compute program requires a %s module, got %s",
+                    ShaderType.COMPUTE.name(),
+                    computeModule.shaderType().name()
+            ));
+        }
+        return computeModule;
+    }
+
+    /**
+     * Declares a shader storage buffer at {@code binding}, bound on every
+     * dispatch until {@link #clearBindings()}.
+     */
+    public void bindStorageBuffer(final int binding,
+                                  final DataBuffer buffer,
+                                  final BindingAccess access) {
+        this.bindings.add(new Binding(buffer, binding, access, BarrierUsage.SHADER_STORAGE, 0, 0));
+    }
+
+    /**
+     * Declares an atomic counter buffer at {@code binding}, bound on every
+     * dispatch until {@link #clearBindings()}.
+     */
+    public void bindAtomicCounterBuffer(final int binding,
+                                        final DataBuffer buffer,
+                                        final BindingAccess access) {
+        this.bindings.add(new Binding(buffer, binding, access, BarrierUsage.ATOMIC_COUNTER, 0, 0));
+    }
+
+    /**
+     * Declares an image unit bound to a whole (layered) texture level, bound
+     * on every dispatch until {@link #clearBindings()}.
+     *
+     * @param format Image format the shader declares, e.g. {@code GL_RGBA8}
+     */
+    public void bindImage(final int unit,
+                          final MemoryTexture texture,
+                          final int level,
+                          final BindingAccess access,
+                          final int format) {
+        this.bindings.add(new Binding(texture, unit, access, BarrierUsage.SHADER_IMAGE_ACCESS, level, format));
+    }
+
+    public void clearBindings() {
+        this.bindings.clear();
+    }
+
+    /**
+     * @param barrierTracker Tracker used by every dispatch, or null to use
+     *                       {@link MemoryBarrierTracker#current()} of the dispatching thread
+     */
+    public void setBarrierTracker(final MemoryBarrierTracker barrierTracker) {
+        this.barrierTracker = barrierTracker;
+    }
+
+    public MemoryBarrierTracker getBarrierTracker() {
+        return this.barrierTracker != null ? this.barrierTracker : MemoryBarrierTracker.current();
+    }
+
+    public void dispatch(final int groupsX,
+                         final int groupsY,
+                         final int groupsZ) {
+        requireBound();
+        final MemoryBarrierTracker tracker = getBarrierTracker();
+        applyBindings(tracker);
+        tracker.flush();
+        glDispatchCompute(groupsX, groupsY, groupsZ);
+        markWrites(tracker);
+    }
+
+    /**
+     * Dispatches enough work groups along X to cover {@code invocations}
+     * invocations, the shader must bounds check the excess.
+     */
+    public void dispatchInvocations(final int invocations) {
+        dispatch(
+                (invocations + this.workGroupSizeX - 1) / this.workGroupSizeX,
+                1,
+                1
+        );
+    }
+
+    /**
+     * Dispatches with work group counts read from three consecutive unsigned
+     * integers in {@code buffer}, which may have been written by an earlier
+     * dispatch.
+     *
+     * @param offset Byte offset of the group counts, must be a multiple of 4
+     */
+    public void dispatchIndirect(final DIIBO buffer,
+                                 final long offset) {
+        requireBound();
+        final MemoryBarrierTracker tracker = getBarrierTracker();
+        applyBindings(tracker);
+        tracker.require(buffer, BarrierUsage.COMMAND);
+        tracker.flush();
+        buffer.bind();
+        glDispatchComputeIndirect(offset);
+        buffer.unbind();
+        markWrites(tracker);
+    }
+
+    private void requireBound() {
+        if (!super.bound) {
+            throw new IllegalStateException(String.format(
+                    "Compute program %s must be bound to dispatch",
+                    getName()
+            ));
+        }
+    }
+
+    private void applyBindings(final MemoryBarrierTracker tracker) {
+        for (final Binding binding : this.bindings) {
+            if (binding.usage() == BarrierUsage.SHADER_IMAGE_ACCESS) {
+                glBindImageTexture(
+                        binding.index(),
+                        binding.resource().getId(),
+                        binding.level(),
+                        true,
+                        0,
+                        binding.access().getGlAccess(),
+                        binding.format()
+                );
+            } else {
+                ((DataBuffer) binding.resource()).bindBase(
+                        binding.usage() == BarrierUsage.ATOMIC_COUNTER ? DataBufferType.ACB : DataBufferType.SSB,
+                        binding.index()
+                );
+            }
+            // Writes also need ordering against earlier incoherent writes
+            tracker.require(binding.resource(), binding.usage());
+        }
+    }
+
+    private void markWrites(final MemoryBarrierTracker tracker) {
+        for (final Binding binding : this.bindings) {
+            if (binding.access().writes()) {
+                tracker.markWritten(binding.resource());
+            }
+        }
+    }
+
+    public int getWorkGroupSizeX() {
+        return this.workGroupSizeX;
+    }
+
+    public int getWorkGroupSizeY() {
+        return this.workGroupSizeY;
+    }
+
+    public int getWorkGroupSizeZ() {
+        return this.workGroupSizeZ;
+    }
+
+}
@@ -2,5 +2,6 @@ package com.engineersbox.structuredgl.gpu.shader;
 
 public enum DataType {
     FILE_PATH,
+    CLASSPATH_RESOURCE,
     LITERAL_DATA
 }
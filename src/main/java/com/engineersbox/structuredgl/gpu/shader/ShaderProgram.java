@@ -1,5 +1,6 @@
 package com.engineersbox.structuredgl.gpu.shader;
 
+import com.engineersbox.structuredgl.gpu.GLObjectType;
 import com.engineersbox.structuredgl.gpu.GPUResource;
 import com.engineersbox.structuredgl.gpu.ValidationState;
 import com.engineersbox.structuredgl.utils.EnumSetUtils;
@@ -9,6 +10,7 @@ import org.lwjgl.opengl.GL30;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntConsumer;
 
 import static org.lwjgl.opengl.GL20.*;
 
@@ -24,25 +26,47 @@ public class ShaderProgram extends GPUResource {
 
     public ShaderProgram(final String name,
                          final List<ShaderModuleData> shaderModuleData) {
+        this(name, shaderModuleData, (final int programId) -> {});
+    }
+
+    /**
+     * @param beforeLink Invoked with the program name after the modules are
+     *                   attached and before linking, for state that must be
+     *                   specified pre-link such as transform feedback varyings
+     */
+    protected ShaderProgram(final String name,
+                            final List<ShaderModuleData> shaderModuleData,
+                            final IntConsumer beforeLink) {
+        super(validateUniqueShaderTypes(shaderModuleData));
         this.name = name;
         this.bound = false;
-        validateUniqueShaderTypes(shaderModuleData);
-        super.id = glCreateProgram();
         if (super.id == 0) {
             throw new RuntimeException("Unable to create a new shader program");
         }
         final List<Integer> moduleIds = shaderModuleData.stream()
                 .map((final ShaderModuleData data) -> createShader(
-                        data.dataType() == DataType.FILE_PATH
-                            ? FileUtils.readFile(data.data())
-                            : data.data() ,
+                        switch (data.dataType()) {
+                            case FILE_PATH -> FileUtils.readFile(data.data());
+                            case CLASSPATH_RESOURCE -> FileUtils.readResource(data.data());
+                            case LITERAL_DATA -> data.data();
+                        },
                         data.shaderType()
                 )).toList();
+        beforeLink.accept(super.id);
         link(moduleIds);
         this.uniforms = new Uniforms(super.id);
+        // Programs exist from creation, so the label can be applied immediately
+        setDebugLabel(name);
+        applyDebugLabel();
     }
 
-    private void validateUniqueShaderTypes(final List<ShaderModuleData> shaderModuleData) {
+    /**
+     * Runs ahead of the superclass constructor, so a rejected module list
+     * never creates a program that would later be reported as leaked.
+     *
+     * @return The object type to create once validated
+     */
+    private static GLObjectType validateUniqueShaderTypes(final List<ShaderModuleData> shaderModuleData) {
         final Map<ShaderType, Long> counts = shaderModuleData.stream()
                 .map(ShaderModuleData::shaderType)
                 .collect(EnumSetUtils.counting(ShaderType.class));
@@ -51,7 +75,7 @@ public class ShaderProgram extends GPUResource {
                 .filter((final Map.Entry<ShaderType, Long> entry) -> entry.getValue() > 1)
                 .findFirst();
         if (possibleMultipleTypeBinding.isEmpty()) {
-            return;
+            return GLObjectType.PROGRAM;
         }
         final Map.Entry<ShaderType, Long> multipleTypeBinding = possibleMultipleTypeBinding.get();
         throw new IllegalStateException(String.format(
@@ -126,12 +150,4 @@ public class ShaderProgram extends GPUResource {
         return this.uniforms;
     }
 
-    @Override
-    public void destroy() {
-        super.destroy();
-        if (super.id != 0) {
-            glDeleteProgram(super.id);
-        }
-    }
-
 }
@@ -0,0 +1,52 @@
+package com.engineersbox.structuredgl.gpu.shader;
+
+import java.util.List;
+
+import static org.lwjgl.opengl.GL30.GL_INTERLEAVED_ATTRIBS;
+import static org.lwjgl.opengl.GL30.glTransformFeedbackVaryings;
+
+/**
+ * Program whose vertex stage outputs are captured into transform feedback
+ * buffers, declared before linking as the spec requires.
+ */
+public class TransformFeedbackProgram extends ShaderProgram {
+
+    private final List<String> varyings;
+    private final int bufferMode;
+
+    /**
+     * @param varyings Captured outputs, in capture order
+     * @param bufferMode {@code GL_INTERLEAVED_ATTRIBS} or {@code GL_SEPARATE_ATTRIBS}
+     */
+    public TransformFeedbackProgram(final String name,
+                                    final List<String> varyings,
+                                    final int bufferMode,
+                                    final ShaderModuleData... shaderModuleData) {
+        super(
+                name,
+                List.of(shaderModuleData),
+                (final int programId) -> glTransformFeedbackVaryings(
+                        programId,
+                        varyings.toArray(String[]::new),
+                        bufferMode
+                )
+        );
+        this.varyings = List.copyOf(varyings);
+        this.bufferMode = bufferMode;
+    }
+
+    public TransformFeedbackProgram(final String name,
+                                    final List<String> varyings,
+                                    final ShaderModuleData... shaderModuleData) {
+        this(name, varyings, GL_INTERLEAVED_ATTRIBS, shaderModuleData);
+    }
+
+    public List<String> getVaryings() {
+        return this.varyings;
+    }
+
+    public int getBufferMode() {
+        return this.bufferMode;
+    }
+
+}
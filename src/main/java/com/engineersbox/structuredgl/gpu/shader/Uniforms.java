@@ -1,5 +1,6 @@
 package com.engineersbox.structuredgl.gpu.shader;
 
+import com.engineersbox.structuredgl.memory.FrameArena;
 import org.joml.*;
 import org.lwjgl.system.MemoryStack;
 
@@ -191,12 +192,44 @@ public class Uniforms {
         );
     }
 
+    public void setUniform(final String name,
+                           final Vector4f[] values) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
+            final int length = values != null ? values.length : 0;
+            final FloatBuffer fb = arena.mallocFloat(4 * length);
+            for (int i = 0; i < length; i++) {
+                values[i].get(4 * i, fb);
+            }
+            glUniform4fv(
+                    getUniformLocation(name),
+                    fb
+            );
+        } finally {
+            arena.rewind(mark);
+        }
+    }
+
+    public void setUniform(final String name,
+                           final Matrix4fc value) {
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            glUniformMatrix4fv(
+                    getUniformLocation(name),
+                    false,
+                    value.get(stack.mallocFloat(MAT4_ELEMENT_COUNT))
+            );
+        }
+    }
+
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix4f[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final FloatBuffer fb = stack.mallocFloat(MAT4_ELEMENT_COUNT * length);
+            final FloatBuffer fb = arena.mallocFloat(MAT4_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT4_ELEMENT_COUNT * i, fb);
             }
@@ -205,15 +238,19 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix3f[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final FloatBuffer fb = stack.mallocFloat(MAT3_ELEMENT_COUNT * length);
+            final FloatBuffer fb = arena.mallocFloat(MAT3_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT3_ELEMENT_COUNT * i, fb);
             }
@@ -222,15 +259,19 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix2f[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final FloatBuffer fb = stack.mallocFloat(MAT2_ELEMENT_COUNT * length);
+            final FloatBuffer fb = arena.mallocFloat(MAT2_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT2_ELEMENT_COUNT * i, fb);
             }
@@ -239,15 +280,19 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix4d[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final DoubleBuffer fb = stack.mallocDouble(MAT4_ELEMENT_COUNT * length);
+            final DoubleBuffer fb = arena.mallocDouble(MAT4_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT4_ELEMENT_COUNT * i, fb);
             }
@@ -256,15 +301,19 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix3d[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final DoubleBuffer fb = stack.mallocDouble(MAT3_ELEMENT_COUNT * length);
+            final DoubleBuffer fb = arena.mallocDouble(MAT3_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT3_ELEMENT_COUNT * i, fb);
             }
@@ -273,15 +322,19 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
     public void setUniform(final String name,
                            final boolean transpose,
                            final Matrix2d[] matrices) {
-        try (final MemoryStack stack = MemoryStack.stackPush()) {
+        final FrameArena arena = FrameArena.current();
+        final long mark = arena.mark();
+        try {
             final int length = matrices != null ? matrices.length : 0;
-            final DoubleBuffer fb = stack.mallocDouble(MAT2_ELEMENT_COUNT * length);
+            final DoubleBuffer fb = arena.mallocDouble(MAT2_ELEMENT_COUNT * length);
             for (int i = 0; i < length; i++) {
                 matrices[i].get(MAT2_ELEMENT_COUNT * i, fb);
             }
@@ -290,6 +343,8 @@ public class Uniforms {
                     transpose,
                     fb
             );
+        } finally {
+            arena.rewind(mark);
         }
     }
 
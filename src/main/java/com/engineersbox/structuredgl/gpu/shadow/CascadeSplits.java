@@ -0,0 +1,39 @@
+package com.engineersbox.structuredgl.gpu.shadow;
+
+public class CascadeSplits {
+
+    private CascadeSplits() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Practical split scheme, blending logarithmic splits that keep texel
+     * density even with uniform splits that stop the near cascade from
+     * collapsing.
+     *
+     * @param lambda Weight of the logarithmic scheme in {@code [0, 1]}
+     * @return Far distance of each cascade, the last being {@code far}
+     */
+    public static float[] practical(final float near,
+                                    final float far,
+                                    final int cascades,
+                                    final float lambda) {
+        if (!(near > 0) || !(far > near)) {
+            throw new IllegalArgumentException(String.format(
+                    "Cascade splits require 0 < near < far, got near %f and far %f",
+                    near,
+                    far
+            ));
+        }
+        final float[] splits = new float[cascades];
+        for (int i = 1; i <= cascades; i++) {
+            final float fraction = (float) i / cascades;
+            final float logarithmic = (float) (near * Math.pow(far / near, fraction));
+            final float uniform = near + ((far - near) * fraction);
+            splits[i - 1] = (lambda * logarithmic) + ((1.0f - lambda) * uniform);
+        }
+        splits[cascades - 1] = far;
+        return splits;
+    }
+
+}
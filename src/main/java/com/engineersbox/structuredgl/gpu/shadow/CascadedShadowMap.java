@@ -0,0 +1,399 @@
+package com.engineersbox.structuredgl.gpu.shadow;
+
+import com.engineersbox.structuredgl.gpu.buffer.FBO;
+import com.engineersbox.structuredgl.gpu.buffer.FBOType;
+import com.engineersbox.structuredgl.gpu.debug.GLDebug;
+import com.engineersbox.structuredgl.gpu.pipeline.PipelineStateTracker;
+import com.engineersbox.structuredgl.gpu.shader.Uniforms;
+import com.engineersbox.structuredgl.gpu.texture.MemoryTexture2DArray;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.joml.Vector4fc;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30.GL_DEPTH_ATTACHMENT;
+import static org.lwjgl.opengl.GL30.GL_DEPTH_COMPONENT32F;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY;
+import static org.lwjgl.opengl.GL43.glCopyImageSubData;
+
+/**
+ * Cascaded shadow maps rendered into the layers of a depth texture array.
+ * <p>
+ * Each cascade keeps a second, cached layer holding only static casters,
+ * redrawn when the cascade's fit moves, the light turns, or static content
+ * in it is {@link #invalidate(Vector4fc) invalidated}. Updating a cascade
+ * otherwise copies the cached layer and draws just the dynamic casters on
+ * top. Cascades are redrawn on a staggered schedule, cascade {@code i} every
+ * {@code updateIntervals[i]} frames, and the caster budget defers due
+ * cascades to later frames, longest waiting first, once a frame has drawn
+ * enough casters.
+ */
+public class CascadedShadowMap {
+
+    public static final int DEFAULT_CASCADES = 3;
+    public static final int DEFAULT_RESOLUTION = 2048;
+    public static final float DEFAULT_SPLIT_LAMBDA = 0.75f;
+    public static final float DEFAULT_MARGIN = 0.15f;
+    public static final float DEFAULT_DEPTH_EXTENSION = 100.0f;
+    public static final int[] DEFAULT_UPDATE_INTERVALS = new int[]{1, 2, 4};
+    /**
+     * Caster budget disabling deferral
+     */
+    public static final int UNLIMITED_BUDGET = 0;
+
+    private static final float[][] NDC_CORNERS = new float[][]{
+            {-1, -1}, {1, -1}, {-1, 1}, {1, 1}
+    };
+
+    private final int resolution;
+    private final float splitLambda;
+    private final float margin;
+    private final float depthExtension;
+    private final int[] updateIntervals;
+    private final int casterBudget;
+    private final ShadowCascade[] cascades;
+    private final MemoryTexture2DArray depth;
+    private final MemoryTexture2DArray staticDepth;
+    private final FBO framebuffer;
+    private final Matrix4f inverseViewProjection;
+    private final Vector3f[] nearCorners;
+    private final Vector3f[] farCorners;
+    private final Vector3f[] sliceCorners;
+    private final Vector3f lightDirection;
+    private final List<ShadowCaster> staticVisible;
+    private final List<ShadowCaster> dynamicVisible;
+    private final List<ShadowCascade> due;
+    private long frame;
+    private ShadowStatistics statistics;
+
+    /**
+     * @param margin Padding of each cascade as a fraction of its slice radius, trading resolution for fewer static redraws
+     * @param depthExtension Distance towards the light beyond each cascade that casters are still captured from
+     * @param updateIntervals Frames between redraws of each cascade, nearest first
+     * @param casterBudget Caster draws per frame before due cascades are deferred, or {@link #UNLIMITED_BUDGET}
+     */
+    public CascadedShadowMap(final int cascadeCount,
+                             final int resolution,
+                             final float splitLambda,
+                             final float margin,
+                             final float depthExtension,
+                             final int[] updateIntervals,
+                             final int casterBudget) {
+        if (cascadeCount <= 0 || updateIntervals.length != cascadeCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected an update interval for each of %d cascades, got %d",
+                    cascadeCount,
+                    updateIntervals.length
+            ));
+        }
+        for (final int interval : updateIntervals) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Cascade update intervals must be positive, got " + interval);
+            }
+        }
+        this.resolution = resolution;
+        this.splitLambda = splitLambda;
+        this.margin = margin;
+        this.depthExtension = depthExtension;
+        this.updateIntervals = Arrays.copyOf(updateIntervals, cascadeCount);
+        this.casterBudget = casterBudget;
+        this.cascades = new ShadowCascade[cascadeCount];
+        for (int i = 0; i < cascadeCount; i++) {
+            this.cascades[i] = new ShadowCascade(i);
+        }
+        this.depth = createDepthArray(resolution, cascadeCount);
+        this.staticDepth = createDepthArray(resolution, cascadeCount);
+        this.framebuffer = new FBO(FBOType.DRAW_READ);
+        this.framebuffer.bind();
+        glDrawBuffer(GL_NONE);
+        glReadBuffer(GL_NONE);
+        this.framebuffer.unbind();
+        this.inverseViewProjection = new Matrix4f();
+        this.nearCorners = newCorners(4);
+        this.farCorners = newCorners(4);
+        this.sliceCorners = newCorners(8);
+        this.lightDirection = new Vector3f();
+        this.staticVisible = new ArrayList<>();
+        this.dynamicVisible = new ArrayList<>();
+        this.due = new ArrayList<>(cascadeCount);
+        this.frame = 0;
+        this.statistics = new ShadowStatistics(0, 0, 0, 0);
+    }
+
+    public CascadedShadowMap() {
+        this(
+                DEFAULT_CASCADES,
+                DEFAULT_RESOLUTION,
+                DEFAULT_SPLIT_LAMBDA,
+                DEFAULT_MARGIN,
+                DEFAULT_DEPTH_EXTENSION,
+                DEFAULT_UPDATE_INTERVALS,
+                UNLIMITED_BUDGET
+        );
+    }
+
+    private static MemoryTexture2DArray createDepthArray(final int resolution,
+                                                         final int layers) {
+        final MemoryTexture2DArray texture = new MemoryTexture2DArray();
+        texture.bind();
+        texture.createTexImage(
+                0,
+                GL_DEPTH_COMPONENT32F,
+                new int[]{resolution, resolution, layers},
+                0,
+                GL_DEPTH_COMPONENT,
+                GL_FLOAT,
+                null
+        );
+        texture.setTexParameteri(GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+        texture.setTexParameteri(GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        texture.setTexParameteri(GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+        texture.setTexParameteri(GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+        texture.unbind();
+        return texture;
+    }
+
+    private static Vector3f[] newCorners(final int count) {
+        final Vector3f[] corners = new Vector3f[count];
+        for (int i = 0; i < count; i++) {
+            corners[i] = new Vector3f();
+        }
+        return corners;
+    }
+
+    /**
+     * Refits the cascades to the camera and redraws those that are due.
+     * Leaves the default framebuffer bound and restores the viewport and
+     * depth test state.
+     *
+     * @param near Positive distance to the camera's near plane
+     * @param far Positive distance the shadows extend to
+     * @param lightDirection Direction the light travels in, need not be normalised
+     */
+    public void update(final Matrix4fc view,
+                       final Matrix4fc projection,
+                       final float near,
+                       final float far,
+                       final Vector3fc lightDirection,
+                       final List<? extends ShadowCaster> casters) {
+        this.frame++;
+        this.lightDirection.set(lightDirection).normalize();
+        projection.mul(view, this.inverseViewProjection).invert();
+        for (int i = 0; i < 4; i++) {
+            this.inverseViewProjection.transformProject(NDC_CORNERS[i][0], NDC_CORNERS[i][1], -1.0f, this.nearCorners[i]);
+            this.inverseViewProjection.transformProject(NDC_CORNERS[i][0], NDC_CORNERS[i][1], 1.0f, this.farCorners[i]);
+        }
+        final float[] splits = CascadeSplits.practical(near, far, this.cascades.length, this.splitLambda);
+        this.due.clear();
+        float sliceNear = near;
+        for (final ShadowCascade cascade : this.cascades) {
+            final float sliceFar = splits[cascade.getIndex()];
+            // Frustum edges run through the eye, so view depth is linear along them
+            for (int i = 0; i < 4; i++) {
+                this.nearCorners[i].lerp(this.farCorners[i], (sliceNear - near) / (far - near), this.sliceCorners[i]);
+                this.nearCorners[i].lerp(this.farCorners[i], (sliceFar - near) / (far - near), this.sliceCorners[i + 4]);
+            }
+            cascade.setSplitDistance(sliceFar);
+            if (cascade.fit(this.sliceCorners, this.lightDirection, this.resolution, this.margin, this.depthExtension)) {
+                cascade.staticDirty = true;
+            }
+            if (cascade.staticDirty
+                    || cascade.framesDeferred > 0
+                    || (this.frame + cascade.getIndex()) % this.updateIntervals[cascade.getIndex()] == 0) {
+                this.due.add(cascade);
+            }
+            sliceNear = sliceFar;
+        }
+        this.due.sort(Comparator.comparingInt((final ShadowCascade cascade) -> -cascade.framesDeferred)
+                .thenComparingInt(ShadowCascade::getIndex));
+        render(casters);
+    }
+
+    private void render(final List<? extends ShadowCaster> casters) {
+        int rendered = 0;
+        int deferred = 0;
+        int staticRebuilds = 0;
+        int drawn = 0;
+        if (this.due.isEmpty()) {
+            this.statistics = new ShadowStatistics(0, 0, 0, 0);
+            return;
+        }
+        GLDebug.pushGroup("CascadedShadowMap");
+        final boolean depthTest = glIsEnabled(GL_DEPTH_TEST);
+        final boolean depthMask = glGetBoolean(GL_DEPTH_WRITEMASK);
+        try (final MemoryStack stack = MemoryStack.stackPush()) {
+            final IntBuffer viewport = stack.mallocInt(4);
+            glGetIntegerv(GL_VIEWPORT, viewport);
+            this.framebuffer.bind();
+            glViewport(0, 0, this.resolution, this.resolution);
+            glEnable(GL_DEPTH_TEST);
+            glDepthMask(true);
+            // Casters applying pipeline states must not skip state changed above
+            PipelineStateTracker.current().invalidate();
+            for (final ShadowCascade cascade : this.due) {
+                collectVisible(cascade, casters);
+                final int cost = this.dynamicVisible.size() + (cascade.staticDirty ? this.staticVisible.size() : 0);
+                if (rendered > 0 && this.casterBudget != UNLIMITED_BUDGET && drawn + cost > this.casterBudget) {
+                    cascade.framesDeferred++;
+                    deferred++;
+                    continue;
+                }
+                if (cascade.staticDirty) {
+                    drawn += renderLayer(this.staticDepth, cascade, this.staticVisible);
+                    cascade.staticCasters = this.staticVisible.size();
+                    cascade.staticDirty = false;
+                    staticRebuilds++;
+                }
+                drawn += renderDynamic(cascade);
+                cascade.markRendered();
+                rendered++;
+            }
+            this.framebuffer.unbind();
+            glViewport(viewport.get(0), viewport.get(1), viewport.get(2), viewport.get(3));
+        }
+        if (!depthTest) {
+            glDisable(GL_DEPTH_TEST);
+        }
+        glDepthMask(depthMask);
+        PipelineStateTracker.current().invalidate();
+        GLDebug.popGroup();
+        this.statistics = new ShadowStatistics(rendered, deferred, staticRebuilds, drawn);
+    }
+
+    private void collectVisible(final ShadowCascade cascade,
+                                final List<? extends ShadowCaster> casters) {
+        this.staticVisible.clear();
+        this.dynamicVisible.clear();
+        for (final ShadowCaster caster : casters) {
+            final Vector4fc bounds = caster.getBounds();
+            if (!cascade.intersects(bounds.x(), bounds.y(), bounds.z(), bounds.w())) {
+                continue;
+            }
+            (caster.isStatic() ? this.staticVisible : this.dynamicVisible).add(caster);
+        }
+    }
+
+    private int renderLayer(final MemoryTexture2DArray target,
+                            final ShadowCascade cascade,
+                            final List<ShadowCaster> casters) {
+        this.framebuffer.attachLayer(target, GL_DEPTH_ATTACHMENT, 0, cascade.getIndex());
+        glClear(GL_DEPTH_BUFFER_BIT);
+        for (final ShadowCaster caster : casters) {
+            caster.draw(cascade.getIndex(), cascade.getFittedProjectionView());
+        }
+        return casters.size();
+    }
+
+    private int renderDynamic(final ShadowCascade cascade) {
+        if (cascade.staticCasters == 0) {
+            return renderLayer(this.depth, cascade, this.dynamicVisible);
+        }
+        glCopyImageSubData(
+                this.staticDepth.getId(),
+                GL_TEXTURE_2D_ARRAY,
+                0,
+                0,
+                0,
+                cascade.getIndex(),
+                this.depth.getId(),
+                GL_TEXTURE_2D_ARRAY,
+                0,
+                0,
+                0,
+                cascade.getIndex(),
+                this.resolution,
+                this.resolution,
+                1
+        );
+        this.framebuffer.attachLayer(this.depth, GL_DEPTH_ATTACHMENT, 0, cascade.getIndex());
+        for (final ShadowCaster caster : this.dynamicVisible) {
+            caster.draw(cascade.getIndex(), cascade.getFittedProjectionView());
+        }
+        return this.dynamicVisible.size();
+    }
+
+    /**
+     * Marks the cached static depth of every cascade overlapping
+     * {@code bounds} for redraw, call when static content there is added,
+     * removed or moved, with both the old and new bounds.
+     *
+     * @param bounds World space sphere as xyz centre and w radius
+     */
+    public void invalidate(final Vector4fc bounds) {
+        for (final ShadowCascade cascade : this.cascades) {
+            if (cascade.intersects(bounds.x(), bounds.y(), bounds.z(), bounds.w())) {
+                cascade.staticDirty = true;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        for (final ShadowCascade cascade : this.cascades) {
+            cascade.staticDirty = true;
+        }
+    }
+
+    public void createUniforms(final Uniforms uniforms) {
+        for (int i = 0; i < this.cascades.length; i++) {
+            uniforms.createUniform(String.format("shadowCascade[%d].projectionViewMatrix", i));
+            uniforms.createUniform(String.format("shadowCascade[%d].splitDistance", i));
+        }
+    }
+
+    /**
+     * Sets each cascade's matrix and split, negated as a view space depth,
+     * the program must be bound.
+     */
+    public void setUniforms(final Uniforms uniforms) {
+        for (int i = 0; i < this.cascades.length; i++) {
+            uniforms.setUniform(
+                    String.format("shadowCascade[%d].projectionViewMatrix", i),
+                    this.cascades[i].getProjectionView()
+            );
+            uniforms.setUniform(
+                    String.format("shadowCascade[%d].splitDistance", i),
+                    -this.cascades[i].getSplitDistance()
+            );
+        }
+    }
+
+    public ShadowCascade getCascade(final int index) {
+        return this.cascades[index];
+    }
+
+    public int getCascadeCount() {
+        return this.cascades.length;
+    }
+
+    public int getResolution() {
+        return this.resolution;
+    }
+
+    /**
+     * @return Depth array sampled by the lighting pass, one layer per cascade
+     */
+    public MemoryTexture2DArray getDepthTexture() {
+        return this.depth;
+    }
+
+    public ShadowStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public void destroy() {
+        this.depth.destroy();
+        this.staticDepth.destroy();
+        this.framebuffer.destroy();
+    }
+
+}
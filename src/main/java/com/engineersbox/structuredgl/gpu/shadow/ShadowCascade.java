@@ -0,0 +1,169 @@
+package com.engineersbox.structuredgl.gpu.shadow;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * One cascade's light space fit. The cascade bounds the camera frustum slice
+ * with a sphere, so its extent is independent of camera rotation, and pads it
+ * by a margin. The light space centre is snapped to whole texels and only
+ * moves once the slice leaves the padded region, so the matrix, and any
+ * cached static depth rendered with it, stays valid while the camera moves
+ * within the margin.
+ */
+public class ShadowCascade {
+
+    private static final float RADIUS_QUANTUM = 1.0f / 16.0f;
+    private static final float DIRECTION_EPSILON = 1.0e-6f;
+
+    private final int index;
+    private final Matrix4f lightView;
+    private final Matrix4f projectionView;
+    private final Matrix4f renderedProjectionView;
+    private final FrustumIntersection frustum;
+    private final Vector3f lightDirection;
+    private final Vector3f centre;
+    private final Vector3f lightCentre;
+    private float fittedRadius;
+    private float paddedRadius;
+    private float lightCentreX;
+    private float lightCentreY;
+    private float lightCentreZ;
+    private float splitDistance;
+    private boolean fitted;
+    boolean staticDirty;
+    int staticCasters;
+    int framesDeferred;
+
+    ShadowCascade(final int index) {
+        this.index = index;
+        this.lightView = new Matrix4f();
+        this.projectionView = new Matrix4f();
+        this.renderedProjectionView = new Matrix4f();
+        this.frustum = new FrustumIntersection();
+        this.lightDirection = new Vector3f();
+        this.centre = new Vector3f();
+        this.lightCentre = new Vector3f();
+        this.fitted = false;
+        this.staticDirty = true;
+        this.staticCasters = 0;
+        this.framesDeferred = 0;
+    }
+
+    /**
+     * Fits the cascade around the slice with the given world space corners.
+     *
+     * @param direction Normalised direction the light travels in
+     * @param margin Padding as a fraction of the slice radius
+     * @param depthExtension Distance beyond the cascade towards the light that casters are still captured from
+     * @return Whether the matrix changed, invalidating any cached depth
+     */
+    boolean fit(final Vector3f[] corners,
+                final Vector3fc direction,
+                final int resolution,
+                final float margin,
+                final float depthExtension) {
+        this.centre.zero();
+        for (final Vector3f corner : corners) {
+            this.centre.add(corner);
+        }
+        this.centre.div(corners.length);
+        float radius = 0.0f;
+        for (final Vector3f corner : corners) {
+            radius = Math.max(radius, corner.distance(this.centre));
+        }
+        final boolean sameLight = this.fitted && this.lightDirection.dot(direction) >= 1.0f - DIRECTION_EPSILON;
+        if (sameLight && radius <= this.fittedRadius) {
+            this.lightView.transformPosition(this.centre, this.lightCentre);
+            final float slack = this.paddedRadius - radius;
+            if (Math.abs(this.lightCentre.x - this.lightCentreX) <= slack
+                    && Math.abs(this.lightCentre.y - this.lightCentreY) <= slack
+                    && Math.abs(this.lightCentre.z - this.lightCentreZ) <= slack) {
+                return false;
+            }
+        }
+        this.lightDirection.set(direction);
+        this.fittedRadius = (float) Math.ceil(radius / RADIUS_QUANTUM) * RADIUS_QUANTUM;
+        this.paddedRadius = this.fittedRadius * (1.0f + margin);
+        final boolean vertical = Math.abs(direction.y()) > 0.99f;
+        this.lightView.setLookAt(
+                0.0f,
+                0.0f,
+                0.0f,
+                direction.x(),
+                direction.y(),
+                direction.z(),
+                vertical ? 1.0f : 0.0f,
+                vertical ? 0.0f : 1.0f,
+                0.0f
+        );
+        this.lightView.transformPosition(this.centre, this.lightCentre);
+        final float texel = (2.0f * this.paddedRadius) / resolution;
+        this.lightCentreX = Math.round(this.lightCentre.x / texel) * texel;
+        this.lightCentreY = Math.round(this.lightCentre.y / texel) * texel;
+        this.lightCentreZ = Math.round(this.lightCentre.z / texel) * texel;
+        // Light space looks down -z, so the light lies towards +z
+        this.projectionView.setOrtho(
+                this.lightCentreX - this.paddedRadius,
+                this.lightCentreX + this.paddedRadius,
+                this.lightCentreY - this.paddedRadius,
+                this.lightCentreY + this.paddedRadius,
+                -(this.lightCentreZ + this.paddedRadius + depthExtension),
+                -(this.lightCentreZ - this.paddedRadius)
+        ).mul(this.lightView);
+        this.frustum.set(this.projectionView);
+        this.fitted = true;
+        return true;
+    }
+
+    boolean intersects(final float x,
+                       final float y,
+                       final float z,
+                       final float radius) {
+        return this.frustum.testSphere(x, y, z, radius);
+    }
+
+    void markRendered() {
+        this.renderedProjectionView.set(this.projectionView);
+        this.framesDeferred = 0;
+    }
+
+    void setSplitDistance(final float splitDistance) {
+        this.splitDistance = splitDistance;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return Matrix the cascade's depth layer was last rendered with, which
+     *         is what shading must sample with
+     */
+    public Matrix4fc getProjectionView() {
+        return this.renderedProjectionView;
+    }
+
+    /**
+     * @return Current fit, differing from {@link #getProjectionView()} while
+     *         the cascade waits to be rendered
+     */
+    public Matrix4fc getFittedProjectionView() {
+        return this.projectionView;
+    }
+
+    /**
+     * @return Positive view distance of the cascade's far split
+     */
+    public float getSplitDistance() {
+        return this.splitDistance;
+    }
+
+    public boolean isStaticDirty() {
+        return this.staticDirty;
+    }
+
+}
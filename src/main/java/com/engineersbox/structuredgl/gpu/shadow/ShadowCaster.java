@@ -0,0 +1,30 @@
+package com.engineersbox.structuredgl.gpu.shadow;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector4fc;
+
+/**
+ * Geometry drawn into shadow cascades. Static casters are rendered once into
+ * a cached layer per cascade and reused until the cascade moves or the
+ * static content is invalidated.
+ */
+public interface ShadowCaster {
+
+    /**
+     * @return World space bounding sphere as xyz centre and w radius
+     */
+    Vector4fc getBounds();
+
+    boolean isStatic();
+
+    /**
+     * Draws depth for the caster with its own program, the shadow
+     * framebuffer and viewport are already set up.
+     *
+     * @param cascade Index of the cascade being rendered
+     * @param lightProjectionView Matrix taking world space into the cascade's clip space
+     */
+    void draw(int cascade,
+              Matrix4fc lightProjectionView);
+
+}
@@ -0,0 +1,15 @@
+package com.engineersbox.structuredgl.gpu.shadow;
+
+/**
+ * Work done by the last {@link CascadedShadowMap#update} call.
+ *
+ * @param cascadesRendered Cascades whose layer was redrawn
+ * @param cascadesDeferred Due cascades pushed to a later frame by the caster budget
+ * @param staticRebuilds Cascades whose cached static layer was redrawn
+ * @param castersDrawn Caster draw calls issued, static and dynamic
+ */
+public record ShadowStatistics(int cascadesRendered,
+                               int cascadesDeferred,
+                               int staticRebuilds,
+                               int castersDrawn) {
+}
@@ -0,0 +1,12 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+/**
+ * @param barriersIssued {@code glMemoryBarrier} calls made
+ * @param barriersAvoided Accesses that needed no barrier, either because the resource had no
+ *                        unsynchronised writes or an earlier barrier already covered the usage
+ * @param bitsIssued Union of every barrier bit issued
+ */
+public record BarrierStatistics(long barriersIssued,
+                                long barriersAvoided,
+                                int bitsIssued) {
+}
@@ -0,0 +1,171 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+import com.engineersbox.structuredgl.memory.FrameArena;
+
+import static org.lwjgl.opengl.GL32.*;
+
+/**
+ * Bounds how many frames the CPU may record ahead of the GPU. Each frame
+ * occupies one of {@code framesInFlight} slots and is fenced when it ends;
+ * beginning a frame first waits for the fence of the frame that last used
+ * its slot and retires it, so per-frame resources indexed by
+ * {@link FrameScope#getSlot()} are never rewritten while the GPU reads them.
+ * Two frames in flight favours latency, three favours throughput, and the
+ * time spent blocked is reported through {@link #getStatistics()}.
+ * <p>
+ * Must only be used from the thread owning the GL context.
+ */
+public class FrameContext {
+
+    public static final int DEFAULT_FRAMES_IN_FLIGHT = 2;
+
+    private static final long FENCE_WAIT_TIMEOUT_NS = 1_000_000L;
+
+    private final FrameScope[] scopes;
+    private FrameScope current;
+    private long frameIndex;
+    private long framesCompleted;
+    private long framesWaited;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    public FrameContext(final int framesInFlight) {
+        if (framesInFlight < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Frames in flight must be at least 1, got %d",
+                    framesInFlight
+            ));
+        }
+        this.scopes = new FrameScope[framesInFlight];
+        for (int i = 0; i < framesInFlight; i++) {
+            this.scopes[i] = new FrameScope(i);
+        }
+        this.current = null;
+        this.frameIndex = -1;
+        resetStatistics();
+    }
+
+    public FrameContext() {
+        this(DEFAULT_FRAMES_IN_FLIGHT);
+    }
+
+    /**
+     * Starts recording the next frame, blocking until the GPU has finished
+     * the frame that last used the same slot, and releases the calling
+     * thread's {@link FrameArena} allocations of the previous frame.
+     */
+    public FrameScope beginFrame() {
+        if (this.current != null) {
+            throw new IllegalStateException(String.format(
+                    "Frame %d has not ended",
+                    this.current.getFrameIndex()
+            ));
+        }
+        this.frameIndex++;
+        final FrameScope scope = this.scopes[(int) (this.frameIndex % this.scopes.length)];
+        if (scope.getFence() != 0) {
+            waitAndRetire(scope);
+        }
+        FrameArena.current().reset();
+        scope.begin(this.frameIndex);
+        this.current = scope;
+        return scope;
+    }
+
+    /**
+     * Fences every command submitted during the current frame.
+     */
+    public void endFrame() {
+        if (this.current == null) {
+            throw new IllegalStateException("No frame has begun");
+        }
+        this.current.setFence(glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0));
+        this.current = null;
+    }
+
+    /**
+     * @return The frame being recorded
+     */
+    public FrameScope current() {
+        if (this.current == null) {
+            throw new IllegalStateException("No frame has begun");
+        }
+        return this.current;
+    }
+
+    public boolean isRecording() {
+        return this.current != null;
+    }
+
+    /**
+     * Waits for and retires every frame in flight, oldest first, for
+     * teardown or before reallocating per-frame resources.
+     */
+    public void waitIdle() {
+        for (int i = 1; i <= this.scopes.length; i++) {
+            final FrameScope scope = this.scopes[(int) ((this.frameIndex + i) % this.scopes.length)];
+            if (scope.getFence() != 0) {
+                waitAndRetire(scope);
+            }
+        }
+    }
+
+    private void waitAndRetire(final FrameScope scope) {
+        final long fence = scope.getFence();
+        int status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, 0);
+        if (status == GL_TIMEOUT_EXPIRED) {
+            final long start = System.nanoTime();
+            do {
+                status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_WAIT_TIMEOUT_NS);
+            } while (status == GL_TIMEOUT_EXPIRED);
+            final long waited = System.nanoTime() - start;
+            this.framesWaited++;
+            this.totalWaitNanos += waited;
+            this.maxWaitNanos = Math.max(this.maxWaitNanos, waited);
+        }
+        if (status == GL_WAIT_FAILED) {
+            throw new IllegalStateException(String.format(
+                    "Failed to wait on fence of frame %d",
+                    scope.getFrameIndex()
+            ));
+        }
+        glDeleteSync(fence);
+        this.framesCompleted++;
+        scope.retire();
+    }
+
+    public int getFramesInFlight() {
+        return this.scopes.length;
+    }
+
+    /**
+     * @return Index of the current or most recently recorded frame, -1 before the first
+     */
+    public long getFrameIndex() {
+        return this.frameIndex;
+    }
+
+    public FrameStatistics getStatistics() {
+        return new FrameStatistics(
+                this.framesCompleted,
+                this.framesWaited,
+                this.totalWaitNanos,
+                this.maxWaitNanos
+        );
+    }
+
+    public void resetStatistics() {
+        this.framesCompleted = 0;
+        this.framesWaited = 0;
+        this.totalWaitNanos = 0;
+        this.maxWaitNanos = 0;
+    }
+
+    public void destroy() {
+        if (this.current != null) {
+            endFrame();
+        }
+        waitIdle();
+    }
+
+}
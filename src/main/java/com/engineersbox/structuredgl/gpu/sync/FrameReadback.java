@@ -0,0 +1,58 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+
+/**
+ * Reads buffer contents back without stalling. Each read copies into the
+ * current frame's region of a persistently mapped buffer on the GPU, and
+ * the copy is delivered when the frame retires, by which point
+ * {@link FrameContext} has already waited on the frame's fence.
+ */
+public class FrameReadback<B extends DataBuffer> {
+
+    private static final int COPY_ALIGNMENT = 16;
+
+    private final FrameContext frames;
+    private final FrameRingBuffer<B> ring;
+
+    /**
+     * @param buffer Freshly created buffer to hold copies, owned by the readback from then on
+     */
+    public FrameReadback(final FrameContext frames,
+                         final B buffer,
+                         final long bytesPerFrame) {
+        this.frames = frames;
+        this.ring = new FrameRingBuffer<>(frames, buffer, bytesPerFrame, FrameRingBuffer.READ_ACCESS);
+    }
+
+    /**
+     * Copies {@code size} bytes of {@code source} and passes them to
+     * {@code onReady} once the current frame retires. The view is only valid
+     * for the duration of the callback.
+     */
+    public void read(final DataBuffer source,
+                     final long sourceOffset,
+                     final int size,
+                     final Consumer<ByteBuffer> onReady) {
+        final long offset = this.ring.allocate(size, COPY_ALIGNMENT);
+        MemoryBarrierTracker.current().prepare(source, BarrierUsage.BUFFER_UPDATE);
+        glCopyNamedBufferSubData(
+                source.getId(),
+                this.ring.getBuffer().getId(),
+                sourceOffset,
+                offset,
+                size
+        );
+        this.frames.current().onRetire(() -> onReady.accept(this.ring.slice(offset, size)));
+    }
+
+    public void destroy() {
+        this.ring.destroy();
+    }
+
+}
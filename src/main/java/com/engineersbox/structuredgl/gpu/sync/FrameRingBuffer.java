@@ -0,0 +1,123 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL30.GL_MAP_READ_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
+import static org.lwjgl.opengl.GL44.GL_MAP_COHERENT_BIT;
+import static org.lwjgl.opengl.GL44.GL_MAP_PERSISTENT_BIT;
+
+/**
+ * Persistently mapped buffer split into one region per frame in flight.
+ * Allocations are bump-allocated from the current frame's region and are
+ * valid until that frame retires, after which {@link FrameContext} has
+ * already waited on its fence, so the region is rewritten without the
+ * driver stalling or renaming the buffer.
+ */
+public class FrameRingBuffer<B extends DataBuffer> {
+
+    public static final int WRITE_ACCESS = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+    public static final int READ_ACCESS = GL_MAP_READ_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+
+    private final FrameContext frames;
+    private final B buffer;
+    private final long bytesPerFrame;
+    private final ByteBuffer mapped;
+    private long cursor;
+    private long cursorFrame;
+
+    /**
+     * @param buffer Freshly created buffer to allocate immutable storage for, owned by the ring from then on
+     * @param access {@link #WRITE_ACCESS} for uploads or {@link #READ_ACCESS} for readbacks
+     */
+    public FrameRingBuffer(final FrameContext frames,
+                           final B buffer,
+                           final long bytesPerFrame,
+                           final int access) {
+        final long totalBytes = bytesPerFrame * frames.getFramesInFlight();
+        if (bytesPerFrame <= 0 || totalBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "Ring of %d frames of %d bytes cannot be mapped",
+                    frames.getFramesInFlight(),
+                    bytesPerFrame
+            ));
+        }
+        this.frames = frames;
+        this.buffer = buffer;
+        this.bytesPerFrame = bytesPerFrame;
+        this.buffer.bind();
+        this.buffer.setStorage(totalBytes, access);
+        this.mapped = this.buffer.mapRange(0, totalBytes, access);
+        this.buffer.unbind();
+        this.cursor = 0;
+        this.cursorFrame = -1;
+    }
+
+    public FrameRingBuffer(final FrameContext frames,
+                           final B buffer,
+                           final long bytesPerFrame) {
+        this(frames, buffer, bytesPerFrame, WRITE_ACCESS);
+    }
+
+    /**
+     * Reserves {@code size} bytes in the current frame's region.
+     *
+     * @param alignment Power of two the returned offset is a multiple of, e.g.
+     *                  {@code GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT} for uniform ranges
+     * @return Byte offset of the allocation from the start of the buffer
+     */
+    public long allocate(final long size,
+                         final int alignment) {
+        final FrameScope scope = this.frames.current();
+        if (scope.getFrameIndex() != this.cursorFrame) {
+            this.cursorFrame = scope.getFrameIndex();
+            this.cursor = 0;
+        }
+        final long aligned = (this.cursor + alignment - 1) & -(long) alignment;
+        if (aligned + size > this.bytesPerFrame) {
+            throw new IllegalStateException(String.format(
+                    "Frame region of %d bytes cannot fit %d more bytes at offset %d",
+                    this.bytesPerFrame,
+                    size,
+                    aligned
+            ));
+        }
+        this.cursor = aligned + size;
+        return (scope.getSlot() * this.bytesPerFrame) + aligned;
+    }
+
+    /**
+     * @return View of the mapping over an allocation, for writing uploads or reading back
+     */
+    public ByteBuffer slice(final long offset,
+                            final int size) {
+        return this.mapped.slice((int) offset, size);
+    }
+
+    /**
+     * @return Bytes left in the current frame's region
+     */
+    public long remaining() {
+        return this.frames.current().getFrameIndex() == this.cursorFrame
+                ? this.bytesPerFrame - this.cursor
+                : this.bytesPerFrame;
+    }
+
+    public B getBuffer() {
+        return this.buffer;
+    }
+
+    public long getBytesPerFrame() {
+        return this.bytesPerFrame;
+    }
+
+    /**
+     * Deletes the buffer directly, its immutable storage cannot be recycled.
+     */
+    public void destroy() {
+        this.buffer.destroy();
+    }
+
+}
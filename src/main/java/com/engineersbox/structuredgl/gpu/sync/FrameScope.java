@@ -0,0 +1,66 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One frame in flight. Work registered with {@link #onRetire(Runnable)}
+ * runs once the GPU has finished every command submitted during the frame,
+ * so resources the frame used can be rewritten, read back or deleted
+ * without stalling.
+ */
+public class FrameScope {
+
+    private final int slot;
+    private final List<Runnable> retirements;
+    private long frameIndex;
+    private long fence;
+
+    FrameScope(final int slot) {
+        this.slot = slot;
+        this.retirements = new ArrayList<>();
+        this.frameIndex = -1;
+        this.fence = 0;
+    }
+
+    /**
+     * Runs {@code retirement} on the render thread once this frame's fence
+     * signals, in registration order.
+     */
+    public void onRetire(final Runnable retirement) {
+        this.retirements.add(retirement);
+    }
+
+    void begin(final long frameIndex) {
+        this.frameIndex = frameIndex;
+    }
+
+    void setFence(final long fence) {
+        this.fence = fence;
+    }
+
+    long getFence() {
+        return this.fence;
+    }
+
+    void retire() {
+        this.fence = 0;
+        // Retirements may register follow-up work on a later frame, never this one
+        for (int i = 0; i < this.retirements.size(); i++) {
+            this.retirements.get(i).run();
+        }
+        this.retirements.clear();
+    }
+
+    /**
+     * @return Index of the ring slot this frame occupies, in {@code [0, framesInFlight)}
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public long getFrameIndex() {
+        return this.frameIndex;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+/**
+ * @param framesCompleted Frames whose fence has been waited on and retired
+ * @param framesWaited Frames where {@link FrameContext#beginFrame()} blocked because the GPU was still
+ *                     working on the frame previously using the slot
+ * @param totalWaitNanos CPU time spent blocked on frame fences
+ * @param maxWaitNanos Longest single block on a frame fence
+ */
+public record FrameStatistics(long framesCompleted,
+                              long framesWaited,
+                              long totalWaitNanos,
+                              long maxWaitNanos) {
+
+    public double averageWaitNanos() {
+        return this.framesCompleted == 0 ? 0.0 : (double) this.totalWaitNanos / this.framesCompleted;
+    }
+
+}
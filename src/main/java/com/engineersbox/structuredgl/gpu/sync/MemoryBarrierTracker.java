@@ -0,0 +1,118 @@
+package com.engineersbox.structuredgl.gpu.sync;
+
+import com.engineersbox.structuredgl.gpu.GPUResource;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+
+import static org.lwjgl.opengl.GL42.glMemoryBarrier;
+
+/**
+ * Inserts the minimal {@code glMemoryBarrier} bits between incoherent shader
+ * writes (storage buffers, images, atomic counters) and later accesses.
+ * <p>
+ * Each written resource records which usages have been made visible since
+ * its last write. Accesses to resources without outstanding writes, or with
+ * the usage already covered by an earlier barrier, need nothing. Required
+ * bits are accumulated and issued as a single barrier on {@link #flush()}.
+ * Since {@code glMemoryBarrier} is global, an issued barrier covers its bits
+ * for every outstanding write, not only the resource that requested it.
+ * <p>
+ * GL contexts are bound to threads, so trackers are held per thread.
+ */
+public class MemoryBarrierTracker {
+
+    private static final ThreadLocal<MemoryBarrierTracker> TRACKERS = ThreadLocal.withInitial(MemoryBarrierTracker::new);
+
+    private final LongIntHashMap visibleUsages;
+    private int pendingBits;
+    private long barriersIssued;
+    private long barriersAvoided;
+    private int bitsIssued;
+
+    public MemoryBarrierTracker() {
+        this.visibleUsages = new LongIntHashMap();
+        this.pendingBits = 0;
+    }
+
+    /**
+     * @return The tracker for the context current on the calling thread
+     */
+    public static MemoryBarrierTracker current() {
+        return TRACKERS.get();
+    }
+
+    private static long key(final GPUResource resource) {
+        return ((long) resource.getObjectType().ordinal() << 32) | Integer.toUnsignedLong(resource.getId());
+    }
+
+    /**
+     * Records that shaders have written the resource without coherence, so
+     * any later access needs a barrier.
+     */
+    public void markWritten(final GPUResource resource) {
+        this.visibleUsages.put(key(resource), 0);
+    }
+
+    /**
+     * Declares an upcoming access, accumulating the barrier bit it needs
+     * until the next {@link #flush()}.
+     */
+    public void require(final GPUResource resource,
+                        final BarrierUsage usage) {
+        final long key = key(resource);
+        final int bit = usage.getBarrierBit();
+        if (!this.visibleUsages.containsKey(key) || (this.visibleUsages.get(key) & bit) != 0 || (this.pendingBits & bit) != 0) {
+            this.barriersAvoided++;
+            return;
+        }
+        this.pendingBits |= bit;
+    }
+
+    /**
+     * Issues a single barrier covering every bit required since the last
+     * flush, if any.
+     */
+    public void flush() {
+        if (this.pendingBits == 0) {
+            return;
+        }
+        final int bits = this.pendingBits;
+        glMemoryBarrier(bits);
+        this.barriersIssued++;
+        this.bitsIssued |= bits;
+        this.pendingBits = 0;
+        this.visibleUsages.updateValues((final long key, final int visible) -> visible | bits);
+    }
+
+    /**
+     * Declares an access and immediately flushes, for use before a single
+     * consuming call such as an indirect draw.
+     */
+    public void prepare(final GPUResource resource,
+                        final BarrierUsage usage) {
+        require(resource, usage);
+        flush();
+    }
+
+    /**
+     * Stops tracking a resource, called by {@link GPUResource#release()} once
+     * its name may be reused.
+     */
+    public void forget(final GPUResource resource) {
+        this.visibleUsages.remove(key(resource));
+    }
+
+    public BarrierStatistics getStatistics() {
+        return new BarrierStatistics(
+                this.barriersIssued,
+                this.barriersAvoided,
+                this.bitsIssued
+        );
+    }
+
+    public void resetStatistics() {
+        this.barriersIssued = 0;
+        this.barriersAvoided = 0;
+        this.bitsIssued = 0;
+    }
+
+}
@@ -1,34 +1,75 @@
 package com.engineersbox.structuredgl.gpu.texture;
 
+import com.engineersbox.structuredgl.gpu.GLObjectType;
 import com.engineersbox.structuredgl.gpu.GPUResource;
 import org.joml.Vector3i;
 
+import org.lwjgl.system.MemoryUtil;
+
 import javax.annotation.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL11.glTexParameterf;
+import static org.lwjgl.opengl.GL14.*;
+import static org.lwjgl.opengl.GL21.GL_SRGB8;
+import static org.lwjgl.opengl.GL21.GL_SRGB8_ALPHA8;
+import static org.lwjgl.opengl.GL30.*;
 
 public abstract class MemoryTexture extends GPUResource {
 
+    private static final int MAX_LEVELS = 32;
+
     protected final TextureType type;
 
     private final Vector3i dimensions;
+    private final long[] levelFootprints;
+    private long footprint;
 
     protected MemoryTexture(final TextureType type) {
-        super.id = glGenTextures();
+        super(GLObjectType.TEXTURE);
         this.type = type;
         this.dimensions = new Vector3i();
+        this.levelFootprints = new long[MAX_LEVELS];
+        this.footprint = 0;
+    }
+
+    public void createTexImage(final int level,
+                               final int internalformat,
+                               final int[] dimensions,
+                               final int border,
+                               final int format,
+                               final int type,
+                               @Nullable final ByteBuffer pixels) {
+        createTexImage(
+                level,
+                internalformat,
+                dimensions,
+                border,
+                format,
+                type,
+                MemoryUtil.memAddressSafe(pixels)
+        );
     }
 
+    /**
+     * Specifies a level from texels at an off-heap address, such as a
+     * memory-mapped file or arena allocation, without copying through an
+     * intermediate buffer. The address must hold a full level in
+     * {@code format} and {@code type}, and is read as an offset instead
+     * while a pixel unpack buffer is bound.
+     *
+     * @param pixels Address of the texels, or 0 to leave the level undefined
+     */
     public abstract void createTexImage(final int level,
                                         final int internalformat,
                                         final int[] dimensions,
                                         final int border,
                                         final int format,
                                         final int type,
-                                        @Nullable final ByteBuffer pixels);
+                                        final long pixels);
 
     protected void setDimensions(final int[] dimensions) {
         this.dimensions.set(
@@ -38,6 +79,51 @@ public abstract class MemoryTexture extends GPUResource {
         );
     }
 
+    /**
+     * Records the size of a level specified with an uncompressed
+     * {@code internalformat}, one level of {@code dimensions} layers deep
+     * for array textures.
+     */
+    protected void recordLevel(final int level,
+                               final int internalformat,
+                               final int[] dimensions) {
+        long texels = 1;
+        for (final int dimension : dimensions) {
+            texels *= Math.max(1, dimension);
+        }
+        recordLevelBytes(level, texels * texelBytes(internalformat));
+    }
+
+    protected void recordLevelBytes(final int level,
+                                    final long bytes) {
+        this.footprint += bytes - this.levelFootprints[level];
+        this.levelFootprints[level] = bytes;
+    }
+
+    /**
+     * Three component formats are counted as four, matching how drivers
+     * store them, and unrecognised formats as four bytes per texel.
+     */
+    private static int texelBytes(final int internalformat) {
+        return switch (internalformat) {
+            case GL_R8, GL_RED, GL_STENCIL_INDEX8 -> 1;
+            case GL_RG8, GL_RG, GL_R16, GL_R16F, GL_DEPTH_COMPONENT16 -> 2;
+            case GL_RGBA16F, GL_RGB16F, GL_RGBA16, GL_RG32F, GL_RG32I, GL_RG32UI, GL_DEPTH32F_STENCIL8 -> 8;
+            case GL_RGBA32F, GL_RGB32F, GL_RGBA32I, GL_RGBA32UI -> 16;
+            default -> 4;
+        };
+    }
+
+    @Override
+    public long getFootprint() {
+        return this.footprint;
+    }
+
+    private void clearFootprint() {
+        Arrays.fill(this.levelFootprints, 0);
+        this.footprint = 0;
+    }
+
     public void setTexParameterf(final int paramName,
                                  final float value) {
         glTexParameterf(
@@ -72,13 +158,14 @@ public abstract class MemoryTexture extends GPUResource {
 
     @Override
     public void unbind() {
+        super.unbind();
         glBindTexture(this.type.glType(), 0);
     }
 
     @Override
-    public void destroy() {
-        super.destroy();
-        glDeleteTextures(super.id);
+    public int release() {
+        clearFootprint();
+        return super.release();
     }
 
 }
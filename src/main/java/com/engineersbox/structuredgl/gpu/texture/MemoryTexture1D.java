@@ -1,8 +1,5 @@
 package com.engineersbox.structuredgl.gpu.texture;
 
-import javax.annotation.Nullable;
-import java.nio.ByteBuffer;
-
 import static org.lwjgl.opengl.GL11.glTexImage1D;
 
 public class MemoryTexture1D extends MemoryTexture {
@@ -18,7 +15,7 @@ public class MemoryTexture1D extends MemoryTexture {
                                final int border,
                                final int format,
                                final int type,
-                               @Nullable final ByteBuffer pixels) {
+                               final long pixels) {
         if (dimensions.length != 1) {
             throw new IllegalArgumentException("Expected 1 dimension, got " + dimensions.length);
         }
@@ -33,5 +30,6 @@ public class MemoryTexture1D extends MemoryTexture {
                 pixels
         );
         super.setDimensions(dimensions);
+        super.recordLevel(level, internalformat, dimensions);
     }
 }
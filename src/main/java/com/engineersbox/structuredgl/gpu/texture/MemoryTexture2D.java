@@ -1,9 +1,11 @@
 package com.engineersbox.structuredgl.gpu.texture;
 
-import javax.annotation.Nullable;
+import org.lwjgl.system.MemoryUtil;
+
 import java.nio.ByteBuffer;
 
 import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL13.nglCompressedTexImage2D;
 
 public class MemoryTexture2D extends MemoryTexture {
 
@@ -18,7 +20,7 @@ public class MemoryTexture2D extends MemoryTexture {
                                final int border,
                                final int format,
                                final int type,
-                               @Nullable final ByteBuffer pixels) {
+                               final long pixels) {
         if (dimensions.length != 2) {
             throw new IllegalArgumentException("Expected 2 dimensions, got " + dimensions.length);
         }
@@ -34,6 +36,52 @@ public class MemoryTexture2D extends MemoryTexture {
                 pixels
         );
         super.setDimensions(dimensions);
+        super.recordLevel(level, internalformat, dimensions);
+    }
+
+    /**
+     * Specifies a level from data already encoded in {@code internalformat},
+     * such as a block compressed format. Dimensions are recorded for level 0.
+     */
+    public void createCompressedTexImage(final int level,
+                                         final int internalformat,
+                                         final int[] dimensions,
+                                         final ByteBuffer data) {
+        createCompressedTexImage(
+                level,
+                internalformat,
+                dimensions,
+                MemoryUtil.memAddress(data),
+                data.remaining()
+        );
+    }
+
+    /**
+     * Specifies a level from {@code size} encoded bytes at an off-heap
+     * address, without copying through an intermediate buffer.
+     */
+    public void createCompressedTexImage(final int level,
+                                         final int internalformat,
+                                         final int[] dimensions,
+                                         final long address,
+                                         final int size) {
+        if (dimensions.length != 2) {
+            throw new IllegalArgumentException("Expected 2 dimensions, got " + dimensions.length);
+        }
+        nglCompressedTexImage2D(
+                super.type.glType(),
+                level,
+                internalformat,
+                dimensions[0],
+                dimensions[1],
+                0,
+                size,
+                address
+        );
+        if (level == 0) {
+            super.setDimensions(dimensions);
+        }
+        super.recordLevelBytes(level, size);
     }
 
 }
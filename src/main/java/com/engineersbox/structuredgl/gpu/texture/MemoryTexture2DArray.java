@@ -0,0 +1,41 @@
+package com.engineersbox.structuredgl.gpu.texture;
+
+import static org.lwjgl.opengl.GL12.glTexImage3D;
+
+public class MemoryTexture2DArray extends MemoryTexture {
+
+    public MemoryTexture2DArray() {
+        super(TextureType.T2D_ARRAY);
+    }
+
+    /**
+     * @param dimensions Width, height and layer count
+     */
+    @Override
+    public void createTexImage(final int level,
+                               final int internalformat,
+                               final int[] dimensions,
+                               final int border,
+                               final int format,
+                               final int type,
+                               final long pixels) {
+        if (dimensions.length != 3) {
+            throw new IllegalArgumentException("Expected 3 dimensions, got " + dimensions.length);
+        }
+        glTexImage3D(
+                super.type.glType(),
+                level,
+                internalformat,
+                dimensions[0],
+                dimensions[1],
+                dimensions[2],
+                border,
+                format,
+                type,
+                pixels
+        );
+        super.setDimensions(dimensions);
+        super.recordLevel(level, internalformat, dimensions);
+    }
+
+}
@@ -1,8 +1,5 @@
 package com.engineersbox.structuredgl.gpu.texture;
 
-import javax.annotation.Nullable;
-import java.nio.ByteBuffer;
-
 import static org.lwjgl.opengl.GL12.glTexImage3D;
 
 public class MemoryTexture3D extends MemoryTexture {
@@ -18,7 +15,7 @@ public class MemoryTexture3D extends MemoryTexture {
                                final int border,
                                final int format,
                                final int type,
-                               @Nullable final ByteBuffer pixels) {
+                               final long pixels) {
         if (dimensions.length != 3) {
             throw new IllegalArgumentException("Expected 3 dimensions, got " + dimensions.length);
         }
@@ -35,6 +32,7 @@ public class MemoryTexture3D extends MemoryTexture {
                 pixels
         );
         super.setDimensions(dimensions);
+        super.recordLevel(level, internalformat, dimensions);
     }
 
 }
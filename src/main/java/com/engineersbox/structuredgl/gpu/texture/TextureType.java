@@ -1,13 +1,15 @@
 package com.engineersbox.structuredgl.gpu.texture;
 
-import static org.lwjgl.opengl.GL11.GL_TEXTURE;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_1D;
 import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
 import static org.lwjgl.opengl.GL12.GL_TEXTURE_3D;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_2D_ARRAY;
 
 public enum TextureType {
-    T1D(GL_TEXTURE),
+    T1D(GL_TEXTURE_1D),
     T2D(GL_TEXTURE_2D),
-    T3D(GL_TEXTURE_3D);
+    T3D(GL_TEXTURE_3D),
+    T2D_ARRAY(GL_TEXTURE_2D_ARRAY);
 
     private final int glType;
 
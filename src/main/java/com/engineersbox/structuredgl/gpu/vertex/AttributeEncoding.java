@@ -0,0 +1,108 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+import org.lwjgl.system.MemoryUtil;
+
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
+import static org.lwjgl.opengl.GL30.GL_HALF_FLOAT;
+import static org.lwjgl.opengl.GL33.GL_INT_2_10_10_10_REV;
+
+public enum AttributeEncoding {
+    FLOAT(GL_FLOAT, false, Float.BYTES) {
+        @Override
+        void encode(final float[] source,
+                    final int sourceIndex,
+                    final int components,
+                    final long address) {
+            for (int i = 0; i < components; i++) {
+                MemoryUtil.memPutFloat(address + ((long) i * Float.BYTES), source[sourceIndex + i]);
+            }
+        }
+    },
+    HALF_FLOAT(GL_HALF_FLOAT, false, Short.BYTES) {
+        @Override
+        void encode(final float[] source,
+                    final int sourceIndex,
+                    final int components,
+                    final long address) {
+            for (int i = 0; i < components; i++) {
+                MemoryUtil.memPutShort(address + ((long) i * Short.BYTES), Quantization.floatToHalf(source[sourceIndex + i]));
+            }
+        }
+    },
+    /**
+     * Unit normals as a 10 bit octahedral pair, source data has 3 components
+     * per vertex and the attribute is exposed to shaders as a vec4 to be
+     * decoded with {@link Quantization#OCTAHEDRAL_DECODE_GLSL}.
+     */
+    OCTAHEDRAL_INT_2_10_10_10_REV(GL_INT_2_10_10_10_REV, true, 0) {
+        @Override
+        void encode(final float[] source,
+                    final int sourceIndex,
+                    final int components,
+                    final long address) {
+            MemoryUtil.memPutInt(address, Quantization.packOctahedralInt2101010Rev(
+                    source[sourceIndex],
+                    source[sourceIndex + 1],
+                    source[sourceIndex + 2]
+            ));
+        }
+
+        @Override
+        public int byteSize(final int components) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int glSize(final int components) {
+            return 4;
+        }
+    },
+    /**
+     * Values clamped to [0, 1], suitable for UVs that do not wrap.
+     */
+    UNSIGNED_SHORT_NORM(GL_UNSIGNED_SHORT, true, Short.BYTES) {
+        @Override
+        void encode(final float[] source,
+                    final int sourceIndex,
+                    final int components,
+                    final long address) {
+            for (int i = 0; i < components; i++) {
+                MemoryUtil.memPutShort(address + ((long) i * Short.BYTES), Quantization.floatToUnorm16(source[sourceIndex + i]));
+            }
+        }
+    };
+
+    private final int glType;
+    private final boolean normalized;
+    private final int componentBytes;
+
+    AttributeEncoding(final int glType,
+                      final boolean normalized,
+                      final int componentBytes) {
+        this.glType = glType;
+        this.normalized = normalized;
+        this.componentBytes = componentBytes;
+    }
+
+    abstract void encode(final float[] source,
+                         final int sourceIndex,
+                         final int components,
+                         final long address);
+
+    public int glType() {
+        return this.glType;
+    }
+
+    public boolean isNormalized() {
+        return this.normalized;
+    }
+
+    public int byteSize(final int components) {
+        return this.componentBytes * components;
+    }
+
+    public int glSize(final int components) {
+        return components;
+    }
+}
@@ -0,0 +1,104 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+public class Quantization {
+
+    /**
+     * GLSL helper recovering a unit normal from the xy components of an
+     * {@link AttributeEncoding#OCTAHEDRAL_INT_2_10_10_10_REV} attribute.
+     */
+    public static final String OCTAHEDRAL_DECODE_GLSL = """
+            vec3 octahedralDecode(vec2 e) {
+                vec3 n = vec3(e.xy, 1.0 - abs(e.x) - abs(e.y));
+                if (n.z < 0.0) {
+                    n.xy = (1.0 - abs(n.yx)) * vec2(n.x >= 0.0 ? 1.0 : -1.0, n.y >= 0.0 ? 1.0 : -1.0);
+                }
+                return normalize(n);
+            }
+            """;
+
+    private static final int SNORM10_MAX = 511;
+    private static final int SNORM10_MASK = 0x3FF;
+    private static final int UNORM16_MAX = 0xFFFF;
+
+    private Quantization() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Converts to IEEE 754 binary16 with round-half-even, including
+     * subnormal results, saturating finite values beyond the half range
+     * rather than overflowing to infinity.
+     */
+    public static short floatToHalf(final float value) {
+        final int bits = Float.floatToRawIntBits(value);
+        final int sign = (bits >>> 16) & 0x8000;
+        final int magnitude = bits & 0x7FFFFFFF;
+        if (magnitude >= 0x7F800000) {
+            return (short) (sign | 0x7C00 | (magnitude > 0x7F800000 ? 0x200 : 0));
+        }
+        final int rounded = magnitude + 0x0FFF + ((magnitude >>> 13) & 1);
+        if (rounded >= 0x47800000) {
+            return (short) (sign | 0x7BFF);
+        }
+        if (rounded >= 0x38800000) {
+            return (short) (sign | ((rounded - 0x38000000) >>> 13));
+        }
+        if (magnitude < 0x33000000) {
+            return (short) sign;
+        }
+        // Subnormal, shift the explicit mantissa down with the same half-even bias as above
+        final int shift = 126 - (magnitude >>> 23);
+        final int mantissa = (bits & 0x7FFFFF) | 0x800000;
+        return (short) (sign | ((mantissa + ((1 << (shift - 1)) - 1) + ((mantissa >>> shift) & 1)) >>> shift));
+    }
+
+    public static short floatToUnorm16(final float value) {
+        final float clamped = Math.min(Math.max(value, 0.0f), 1.0f);
+        return (short) Math.round(clamped * UNORM16_MAX);
+    }
+
+    /**
+     * Maps a unit vector onto the octahedron and unfolds it into [-1, 1]^2.
+     *
+     * @return The encoded pair packed as {@code x} in the high and {@code y} in
+     * the low 32 bits of the float bit patterns
+     */
+    public static long octahedralEncode(final float x,
+                                        final float y,
+                                        final float z) {
+        final float invL1Norm = 1.0f / (Math.abs(x) + Math.abs(y) + Math.abs(z));
+        float u = x * invL1Norm;
+        float v = y * invL1Norm;
+        if (z < 0.0f) {
+            final float foldedU = (1.0f - Math.abs(v)) * signNotZero(u);
+            final float foldedV = (1.0f - Math.abs(u)) * signNotZero(v);
+            u = foldedU;
+            v = foldedV;
+        }
+        return ((long) Float.floatToRawIntBits(u) << 32) | (Float.floatToRawIntBits(v) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs a unit normal as an octahedral pair in the x and y fields of a
+     * signed normalised {@code GL_INT_2_10_10_10_REV} word, z and w are zero.
+     */
+    public static int packOctahedralInt2101010Rev(final float x,
+                                                  final float y,
+                                                  final float z) {
+        final long encoded = octahedralEncode(x, y, z);
+        final float u = Float.intBitsToFloat((int) (encoded >>> 32));
+        final float v = Float.intBitsToFloat((int) encoded);
+        return (floatToSnorm10(u) & SNORM10_MASK)
+                | ((floatToSnorm10(v) & SNORM10_MASK) << 10);
+    }
+
+    private static int floatToSnorm10(final float value) {
+        final float clamped = Math.min(Math.max(value, -1.0f), 1.0f);
+        return Math.round(clamped * SNORM10_MAX);
+    }
+
+    private static float signNotZero(final float value) {
+        return value >= 0.0f ? 1.0f : -1.0f;
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+import com.engineersbox.structuredgl.gpu.buffer.DataBuffer;
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+import com.engineersbox.structuredgl.gpu.buffer.VAO;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shares VAOs between meshes with the same {@link VertexFormat} and index
+ * buffer. Each VAO has its layout specified once with separate attribute
+ * formats, and only the vertex buffer is swapped per draw through
+ * {@code glBindVertexBuffer}, so meshes packed into a shared index buffer
+ * need a single VAO per format instead of one each.
+ * <p>
+ * The most recently bound VAO is left bound between calls to
+ * {@link #bind(VertexFormat, EBO, DataBuffer, long)} to skip redundant
+ * rebinds, {@link #unbind()} before binding other VAOs directly.
+ */
+public class VertexArrayCache {
+
+    public static final int VERTEX_BINDING = 0;
+
+    private final Map<Key, VAO> vaos;
+    private VAO bound;
+
+    public VertexArrayCache() {
+        this.vaos = new HashMap<>();
+        this.bound = null;
+    }
+
+    /**
+     * @param indices Element buffer to attach, or {@code null} for non-indexed draws
+     * @return The VAO for the pair, created on first use
+     */
+    public VAO get(final VertexFormat format,
+                   final EBO indices) {
+        return this.vaos.computeIfAbsent(
+                new Key(format, indices == null ? 0 : indices.getId()),
+                (final Key key) -> create(format, indices)
+        );
+    }
+
+    private VAO create(final VertexFormat format,
+                       final EBO indices) {
+        if (this.bound != null) {
+            this.bound.unbind();
+        }
+        final VAO vao = new VAO();
+        vao.bind();
+        format.applyFormat(VERTEX_BINDING);
+        vao.unbind();
+        vao.setElementBuffer(indices);
+        if (this.bound != null) {
+            this.bound.bind();
+        }
+        return vao;
+    }
+
+    /**
+     * Binds the VAO for {@code format} and {@code indices}, sourcing vertices
+     * from {@code vertices} starting at {@code offset} bytes.
+     *
+     * @return The bound VAO
+     */
+    public VAO bind(final VertexFormat format,
+                    final EBO indices,
+                    final DataBuffer vertices,
+                    final long offset) {
+        final VAO vao = get(format, indices);
+        if (vao != this.bound) {
+            if (this.bound != null) {
+                this.bound.unbind();
+            }
+            vao.bind();
+            this.bound = vao;
+        }
+        vao.bindVertexBuffer(VERTEX_BINDING, vertices, offset, format.getStride());
+        return vao;
+    }
+
+    public VAO bind(final VertexFormat format,
+                    final EBO indices,
+                    final DataBuffer vertices) {
+        return bind(format, indices, vertices, 0);
+    }
+
+    public void unbind() {
+        if (this.bound == null) {
+            return;
+        }
+        this.bound.unbind();
+        this.bound = null;
+    }
+
+    /**
+     * Destroys every VAO referencing {@code indices}, call before destroying it.
+     */
+    public void evict(final EBO indices) {
+        final Iterator<Map.Entry<Key, VAO>> iterator = this.vaos.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, VAO> entry = iterator.next();
+            if (entry.getKey().indices() != indices.getId()) {
+                continue;
+            }
+            if (entry.getValue() == this.bound) {
+                unbind();
+            }
+            entry.getValue().destroy();
+            iterator.remove();
+        }
+    }
+
+    public int size() {
+        return this.vaos.size();
+    }
+
+    public void destroy() {
+        unbind();
+        this.vaos.values().forEach(VAO::destroy);
+        this.vaos.clear();
+    }
+
+    private record Key(VertexFormat format,
+                       int indices) {
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+public record VertexAttribute(int location,
+                              int components,
+                              AttributeEncoding encoding) {
+
+    public VertexAttribute {
+        if (components < 1 || components > 4) {
+            throw new IllegalArgumentException("Vertex attributes must have between 1 and 4 components, got " + components);
+        } else if (encoding == AttributeEncoding.OCTAHEDRAL_INT_2_10_10_10_REV && components != 3) {
+            throw new IllegalArgumentException("Octahedral normals expect 3 source components, got " + components);
+        }
+    }
+
+    public VertexAttribute(final int location,
+                           final int components) {
+        this(location, components, AttributeEncoding.FLOAT);
+    }
+
+    public int byteSize() {
+        return this.encoding.byteSize(this.components);
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+import com.engineersbox.structuredgl.gpu.buffer.VBO;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL43.glVertexAttribBinding;
+import static org.lwjgl.opengl.GL43.glVertexAttribFormat;
+
+/**
+ * Declarative interleaved vertex layout. Attribute offsets are padded to 4
+ * byte boundaries as GL implementations expect, and the stride is the sum of
+ * the padded attribute sizes.
+ */
+public final class VertexFormat {
+
+    private static final int ATTRIBUTE_ALIGNMENT = 4;
+    private static final int PARALLEL_CHUNK_VERTICES = 16384;
+
+    private final List<VertexAttribute> attributes;
+    private final int[] offsets;
+    private final int stride;
+    private final int hash;
+
+    public VertexFormat(final VertexAttribute... attributes) {
+        this(List.of(attributes));
+    }
+
+    public VertexFormat(final List<VertexAttribute> attributes) {
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("Vertex format requires at least one attribute");
+        }
+        this.attributes = List.copyOf(attributes);
+        this.offsets = new int[this.attributes.size()];
+        int offset = 0;
+        for (int i = 0; i < this.offsets.length; i++) {
+            this.offsets[i] = offset;
+            offset += align(this.attributes.get(i).byteSize());
+        }
+        this.stride = offset;
+        this.hash = this.attributes.hashCode();
+    }
+
+    private static int align(final int bytes) {
+        return (bytes + ATTRIBUTE_ALIGNMENT - 1) & -ATTRIBUTE_ALIGNMENT;
+    }
+
+    /**
+     * Encodes separate per-attribute arrays into a single interleaved off-heap
+     * buffer, splitting large meshes across the common fork-join pool. The
+     * caller owns the returned buffer and must free it with
+     * {@link MemoryUtil#memFree(java.nio.Buffer)}.
+     *
+     * @param sources One array per attribute in declaration order, each holding
+     *                {@code vertexCount * components} floats
+     */
+    public ByteBuffer interleave(final int vertexCount,
+                                 final float[]... sources) {
+        if (sources.length != this.attributes.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d attribute arrays, got %d",
+                    this.attributes.size(),
+                    sources.length
+            ));
+        }
+        for (int i = 0; i < sources.length; i++) {
+            final int required = vertexCount * this.attributes.get(i).components();
+            if (sources[i].length < required) {
+                throw new IllegalArgumentException(String.format(
+                        "Attribute %d requires %d values, got %d",
+                        i,
+                        required,
+                        sources[i].length
+                ));
+            }
+        }
+        // Zeroed so padding between attributes is deterministic in uploads and cache files
+        final ByteBuffer buffer = MemoryUtil.memCalloc(vertexCount * this.stride);
+        final long address = MemoryUtil.memAddress(buffer);
+        final int chunks = (vertexCount + PARALLEL_CHUNK_VERTICES - 1) / PARALLEL_CHUNK_VERTICES;
+        IntStream chunkStream = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkStream = chunkStream.parallel();
+        }
+        chunkStream.forEach((final int chunk) -> encodeRange(
+                address,
+                chunk * PARALLEL_CHUNK_VERTICES,
+                Math.min(vertexCount, (chunk + 1) * PARALLEL_CHUNK_VERTICES),
+                sources
+        ));
+        return buffer;
+    }
+
+    private void encodeRange(final long address,
+                             final int start,
+                             final int end,
+                             final float[][] sources) {
+        for (int vertex = start; vertex < end; vertex++) {
+            final long vertexAddress = address + ((long) vertex * this.stride);
+            for (int i = 0; i < this.offsets.length; i++) {
+                final VertexAttribute attribute = this.attributes.get(i);
+                attribute.encoding().encode(
+                        sources[i],
+                        vertex * attribute.components(),
+                        attribute.components(),
+                        vertexAddress + this.offsets[i]
+                );
+            }
+        }
+    }
+
+    /**
+     * Enables and points every attribute at the given buffer. The target VAO
+     * must be bound.
+     */
+    public void apply(final VBO vbo,
+                      final long baseOffset) {
+        vbo.bind();
+        for (int i = 0; i < this.offsets.length; i++) {
+            final VertexAttribute attribute = this.attributes.get(i);
+            vbo.enableAttributeAndPointer(
+                    attribute.location(),
+                    attribute.encoding().glSize(attribute.components()),
+                    attribute.encoding().glType(),
+                    attribute.encoding().isNormalized(),
+                    this.stride,
+                    (int) (baseOffset + this.offsets[i])
+            );
+        }
+        vbo.unbind();
+    }
+
+    public void apply(final VBO vbo) {
+        apply(vbo, 0);
+    }
+
+    /**
+     * Specifies every attribute's format relative to the vertex buffer
+     * binding point {@code bindingIndex}, without baking in a buffer. The
+     * buffer is then swapped with
+     * {@link com.engineersbox.structuredgl.gpu.buffer.VAO#bindVertexBuffer}
+     * using {@link #getStride()}. The target VAO must be bound.
+     */
+    public void applyFormat(final int bindingIndex) {
+        for (int i = 0; i < this.offsets.length; i++) {
+            final VertexAttribute attribute = this.attributes.get(i);
+            glEnableVertexAttribArray(attribute.location());
+            glVertexAttribFormat(
+                    attribute.location(),
+                    attribute.encoding().glSize(attribute.components()),
+                    attribute.encoding().glType(),
+                    attribute.encoding().isNormalized(),
+                    this.offsets[i]
+            );
+            glVertexAttribBinding(attribute.location(), bindingIndex);
+        }
+    }
+
+    /**
+     * Layout fingerprint that, unlike {@link #hashCode()}, is stable across
+     * runs and therefore safe to persist alongside data encoded with this format.
+     */
+    public long signature() {
+        long signature = 1125899906842597L;
+        for (final VertexAttribute attribute : this.attributes) {
+            signature = (31 * signature) + attribute.location();
+            signature = (31 * signature) + attribute.components();
+            signature = (31 * signature) + attribute.encoding().name().hashCode();
+        }
+        return signature;
+    }
+
+    public List<VertexAttribute> getAttributes() {
+        return this.attributes;
+    }
+
+    public int getOffset(final int attributeIndex) {
+        return this.offsets[attributeIndex];
+    }
+
+    public int getStride() {
+        return this.stride;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof VertexFormat format
+                && this.hash == format.hash
+                && this.attributes.equals(format.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.engineersbox.structuredgl.memory;
+
+/**
+ * @param chunks        Chunks reserved by the arena
+ * @param reservedBytes Off-heap bytes held across all chunks
+ * @param usedBytes     Bytes allocated since the last reset, including alignment padding
+ * @param peakBytes     Most bytes in use at once since statistics were reset
+ */
+public record ArenaStatistics(int chunks,
+                              long reservedBytes,
+                              long usedBytes,
+                              long peakBytes) {
+}
@@ -0,0 +1,241 @@
+package com.engineersbox.structuredgl.memory;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bump pointer allocator over off-heap chunks for data that only lives
+ * within a frame, such as uniform arrays and buffer uploads staged from
+ * heap arrays. Unlike {@link org.lwjgl.system.MemoryStack} the arena grows
+ * by chunks instead of overflowing, so large skinning palettes or vertex
+ * arrays can be staged without a per-call {@code malloc}.
+ * <p>
+ * Each thread allocates from its own arena, obtained with {@link #current()}.
+ * {@link com.engineersbox.structuredgl.gpu.sync.FrameContext#beginFrame()}
+ * resets the arena of the thread beginning the frame, so memory that thread
+ * allocates during a frame stays valid until its next frame begins. Arenas of
+ * other threads, such as loaders, are never reset by it. Callers that only
+ * need memory for the duration of a call should {@link #mark()} and
+ * {@link #rewind(long)} around it, keeping the arena bounded when no frames
+ * are running.
+ * <p>
+ * Chunks of the configured size are kept across frames and only freed by
+ * {@link #trim()} or {@link #free()}. Chunks grown for a single allocation
+ * larger than the chunk size are reused after a rewind but freed on
+ * {@link #reset()}, so one spike does not stay reserved for the arena's lifetime.
+ */
+public class FrameArena {
+
+    public static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("structuredgl.arena.chunkSize", 1 << 20);
+    public static final int DEFAULT_ALIGNMENT = 16;
+
+    private static final ThreadLocal<FrameArena> ARENAS = ThreadLocal.withInitial(FrameArena::new);
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks;
+    private int chunkIndex;
+    private long chunkAddress;
+    private long chunkCapacity;
+    private long offset;
+    private long consumedBefore;
+    private long peakBytes;
+
+    public FrameArena(final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Chunk size must be positive, got %d",
+                    chunkSize
+            ));
+        }
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayList<>();
+        this.peakBytes = 0;
+        reset();
+    }
+
+    public FrameArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @return The arena of the calling thread
+     */
+    public static FrameArena current() {
+        return ARENAS.get();
+    }
+
+    /**
+     * Frees the arena of the calling thread, for threads that are about to
+     * terminate. A later {@link #current()} on the thread creates a new one.
+     */
+    public static void releaseCurrent() {
+        ARENAS.get().free();
+        ARENAS.remove();
+    }
+
+    /**
+     * @param alignment Power of two alignment of the returned address
+     * @return Address of {@code size} uninitialised bytes
+     */
+    public long allocate(final long size,
+                         final int alignment) {
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Alignment must be a power of two, got %d",
+                    alignment
+            ));
+        } else if (size < 0 || size > Integer.MAX_VALUE - alignment) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot allocate %d bytes from an arena",
+                    size
+            ));
+        }
+        long start = alignedOffset(alignment);
+        if (this.chunkIndex < 0 || start + size > this.chunkCapacity) {
+            nextChunk(size + alignment - 1);
+            start = alignedOffset(alignment);
+        }
+        this.offset = start + size;
+        this.peakBytes = Math.max(this.peakBytes, this.consumedBefore + this.offset);
+        return this.chunkAddress + start;
+    }
+
+    private long alignedOffset(final int alignment) {
+        final long address = this.chunkAddress + this.offset;
+        return ((address + alignment - 1) & -alignment) - this.chunkAddress;
+    }
+
+    private void nextChunk(final long required) {
+        final int next = this.chunkIndex + 1;
+        if (next < this.chunks.size() && isOversized(this.chunks.get(next)) && this.chunks.get(next).capacity() < required) {
+            // Nothing live lies past the current chunk, so a smaller oversized chunk is replaced rather than kept
+            MemoryUtil.memFree(this.chunks.remove(next));
+        }
+        if (next == this.chunks.size() || this.chunks.get(next).capacity() < required) {
+            // Inserted rather than replacing the next regular chunk, which is reused next frame
+            this.chunks.add(next, MemoryUtil.memAlloc((int) Math.max(this.chunkSize, required)));
+        }
+        this.consumedBefore += this.chunkCapacity;
+        selectChunk(next);
+        this.offset = 0;
+    }
+
+    private boolean isOversized(final ByteBuffer chunk) {
+        return chunk.capacity() > this.chunkSize;
+    }
+
+    private void selectChunk(final int index) {
+        this.chunkIndex = index;
+        if (index < 0) {
+            this.chunkAddress = 0;
+            this.chunkCapacity = 0;
+            return;
+        }
+        final ByteBuffer chunk = this.chunks.get(index);
+        this.chunkAddress = MemoryUtil.memAddress(chunk);
+        this.chunkCapacity = chunk.capacity();
+    }
+
+    public ByteBuffer malloc(final int size) {
+        return MemoryUtil.memByteBuffer(allocate(size, DEFAULT_ALIGNMENT), size);
+    }
+
+    public ShortBuffer mallocShort(final int count) {
+        return MemoryUtil.memShortBuffer(allocate((long) count * Short.BYTES, DEFAULT_ALIGNMENT), count);
+    }
+
+    public IntBuffer mallocInt(final int count) {
+        return MemoryUtil.memIntBuffer(allocate((long) count * Integer.BYTES, DEFAULT_ALIGNMENT), count);
+    }
+
+    public LongBuffer mallocLong(final int count) {
+        return MemoryUtil.memLongBuffer(allocate((long) count * Long.BYTES, DEFAULT_ALIGNMENT), count);
+    }
+
+    public FloatBuffer mallocFloat(final int count) {
+        return MemoryUtil.memFloatBuffer(allocate((long) count * Float.BYTES, DEFAULT_ALIGNMENT), count);
+    }
+
+    public DoubleBuffer mallocDouble(final int count) {
+        return MemoryUtil.memDoubleBuffer(allocate((long) count * Double.BYTES, DEFAULT_ALIGNMENT), count);
+    }
+
+    /**
+     * @return Current position, to {@link #rewind(long)} to once allocations
+     *         made after it are no longer needed
+     */
+    public long mark() {
+        return ((long) (this.chunkIndex + 1) << Integer.SIZE) | this.offset;
+    }
+
+    /**
+     * Releases everything allocated after {@code mark}. If the arena was
+     * reset since the mark was taken, at most the allocations made since the
+     * reset are released.
+     */
+    public void rewind(final long mark) {
+        if (Long.compareUnsigned(mark, mark()) >= 0) {
+            return;
+        }
+        selectChunk((int) (mark >>> Integer.SIZE) - 1);
+        this.offset = mark & OFFSET_MASK;
+        this.consumedBefore = 0;
+        for (int i = 0; i < this.chunkIndex; i++) {
+            this.consumedBefore += this.chunks.get(i).capacity();
+        }
+    }
+
+    /**
+     * Releases every allocation, keeping the regular chunks for reuse and
+     * freeing chunks grown for oversized allocations.
+     */
+    public void reset() {
+        selectChunk(-1);
+        this.offset = 0;
+        this.consumedBefore = 0;
+        this.chunks.removeIf((final ByteBuffer chunk) -> {
+            if (!isOversized(chunk)) {
+                return false;
+            }
+            MemoryUtil.memFree(chunk);
+            return true;
+        });
+    }
+
+    /**
+     * Frees the chunks after the one currently allocated from, after a spike
+     * in usage that is not expected to recur.
+     */
+    public void trim() {
+        while (this.chunks.size() > this.chunkIndex + 1) {
+            MemoryUtil.memFree(this.chunks.remove(this.chunks.size() - 1));
+        }
+    }
+
+    public void free() {
+        reset();
+        trim();
+    }
+
+    public ArenaStatistics getStatistics() {
+        long reserved = 0;
+        for (final ByteBuffer chunk : this.chunks) {
+            reserved += chunk.capacity();
+        }
+        return new ArenaStatistics(
+                this.chunks.size(),
+                reserved,
+                this.consumedBefore + this.offset,
+                this.peakBytes
+        );
+    }
+
+    public void resetStatistics() {
+        this.peakBytes = this.consumedBefore + this.offset;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.engineersbox.structuredgl.mesh;
+
+/**
+ * FIFO post-transform vertex cache model, as implemented by most GPUs.
+ */
+class CacheSimulator {
+
+    private final int[] timestamps;
+    private final int cacheSize;
+    private int time;
+
+    CacheSimulator(final int vertexCount,
+                   final int cacheSize) {
+        this.timestamps = new int[vertexCount];
+        this.cacheSize = cacheSize;
+        this.time = 0;
+        reset();
+    }
+
+    /**
+     * Evicts every vertex in O(1) by advancing time past the cache window.
+     */
+    void reset() {
+        this.time += this.cacheSize + 1;
+    }
+
+    /**
+     * @return 1 if the vertex missed the cache and was transformed, 0 otherwise
+     */
+    int access(final int vertex) {
+        if (this.time - this.timestamps[vertex] > this.cacheSize) {
+            this.timestamps[vertex] = this.time++;
+            return 1;
+        }
+        return 0;
+    }
+
+    int accessTriangle(final int[] indices,
+                       final int triangle) {
+        final int base = triangle * 3;
+        return access(indices[base]) + access(indices[base + 1]) + access(indices[base + 2]);
+    }
+
+    static double acmr(final int[] indices,
+                       final int vertexCount,
+                       final int cacheSize) {
+        final int triangles = indices.length / 3;
+        if (triangles == 0) {
+            return 0.0;
+        }
+        final CacheSimulator simulator = new CacheSimulator(vertexCount, cacheSize);
+        int misses = 0;
+        for (int i = 0; i < triangles; i++) {
+            misses += simulator.accessTriangle(indices, i);
+        }
+        return (double) misses / triangles;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.engineersbox.structuredgl.mesh;
+
+import com.engineersbox.structuredgl.gpu.buffer.EBO;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
+
+/**
+ * Index buffer contents stored at the narrowest width able to address every
+ * vertex, {@code GL_UNSIGNED_SHORT} where 16 bits suffice.
+ */
+public final class IndexData {
+
+    private static final int MAX_SHORT_INDEXED_VERTICES = 1 << 16;
+
+    private final short[] shortIndices;
+    private final int[] intIndices;
+
+    private IndexData(final short[] shortIndices,
+                      final int[] intIndices) {
+        this.shortIndices = shortIndices;
+        this.intIndices = intIndices;
+    }
+
+    public static IndexData narrow(final int[] indices,
+                                   final int vertexCount) {
+        if (vertexCount > MAX_SHORT_INDEXED_VERTICES) {
+            return new IndexData(null, indices);
+        }
+        final short[] narrowed = new short[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            narrowed[i] = (short) indices[i];
+        }
+        return new IndexData(narrowed, null);
+    }
+
+    public int count() {
+        return this.shortIndices != null ? this.shortIndices.length : this.intIndices.length;
+    }
+
+    public int get(final int index) {
+        return this.shortIndices != null ? Short.toUnsignedInt(this.shortIndices[index]) : this.intIndices[index];
+    }
+
+    /**
+     * @return {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}, for use as the draw call index type
+     */
+    public int glType() {
+        return this.shortIndices != null ? GL_UNSIGNED_SHORT : GL_UNSIGNED_INT;
+    }
+
+    /**
+     * @return Size in bytes of a single index
+     */
+    public int indexSize() {
+        return this.shortIndices != null ? Short.BYTES : Integer.BYTES;
+    }
+
+    public int byteSize() {
+        return this.shortIndices != null ? this.shortIndices.length * Short.BYTES : this.intIndices.length * Integer.BYTES;
+    }
+
+    /**
+     * Writes every index at its stored width starting from the buffer's
+     * current position, advancing it by {@link #byteSize()}.
+     */
+    public void put(final ByteBuffer buffer) {
+        if (this.shortIndices != null) {
+            buffer.asShortBuffer().put(this.shortIndices);
+        } else {
+            buffer.asIntBuffer().put(this.intIndices);
+        }
+        buffer.position(buffer.position() + byteSize());
+    }
+
+    /**
+     * Uploads to the given element buffer, which must be bound.
+     */
+    public void upload(final EBO ebo,
+                       final int usage) {
+        if (this.shortIndices != null) {
+            ebo.setData(this.shortIndices, usage);
+        } else {
+            ebo.setData(this.intIndices, usage);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.List;
+
+/**
+ * All levels of detail for one mesh sharing a single vertex buffer and a
+ * single index buffer, finest level first. Bounds are in object space and
+ * are used to project level error to the screen.
+ */
+public record LodChain(float[] vertices,
+                       int vertexStride,
+                       IndexData indices,
+                       List<LodLevel> levels,
+                       float boundsCentreX,
+                       float boundsCentreY,
+                       float boundsCentreZ,
+                       float boundsRadius) {
+
+    public int vertexCount() {
+        return this.vertices.length / this.vertexStride;
+    }
+
+    public int levelCount() {
+        return this.levels.size();
+    }
+
+    public LodLevel level(final int level) {
+        return this.levels.get(level);
+    }
+
+    /**
+     * @return Byte offset of the level within the index buffer, for use as the draw call index offset
+     */
+    public long indexByteOffset(final int level) {
+        return (long) this.levels.get(level).firstIndex() * this.indices.indexSize();
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds a level of detail chain per mesh with quadric error simplification.
+ * Each level is simplified from the previous one towards a fraction of the
+ * full triangle count, cache optimised, and appended to a single index buffer
+ * so every level is drawn from the same vertex and index buffers by range.
+ * Generation stops early once simplification no longer makes progress.
+ */
+public class LodGenerator {
+
+    public static final float[] DEFAULT_TRIANGLE_RATIOS = new float[]{1.0f, 0.5f, 0.25f, 0.125f};
+    public static final float DEFAULT_MAX_ERROR = Float.MAX_VALUE;
+
+    private static final float MIN_LEVEL_REDUCTION = 0.9f;
+
+    private final float[] triangleRatios;
+    private final float maxError;
+    private final int positionOffset;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param triangleRatios Target triangle count of each level as a fraction of the full mesh, descending
+     * @param maxError Largest object-space error any level may introduce
+     * @param positionOffset Offset in floats of the xyz position within each vertex
+     * @param pool Pool used by {@link #generateAll(List)}
+     */
+    public LodGenerator(final float[] triangleRatios,
+                        final float maxError,
+                        final int positionOffset,
+                        final ForkJoinPool pool) {
+        if (triangleRatios.length == 0 || triangleRatios[0] != 1.0f) {
+            throw new IllegalArgumentException("Triangle ratios must start with 1.0 for the full detail level");
+        }
+        for (int i = 1; i < triangleRatios.length; i++) {
+            if (triangleRatios[i] <= 0.0f || triangleRatios[i] >= triangleRatios[i - 1]) {
+                throw new IllegalArgumentException(String.format(
+                        "Triangle ratios must be positive and strictly descending, got %s",
+                        Arrays.toString(triangleRatios)
+                ));
+            }
+        }
+        this.triangleRatios = triangleRatios.clone();
+        this.maxError = maxError;
+        this.positionOffset = positionOffset;
+        this.pool = pool;
+    }
+
+    public LodGenerator() {
+        this(DEFAULT_TRIANGLE_RATIOS, DEFAULT_MAX_ERROR, 0, ForkJoinPool.commonPool());
+    }
+
+    public LodChain generate(final MeshData mesh) {
+        if (mesh.vertexStride() < this.positionOffset + 3) {
+            throw new IllegalArgumentException(String.format(
+                    "Vertex stride %d cannot hold a position at offset %d",
+                    mesh.vertexStride(),
+                    this.positionOffset
+            ));
+        }
+        final MeshData welded = VertexWelder.weld(mesh);
+        final MeshSimplifier simplifier = new MeshSimplifier(
+                welded.vertices(),
+                welded.vertexStride(),
+                this.positionOffset,
+                welded.indices()
+        );
+        final List<int[]> levelIndices = new ArrayList<>(this.triangleRatios.length);
+        final List<Float> levelErrors = new ArrayList<>(this.triangleRatios.length);
+        int[] previous = VertexCacheOptimiser.optimise(welded.indices(), welded.vertexCount());
+        float error = 0.0f;
+        levelIndices.add(previous);
+        levelErrors.add(error);
+        for (int level = 1; level < this.triangleRatios.length; level++) {
+            final int targetIndexCount = Math.max(3, Math.round(welded.triangleCount() * this.triangleRatios[level]) * 3);
+            final MeshSimplifier.Result result = simplifier.simplify(previous, targetIndexCount, this.maxError - error);
+            if (result.indices().length == 0 || result.indices().length > previous.length * MIN_LEVEL_REDUCTION) {
+                break;
+            }
+            // Each level is simplified from the last, so errors accumulate as an upper bound
+            error += result.error();
+            previous = VertexCacheOptimiser.optimise(result.indices(), welded.vertexCount());
+            levelIndices.add(previous);
+            levelErrors.add(error);
+        }
+        int totalIndices = 0;
+        for (final int[] indices : levelIndices) {
+            totalIndices += indices.length;
+        }
+        final int[] combined = new int[totalIndices];
+        final List<LodLevel> levels = new ArrayList<>(levelIndices.size());
+        int firstIndex = 0;
+        for (int level = 0; level < levelIndices.size(); level++) {
+            final int[] indices = levelIndices.get(level);
+            System.arraycopy(indices, 0, combined, firstIndex, indices.length);
+            levels.add(new LodLevel(firstIndex, indices.length, levelErrors.get(level)));
+            firstIndex += indices.length;
+        }
+        // The full detail level comes first and references every vertex, so
+        // fetch order follows it and coarser levels use a subset
+        final MeshData fetched = VertexFetchOptimiser.optimise(new MeshData(
+                welded.vertices(),
+                welded.vertexStride(),
+                combined
+        ));
+        final float[] bounds = bounds(fetched);
+        return new LodChain(
+                fetched.vertices(),
+                fetched.vertexStride(),
+                IndexData.narrow(fetched.indices(), fetched.vertexCount()),
+                List.copyOf(levels),
+                bounds[0],
+                bounds[1],
+                bounds[2],
+                bounds[3]
+        );
+    }
+
+    private float[] bounds(final MeshData mesh) {
+        final float[] vertices = mesh.vertices();
+        final int stride = mesh.vertexStride();
+        final float[] min = new float[]{Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+        final float[] max = new float[]{Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (int vertex = 0; vertex < mesh.vertexCount(); vertex++) {
+            final int p = (vertex * stride) + this.positionOffset;
+            for (int axis = 0; axis < 3; axis++) {
+                min[axis] = Math.min(min[axis], vertices[p + axis]);
+                max[axis] = Math.max(max[axis], vertices[p + axis]);
+            }
+        }
+        if (mesh.vertexCount() == 0) {
+            return new float[4];
+        }
+        final float cx = (min[0] + max[0]) * 0.5f;
+        final float cy = (min[1] + max[1]) * 0.5f;
+        final float cz = (min[2] + max[2]) * 0.5f;
+        float radiusSquared = 0.0f;
+        for (int vertex = 0; vertex < mesh.vertexCount(); vertex++) {
+            final int p = (vertex * stride) + this.positionOffset;
+            final float dx = vertices[p] - cx;
+            final float dy = vertices[p + 1] - cy;
+            final float dz = vertices[p + 2] - cz;
+            radiusSquared = Math.max(radiusSquared, (dx * dx) + (dy * dy) + (dz * dz));
+        }
+        return new float[]{cx, cy, cz, (float) Math.sqrt(radiusSquared)};
+    }
+
+    public List<LodChain> generateAll(final List<MeshData> meshes) {
+        final LodChain[] results = new LodChain[meshes.size()];
+        this.pool.invoke(new GenerateTask(meshes, results, 0, meshes.size()));
+        return Arrays.asList(results);
+    }
+
+    private final class GenerateTask extends RecursiveAction {
+
+        private final List<MeshData> meshes;
+        private final LodChain[] results;
+        private final int start;
+        private final int end;
+
+        private GenerateTask(final List<MeshData> meshes,
+                             final LodChain[] results,
+                             final int start,
+                             final int end) {
+            this.meshes = meshes;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= 1) {
+                if (this.start < this.end) {
+                    this.results[this.start] = generate(this.meshes.get(this.start));
+                }
+                return;
+            }
+            final int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                    new GenerateTask(this.meshes, this.results, this.start, middle),
+                    new GenerateTask(this.meshes, this.results, middle, this.end)
+            );
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.engineersbox.structuredgl.mesh;
+
+/**
+ * A range of a shared index buffer holding one level of detail.
+ *
+ * @param firstIndex Offset in indices from the start of the buffer
+ * @param indexCount Number of indices in the level
+ * @param error Object-space simplification error relative to the full detail mesh
+ */
+public record LodLevel(int firstIndex,
+                       int indexCount,
+                       float error) {
+
+    public int triangleCount() {
+        return this.indexCount / 3;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Chooses a level of detail per instance by projecting each level's
+ * object-space error onto the screen and taking the coarsest level whose
+ * projected error stays within a pixel threshold.
+ */
+public class LodSelector {
+
+    public static final float DEFAULT_PIXEL_THRESHOLD = 1.0f;
+
+    private final float pixelThreshold;
+    private float projectionScale;
+
+    /**
+     * @param verticalFov Vertical field of view in radians
+     * @param viewportHeight Viewport height in pixels
+     * @param pixelThreshold Largest projected error in pixels accepted for a level
+     */
+    public LodSelector(final float verticalFov,
+                       final int viewportHeight,
+                       final float pixelThreshold) {
+        if (pixelThreshold <= 0.0f) {
+            throw new IllegalArgumentException("Pixel threshold must be positive, got " + pixelThreshold);
+        }
+        this.pixelThreshold = pixelThreshold;
+        setProjection(verticalFov, viewportHeight);
+    }
+
+    public LodSelector(final float verticalFov,
+                       final int viewportHeight) {
+        this(verticalFov, viewportHeight, DEFAULT_PIXEL_THRESHOLD);
+    }
+
+    /**
+     * Updates the projection after a viewport resize or field of view change.
+     */
+    public void setProjection(final float verticalFov,
+                              final int viewportHeight) {
+        this.projectionScale = viewportHeight / (2.0f * (float) Math.tan(verticalFov * 0.5f));
+    }
+
+    /**
+     * @param distance Distance from the camera to the nearest point of the instance bounds
+     * @param scale Largest axis scale of the instance transform
+     * @return Index of the level to draw
+     */
+    public int select(final LodChain chain,
+                      final float distance,
+                      final float scale) {
+        if (distance <= 0.0f) {
+            return 0;
+        }
+        final float pixelsPerUnit = (scale * this.projectionScale) / distance;
+        int selected = 0;
+        for (int level = 1; level < chain.levelCount(); level++) {
+            if (chain.level(level).error() * pixelsPerUnit > this.pixelThreshold) {
+                break;
+            }
+            selected = level;
+        }
+        return selected;
+    }
+
+    public int select(final LodChain chain,
+                      final Vector3fc cameraPosition,
+                      final Matrix4fc transform) {
+        return select(chain, cameraPosition, transform, new Vector3f());
+    }
+
+    /**
+     * Selects a level for each instance transform, writing level indices to
+     * {@code levels}.
+     */
+    public void selectAll(final LodChain chain,
+                          final Vector3fc cameraPosition,
+                          final Matrix4fc[] transforms,
+                          final int count,
+                          final int[] levels) {
+        final Vector3f scratch = new Vector3f();
+        for (int i = 0; i < count; i++) {
+            levels[i] = select(chain, cameraPosition, transforms[i], scratch);
+        }
+    }
+
+    private int select(final LodChain chain,
+                       final Vector3fc cameraPosition,
+                       final Matrix4fc transform,
+                       final Vector3f scratch) {
+        transform.getScale(scratch);
+        final float scale = Math.max(scratch.x, Math.max(scratch.y, scratch.z));
+        transform.transformPosition(
+                chain.boundsCentreX(),
+                chain.boundsCentreY(),
+                chain.boundsCentreZ(),
+                scratch
+        );
+        final float distance = scratch.distance(cameraPosition) - (chain.boundsRadius() * scale);
+        return select(chain, distance, scale);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.engineersbox.structuredgl.mesh;
+
+/**
+ * Indexed triangle list with interleaved float vertices.
+ *
+ * @param vertices Interleaved vertex data, {@code vertexStride} floats per vertex
+ * @param vertexStride Number of floats per vertex
+ * @param indices Triangle list indices
+ */
+public record MeshData(float[] vertices,
+                       int vertexStride,
+                       int[] indices) {
+
+    public MeshData {
+        if (vertexStride <= 0 || vertices.length % vertexStride != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Vertex data of length %d is not a multiple of stride %d",
+                    vertices.length,
+                    vertexStride
+            ));
+        } else if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("Index count must be a multiple of 3, got " + indices.length);
+        }
+    }
+
+    public int vertexCount() {
+        return this.vertices.length / this.vertexStride;
+    }
+
+    public int triangleCount() {
+        return this.indices.length / 3;
+    }
+
+}
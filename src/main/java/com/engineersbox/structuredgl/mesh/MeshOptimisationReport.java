@@ -0,0 +1,15 @@
+package com.engineersbox.structuredgl.mesh;
+
+/**
+ * Average cache miss ratio (ACMR) is the number of post-transform cache misses
+ * per triangle for a FIFO cache of {@code cacheSize} entries, ranging from 0.5
+ * for an ideal regular grid to 3.0 for no reuse at all.
+ */
+public record MeshOptimisationReport(int verticesBefore,
+                                     int verticesAfter,
+                                     int triangles,
+                                     int cacheSize,
+                                     double acmrBefore,
+                                     double acmrAfter,
+                                     int indexType) {
+}
@@ -0,0 +1,129 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pre-upload mesh processing: duplicate vertex welding, post-transform vertex
+ * cache optimisation, overdraw ordering, vertex fetch reordering and index
+ * narrowing, in that order. Each mesh is processed independently, so batches
+ * are spread across a fork-join pool.
+ */
+public class MeshOptimiser {
+
+    public static final int DEFAULT_CACHE_SIZE = 16;
+    public static final float DEFAULT_OVERDRAW_THRESHOLD = 1.05f;
+
+    private final int cacheSize;
+    private final float overdrawThreshold;
+    private final int positionOffset;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param cacheSize FIFO cache size used for overdraw clustering and ACMR reporting
+     * @param overdrawThreshold Maximum ACMR degradation accepted by overdraw ordering, 1.0 to disable it
+     * @param positionOffset Offset in floats of the xyz position within each vertex
+     * @param pool Pool used by {@link #optimiseAll(List)}
+     */
+    public MeshOptimiser(final int cacheSize,
+                         final float overdrawThreshold,
+                         final int positionOffset,
+                         final ForkJoinPool pool) {
+        if (cacheSize < 3) {
+            throw new IllegalArgumentException("Cache size must be at least 3, got " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.overdrawThreshold = overdrawThreshold;
+        this.positionOffset = positionOffset;
+        this.pool = pool;
+    }
+
+    public MeshOptimiser() {
+        this(DEFAULT_CACHE_SIZE, DEFAULT_OVERDRAW_THRESHOLD, 0, ForkJoinPool.commonPool());
+    }
+
+    public OptimisedMesh optimise(final MeshData mesh) {
+        if (mesh.vertexStride() < this.positionOffset + 3) {
+            throw new IllegalArgumentException(String.format(
+                    "Vertex stride %d cannot hold a position at offset %d",
+                    mesh.vertexStride(),
+                    this.positionOffset
+            ));
+        }
+        final double acmrBefore = CacheSimulator.acmr(mesh.indices(), mesh.vertexCount(), this.cacheSize);
+        final MeshData welded = VertexWelder.weld(mesh);
+        int[] indices = VertexCacheOptimiser.optimise(welded.indices(), welded.vertexCount());
+        if (this.overdrawThreshold > 1.0f) {
+            indices = OverdrawOptimiser.optimise(
+                    indices,
+                    welded.vertices(),
+                    welded.vertexStride(),
+                    this.positionOffset,
+                    this.cacheSize,
+                    this.overdrawThreshold
+            );
+        }
+        final MeshData fetched = VertexFetchOptimiser.optimise(new MeshData(
+                welded.vertices(),
+                welded.vertexStride(),
+                indices
+        ));
+        final IndexData indexData = IndexData.narrow(fetched.indices(), fetched.vertexCount());
+        return new OptimisedMesh(
+                fetched.vertices(),
+                fetched.vertexStride(),
+                indexData,
+                new MeshOptimisationReport(
+                        mesh.vertexCount(),
+                        fetched.vertexCount(),
+                        fetched.triangleCount(),
+                        this.cacheSize,
+                        acmrBefore,
+                        CacheSimulator.acmr(fetched.indices(), fetched.vertexCount(), this.cacheSize),
+                        indexData.glType()
+                )
+        );
+    }
+
+    public List<OptimisedMesh> optimiseAll(final List<MeshData> meshes) {
+        final OptimisedMesh[] results = new OptimisedMesh[meshes.size()];
+        this.pool.invoke(new OptimiseTask(meshes, results, 0, meshes.size()));
+        return Arrays.asList(results);
+    }
+
+    private final class OptimiseTask extends RecursiveAction {
+
+        private final List<MeshData> meshes;
+        private final OptimisedMesh[] results;
+        private final int start;
+        private final int end;
+
+        private OptimiseTask(final List<MeshData> meshes,
+                             final OptimisedMesh[] results,
+                             final int start,
+                             final int end) {
+            this.meshes = meshes;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= 1) {
+                if (this.start < this.end) {
+                    this.results[this.start] = optimise(this.meshes.get(this.start));
+                }
+                return;
+            }
+            final int middle = (this.start + this.end) >>> 1;
+            invokeAll(
+                    new OptimiseTask(this.meshes, this.results, this.start, middle),
+                    new OptimiseTask(this.meshes, this.results, middle, this.end)
+            );
+        }
+    }
+
+}
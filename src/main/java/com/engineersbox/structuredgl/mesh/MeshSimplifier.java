@@ -0,0 +1,312 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Quadric error metric simplification (Garland and Heckbert) restricted to
+ * half-edge collapses, so the simplified index buffer still references the
+ * original vertex buffer and every level of detail can share it.
+ * <p>
+ * Vertices on open boundaries and on attribute seams (several vertices at the
+ * same position) are locked so silhouettes and texture mapping survive.
+ */
+public class MeshSimplifier {
+
+    /**
+     * @param indices Simplified triangle list referencing the original vertices
+     * @param error Largest object-space error introduced, as a distance
+     */
+    public record Result(int[] indices,
+                         float error) {
+    }
+
+    private static final int QUADRIC_SIZE = 10;
+    private static final float MIN_FLIP_DOT = 0.0f;
+
+    private final float[] vertices;
+    private final int stride;
+    private final int positionOffset;
+    private final int vertexCount;
+    private final boolean[] locked;
+
+    /**
+     * @param positionOffset Offset in floats of the xyz position within each vertex
+     */
+    public MeshSimplifier(final float[] vertices,
+                          final int stride,
+                          final int positionOffset,
+                          final int[] sourceIndices) {
+        this.vertices = vertices;
+        this.stride = stride;
+        this.positionOffset = positionOffset;
+        this.vertexCount = vertices.length / stride;
+        this.locked = findLockedVertices(sourceIndices);
+    }
+
+    private boolean[] findLockedVertices(final int[] indices) {
+        final boolean[] lockedVertices = new boolean[this.vertexCount];
+        final int[] canonical = VertexWelder.canonicalVertices(this.vertices, this.stride, this.positionOffset, 3);
+        for (int vertex = 0; vertex < this.vertexCount; vertex++) {
+            if (canonical[vertex] != vertex) {
+                lockedVertices[vertex] = true;
+                lockedVertices[canonical[vertex]] = true;
+            }
+        }
+        final LongIntHashMap edgeCounts = new LongIntHashMap(indices.length);
+        for (int i = 0; i < indices.length; i += 3) {
+            for (int k = 0; k < 3; k++) {
+                edgeCounts.addToValue(edgeKey(indices[i + k], indices[i + ((k + 1) % 3)]), 1);
+            }
+        }
+        edgeCounts.forEachKeyValue((final long edge, final int count) -> {
+            if (count == 1) {
+                lockedVertices[(int) (edge >>> 32)] = true;
+                lockedVertices[(int) edge] = true;
+            }
+        });
+        return lockedVertices;
+    }
+
+    private static long edgeKey(final int a,
+                                final int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    /**
+     * Collapses edges in order of increasing quadric error until the index
+     * count reaches {@code targetIndexCount} or the next collapse would exceed
+     * {@code maxError}.
+     */
+    public Result simplify(final int[] sourceIndices,
+                           final int targetIndexCount,
+                           final float maxError) {
+        int[] indices = sourceIndices.clone();
+        int indexCount = indices.length;
+        final double[] quadrics = computeQuadrics(indices, indexCount);
+        final int[] remap = new int[this.vertexCount];
+        for (int vertex = 0; vertex < this.vertexCount; vertex++) {
+            remap[vertex] = vertex;
+        }
+        final double maxCost = (double) maxError * maxError;
+        float error = 0.0f;
+        while (indexCount > targetIndexCount) {
+            final int triangleCount = indexCount / 3;
+            final int[] offsets = new int[this.vertexCount + 1];
+            final int[] adjacency = buildAdjacency(indices, indexCount, offsets);
+
+            final int candidateCount = indexCount;
+            final int[] from = new int[candidateCount];
+            final int[] to = new int[candidateCount];
+            final double[] costs = new double[candidateCount];
+            final long[] order = new long[candidateCount];
+            int candidates = 0;
+            for (int t = 0; t < triangleCount; t++) {
+                for (int k = 0; k < 3; k++) {
+                    final int a = indices[(t * 3) + k];
+                    final int b = indices[(t * 3) + ((k + 1) % 3)];
+                    final double costAB = this.locked[a] ? Double.POSITIVE_INFINITY : collapseCost(quadrics, a, b);
+                    final double costBA = this.locked[b] ? Double.POSITIVE_INFINITY : collapseCost(quadrics, b, a);
+                    final double cost = Math.max(0.0, Math.min(costAB, costBA));
+                    if (cost > maxCost) {
+                        continue;
+                    }
+                    from[candidates] = costAB <= costBA ? a : b;
+                    to[candidates] = costAB <= costBA ? b : a;
+                    costs[candidates] = cost;
+                    order[candidates] = ((long) Float.floatToIntBits((float) cost) << 32) | candidates;
+                    candidates++;
+                }
+            }
+            if (candidates == 0) {
+                break;
+            }
+            Arrays.sort(order, 0, candidates);
+
+            // Each collapse removes two triangles on a closed manifold, so stop
+            // the pass once enough have been scheduled to reach the target
+            final int collapseBudget = Math.max(1, ((indexCount - targetIndexCount) / 3) / 2);
+            final boolean[] touched = new boolean[this.vertexCount];
+            int collapsed = 0;
+            for (int i = 0; i < candidates && collapsed < collapseBudget; i++) {
+                final int candidate = (int) order[i];
+                final int source = from[candidate];
+                final int target = to[candidate];
+                if (touched[source] || touched[target] || flips(indices, adjacency, offsets, source, target)) {
+                    continue;
+                }
+                remap[source] = target;
+                for (int q = 0; q < QUADRIC_SIZE; q++) {
+                    quadrics[(target * QUADRIC_SIZE) + q] += quadrics[(source * QUADRIC_SIZE) + q];
+                }
+                touched[source] = true;
+                touched[target] = true;
+                for (int j = offsets[source]; j < offsets[source + 1]; j++) {
+                    final int triangle = adjacency[j];
+                    for (int k = 0; k < 3; k++) {
+                        touched[indices[(triangle * 3) + k]] = true;
+                    }
+                }
+                error = Math.max(error, (float) Math.sqrt(costs[candidate]));
+                collapsed++;
+            }
+            if (collapsed == 0) {
+                break;
+            }
+            int write = 0;
+            for (int i = 0; i < indexCount; i += 3) {
+                final int a = remap[indices[i]];
+                final int b = remap[indices[i + 1]];
+                final int c = remap[indices[i + 2]];
+                if (a == b || b == c || a == c) {
+                    continue;
+                }
+                indices[write++] = a;
+                indices[write++] = b;
+                indices[write++] = c;
+            }
+            indexCount = write;
+        }
+        return new Result(Arrays.copyOf(indices, indexCount), error);
+    }
+
+    private int[] buildAdjacency(final int[] indices,
+                                 final int indexCount,
+                                 final int[] offsets) {
+        for (int i = 0; i < indexCount; i++) {
+            offsets[indices[i] + 1]++;
+        }
+        for (int vertex = 0; vertex < this.vertexCount; vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
+        }
+        final int[] fill = Arrays.copyOf(offsets, this.vertexCount);
+        final int[] adjacency = new int[indexCount];
+        for (int i = 0; i < indexCount; i++) {
+            adjacency[fill[indices[i]]++] = i / 3;
+        }
+        return adjacency;
+    }
+
+    private double[] computeQuadrics(final int[] indices,
+                                     final int indexCount) {
+        final double[] quadrics = new double[this.vertexCount * QUADRIC_SIZE];
+        for (int i = 0; i < indexCount; i += 3) {
+            final int p0 = position(indices[i]);
+            final int p1 = position(indices[i + 1]);
+            final int p2 = position(indices[i + 2]);
+            final double e1x = this.vertices[p1] - this.vertices[p0];
+            final double e1y = this.vertices[p1 + 1] - this.vertices[p0 + 1];
+            final double e1z = this.vertices[p1 + 2] - this.vertices[p0 + 2];
+            final double e2x = this.vertices[p2] - this.vertices[p0];
+            final double e2y = this.vertices[p2 + 1] - this.vertices[p0 + 1];
+            final double e2z = this.vertices[p2 + 2] - this.vertices[p0 + 2];
+            double nx = (e1y * e2z) - (e1z * e2y);
+            double ny = (e1z * e2x) - (e1x * e2z);
+            double nz = (e1x * e2y) - (e1y * e2x);
+            final double length = Math.sqrt((nx * nx) + (ny * ny) + (nz * nz));
+            if (length == 0.0) {
+                continue;
+            }
+            nx /= length;
+            ny /= length;
+            nz /= length;
+            final double d = -((nx * this.vertices[p0]) + (ny * this.vertices[p0 + 1]) + (nz * this.vertices[p0 + 2]));
+            for (int k = 0; k < 3; k++) {
+                final int q = indices[i + k] * QUADRIC_SIZE;
+                quadrics[q] += nx * nx;
+                quadrics[q + 1] += nx * ny;
+                quadrics[q + 2] += nx * nz;
+                quadrics[q + 3] += nx * d;
+                quadrics[q + 4] += ny * ny;
+                quadrics[q + 5] += ny * nz;
+                quadrics[q + 6] += ny * d;
+                quadrics[q + 7] += nz * nz;
+                quadrics[q + 8] += nz * d;
+                quadrics[q + 9] += d * d;
+            }
+        }
+        return quadrics;
+    }
+
+    /**
+     * Error of moving {@code source} onto {@code target}, evaluating the
+     * combined quadric at the target position.
+     */
+    private double collapseCost(final double[] quadrics,
+                                final int source,
+                                final int target) {
+        final int qs = source * QUADRIC_SIZE;
+        final int qt = target * QUADRIC_SIZE;
+        final int p = position(target);
+        final double x = this.vertices[p];
+        final double y = this.vertices[p + 1];
+        final double z = this.vertices[p + 2];
+        final double a = quadrics[qs] + quadrics[qt];
+        final double b = quadrics[qs + 1] + quadrics[qt + 1];
+        final double c = quadrics[qs + 2] + quadrics[qt + 2];
+        final double d = quadrics[qs + 3] + quadrics[qt + 3];
+        final double e = quadrics[qs + 4] + quadrics[qt + 4];
+        final double f = quadrics[qs + 5] + quadrics[qt + 5];
+        final double g = quadrics[qs + 6] + quadrics[qt + 6];
+        final double h = quadrics[qs + 7] + quadrics[qt + 7];
+        final double i = quadrics[qs + 8] + quadrics[qt + 8];
+        final double j = quadrics[qs + 9] + quadrics[qt + 9];
+        return (x * ((a * x) + (2 * b * y) + (2 * c * z) + (2 * d)))
+                + (y * ((e * y) + (2 * f * z) + (2 * g)))
+                + (z * ((h * z) + (2 * i)))
+                + j;
+    }
+
+    /**
+     * Whether moving {@code source} onto {@code target} would flip any
+     * triangle around {@code source} that survives the collapse.
+     */
+    private boolean flips(final int[] indices,
+                          final int[] adjacency,
+                          final int[] offsets,
+                          final int source,
+                          final int target) {
+        for (int j = offsets[source]; j < offsets[source + 1]; j++) {
+            final int triangle = adjacency[j] * 3;
+            final int a = indices[triangle];
+            final int b = indices[triangle + 1];
+            final int c = indices[triangle + 2];
+            if (a == target || b == target || c == target) {
+                continue;
+            }
+            final float[] before = normal(a, b, c, -1, -1);
+            final float[] after = normal(a, b, c, source, target);
+            if ((before[0] * after[0]) + (before[1] * after[1]) + (before[2] * after[2]) <= MIN_FLIP_DOT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private float[] normal(final int a,
+                           final int b,
+                           final int c,
+                           final int replaced,
+                           final int replacement) {
+        final int p0 = position(a == replaced ? replacement : a);
+        final int p1 = position(b == replaced ? replacement : b);
+        final int p2 = position(c == replaced ? replacement : c);
+        final float e1x = this.vertices[p1] - this.vertices[p0];
+        final float e1y = this.vertices[p1 + 1] - this.vertices[p0 + 1];
+        final float e1z = this.vertices[p1 + 2] - this.vertices[p0 + 2];
+        final float e2x = this.vertices[p2] - this.vertices[p0];
+        final float e2y = this.vertices[p2 + 1] - this.vertices[p0 + 1];
+        final float e2z = this.vertices[p2 + 2] - this.vertices[p0 + 2];
+        return new float[]{
+                (e1y * e2z) - (e1z * e2y),
+                (e1z * e2x) - (e1x * e2z),
+                (e1x * e2y) - (e1y * e2x)
+        };
+    }
+
+    private int position(final int vertex) {
+        return (vertex * this.stride) + this.positionOffset;
+    }
+
+}
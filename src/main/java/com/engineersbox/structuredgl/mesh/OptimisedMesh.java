@@ -0,0 +1,12 @@
+package com.engineersbox.structuredgl.mesh;
+
+public record OptimisedMesh(float[] vertices,
+                            int vertexStride,
+                            IndexData indices,
+                            MeshOptimisationReport report) {
+
+    public int vertexCount() {
+        return this.vertices.length / this.vertexStride;
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Reorders clusters of a cache optimised index buffer so that outward facing
+ * clusters are drawn first, letting early depth testing reject more of the
+ * fragments behind them. Clusters are only split where doing so keeps the
+ * ACMR within {@code threshold} times that of the original ordering.
+ */
+class OverdrawOptimiser {
+
+    private OverdrawOptimiser() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static int[] optimise(final int[] indices,
+                          final float[] vertices,
+                          final int stride,
+                          final int positionOffset,
+                          final int cacheSize,
+                          final float threshold) {
+        final int triangleCount = indices.length / 3;
+        if (triangleCount == 0) {
+            return indices.clone();
+        }
+        final int vertexCount = vertices.length / stride;
+        final int[] clusters = splitClusters(indices, vertexCount, cacheSize, threshold);
+        final int clusterCount = clusters.length - 1;
+
+        final float[] meshCentroid = new float[3];
+        float meshArea = 0.0f;
+        final float[] clusterData = new float[clusterCount * 6];
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            float clusterArea = 0.0f;
+            final int data = cluster * 6;
+            for (int t = clusters[cluster]; t < clusters[cluster + 1]; t++) {
+                final int p0 = (indices[t * 3] * stride) + positionOffset;
+                final int p1 = (indices[(t * 3) + 1] * stride) + positionOffset;
+                final int p2 = (indices[(t * 3) + 2] * stride) + positionOffset;
+                final float e1x = vertices[p1] - vertices[p0];
+                final float e1y = vertices[p1 + 1] - vertices[p0 + 1];
+                final float e1z = vertices[p1 + 2] - vertices[p0 + 2];
+                final float e2x = vertices[p2] - vertices[p0];
+                final float e2y = vertices[p2 + 1] - vertices[p0 + 1];
+                final float e2z = vertices[p2 + 2] - vertices[p0 + 2];
+                final float nx = (e1y * e2z) - (e1z * e2y);
+                final float ny = (e1z * e2x) - (e1x * e2z);
+                final float nz = (e1x * e2y) - (e1y * e2x);
+                final float area = (float) Math.sqrt((nx * nx) + (ny * ny) + (nz * nz));
+                for (int axis = 0; axis < 3; axis++) {
+                    final float centroid = (vertices[p0 + axis] + vertices[p1 + axis] + vertices[p2 + axis]) / 3.0f;
+                    clusterData[data + axis] += centroid * area;
+                    meshCentroid[axis] += centroid * area;
+                }
+                clusterData[data + 3] += nx;
+                clusterData[data + 4] += ny;
+                clusterData[data + 5] += nz;
+                clusterArea += area;
+            }
+            meshArea += clusterArea;
+            final float inverseArea = clusterArea == 0.0f ? 0.0f : 1.0f / clusterArea;
+            for (int axis = 0; axis < 3; axis++) {
+                clusterData[data + axis] *= inverseArea;
+            }
+        }
+        final float inverseMeshArea = meshArea == 0.0f ? 0.0f : 1.0f / meshArea;
+        for (int axis = 0; axis < 3; axis++) {
+            meshCentroid[axis] *= inverseMeshArea;
+        }
+
+        final long[] sortKeys = new long[clusterCount];
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            final int data = cluster * 6;
+            final float nx = clusterData[data + 3];
+            final float ny = clusterData[data + 4];
+            final float nz = clusterData[data + 5];
+            final float length = (float) Math.sqrt((nx * nx) + (ny * ny) + (nz * nz));
+            final float inverseLength = length == 0.0f ? 0.0f : 1.0f / length;
+            final float dot = (((clusterData[data] - meshCentroid[0]) * nx)
+                    + ((clusterData[data + 1] - meshCentroid[1]) * ny)
+                    + ((clusterData[data + 2] - meshCentroid[2]) * nz)) * inverseLength;
+            // Descending by dot product, the cluster index breaks ties and rides along in the low bits
+            sortKeys[cluster] = ((long) sortableBits(-dot) << 32) | cluster;
+        }
+        Arrays.sort(sortKeys);
+
+        final int[] output = new int[indices.length];
+        int outputIndex = 0;
+        for (final long key : sortKeys) {
+            final int cluster = (int) key;
+            final int start = clusters[cluster] * 3;
+            final int length = (clusters[cluster + 1] * 3) - start;
+            System.arraycopy(indices, start, output, outputIndex, length);
+            outputIndex += length;
+        }
+        return output;
+    }
+
+    /**
+     * @return Cluster start triangles, terminated by the triangle count
+     */
+    private static int[] splitClusters(final int[] indices,
+                                       final int vertexCount,
+                                       final int cacheSize,
+                                       final float threshold) {
+        final int triangleCount = indices.length / 3;
+        final CacheSimulator simulator = new CacheSimulator(vertexCount, cacheSize);
+        // Hard boundaries, where a triangle shares nothing with the cache and
+        // reordering cannot cost any reuse
+        final IntArrayList hard = new IntArrayList();
+        for (int t = 0; t < triangleCount; t++) {
+            if (simulator.accessTriangle(indices, t) == 3) {
+                hard.add(t);
+            }
+        }
+        if (hard.isEmpty() || hard.get(0) != 0) {
+            hard.addAtIndex(0, 0);
+        }
+        hard.add(triangleCount);
+
+        final IntArrayList clusters = new IntArrayList();
+        for (int h = 0; h < hard.size() - 1; h++) {
+            final int start = hard.get(h);
+            final int end = hard.get(h + 1);
+            simulator.reset();
+            int clusterMisses = 0;
+            for (int t = start; t < end; t++) {
+                clusterMisses += simulator.accessTriangle(indices, t);
+            }
+            final float clusterThreshold = threshold * clusterMisses / (end - start);
+            clusters.add(start);
+            simulator.reset();
+            int softStart = start;
+            int softMisses = 0;
+            for (int t = start; t < end - 1; t++) {
+                softMisses += simulator.accessTriangle(indices, t);
+                if ((float) softMisses / (t + 1 - softStart) <= clusterThreshold) {
+                    clusters.add(t + 1);
+                    softStart = t + 1;
+                    softMisses = 0;
+                    simulator.reset();
+                }
+            }
+        }
+        clusters.add(triangleCount);
+        return clusters.toArray();
+    }
+
+    private static int sortableBits(final float value) {
+        final int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Tom Forsyth's linear-speed vertex cache optimisation. Greedily emits the
+ * triangle with the highest score, where a vertex scores higher the more
+ * recently it was used and the fewer triangles still reference it.
+ */
+class VertexCacheOptimiser {
+
+    static final int CACHE_SIZE = 32;
+
+    private static final float CACHE_DECAY_POWER = 1.5f;
+    private static final float LAST_TRIANGLE_SCORE = 0.75f;
+    private static final float VALENCE_BOOST_SCALE = 2.0f;
+    private static final float VALENCE_BOOST_POWER = 0.5f;
+    private static final int VALENCE_TABLE_SIZE = 64;
+    private static final float[] CACHE_POSITION_SCORES = new float[CACHE_SIZE];
+    private static final float[] VALENCE_SCORES = new float[VALENCE_TABLE_SIZE];
+
+    static {
+        for (int position = 0; position < CACHE_SIZE; position++) {
+            if (position < 3) {
+                CACHE_POSITION_SCORES[position] = LAST_TRIANGLE_SCORE;
+                continue;
+            }
+            final float scaler = 1.0f / (CACHE_SIZE - 3);
+            CACHE_POSITION_SCORES[position] = (float) Math.pow(1.0f - ((position - 3) * scaler), CACHE_DECAY_POWER);
+        }
+        for (int valence = 1; valence < VALENCE_TABLE_SIZE; valence++) {
+            VALENCE_SCORES[valence] = valenceScore(valence);
+        }
+    }
+
+    private VertexCacheOptimiser() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static int[] optimise(final int[] indices,
+                          final int vertexCount) {
+        final int triangleCount = indices.length / 3;
+        if (triangleCount == 0) {
+            return indices.clone();
+        }
+        // Vertex to triangle adjacency in CSR form, the first remaining[v]
+        // entries of each range are the triangles not yet emitted
+        final int[] remaining = new int[vertexCount];
+        for (final int index : indices) {
+            remaining[index]++;
+        }
+        final int[] offsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] = offsets[v] + remaining[v];
+        }
+        final int[] adjacency = new int[indices.length];
+        final int[] fill = Arrays.copyOf(offsets, vertexCount);
+        for (int i = 0; i < indices.length; i++) {
+            adjacency[fill[indices[i]]++] = i / 3;
+        }
+
+        final int[] cachePosition = new int[vertexCount];
+        Arrays.fill(cachePosition, -1);
+        final float[] vertexScore = new float[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexScore[v] = score(-1, remaining[v]);
+        }
+        final float[] triangleScore = new float[triangleCount];
+        int bestTriangle = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            triangleScore[t] = vertexScore[indices[t * 3]]
+                    + vertexScore[indices[(t * 3) + 1]]
+                    + vertexScore[indices[(t * 3) + 2]];
+            if (triangleScore[t] > triangleScore[bestTriangle]) {
+                bestTriangle = t;
+            }
+        }
+
+        final boolean[] emitted = new boolean[triangleCount];
+        int[] cache = new int[CACHE_SIZE + 3];
+        int[] nextCache = new int[CACHE_SIZE + 3];
+        int cacheCount = 0;
+        final int[] output = new int[indices.length];
+        int outputIndex = 0;
+        int scanCursor = 0;
+        while (bestTriangle >= 0) {
+            emitted[bestTriangle] = true;
+            final int base = bestTriangle * 3;
+            int nextCount = 0;
+            for (int k = 0; k < 3; k++) {
+                final int vertex = indices[base + k];
+                output[outputIndex++] = vertex;
+                removeTriangle(adjacency, offsets[vertex], remaining[vertex]--, bestTriangle);
+                nextCache[nextCount++] = vertex;
+            }
+            for (int i = 0; i < cacheCount; i++) {
+                final int vertex = cache[i];
+                if (vertex != indices[base] && vertex != indices[base + 1] && vertex != indices[base + 2]) {
+                    nextCache[nextCount++] = vertex;
+                }
+            }
+            for (int i = CACHE_SIZE; i < nextCount; i++) {
+                cachePosition[nextCache[i]] = -1;
+                rescore(nextCache[i], -1, remaining, offsets, adjacency, vertexScore, triangleScore);
+            }
+            cacheCount = Math.min(nextCount, CACHE_SIZE);
+            final int[] swap = cache;
+            cache = nextCache;
+            nextCache = swap;
+
+            bestTriangle = -1;
+            float bestScore = -1.0f;
+            for (int i = 0; i < cacheCount; i++) {
+                final int vertex = cache[i];
+                cachePosition[vertex] = i;
+                rescore(vertex, i, remaining, offsets, adjacency, vertexScore, triangleScore);
+            }
+            for (int i = 0; i < cacheCount; i++) {
+                final int vertex = cache[i];
+                for (int j = offsets[vertex], end = offsets[vertex] + remaining[vertex]; j < end; j++) {
+                    final int triangle = adjacency[j];
+                    if (triangleScore[triangle] > bestScore) {
+                        bestScore = triangleScore[triangle];
+                        bestTriangle = triangle;
+                    }
+                }
+            }
+            if (bestTriangle < 0) {
+                while (scanCursor < triangleCount && emitted[scanCursor]) {
+                    scanCursor++;
+                }
+                bestTriangle = scanCursor < triangleCount ? scanCursor : -1;
+            }
+        }
+        return output;
+    }
+
+    private static void removeTriangle(final int[] adjacency,
+                                       final int start,
+                                       final int count,
+                                       final int triangle) {
+        final int last = start + count - 1;
+        for (int j = start; j <= last; j++) {
+            if (adjacency[j] == triangle) {
+                adjacency[j] = adjacency[last];
+                adjacency[last] = triangle;
+                return;
+            }
+        }
+    }
+
+    private static void rescore(final int vertex,
+                                final int position,
+                                final int[] remaining,
+                                final int[] offsets,
+                                final int[] adjacency,
+                                final float[] vertexScore,
+                                final float[] triangleScore) {
+        final float updated = score(position, remaining[vertex]);
+        final float delta = updated - vertexScore[vertex];
+        if (delta == 0.0f) {
+            return;
+        }
+        vertexScore[vertex] = updated;
+        for (int j = offsets[vertex], end = offsets[vertex] + remaining[vertex]; j < end; j++) {
+            triangleScore[adjacency[j]] += delta;
+        }
+    }
+
+    private static float score(final int position,
+                               final int remainingValence) {
+        if (remainingValence == 0) {
+            return -1.0f;
+        }
+        final float cacheScore = position >= 0 ? CACHE_POSITION_SCORES[position] : 0.0f;
+        return cacheScore + (remainingValence < VALENCE_TABLE_SIZE
+                ? VALENCE_SCORES[remainingValence]
+                : valenceScore(remainingValence));
+    }
+
+    private static float valenceScore(final int remainingValence) {
+        return VALENCE_BOOST_SCALE * (float) Math.pow(remainingValence, -VALENCE_BOOST_POWER);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Reorders vertices into the order the index buffer first references them,
+ * so vertex fetch walks memory linearly. Unreferenced vertices are dropped.
+ */
+class VertexFetchOptimiser {
+
+    private VertexFetchOptimiser() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static MeshData optimise(final MeshData mesh) {
+        final int stride = mesh.vertexStride();
+        final int[] remap = new int[mesh.vertexCount()];
+        Arrays.fill(remap, -1);
+        final int[] indices = new int[mesh.indices().length];
+        int next = 0;
+        for (int i = 0; i < indices.length; i++) {
+            final int vertex = mesh.indices()[i];
+            if (remap[vertex] < 0) {
+                remap[vertex] = next++;
+            }
+            indices[i] = remap[vertex];
+        }
+        final float[] vertices = new float[next * stride];
+        for (int vertex = 0; vertex < remap.length; vertex++) {
+            if (remap[vertex] >= 0) {
+                System.arraycopy(mesh.vertices(), vertex * stride, vertices, remap[vertex] * stride, stride);
+            }
+        }
+        return new MeshData(vertices, stride, indices);
+    }
+
+}
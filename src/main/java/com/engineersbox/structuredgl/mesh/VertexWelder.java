@@ -0,0 +1,102 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Merges bitwise identical vertices using an open addressing hash table over
+ * the vertex data itself, so no per-vertex key objects are allocated.
+ */
+class VertexWelder {
+
+    private static final int EMPTY = -1;
+
+    private VertexWelder() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static MeshData weld(final MeshData mesh) {
+        final float[] vertices = mesh.vertices();
+        final int stride = mesh.vertexStride();
+        final int[] canonical = canonicalVertices(vertices, stride, 0, stride);
+        final int[] remap = new int[canonical.length];
+        final float[] welded = new float[vertices.length];
+        int unique = 0;
+        for (int vertex = 0; vertex < canonical.length; vertex++) {
+            if (canonical[vertex] == vertex) {
+                System.arraycopy(vertices, vertex * stride, welded, unique * stride, stride);
+                remap[vertex] = unique++;
+            } else {
+                remap[vertex] = remap[canonical[vertex]];
+            }
+        }
+        final int[] indices = new int[mesh.indices().length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = remap[mesh.indices()[i]];
+        }
+        return new MeshData(
+                Arrays.copyOf(welded, unique * stride),
+                stride,
+                indices
+        );
+    }
+
+    /**
+     * Maps each vertex to the first vertex whose {@code length} floats starting
+     * at {@code offset} are bitwise identical to its own.
+     */
+    static int[] canonicalVertices(final float[] vertices,
+                                   final int stride,
+                                   final int offset,
+                                   final int length) {
+        final int vertexCount = vertices.length / stride;
+        final int tableSize = Integer.highestOneBit(Math.max(2, (vertexCount * 2) - 1)) << 1;
+        final int mask = tableSize - 1;
+        final int[] table = new int[tableSize];
+        Arrays.fill(table, EMPTY);
+        final int[] canonical = new int[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            final int vertexOffset = (vertex * stride) + offset;
+            int slot = hash(vertices, vertexOffset, length) & mask;
+            while (true) {
+                final int candidate = table[slot];
+                if (candidate == EMPTY) {
+                    table[slot] = vertex;
+                    canonical[vertex] = vertex;
+                    break;
+                } else if (equal(vertices, (candidate * stride) + offset, vertices, vertexOffset, length)) {
+                    canonical[vertex] = candidate;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return canonical;
+    }
+
+    private static int hash(final float[] data,
+                            final int offset,
+                            final int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = (31 * hash) + Float.floatToRawIntBits(data[offset + i]);
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static boolean equal(final float[] a,
+                                 final int aOffset,
+                                 final float[] b,
+                                 final int bOffset,
+                                 final int length) {
+        for (int i = 0; i < length; i++) {
+            if (Float.floatToRawIntBits(a[aOffset + i]) != Float.floatToRawIntBits(b[bOffset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.engineersbox.structuredgl.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 
@@ -25,4 +26,21 @@ public class FileUtils {
         }
     }
 
+    public static String readResource(final String path) {
+        try (final InputStream stream = FileUtils.class.getClassLoader().getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new RuntimeException(String.format(
+                        "No classpath resource at %s",
+                        path
+                ));
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new RuntimeException(String.format(
+                    "Unable to read data from classpath resource %s",
+                    path
+            ), e);
+        }
+    }
+
 }
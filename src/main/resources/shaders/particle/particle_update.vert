@@ -0,0 +1,55 @@
+#version 330 core
+
+layout(location = 0) in vec4 inPosition;
+layout(location = 1) in vec4 inVelocity;
+
+out vec4 outPosition;
+out vec4 outVelocity;
+
+uniform float deltaTime;
+uniform int seed;
+uniform vec3 emitterPosition;
+uniform vec3 emitterVelocity;
+uniform vec3 gravity;
+uniform float spread;
+uniform vec2 lifetimeRange;
+
+uint hash(uint x) {
+    x ^= x >> 16;
+    x *= 0x7feb352du;
+    x ^= x >> 15;
+    x *= 0x846ca68bu;
+    x ^= x >> 16;
+    return x;
+}
+
+float random(inout uint state) {
+    state = hash(state);
+    return float(state >> 8) * (1.0 / 16777216.0);
+}
+
+void main() {
+    vec3 position = inPosition.xyz;
+    float age = inPosition.w;
+    vec3 velocity = inVelocity.xyz;
+    float lifetime = inVelocity.w;
+
+    age += deltaTime;
+    if (age >= lifetime) {
+        uint state = hash(uint(gl_VertexID) ^ hash(uint(seed)));
+        vec3 direction = vec3(random(state), random(state), random(state)) * 2.0 - 1.0;
+        float newLifetime = mix(lifetimeRange.x, lifetimeRange.y, random(state));
+        // Never simulated particles start part way through their life so
+        // spawning is spread out rather than arriving in one wave
+        age = lifetime <= 0.0 ? random(state) * newLifetime : 0.0;
+        lifetime = newLifetime;
+        position = emitterPosition;
+        velocity = emitterVelocity + direction * spread;
+    } else {
+        velocity += gravity * deltaTime;
+        position += velocity * deltaTime;
+    }
+
+    outPosition = vec4(position, age);
+    outVelocity = vec4(velocity, lifetime);
+}
@@ -0,0 +1,100 @@
+package com.engineersbox.structuredgl.asset;
+
+import com.engineersbox.structuredgl.gpu.vertex.VertexAttribute;
+import com.engineersbox.structuredgl.gpu.vertex.VertexFormat;
+import com.engineersbox.structuredgl.mesh.IndexData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeshCacheFileTest {
+
+    private static final VertexFormat FORMAT = new VertexFormat(new VertexAttribute(0, 3));
+    private static final long SOURCE_SIZE = 1234;
+    private static final long SOURCE_MODIFIED = 5678;
+    private static final int IMPORT_FLAGS = 0x8B;
+    // magic, version, sourceSize, sourceModified, formatSignature, importFlags, optimised, meshCount, then the
+    // first table entry's vertexCount, indexCount, indexType and materialIndex
+    private static final int FIRST_VERTEX_OFFSET_POSITION = (9 * Integer.BYTES) + (3 * Long.BYTES);
+
+    @TempDir
+    Path directory;
+
+    private Path writeCache() throws IOException {
+        final Path cacheFile = this.directory.resolve("model.sgmesh");
+        final ByteBuffer vertices = ByteBuffer.allocate(3 * FORMAT.getStride()).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 9; i++) {
+            vertices.putFloat(i);
+        }
+        MeshCacheFile.write(
+                cacheFile,
+                SOURCE_SIZE,
+                SOURCE_MODIFIED,
+                FORMAT,
+                IMPORT_FLAGS,
+                true,
+                List.of(new MeshCacheFile.Entry(vertices.flip(), 3, IndexData.narrow(new int[]{0, 1, 2}, 3), 0))
+        );
+        return cacheFile;
+    }
+
+    private static Optional<List<ImportedMesh>> map(final Path cacheFile,
+                                                    final int importFlags,
+                                                    final boolean optimised) throws IOException {
+        return MeshCacheFile.map(cacheFile, SOURCE_SIZE, SOURCE_MODIFIED, FORMAT, importFlags, optimised);
+    }
+
+    @Test
+    void mapsWhatWasWritten() throws IOException {
+        final List<ImportedMesh> meshes = map(writeCache(), IMPORT_FLAGS, true).orElseThrow();
+        assertEquals(1, meshes.size());
+        assertEquals(3, meshes.get(0).vertexCount());
+        assertEquals(3, meshes.get(0).indexCount());
+        assertEquals(8.0f, meshes.get(0).vertices().getFloat(8 * Float.BYTES));
+        assertEquals(2, Short.toUnsignedInt(meshes.get(0).indices().getShort(2 * Short.BYTES)));
+    }
+
+    @Test
+    void rejectsDifferentImportPipeline() throws IOException {
+        final Path cacheFile = writeCache();
+        assertFalse(map(cacheFile, IMPORT_FLAGS, false).isPresent());
+        assertFalse(map(cacheFile, IMPORT_FLAGS ^ 1, true).isPresent());
+    }
+
+    @Test
+    void rejectsTruncatedCache() throws IOException {
+        final Path cacheFile = writeCache();
+        final byte[] full = Files.readAllBytes(cacheFile);
+        for (int length = 0; length < full.length; length++) {
+            final Path truncated = this.directory.resolve("truncated" + length + ".sgmesh");
+            Files.write(truncated, Arrays.copyOf(full, length));
+            assertFalse(map(truncated, IMPORT_FLAGS, true).isPresent(), "Truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsOutOfRangeOffset() throws IOException {
+        final Path cacheFile = writeCache();
+        assertTrue(map(cacheFile, IMPORT_FLAGS, true).isPresent());
+        try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.WRITE)) {
+            final ByteBuffer offset = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.write(offset.putLong(0, Files.size(cacheFile)), FIRST_VERTEX_OFFSET_POSITION);
+        }
+        assertFalse(map(cacheFile, IMPORT_FLAGS, true).isPresent());
+    }
+
+}
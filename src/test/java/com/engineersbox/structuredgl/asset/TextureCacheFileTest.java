@@ -0,0 +1,79 @@
+package com.engineersbox.structuredgl.asset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextureCacheFileTest {
+
+    private static final TextureCompression COMPRESSION = TextureCompression.BC1;
+    private static final long SOURCE_SIZE = 1234;
+    private static final long SOURCE_MODIFIED = 5678;
+    // magic, version, sourceSize, sourceModified, compression, srgb, mips, levelCount
+    private static final int FIRST_WIDTH_POSITION = (6 * Integer.BYTES) + (2 * Long.BYTES);
+
+    @TempDir
+    Path directory;
+
+    private static CookedTexture.Level level(final int size) {
+        final ByteBuffer data = ByteBuffer.allocate(COMPRESSION.levelBytes(size, size));
+        for (int i = 0; i < data.capacity(); i++) {
+            data.put((byte) (i + size));
+        }
+        return new CookedTexture.Level(size, size, data.flip());
+    }
+
+    private Path writeCache() throws IOException {
+        final Path cacheFile = this.directory.resolve("texture.sgtex");
+        TextureCacheFile.write(cacheFile, SOURCE_SIZE, SOURCE_MODIFIED, COMPRESSION, true, true, List.of(level(8), level(4)));
+        return cacheFile;
+    }
+
+    private static Optional<List<CookedTexture.Level>> map(final Path cacheFile) throws IOException {
+        return TextureCacheFile.map(cacheFile, SOURCE_SIZE, SOURCE_MODIFIED, COMPRESSION, true, true);
+    }
+
+    @Test
+    void mapsWhatWasWritten() throws IOException {
+        final List<CookedTexture.Level> levels = map(writeCache()).orElseThrow();
+        assertEquals(2, levels.size());
+        assertEquals(level(8).data(), levels.get(0).data());
+        assertEquals(level(4).data(), levels.get(1).data());
+    }
+
+    @Test
+    void rejectsTruncatedCache() throws IOException {
+        final byte[] full = Files.readAllBytes(writeCache());
+        for (int length = 0; length < full.length; length++) {
+            final Path truncated = this.directory.resolve("truncated" + length + ".sgtex");
+            Files.write(truncated, Arrays.copyOf(full, length));
+            assertFalse(map(truncated).isPresent(), "Truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsOversizedLevel() throws IOException {
+        final Path cacheFile = writeCache();
+        assertTrue(map(cacheFile).isPresent());
+        try (final FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.WRITE)) {
+            final ByteBuffer width = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.write(width.putInt(0, Integer.MAX_VALUE), FIRST_WIDTH_POSITION);
+        }
+        assertFalse(map(cacheFile).isPresent());
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.engineersbox.structuredgl.culling;
+
+import org.joml.FrustumIntersection;
+import org.joml.Matrix4f;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CullingKernelTest {
+
+    private static final float WORLD_EXTENT = 400.0f;
+    // Objects this close to a plane may legitimately differ between fused and unfused evaluation
+    private static final float BOUNDARY_EPSILON = 1.0e-2f;
+    // Counts around multiples of every species length in use (4, 8 and 16 lanes) to exercise the scalar tail
+    private static final int[] COUNTS = {0, 1, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 33, 1000, 1003};
+    private static final int CHUNK_SIZE = 97;
+    private static final int CHUNKED_COUNT = 10_007;
+
+    private static Matrix4f viewProjection;
+    private static FrustumPlanes planes;
+    private static FrustumIntersection intersection;
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createFrustum() {
+        viewProjection = new Matrix4f()
+                .perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, 1000.0f)
+                .lookAt(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f);
+        planes = new FrustumPlanes().set(viewProjection);
+        intersection = new FrustumIntersection(viewProjection);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void scalarSpheresMatchJoml() {
+        assertSpheresMatchJoml(ScalarCullingKernel.INSTANCE);
+    }
+
+    @Test
+    void vectorSpheresMatchJoml() {
+        assumeVectorAvailable();
+        assertSpheresMatchJoml(VectorCullingKernel.INSTANCE);
+    }
+
+    @Test
+    void scalarBoxesMatchJoml() {
+        assertBoxesMatchJoml(ScalarCullingKernel.INSTANCE);
+    }
+
+    @Test
+    void vectorBoxesMatchJoml() {
+        assumeVectorAvailable();
+        assertBoxesMatchJoml(VectorCullingKernel.INSTANCE);
+    }
+
+    @Test
+    void vectorMatchesScalarOnUnalignedRanges() {
+        assumeVectorAvailable();
+        final SphereBounds spheres = randomSpheres(new SplittableRandom(0xA11CE), 1003);
+        final BoxBounds boxes = randomBoxes(new SplittableRandom(0xB0B), 1003);
+        final int[] scalar = new int[1024];
+        final int[] vector = new int[1024];
+        // Start part way into a vector and write at an offset, as the chunked path does
+        for (final int from : new int[]{1, 3, 5, 13}) {
+            for (final int to : new int[]{from, from + 1, from + 7, from + 17, 1003}) {
+                final int scalarCount = ScalarCullingKernel.INSTANCE.cullSpheres(planes, spheres, from, to, scalar, 11);
+                final int vectorCount = VectorCullingKernel.INSTANCE.cullSpheres(planes, spheres, from, to, vector, 11);
+                assertSameVisible(scalar, scalarCount, vector, vectorCount, 11, i -> sphereMargin(spheres, i));
+                final int scalarBoxCount = ScalarCullingKernel.INSTANCE.cullBoxes(planes, boxes, from, to, scalar, 11);
+                final int vectorBoxCount = VectorCullingKernel.INSTANCE.cullBoxes(planes, boxes, from, to, vector, 11);
+                assertSameVisible(scalar, scalarBoxCount, vector, vectorBoxCount, 11, i -> boxMargin(boxes, i));
+            }
+        }
+    }
+
+    @Test
+    void chunkedSpheresCompactInAscendingOrder() {
+        final SphereBounds spheres = randomSpheres(new SplittableRandom(0xC0FFEE), CHUNKED_COUNT);
+        for (final boolean vectorised : new boolean[]{false, true}) {
+            final CpuFrustumCuller culler = new CpuFrustumCuller(CHUNK_SIZE, 0, vectorised, pool);
+            final VisibleSet visible = new VisibleSet();
+            culler.cull(viewProjection, spheres, visible);
+            final boolean[] expected = new boolean[CHUNKED_COUNT];
+            for (int i = 0; i < CHUNKED_COUNT; i++) {
+                expected[i] = intersection.testSphere(
+                        spheres.centreX()[i],
+                        spheres.centreY()[i],
+                        spheres.centreZ()[i],
+                        spheres.radius()[i]
+                );
+            }
+            assertMatches(expected, visible.toArray(), 0, visible.count(), 0, CHUNKED_COUNT, i -> sphereMargin(spheres, i));
+        }
+    }
+
+    @Test
+    void chunkedBoxesCompactInAscendingOrder() {
+        final BoxBounds boxes = randomBoxes(new SplittableRandom(0xDECAF), CHUNKED_COUNT);
+        for (final boolean vectorised : new boolean[]{false, true}) {
+            final CpuFrustumCuller culler = new CpuFrustumCuller(CHUNK_SIZE, 0, vectorised, pool);
+            final VisibleSet visible = new VisibleSet();
+            culler.cull(viewProjection, boxes, visible);
+            final boolean[] expected = new boolean[CHUNKED_COUNT];
+            for (int i = 0; i < CHUNKED_COUNT; i++) {
+                expected[i] = intersection.testAab(
+                        boxes.minX()[i], boxes.minY()[i], boxes.minZ()[i],
+                        boxes.maxX()[i], boxes.maxY()[i], boxes.maxZ()[i]
+                );
+            }
+            assertMatches(expected, visible.toArray(), 0, visible.count(), 0, CHUNKED_COUNT, i -> boxMargin(boxes, i));
+        }
+    }
+
+    private static void assertSpheresMatchJoml(final CullingKernel kernel) {
+        final SplittableRandom random = new SplittableRandom(0x5EED);
+        for (final int count : COUNTS) {
+            final SphereBounds spheres = randomSpheres(random, count);
+            final boolean[] expected = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                expected[i] = intersection.testSphere(
+                        spheres.centreX()[i],
+                        spheres.centreY()[i],
+                        spheres.centreZ()[i],
+                        spheres.radius()[i]
+                );
+            }
+            final int[] out = new int[count];
+            final int written = kernel.cullSpheres(planes, spheres, 0, count, out, 0);
+            assertMatches(expected, out, 0, written, 0, count, i -> sphereMargin(spheres, i));
+        }
+    }
+
+    private static void assertBoxesMatchJoml(final CullingKernel kernel) {
+        final SplittableRandom random = new SplittableRandom(0xB0CE5);
+        for (final int count : COUNTS) {
+            final BoxBounds boxes = randomBoxes(random, count);
+            final boolean[] expected = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                expected[i] = intersection.testAab(
+                        boxes.minX()[i], boxes.minY()[i], boxes.minZ()[i],
+                        boxes.maxX()[i], boxes.maxY()[i], boxes.maxZ()[i]
+                );
+            }
+            final int[] out = new int[count];
+            final int written = kernel.cullBoxes(planes, boxes, 0, count, out, 0);
+            assertMatches(expected, out, 0, written, 0, count, i -> boxMargin(boxes, i));
+        }
+    }
+
+    /**
+     * Asserts that {@code out[outOffset, outOffset + written)} lists, in
+     * strictly ascending order, exactly the indices in {@code [from, to)}
+     * that {@code expected} marks visible, ignoring objects touching a plane.
+     */
+    private static void assertMatches(final boolean[] expected,
+                                      final int[] out,
+                                      final int outOffset,
+                                      final int written,
+                                      final int from,
+                                      final int to,
+                                      final Margin margin) {
+        int cursor = outOffset;
+        for (int i = from; i < to; i++) {
+            final boolean listed = cursor < outOffset + written && out[cursor] == i;
+            if (listed) {
+                cursor++;
+            }
+            if (listed != expected[i]) {
+                assertTrue(
+                        Math.abs(margin.of(i)) < BOUNDARY_EPSILON,
+                        String.format("Object %d visibility %b does not match reference %b", i, listed, expected[i])
+                );
+            }
+        }
+        assertEquals(
+                outOffset + written,
+                cursor,
+                "Visible indices must be unique, in range and in ascending order"
+        );
+    }
+
+    private static void assertSameVisible(final int[] expected,
+                                          final int expectedCount,
+                                          final int[] actual,
+                                          final int actualCount,
+                                          final int offset,
+                                          final Margin margin) {
+        int e = offset;
+        int a = offset;
+        while (e < offset + expectedCount || a < offset + actualCount) {
+            final int next = Math.min(
+                    e < offset + expectedCount ? expected[e] : Integer.MAX_VALUE,
+                    a < offset + actualCount ? actual[a] : Integer.MAX_VALUE
+            );
+            final boolean inExpected = e < offset + expectedCount && expected[e] == next;
+            final boolean inActual = a < offset + actualCount && actual[a] == next;
+            if (inExpected != inActual) {
+                assertTrue(
+                        Math.abs(margin.of(next)) < BOUNDARY_EPSILON,
+                        String.format("Object %d visible in only one kernel", next)
+                );
+            }
+            if (inExpected) {
+                e++;
+            }
+            if (inActual) {
+                assertTrue(a == offset || actual[a - 1] < next, "Vector kernel output must be ascending");
+                a++;
+            }
+        }
+    }
+
+    private static float sphereMargin(final SphereBounds spheres, final int index) {
+        float margin = Float.POSITIVE_INFINITY;
+        for (int p = 0; p < FrustumPlanes.PLANE_COUNT; p++) {
+            margin = Math.min(margin, (planes.x[p] * spheres.centreX()[index])
+                    + (planes.y[p] * spheres.centreY()[index])
+                    + (planes.z[p] * spheres.centreZ()[index])
+                    + planes.w[p]
+                    + spheres.radius()[index]);
+        }
+        return margin;
+    }
+
+    private static float boxMargin(final BoxBounds boxes, final int index) {
+        float margin = Float.POSITIVE_INFINITY;
+        for (int p = 0; p < FrustumPlanes.PLANE_COUNT; p++) {
+            final float px = planes.x[p] >= 0.0f ? boxes.maxX()[index] : boxes.minX()[index];
+            final float py = planes.y[p] >= 0.0f ? boxes.maxY()[index] : boxes.minY()[index];
+            final float pz = planes.z[p] >= 0.0f ? boxes.maxZ()[index] : boxes.minZ()[index];
+            margin = Math.min(margin, (planes.x[p] * px) + (planes.y[p] * py) + (planes.z[p] * pz) + planes.w[p]);
+        }
+        return margin;
+    }
+
+    private static SphereBounds randomSpheres(final SplittableRandom random, final int count) {
+        final SphereBounds spheres = new SphereBounds(Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            spheres.add(
+                    (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT),
+                    (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT),
+                    (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT),
+                    (float) random.nextDouble(0.5, 8.0)
+            );
+        }
+        return spheres;
+    }
+
+    private static BoxBounds randomBoxes(final SplittableRandom random, final int count) {
+        final BoxBounds boxes = new BoxBounds(Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            final float x = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            final float y = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            final float z = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            boxes.add(
+                    x, y, z,
+                    x + (float) random.nextDouble(0.5, 16.0),
+                    y + (float) random.nextDouble(0.5, 16.0),
+                    z + (float) random.nextDouble(0.5, 16.0)
+            );
+        }
+        return boxes;
+    }
+
+    private static void assumeVectorAvailable() {
+        assumeTrue(
+                CullingKernels.preferred() != CullingKernels.scalar(),
+                "jdk.incubator.vector is not resolved in this JVM"
+        );
+    }
+
+    @FunctionalInterface
+    private interface Margin {
+        float of(int index);
+    }
+
+}
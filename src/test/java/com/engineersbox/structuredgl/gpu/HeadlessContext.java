@@ -0,0 +1,71 @@
+package com.engineersbox.structuredgl.gpu;
+
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.opengl.GL;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+/**
+ * Hidden GLFW window whose context is current on the test thread, created
+ * through EGL or OSMesa so tests run on Mesa llvmpipe without a display.
+ * Tests are skipped rather than failed when no context of the required
+ * version can be created.
+ */
+public final class HeadlessContext implements AutoCloseable {
+
+    private static final int[] CONTEXT_APIS = {GLFW_EGL_CONTEXT_API, GLFW_OSMESA_CONTEXT_API};
+
+    private final long window;
+    private final GLFWErrorCallback errorCallback;
+
+    private HeadlessContext(final long window,
+                            final GLFWErrorCallback errorCallback) {
+        this.window = window;
+        this.errorCallback = errorCallback;
+    }
+
+    public static HeadlessContext createOrSkip(final int major,
+                                               final int minor) {
+        final GLFWErrorCallback errorCallback;
+        try {
+            errorCallback = GLFWErrorCallback.createPrint(System.err).set();
+        } catch (final LinkageError e) {
+            assumeTrue(false, "GLFW natives are unavailable: " + e.getMessage());
+            throw e;
+        }
+        if (!glfwInit()) {
+            errorCallback.free();
+            assumeTrue(false, "Unable to initialise GLFW");
+        }
+        for (final int contextApi : CONTEXT_APIS) {
+            glfwDefaultWindowHints();
+            glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+            glfwWindowHint(GLFW_CONTEXT_CREATION_API, contextApi);
+            glfwWindowHint(GLFW_CONTEXT_VERSION_MAJOR, major);
+            glfwWindowHint(GLFW_CONTEXT_VERSION_MINOR, minor);
+            glfwWindowHint(GLFW_OPENGL_PROFILE, GLFW_OPENGL_CORE_PROFILE);
+            final long window = glfwCreateWindow(1, 1, "StructuredGL Test", NULL, NULL);
+            if (window != NULL) {
+                glfwMakeContextCurrent(window);
+                GL.createCapabilities();
+                return new HeadlessContext(window, errorCallback);
+            }
+        }
+        glfwTerminate();
+        errorCallback.free();
+        assumeTrue(false, String.format("No headless GL %d.%d context is available", major, minor));
+        throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public void close() {
+        GL.setCapabilities(null);
+        glfwMakeContextCurrent(NULL);
+        glfwDestroyWindow(this.window);
+        glfwTerminate();
+        this.errorCallback.free();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_COPY;
+import static org.lwjgl.opengl.GL45.glGetNamedBufferSubData;
+
+/**
+ * Uploads and readbacks shared by the parallel primitive tests.
+ */
+final class ComputeBuffers {
+
+    private ComputeBuffers() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static SSBO upload(final int[] data) {
+        final SSBO buffer = new SSBO();
+        buffer.bind();
+        buffer.setData(data, GL_DYNAMIC_COPY);
+        buffer.unbind();
+        return buffer;
+    }
+
+    static SSBO upload(final float[] data) {
+        final SSBO buffer = new SSBO();
+        buffer.bind();
+        buffer.setData(data, GL_DYNAMIC_COPY);
+        buffer.unbind();
+        return buffer;
+    }
+
+    static int[] read(final SSBO buffer,
+                      final int length) {
+        MemoryBarrierTracker.current().prepare(buffer, BarrierUsage.BUFFER_UPDATE);
+        final int[] data = new int[length];
+        glGetNamedBufferSubData(buffer.getId(), 0, data);
+        return data;
+    }
+
+}
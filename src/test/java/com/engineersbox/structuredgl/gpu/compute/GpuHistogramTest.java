@@ -0,0 +1,102 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.HeadlessContext;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpuHistogramTest {
+
+    private static final float MIN_VALUE = -4.0f;
+    private static final float MAX_VALUE = 4.0f;
+
+    private static HeadlessContext context;
+    private static GpuHistogram histogram;
+
+    @BeforeAll
+    static void createContext() {
+        context = HeadlessContext.createOrSkip(4, 5);
+        histogram = new GpuHistogram();
+    }
+
+    @AfterAll
+    static void destroyContext() {
+        if (histogram != null) {
+            histogram.destroy();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void histogramMatchesCpuReference() {
+        final SplittableRandom random = new SplittableRandom(0x4157);
+        for (final int binCount : new int[]{1, 64, GpuHistogram.MAX_BINS}) {
+            final int count = 100_003;
+            final float[] values = new float[count];
+            for (int i = 0; i < count; i++) {
+                // Includes values outside the range, which clamp to the outer bins
+                values[i] = (float) random.nextDouble(-5.0, 5.0);
+            }
+            final int[] expected = cpuHistogram(values, binCount);
+            final int[] result = gpuHistogram(values, binCount);
+            int total = 0;
+            for (int i = 0; i < binCount; i++) {
+                // Values on a bin edge may round either way on the GPU
+                assertEquals(expected[i], result[i], Math.max(1, count / 10000), "Bin " + i + " of " + binCount);
+                total += result[i];
+            }
+            assertEquals(count, total);
+        }
+    }
+
+    @Test
+    void histogramSkipsNaN() {
+        final float[] values = {Float.NaN, -10.0f, 0.5f, Float.NaN, 10.0f};
+        assertArrayEquals(new int[]{1, 0, 1, 1}, gpuHistogram(values, 4));
+    }
+
+    @Test
+    void emptyInputClearsBins() {
+        final SSBO values = ComputeBuffers.upload(new float[1]);
+        final SSBO bins = ComputeBuffers.upload(new int[]{7, 7, 7, 7});
+        try {
+            histogram.histogram(values, 0, MIN_VALUE, MAX_VALUE, bins, 4);
+            assertArrayEquals(new int[4], ComputeBuffers.read(bins, 4));
+        } finally {
+            values.destroy();
+            bins.destroy();
+        }
+    }
+
+    private static int[] gpuHistogram(final float[] values,
+                                      final int binCount) {
+        final SSBO input = ComputeBuffers.upload(values);
+        final SSBO bins = ComputeBuffers.upload(new int[binCount]);
+        try {
+            histogram.histogram(input, values.length, MIN_VALUE, MAX_VALUE, bins, binCount);
+            return ComputeBuffers.read(bins, binCount);
+        } finally {
+            input.destroy();
+            bins.destroy();
+        }
+    }
+
+    private static int[] cpuHistogram(final float[] values,
+                                      final int binCount) {
+        final int[] bins = new int[binCount];
+        for (final float value : values) {
+            final float normalised = Math.min(Math.max((value - MIN_VALUE) / (MAX_VALUE - MIN_VALUE), 0.0f), 1.0f);
+            bins[Math.min((int) (normalised * binCount), binCount - 1)]++;
+        }
+        return bins;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.HeadlessContext;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class GpuRadixSortTest {
+
+    private static final int[] COUNTS = {2, GpuRadixSort.BLOCK_SIZE - 1, GpuRadixSort.BLOCK_SIZE + 1, 65536 + 5};
+
+    private static HeadlessContext context;
+    private static GpuRadixSort radixSort;
+
+    @BeforeAll
+    static void createContext() {
+        context = HeadlessContext.createOrSkip(4, 5);
+        radixSort = new GpuRadixSort();
+    }
+
+    @AfterAll
+    static void destroyContext() {
+        if (radixSort != null) {
+            radixSort.destroy();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void sortMatchesCpuReferenceOnFullKeys() {
+        final SplittableRandom random = new SplittableRandom(0x5027);
+        for (final int count : COUNTS) {
+            final int[] keys = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = random.nextInt();
+            }
+            assertSorted(keys, Integer.SIZE);
+        }
+    }
+
+    @Test
+    void sortIsStableOnDuplicateKeys() {
+        final SplittableRandom random = new SplittableRandom(0xD0B);
+        final int[] keys = new int[65536 + 5];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(1000);
+        }
+        assertSorted(keys, Integer.SIZE);
+    }
+
+    @Test
+    void sortHonoursKeyBits() {
+        final SplittableRandom random = new SplittableRandom(0xB175);
+        // One pass and two passes, so results end in either ping-pong buffer
+        for (final int keyBits : new int[]{GpuRadixSort.BITS_PER_PASS, GpuRadixSort.BITS_PER_PASS * 2}) {
+            final int[] keys = new int[10_000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(1 << keyBits);
+            }
+            assertSorted(keys, keyBits);
+        }
+    }
+
+    private static void assertSorted(final int[] keys,
+                                     final int keyBits) {
+        final int count = keys.length;
+        // Unsigned key in the high word and original index in the low word gives the stable order
+        final long[] order = new long[count];
+        final int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (Integer.toUnsignedLong(keys[i]) << 32) | i;
+            indices[i] = i;
+        }
+        Arrays.sort(order);
+        final int[] expectedKeys = new int[count];
+        final int[] expectedValues = new int[count];
+        for (int i = 0; i < count; i++) {
+            expectedKeys[i] = (int) (order[i] >>> 32);
+            expectedValues[i] = (int) order[i];
+        }
+        final SSBO keyBuffer = ComputeBuffers.upload(keys);
+        final SSBO valueBuffer = ComputeBuffers.upload(indices);
+        try {
+            radixSort.sort(keyBuffer, valueBuffer, count, keyBits);
+            assertArrayEquals(expectedKeys, ComputeBuffers.read(keyBuffer, count), "Keys of " + count + " elements");
+            assertArrayEquals(expectedValues, ComputeBuffers.read(valueBuffer, count), "Values of " + count + " elements");
+        } finally {
+            keyBuffer.destroy();
+            valueBuffer.destroy();
+        }
+    }
+
+}
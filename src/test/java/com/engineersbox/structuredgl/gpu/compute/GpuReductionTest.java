@@ -0,0 +1,89 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.HeadlessContext;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GpuReductionTest {
+
+    // A single group, a partial second group, and enough groups for three passes
+    private static final int[] COUNTS = {1, GpuReduction.BLOCK_SIZE + 1, (GpuReduction.BLOCK_SIZE * GpuReduction.BLOCK_SIZE) + 7};
+
+    private static HeadlessContext context;
+    private static GpuReduction reduction;
+
+    @BeforeAll
+    static void createContext() {
+        context = HeadlessContext.createOrSkip(4, 5);
+        reduction = new GpuReduction();
+    }
+
+    @AfterAll
+    static void destroyContext() {
+        if (reduction != null) {
+            reduction.destroy();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void floatReductionsMatchCpuReference() {
+        final SplittableRandom random = new SplittableRandom(0x4ED0);
+        for (final int count : COUNTS) {
+            final float[] values = new float[count];
+            double sum = 0;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                values[i] = (float) random.nextDouble(-100.0, 100.0);
+                sum += values[i];
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            final SSBO input = ComputeBuffers.upload(values);
+            try {
+                assertEquals(min, reduction.reduceFloat(input, count, ReductionOperator.MIN));
+                assertEquals(max, reduction.reduceFloat(input, count, ReductionOperator.MAX));
+                // Summation order differs from the CPU, so allow for accumulated rounding
+                assertEquals(sum, reduction.reduceFloat(input, count, ReductionOperator.SUM), 1.0e-3 * count);
+            } finally {
+                input.destroy();
+            }
+        }
+    }
+
+    @Test
+    void unsignedReductionsMatchCpuReference() {
+        final SplittableRandom random = new SplittableRandom(0x0415);
+        for (final int count : COUNTS) {
+            final int[] values = new int[count];
+            int sum = 0;
+            int min = -1;
+            int max = 0;
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt();
+                sum += values[i];
+                min = Integer.compareUnsigned(values[i], min) < 0 ? values[i] : min;
+                max = Integer.compareUnsigned(values[i], max) > 0 ? values[i] : max;
+            }
+            final SSBO input = ComputeBuffers.upload(values);
+            try {
+                assertEquals(Integer.toUnsignedLong(min), Integer.toUnsignedLong(reduction.reduceUnsigned(input, count, ReductionOperator.MIN)));
+                assertEquals(Integer.toUnsignedLong(max), Integer.toUnsignedLong(reduction.reduceUnsigned(input, count, ReductionOperator.MAX)));
+                // Unsigned sums wrap modulo 2^32, as Java int addition does
+                assertEquals(Integer.toUnsignedLong(sum), Integer.toUnsignedLong(reduction.reduceUnsigned(input, count, ReductionOperator.SUM)));
+            } finally {
+                input.destroy();
+            }
+        }
+    }
+
+}
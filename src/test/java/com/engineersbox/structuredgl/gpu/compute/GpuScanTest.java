@@ -0,0 +1,76 @@
+package com.engineersbox.structuredgl.gpu.compute;
+
+import com.engineersbox.structuredgl.gpu.HeadlessContext;
+import com.engineersbox.structuredgl.gpu.buffer.SSBO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class GpuScanTest {
+
+    // Within one block, exactly one block, a partial second block, and enough blocks to recurse twice
+    private static final int[] COUNTS = {1, 1000, GpuScan.BLOCK_SIZE, GpuScan.BLOCK_SIZE + 1, (GpuScan.BLOCK_SIZE * GpuScan.BLOCK_SIZE) + 3};
+
+    private static HeadlessContext context;
+    private static GpuScan scan;
+
+    @BeforeAll
+    static void createContext() {
+        context = HeadlessContext.createOrSkip(4, 5);
+        scan = new GpuScan();
+    }
+
+    @AfterAll
+    static void destroyContext() {
+        if (scan != null) {
+            scan.destroy();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void exclusiveScanMatchesCpuReference() {
+        final SplittableRandom random = new SplittableRandom(0x5CA9);
+        for (final int count : COUNTS) {
+            final int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt(16);
+            }
+            assertScan(values);
+        }
+    }
+
+    @Test
+    void exclusiveScanWrapsModulo32Bits() {
+        final int[] values = new int[GpuScan.BLOCK_SIZE * 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 0x7FFFFFFF - i;
+        }
+        assertScan(values);
+    }
+
+    private static void assertScan(final int[] values) {
+        final int[] expected = new int[values.length];
+        int sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            expected[i] = sum;
+            sum += values[i];
+        }
+        final SSBO input = ComputeBuffers.upload(values);
+        final SSBO output = ComputeBuffers.upload(new int[values.length]);
+        try {
+            scan.exclusiveScan(input, output, values.length);
+            assertArrayEquals(expected, ComputeBuffers.read(output, values.length), "Scan of " + values.length + " elements");
+        } finally {
+            input.destroy();
+            output.destroy();
+        }
+    }
+
+}
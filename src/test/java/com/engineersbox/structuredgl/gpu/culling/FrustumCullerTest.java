@@ -0,0 +1,125 @@
+package com.engineersbox.structuredgl.gpu.culling;
+
+import com.engineersbox.structuredgl.gpu.HeadlessContext;
+import com.engineersbox.structuredgl.gpu.draw.DrawElementsIndirectCommand;
+import com.engineersbox.structuredgl.gpu.sync.BarrierUsage;
+import com.engineersbox.structuredgl.gpu.sync.MemoryBarrierTracker;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.lwjgl.opengl.GL15.glGetBufferSubData;
+
+class FrustumCullerTest {
+
+    private static final int INSTANCES = 65536;
+    private static final int DRAW_COUNT = 8;
+    private static final float WORLD_EXTENT = 500.0f;
+
+    private static HeadlessContext context;
+
+    @BeforeAll
+    static void createContext() {
+        context = HeadlessContext.createOrSkip(4, 5);
+    }
+
+    @AfterAll
+    static void destroyContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void visibleInstancesMatchCpuReference() {
+        final SplittableRandom random = new SplittableRandom(0x5EED);
+        final float[] spheres = new float[INSTANCES * 4];
+        final int[] drawIndices = new int[INSTANCES];
+        for (int i = 0; i < INSTANCES; i++) {
+            spheres[i * 4] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 1] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 2] = (float) random.nextDouble(-WORLD_EXTENT, WORLD_EXTENT);
+            spheres[(i * 4) + 3] = (float) random.nextDouble(0.5, 4.0);
+            drawIndices[i] = random.nextInt(DRAW_COUNT);
+        }
+        final DrawElementsIndirectCommand[] draws = new DrawElementsIndirectCommand[DRAW_COUNT];
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            draws[i] = new DrawElementsIndirectCommand(36, 0, i * 36, 0, 0);
+        }
+        final Matrix4f viewProjection = new Matrix4f()
+                .perspective((float) Math.toRadians(60.0), 16.0f / 9.0f, 0.1f, 1000.0f)
+                .lookAt(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f, 1.0f, 0.0f);
+        final FrustumCuller culler = new FrustumCuller();
+        try {
+            culler.setInstances(spheres, drawIndices, INSTANCES, List.of(draws));
+            culler.cull(viewProjection);
+            final int[] perDraw = countVisiblePerDraw(viewProjection, spheres, drawIndices);
+            int expected = 0;
+            for (final int count : perDraw) {
+                expected += count;
+            }
+            assertTrue(expected > 0, "Test frustum should contain instances");
+
+            final int[] visible = new int[1];
+            MemoryBarrierTracker.current().prepare(culler.getVisibleCount(), BarrierUsage.BUFFER_UPDATE);
+            culler.getVisibleCount().bind();
+            glGetBufferSubData(culler.getVisibleCount().getType().getGlType(), 0, visible);
+            culler.getVisibleCount().unbind();
+            // Spheres touching a plane may round either way on the GPU
+            final int tolerance = Math.max(1, expected / 1000);
+            assertEquals(expected, visible[0], tolerance);
+
+            final int[] commands = new int[DRAW_COUNT * DrawElementsIndirectCommand.BYTES / Integer.BYTES];
+            MemoryBarrierTracker.current().prepare(culler.getCommands(), BarrierUsage.BUFFER_UPDATE);
+            culler.getCommands().bind();
+            glGetBufferSubData(culler.getCommands().getType().getGlType(), 0, commands);
+            culler.getCommands().unbind();
+            final int stride = DrawElementsIndirectCommand.BYTES / Integer.BYTES;
+            int commandTotal = 0;
+            for (int i = 0; i < DRAW_COUNT; i++) {
+                // instanceCount is the second field of each command
+                final int instanceCount = commands[(i * stride) + 1];
+                assertEquals(perDraw[i], instanceCount, tolerance);
+                commandTotal += instanceCount;
+            }
+            assertEquals(visible[0], commandTotal);
+        } finally {
+            culler.destroy();
+        }
+    }
+
+    private static int[] countVisiblePerDraw(final Matrix4f viewProjection,
+                                             final float[] spheres,
+                                             final int[] drawIndices) {
+        final Vector4f[] planes = new Vector4f[6];
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = viewProjection.frustumPlane(i, new Vector4f());
+        }
+        final int[] visible = new int[DRAW_COUNT];
+        for (int i = 0; i < INSTANCES; i++) {
+            boolean inside = true;
+            for (final Vector4f plane : planes) {
+                final float distance = (plane.x * spheres[i * 4])
+                        + (plane.y * spheres[(i * 4) + 1])
+                        + (plane.z * spheres[(i * 4) + 2])
+                        + plane.w;
+                if (distance < -spheres[(i * 4) + 3]) {
+                    inside = false;
+                    break;
+                }
+            }
+            if (inside) {
+                visible[drawIndices[i]]++;
+            }
+        }
+        return visible;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.engineersbox.structuredgl.gpu.vertex;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class QuantizationTest {
+
+    // Smallest magnitude the JDK rounds to infinity, where floatToHalf saturates instead
+    private static final int HALF_OVERFLOW_BITS = 0x477FF000;
+    private static final int HALF_MIN_NORMAL_BITS = 0x38800000;
+    // Half the smallest subnormal half, everything below flushes to zero
+    private static final int HALF_UNDERFLOW_BITS = 0x33000000;
+    private static final int NORMAL_STRIDE = 0x101;
+
+    private static MethodHandle floatToFloat16;
+
+    @BeforeAll
+    static void findReference() {
+        try {
+            floatToFloat16 = MethodHandles.publicLookup().findStatic(
+                    Float.class,
+                    "floatToFloat16",
+                    MethodType.methodType(short.class, float.class)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            floatToFloat16 = null;
+        }
+    }
+
+    @Test
+    void subnormalRangeMatchesJdk() throws Throwable {
+        assumeReferenceAvailable();
+        // Every float from one binade below the flush threshold to the smallest normal half
+        for (int bits = HALF_UNDERFLOW_BITS - 0x800000; bits < HALF_MIN_NORMAL_BITS; bits++) {
+            assertMatchesJdk(bits);
+            assertMatchesJdk(bits | 0x80000000);
+        }
+    }
+
+    @Test
+    void normalRangeMatchesJdk() throws Throwable {
+        assumeReferenceAvailable();
+        for (int bits = HALF_MIN_NORMAL_BITS; bits < HALF_OVERFLOW_BITS; bits += NORMAL_STRIDE) {
+            assertMatchesJdk(bits);
+            assertMatchesJdk(bits | 0x80000000);
+        }
+        // Ties at the top of the range, on both sides of the overflow point
+        assertMatchesJdk(HALF_OVERFLOW_BITS - 1);
+        assertMatchesJdk(0x477FE000);
+    }
+
+    @Test
+    void overflowSaturatesAndSpecialsArePreserved() {
+        assertEquals((short) 0x7BFF, Quantization.floatToHalf(Float.intBitsToFloat(HALF_OVERFLOW_BITS)));
+        assertEquals((short) 0xFBFF, Quantization.floatToHalf(-1.0e6f));
+        assertEquals((short) 0x7C00, Quantization.floatToHalf(Float.POSITIVE_INFINITY));
+        assertEquals((short) 0xFC00, Quantization.floatToHalf(Float.NEGATIVE_INFINITY));
+        final short nan = Quantization.floatToHalf(Float.NaN);
+        assertEquals(0x7C00, nan & 0x7C00);
+        assertTrue((nan & 0x03FF) != 0, "NaN must keep a non-zero mantissa");
+    }
+
+    private static void assertMatchesJdk(final int bits) throws Throwable {
+        final float value = Float.intBitsToFloat(bits);
+        final short expected = (short) floatToFloat16.invokeExact(value);
+        final short actual = Quantization.floatToHalf(value);
+        if (expected != actual) {
+            assertEquals(
+                    expected,
+                    actual,
+                    String.format("floatToHalf(0x%08X)", bits)
+            );
+        }
+    }
+
+    private static void assumeReferenceAvailable() {
+        assumeTrue(floatToFloat16 != null, "Float.floatToFloat16 requires JDK 20 or later");
+    }
+
+}
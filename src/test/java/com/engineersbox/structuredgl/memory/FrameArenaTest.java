@@ -0,0 +1,97 @@
+package com.engineersbox.structuredgl.memory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.lwjgl.system.MemoryUtil.memGetLong;
+import static org.lwjgl.system.MemoryUtil.memPutLong;
+
+class FrameArenaTest {
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int ALIGNMENT = FrameArena.DEFAULT_ALIGNMENT;
+
+    private FrameArena arena;
+
+    @BeforeEach
+    void createArena() {
+        this.arena = new FrameArena(CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void freeArena() {
+        this.arena.free();
+    }
+
+    @Test
+    void rewindAcrossChunkBoundary() {
+        final long first = this.arena.allocate(64, ALIGNMENT);
+        final long mark = this.arena.mark();
+        final long spilled = this.arena.allocate(200, ALIGNMENT);
+        this.arena.allocate(32, ALIGNMENT);
+        assertEquals(2, this.arena.getStatistics().chunks());
+        assertTrue(spilled < first || spilled >= first + CHUNK_SIZE, "Allocation past the chunk must move to a new chunk");
+
+        this.arena.rewind(mark);
+        assertEquals(64, this.arena.getStatistics().usedBytes());
+        assertEquals(first + 64, this.arena.allocate(16, ALIGNMENT), "Rewind must return to the marked chunk and offset");
+        assertEquals(spilled, this.arena.allocate(200, ALIGNMENT), "The chunk rewound past must be reused");
+        assertEquals(2, this.arena.getStatistics().chunks());
+    }
+
+    @Test
+    void oversizedChunkIsReusedAfterRewind() {
+        this.arena.allocate(64, ALIGNMENT);
+        final long mark = this.arena.mark();
+        final long oversized = this.arena.allocate(CHUNK_SIZE * 4, ALIGNMENT);
+        final ArenaStatistics grown = this.arena.getStatistics();
+        assertEquals(2, grown.chunks());
+        assertTrue(grown.reservedBytes() >= CHUNK_SIZE * 5L);
+
+        this.arena.rewind(mark);
+        assertEquals(oversized, this.arena.allocate(CHUNK_SIZE * 4, ALIGNMENT), "The oversized chunk must be reused");
+        assertEquals(grown.reservedBytes(), this.arena.getStatistics().reservedBytes());
+
+        // A larger spike replaces the oversized chunk instead of adding another
+        this.arena.rewind(mark);
+        this.arena.allocate(CHUNK_SIZE * 8, ALIGNMENT);
+        assertEquals(2, this.arena.getStatistics().chunks());
+    }
+
+    @Test
+    void oversizedChunkIsFreedOnReset() {
+        final long first = this.arena.allocate(64, ALIGNMENT);
+        this.arena.allocate(CHUNK_SIZE * 4, ALIGNMENT);
+        this.arena.allocate(200, ALIGNMENT);
+        assertEquals(3, this.arena.getStatistics().chunks());
+
+        this.arena.reset();
+        final ArenaStatistics trimmed = this.arena.getStatistics();
+        assertEquals(2, trimmed.chunks());
+        assertEquals(CHUNK_SIZE * 2L, trimmed.reservedBytes());
+        assertEquals(first, this.arena.allocate(64, ALIGNMENT), "A reset must start from the first chunk");
+    }
+
+    @Test
+    void rewindToMarkTakenBeforeReset() {
+        this.arena.allocate(200, ALIGNMENT);
+        this.arena.allocate(200, ALIGNMENT);
+        final long mark = this.arena.mark();
+
+        this.arena.reset();
+        final long live = this.arena.allocate(Long.BYTES, ALIGNMENT);
+        memPutLong(live, 0x5EED5EEDL);
+        final long used = this.arena.getStatistics().usedBytes();
+        // The mark lies beyond everything allocated this frame, so nothing is released
+        this.arena.rewind(mark);
+        assertEquals(used, this.arena.getStatistics().usedBytes());
+        final long next = this.arena.allocate(Long.BYTES, ALIGNMENT);
+        memPutLong(next, -1L);
+        assertTrue(next >= live + Long.BYTES, "Allocation after a stale rewind must not overlap live memory");
+        assertEquals(0x5EED5EEDL, memGetLong(live));
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
+
+class IndexDataTest {
+
+    private static final int SHORT_LIMIT = 1 << 16;
+
+    @Test
+    void narrowsAtAndBelowSixteenBitVertexCount() {
+        final int[] indices = {0, 1, 32768, 40000, 2};
+        for (final int vertexCount : new int[]{40001, SHORT_LIMIT}) {
+            final IndexData data = IndexData.narrow(indices, vertexCount);
+            assertEquals(GL_UNSIGNED_SHORT, data.glType(), "Vertex count " + vertexCount);
+            assertEquals(Short.BYTES, data.indexSize());
+            assertEquals(indices.length * Short.BYTES, data.byteSize());
+            // Indices above 32767 must read back unsigned
+            for (int i = 0; i < indices.length; i++) {
+                assertEquals(indices[i], data.get(i));
+            }
+        }
+    }
+
+    @Test
+    void keepsIntIndicesAboveSixteenBitVertexCount() {
+        final int[] indices = {0, SHORT_LIMIT, 1};
+        final IndexData data = IndexData.narrow(indices, SHORT_LIMIT + 1);
+        assertEquals(GL_UNSIGNED_INT, data.glType());
+        assertEquals(Integer.BYTES, data.indexSize());
+        assertEquals(SHORT_LIMIT, data.get(1));
+    }
+
+    @Test
+    void putWritesStoredWidthAndAdvances() {
+        final IndexData data = IndexData.narrow(new int[]{1, 65535, 3}, SHORT_LIMIT);
+        final ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+        buffer.position(2);
+        data.put(buffer);
+        assertEquals(2 + data.byteSize(), buffer.position());
+        assertEquals((short) 65535, buffer.getShort(4));
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LodGeneratorTest {
+
+    private static final int COLUMNS = 40;
+    private static final int ROWS = 40;
+    private static final int SEAM_COLUMN = 20;
+    private static final float RATIO_TOLERANCE = 0.05f;
+
+    @Test
+    void levelsMeetRequestedTriangleRatios() {
+        final MeshData grid = TestMeshes.grid(COLUMNS, ROWS);
+        final LodChain chain = new LodGenerator().generate(grid);
+        assertEquals(LodGenerator.DEFAULT_TRIANGLE_RATIOS.length, chain.levelCount());
+        float previousError = -1.0f;
+        for (int level = 0; level < chain.levelCount(); level++) {
+            final int target = Math.round(grid.triangleCount() * LodGenerator.DEFAULT_TRIANGLE_RATIOS[level]) * 3;
+            final int actual = chain.level(level).indexCount();
+            assertTrue(
+                    Math.abs(actual - target) <= target * RATIO_TOLERANCE,
+                    String.format("Level %d: expected about %d indices, got %d", level, target, actual)
+            );
+            assertTrue(chain.level(level).error() > previousError, "Errors must grow with each level");
+            previousError = chain.level(level).error();
+        }
+    }
+
+    @Test
+    void levelsShareOriginalVertexRange() {
+        final MeshData grid = TestMeshes.grid(COLUMNS, ROWS);
+        final LodChain chain = new LodGenerator().generate(grid);
+        assertEquals(grid.vertexCount(), chain.vertexCount());
+        final int[] indices = TestMeshes.indices(chain.indices());
+        int firstIndex = 0;
+        for (final LodLevel level : chain.levels()) {
+            assertEquals(firstIndex, level.firstIndex());
+            firstIndex += level.indexCount();
+        }
+        assertEquals(indices.length, firstIndex);
+        for (final int index : indices) {
+            assertTrue(index >= 0 && index < chain.vertexCount(), "Index " + index + " outside the vertex buffer");
+        }
+    }
+
+    @Test
+    void everyLevelKeepsBoundaryAndSeamVertices() {
+        final MeshData mesh = TestMeshes.seamedGrid(COLUMNS, ROWS, SEAM_COLUMN);
+        final Set<String> locked = new HashSet<>();
+        for (int vertex = 0; vertex < mesh.vertexCount(); vertex++) {
+            if (TestMeshes.lockedGridVertex(mesh, COLUMNS, ROWS, SEAM_COLUMN, vertex)) {
+                locked.add(TestMeshes.vertexKey(mesh.vertices(), TestMeshes.STRIDE, vertex));
+            }
+        }
+        final LodChain chain = new LodGenerator().generate(mesh);
+        assertTrue(chain.levelCount() > 1);
+        final int[] indices = TestMeshes.indices(chain.indices());
+        for (int level = 0; level < chain.levelCount(); level++) {
+            final Set<String> referenced = new HashSet<>();
+            final LodLevel range = chain.level(level);
+            for (int i = range.firstIndex(); i < range.firstIndex() + range.indexCount(); i++) {
+                referenced.add(TestMeshes.vertexKey(chain.vertices(), chain.vertexStride(), indices[i]));
+            }
+            assertTrue(referenced.containsAll(locked), "Level " + level + " collapsed a boundary or seam vertex");
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LodSelectorTest {
+
+    // A 90 degree field of view over 1000 pixels projects one unit at distance d to 500 / d pixels
+    private static final float FOV = (float) (Math.PI / 2.0);
+    private static final int VIEWPORT_HEIGHT = 1000;
+
+    private static LodChain chain(final float... errors) {
+        final List<LodLevel> levels = new ArrayList<>(errors.length);
+        for (int level = 0; level < errors.length; level++) {
+            levels.add(new LodLevel(level * 3, 3, errors[level]));
+        }
+        return new LodChain(
+                new float[]{0, 0, 0, 1, 0, 0, 0, 1, 0},
+                3,
+                IndexData.narrow(new int[]{0, 1, 2, 0, 1, 2, 0, 1, 2, 0, 1, 2}, 3),
+                levels,
+                0.0f,
+                0.0f,
+                0.0f,
+                1.0f
+        );
+    }
+
+    @Test
+    void selectsCoarsestLevelWithinPixelThreshold() {
+        final LodSelector selector = new LodSelector(FOV, VIEWPORT_HEIGHT);
+        final LodChain chain = chain(0.0f, 0.01f, 0.1f, 1.0f);
+        // Levels within one pixel need error <= distance / 500
+        assertEquals(1, selector.select(chain, 10.0f, 1.0f));
+        assertEquals(2, selector.select(chain, 60.0f, 1.0f));
+        assertEquals(3, selector.select(chain, 1000.0f, 1.0f));
+        assertEquals(0, selector.select(chain, 2.0f, 1.0f));
+        assertEquals(0, selector.select(chain, 0.0f, 1.0f));
+        assertEquals(0, selector.select(chain, -5.0f, 1.0f));
+    }
+
+    @Test
+    void thresholdScalesSelection() {
+        final LodSelector selector = new LodSelector(FOV, VIEWPORT_HEIGHT, 10.0f);
+        assertEquals(2, selector.select(chain(0.0f, 0.01f, 0.1f, 1.0f), 10.0f, 1.0f));
+    }
+
+    @Test
+    void instanceScaleAndBoundsAffectDistance() {
+        final LodSelector selector = new LodSelector(FOV, VIEWPORT_HEIGHT);
+        final LodChain chain = chain(0.0f, 0.01f, 0.1f, 1.0f);
+        final Vector3f camera = new Vector3f(0.0f, 0.0f, 61.0f);
+        // Unit radius bounds leave 60 units to the surface
+        assertEquals(2, selector.select(chain, camera, new Matrix4f()));
+        // Doubling the scale doubles the error and the radius, 59 units away
+        assertEquals(1, selector.select(chain, camera, new Matrix4f().scale(2.0f)));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeshSimplifierTest {
+
+    private static final int COLUMNS = 40;
+    private static final int ROWS = 40;
+    private static final int SEAM_COLUMN = 20;
+    private static final float[] RATIOS = {0.5f, 0.25f, 0.125f};
+    private static final float RATIO_TOLERANCE = 0.05f;
+
+    @Test
+    void reachesRequestedIndexCount() {
+        final MeshData grid = TestMeshes.grid(COLUMNS, ROWS);
+        final MeshSimplifier simplifier = new MeshSimplifier(grid.vertices(), TestMeshes.STRIDE, 0, grid.indices());
+        for (final float ratio : RATIOS) {
+            final int target = Math.round(grid.triangleCount() * ratio) * 3;
+            final int actual = simplifier.simplify(grid.indices(), target, Float.MAX_VALUE).indices().length;
+            assertTrue(
+                    Math.abs(actual - target) <= target * RATIO_TOLERANCE,
+                    String.format("Ratio %s: expected about %d indices, got %d", ratio, target, actual)
+            );
+        }
+    }
+
+    @Test
+    void neverCollapsesBoundaryOrSeamVertices() {
+        final MeshData mesh = TestMeshes.seamedGrid(COLUMNS, ROWS, SEAM_COLUMN);
+        final MeshSimplifier simplifier = new MeshSimplifier(mesh.vertices(), TestMeshes.STRIDE, 0, mesh.indices());
+        for (final float ratio : RATIOS) {
+            final int target = Math.round(mesh.triangleCount() * ratio) * 3;
+            final int[] simplified = simplifier.simplify(mesh.indices(), target, Float.MAX_VALUE).indices();
+            final boolean[] referenced = new boolean[mesh.vertexCount()];
+            for (final int index : simplified) {
+                referenced[index] = true;
+            }
+            for (int vertex = 0; vertex < mesh.vertexCount(); vertex++) {
+                if (TestMeshes.lockedGridVertex(mesh, COLUMNS, ROWS, SEAM_COLUMN, vertex)) {
+                    assertTrue(referenced[vertex], String.format("Ratio %s collapsed locked vertex %d", ratio, vertex));
+                }
+            }
+        }
+    }
+
+}
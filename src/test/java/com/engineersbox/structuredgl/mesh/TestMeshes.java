@@ -0,0 +1,182 @@
+package com.engineersbox.structuredgl.mesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Procedural meshes and comparisons shared by the mesh processing tests.
+ */
+final class TestMeshes {
+
+    /**
+     * Floats per vertex of {@link #grid}: xyz position then uv.
+     */
+    static final int STRIDE = 5;
+
+    private TestMeshes() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Height field over the xz plane with {@code columns * rows} welded
+     * vertices, triangles emitted row by row.
+     */
+    static MeshData grid(final int columns,
+                         final int rows) {
+        final float[] vertices = new float[columns * rows * STRIDE];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                final int base = ((row * columns) + column) * STRIDE;
+                vertices[base] = column;
+                vertices[base + 1] = (float) (Math.sin(column * 0.3) * Math.cos(row * 0.2) * 2.0);
+                vertices[base + 2] = row;
+                vertices[base + 3] = column / (float) (columns - 1);
+                vertices[base + 4] = row / (float) (rows - 1);
+            }
+        }
+        final int[] indices = new int[(columns - 1) * (rows - 1) * 6];
+        int write = 0;
+        for (int row = 0; row < rows - 1; row++) {
+            for (int column = 0; column < columns - 1; column++) {
+                final int v = (row * columns) + column;
+                indices[write++] = v;
+                indices[write++] = v + columns;
+                indices[write++] = v + 1;
+                indices[write++] = v + 1;
+                indices[write++] = v + columns;
+                indices[write++] = v + columns + 1;
+            }
+        }
+        return new MeshData(vertices, STRIDE, indices);
+    }
+
+    /**
+     * {@link #grid} with a texture seam down column {@code seamColumn}: the
+     * seam vertices are duplicated with u offset by one and the triangles to
+     * the right of the seam use the duplicates.
+     */
+    static MeshData seamedGrid(final int columns,
+                               final int rows,
+                               final int seamColumn) {
+        final MeshData grid = grid(columns, rows);
+        final int vertexCount = grid.vertexCount();
+        final float[] vertices = Arrays.copyOf(grid.vertices(), (vertexCount + rows) * STRIDE);
+        for (int row = 0; row < rows; row++) {
+            final int duplicate = (vertexCount + row) * STRIDE;
+            System.arraycopy(grid.vertices(), ((row * columns) + seamColumn) * STRIDE, vertices, duplicate, STRIDE);
+            vertices[duplicate + 3] += 1.0f;
+        }
+        final int[] indices = grid.indices().clone();
+        for (int t = 0; t < indices.length; t += 3) {
+            boolean rightOfSeam = false;
+            for (int k = 0; k < 3; k++) {
+                rightOfSeam |= indices[t + k] % columns > seamColumn;
+            }
+            for (int k = 0; rightOfSeam && k < 3; k++) {
+                if (indices[t + k] % columns == seamColumn) {
+                    indices[t + k] = vertexCount + (indices[t + k] / columns);
+                }
+            }
+        }
+        return new MeshData(vertices, STRIDE, indices);
+    }
+
+    /**
+     * @return Whether {@code vertex} of {@link #grid} or {@link #seamedGrid}
+     *         lies on the open boundary or on the seam
+     */
+    static boolean lockedGridVertex(final MeshData mesh,
+                                    final int columns,
+                                    final int rows,
+                                    final int seamColumn,
+                                    final int vertex) {
+        final float x = mesh.vertices()[vertex * STRIDE];
+        final float z = mesh.vertices()[(vertex * STRIDE) + 2];
+        return x == 0 || x == columns - 1 || z == 0 || z == rows - 1 || x == seamColumn;
+    }
+
+    /**
+     * @return {@code mesh} with its triangles in random order
+     */
+    static MeshData shuffleTriangles(final MeshData mesh,
+                                     final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int[] indices = mesh.indices().clone();
+        for (int t = mesh.triangleCount() - 1; t > 0; t--) {
+            final int other = random.nextInt(t + 1);
+            for (int k = 0; k < 3; k++) {
+                final int swap = indices[(t * 3) + k];
+                indices[(t * 3) + k] = indices[(other * 3) + k];
+                indices[(other * 3) + k] = swap;
+            }
+        }
+        return new MeshData(mesh.vertices(), mesh.vertexStride(), indices);
+    }
+
+    /**
+     * @return {@code mesh} with three unshared vertices per triangle, as
+     *         exported by tools that split every face
+     */
+    static MeshData unweld(final MeshData mesh) {
+        final int stride = mesh.vertexStride();
+        final float[] vertices = new float[mesh.indices().length * stride];
+        final int[] indices = new int[mesh.indices().length];
+        for (int i = 0; i < indices.length; i++) {
+            System.arraycopy(mesh.vertices(), mesh.indices()[i] * stride, vertices, i * stride, stride);
+            indices[i] = i;
+        }
+        return new MeshData(vertices, stride, indices);
+    }
+
+    /**
+     * Describes every triangle by the raw bits of its vertices, rotated to a
+     * canonical first vertex so winding is kept but index order is not, and
+     * sorts them for comparison as a multiset.
+     */
+    static List<String> triangleMultiset(final float[] vertices,
+                                         final int stride,
+                                         final int[] indices,
+                                         final int first,
+                                         final int count) {
+        final List<String> triangles = new ArrayList<>(count / 3);
+        for (int i = first; i < first + count; i += 3) {
+            final String[] corners = new String[3];
+            for (int k = 0; k < 3; k++) {
+                corners[k] = vertexKey(vertices, stride, indices[i + k]);
+            }
+            int start = 0;
+            for (int k = 1; k < 3; k++) {
+                if (corners[k].compareTo(corners[start]) < 0) {
+                    start = k;
+                }
+            }
+            triangles.add(corners[start] + corners[(start + 1) % 3] + corners[(start + 2) % 3]);
+        }
+        triangles.sort(null);
+        return triangles;
+    }
+
+    /**
+     * @return Raw bits of {@code vertex}, identifying it across reordering
+     */
+    static String vertexKey(final float[] vertices,
+                            final int stride,
+                            final int vertex) {
+        final int[] bits = new int[stride];
+        for (int f = 0; f < stride; f++) {
+            bits[f] = Float.floatToRawIntBits(vertices[(vertex * stride) + f]);
+        }
+        return Arrays.toString(bits);
+    }
+
+    static int[] indices(final IndexData data) {
+        final int[] indices = new int[data.count()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = data.get(i);
+        }
+        return indices;
+    }
+
+}
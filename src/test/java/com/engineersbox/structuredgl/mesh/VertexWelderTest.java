@@ -0,0 +1,56 @@
+package com.engineersbox.structuredgl.mesh;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class VertexWelderTest {
+
+    @Test
+    void collapsesOnlyBitwiseIdenticalVertices() {
+        final float nan = Float.intBitsToFloat(0x7FC00001);
+        final float otherNan = Float.intBitsToFloat(0x7FC00002);
+        final float[] vertices = {
+                1.0f, 2.0f, 3.0f,
+                1.0f, 2.0f, 3.0f,
+                0.0f, 0.0f, 0.0f,
+                -0.0f, 0.0f, 0.0f,
+                Math.nextUp(1.0f), 2.0f, 3.0f,
+                nan, 0.0f, 0.0f,
+                otherNan, 0.0f, 0.0f,
+                nan, 0.0f, 0.0f
+        };
+        final int[] canonical = VertexWelder.canonicalVertices(vertices, 3, 0, 3);
+        assertArrayEquals(new int[]{0, 0, 2, 3, 4, 5, 6, 5}, canonical);
+    }
+
+    @Test
+    void weldRemapsIndicesToSurvivingVertices() {
+        final MeshData grid = TestMeshes.grid(5, 4);
+        final MeshData split = TestMeshes.unweld(grid);
+        final MeshData welded = VertexWelder.weld(split);
+        assertEquals(grid.vertexCount(), welded.vertexCount());
+        assertEquals(
+                TestMeshes.triangleMultiset(split.vertices(), split.vertexStride(), split.indices(), 0, split.indices().length),
+                TestMeshes.triangleMultiset(welded.vertices(), welded.vertexStride(), welded.indices(), 0, welded.indices().length)
+        );
+    }
+
+    @Test
+    void differingAttributesAreNotWelded() {
+        final MeshData grid = TestMeshes.grid(3, 3);
+        final float[] vertices = grid.vertices().clone();
+        // Same position as vertex 0 but a different texture coordinate, as on a uv seam
+        final float[] seam = new float[vertices.length + TestMeshes.STRIDE];
+        System.arraycopy(vertices, 0, seam, 0, vertices.length);
+        System.arraycopy(vertices, 0, seam, vertices.length, TestMeshes.STRIDE);
+        seam[vertices.length + 3] = 0.5f;
+        final int[] canonical = VertexWelder.canonicalVertices(seam, TestMeshes.STRIDE, 0, TestMeshes.STRIDE);
+        assertNotEquals(0, canonical[canonical.length - 1]);
+        // Welding by position alone, as the simplifier does to find seams, does merge it
+        assertEquals(0, VertexWelder.canonicalVertices(seam, TestMeshes.STRIDE, 0, 3)[canonical.length - 1]);
+    }
+
+}